@@ -347,6 +347,12 @@ public class Properties {
 	
 	@Parameter(key = "map_elites_ignore_features", group = "Search Algorithm", description = "Enable this to disable feature based mapping")
     public static boolean MAP_ELITES_IGNORE_FEATURES = false;
+
+	@Parameter(key = "novelty_neighbours", group = "Search Algorithm", description = "Number of nearest neighbours that determine the novelty of an individual, all of them if not positive")
+	public static int NOVELTY_NEIGHBOURS = 0;
+
+	@Parameter(key = "novelty_archive_size", group = "Search Algorithm", description = "Maximum number of past individuals kept in the novelty archive, no archive if not positive")
+	public static int NOVELTY_ARCHIVE_SIZE = 0;
 	
 	@Parameter(key = "algorithm", group = "Search Algorithm", description = "Search algorithm")
 	public static Algorithm ALGORITHM = Algorithm.MONOTONIC_GA;
@@ -408,6 +414,9 @@ public class Properties {
 	@Parameter(key = "dse_variable_resets", group = "DSE", description = "Times DSE resets the int and real variables with random values")
 	public static int DSE_VARIABLE_RESETS = 2;
 
+	@Parameter(key = "dse_solver_threads", group = "DSE", description = "Number of threads used to speculatively solve negated branch conditions in the DSE algorithm. Values lower than 2 solve queries sequentially")
+	public static int DSE_SOLVER_THREADS = 1;
+
 	public enum DSEType {
 		/** apply DSE per statement */
 		STATEMENT,
@@ -482,6 +491,9 @@ public class Properties {
 	@Parameter(key = "local_search_probes", group = "Local Search", description = "How many mutations to apply to a string to check whether it improves coverage")
 	public static int LOCAL_SEARCH_PROBES = 10;
 
+	@Parameter(key = "local_search_probe_cache", group = "Local Search", description = "Do not re-execute probes already evaluated during the same AVM local search")
+	public static boolean LOCAL_SEARCH_PROBE_CACHE = true;
+
 	@Parameter(key = "local_search_primitives", group = "Local Search", description = "Perform local search on primitive values")
 	public static boolean LOCAL_SEARCH_PRIMITIVES = true;
 
@@ -910,6 +922,9 @@ public class Properties {
 	@Parameter(key = "coverage_matrix", group = "Output", description = "Create a coverage matrix (each row represents the coverage a test case, and each column represents one goal")
 	public static boolean COVERAGE_MATRIX = false;
 
+	@Parameter(key = "coverage_analysis_threads", group = "Output", description = "Number of threads used to match the traces of executed JUnit tests against the coverage goals when measuring coverage. Values lower than 2 match them sequentially. Only used for the BRANCH, ONLYBRANCH, METHOD, METHODNOEXCEPTION, LINE and STATEMENT criteria")
+	public static int COVERAGE_ANALYSIS_THREADS = 1;
+
 	@Parameter(key = "coverage_matrix_filename", group = "Output", description = "File to which the coverage matrix is written")
 	public static String COVERAGE_MATRIX_FILENAME = "matrix";
 
@@ -979,6 +994,9 @@ public class Properties {
 	@Parameter(key = "minimize_skip_coincidental", group = "Output", description = "Minimize test suite after generation")
 	public static boolean MINIMIZE_SKIP_COINCIDENTAL = true;
 
+	@Parameter(key = "minimize_set_cover", group = "Output", description = "Minimize per test by executing each test once and selecting the tests to minimize with a greedy set cover")
+	public static boolean MINIMIZE_SET_COVER = false;
+
 	@Parameter(key = "minimize_old", group = "Output", description = "Minimize test suite using old algorithm")
 	@Deprecated
 	public static boolean MINIMIZE_OLD = false;
@@ -1248,7 +1266,7 @@ public class Properties {
 	public static TestFactory TEST_FACTORY = TestFactory.ARCHIVE;
 
 	public enum ArchiveType {
-		COVERAGE, MIO
+		COVERAGE, MIO, CONCURRENT_COVERAGE
 	}
 
 	/** Constant <code>ARCHIVE_TYPE=COVERAGE</code> */
@@ -49,6 +49,7 @@ import org.evosuite.runtime.util.SystemInUtil;
 import org.evosuite.seeding.CastClassManager;
 import org.evosuite.seeding.ConstantPoolManager;
 import org.evosuite.seeding.ObjectPoolManager;
+import org.evosuite.setup.CallContextTree;
 import org.evosuite.setup.ConcreteClassAnalyzer;
 import org.evosuite.setup.DependencyAnalysis;
 import org.evosuite.setup.TestCluster;
@@ -153,6 +154,7 @@ public class TestGenerationContext {
 		TestCaseExecutor.pullDown();
 
 		ExecutionTracer.getExecutionTracer().clear();
+		CallContextTree.reset();
 
 		// TODO: BranchPool should not be static
 		BranchPool.getInstance(classLoader).reset();
@@ -24,14 +24,20 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -58,66 +64,285 @@ public class ResourceList {
 
 	private static final Logger logger = LoggerFactory.getLogger(ResourceList.class);
 
+	/**
+	 * A classpath entry (ie folder or jar file). Single classes are looked up
+	 * in the listings of the folders on their path, or in the central directory
+	 * of the jar. The whole content is only read if all the classes of the
+	 * entry are asked for, and from then on it is also used for lookups.
+	 */
+	private static class Entry{
+
+		/** absolute path of the entry */
+		public final String path;
+
+		/** position of the entry on the classpath */
+		public final int index;
+
+		private final Cache cache;
+
+		private final boolean isJar;
+
+		private final boolean exists;
+
+		/**
+		 * All classes in the entry, in the order in which they were found.
+		 * Null until first needed
+		 */
+		private volatile List<String> classes = null;
+
+		private volatile Set<String> classSet = null;
+
+		/** package names of all classes in the entry, sorted to find packages by prefix */
+		private volatile NavigableSet<String> packages = null;
+
+		/**
+		 * Key -> path of a sub-folder of a folder entry, relative to the entry
+		 * <p>
+		 * Value -> names of the files and folders in it, as they are spelled on disk
+		 */
+		private final Map<String,Set<String>> folderContents = new ConcurrentHashMap<>();
+
+		public Entry(String path, int index, Cache cache){
+			this.path = path;
+			this.index = index;
+			this.cache = cache;
+			File file = new File(path);
+			this.isJar = file.isFile() && file.getName().endsWith(".jar");
+			this.exists = isJar || file.isDirectory();
+		}
+
+		public boolean contains(String className){
+			if(!exists || !isValidClassName(className)){
+				return false;
+			}
+			Set<String> all = classSet;
+			if(all != null){
+				return all.contains(className);
+			}
+			if(isJar){
+				JarFile jar = cache.getJar(path);
+				return jar != null && jar.getEntry(className.replace('.', '/') + ".class") != null;
+			} else {
+				return folderContains(className);
+			}
+		}
+
+		/**
+		 * Check each segment of the class name against the listing of its
+		 * folder, as a plain file check would also match a name that only
+		 * differs in case on a case-insensitive file system
+		 */
+		private boolean folderContains(String className){
+			String[] segments = className.split("\\.");
+			String folder = "";
+			for(int i = 0; i < segments.length - 1; i++){
+				if(!getFolderContent(folder).contains(segments[i])){
+					return false;
+				}
+				folder = folder.isEmpty() ? segments[i] : folder + File.separator + segments[i];
+			}
+			String fileName = segments[segments.length - 1] + ".class";
+			return getFolderContent(folder).contains(fileName) && new File(new File(path, folder), fileName).isFile();
+		}
+
+		private Set<String> getFolderContent(String folder){
+			return folderContents.computeIfAbsent(folder, f -> {
+				String[] names = new File(path, f).list();
+				return names == null ? Collections.emptySet() : new HashSet<>(Arrays.asList(names));
+			});
+		}
+
+		/**
+		 * Is there any class in the given package or one of its sub-packages?
+		 */
+		public boolean hasPackage(String prefix){
+			if(prefix.isEmpty()){
+				return !getClasses().isEmpty();
+			}
+			getClasses();
+			String candidate = packages.ceiling(prefix);
+			return candidate != null && (candidate.equals(prefix) || candidate.startsWith(prefix + "."));
+		}
+
+		public synchronized List<String> getClasses(){
+			if(classes == null){
+				List<String> found = new ArrayList<>();
+				if(isJar){
+					scanJar(found);
+				} else if(exists){
+					scanDirectory(new File(path), found);
+				}
+
+				NavigableSet<String> names = new TreeSet<>();
+				for(String className : found){
+					names.add(getParentPackageName(className));
+				}
+				packages = names;
+				classSet = new HashSet<>(found);
+				classes = Collections.unmodifiableList(found);
+			}
+			return classes;
+		}
+
+		private void scanDirectory(final File directory, List<String> found) {
+
+			if (!directory.exists()) {
+				return;
+			}
+			if (!directory.isDirectory()) {
+				return;
+			}
+			if (!directory.canRead()) {
+				logger.warn("No permission to read: "+directory.getAbsolutePath());
+				return;
+			}
+
+			File[] fileList = directory.listFiles();
+			for (final File file : fileList) {
+				if (file.isDirectory()) {
+					/*
+					 * recursion till we get to a file that is not a folder.
+					 */
+					scanDirectory(file, found);
+				} else {
+					if(! file.getName().endsWith(".class")){
+						continue; // we are only interested in class files
+					}
+					String relativeFilePath = file.getAbsolutePath().replace(path + File.separator,"");
+					found.add(getClassNameFromResourcePath(relativeFilePath));
+				}
+			}
+		}
+
+		private void scanJar(List<String> found) {
+			JarFile zf = cache.getJar(path);
+			if(zf == null){
+				return;
+			}
+
+			Enumeration<?> e = zf.entries();
+			while (e.hasMoreElements()) {
+				JarEntry ze = (JarEntry) e.nextElement();
+				String entryName = ze.getName();
+
+				if(! entryName.endsWith(".class")){
+					continue;
+				}
+
+				found.add(getClassNameFromResourcePath(entryName));
+			}
+		}
+	}
+
+	/**
+	 * Index of the classpath entries. Classes are located lazily, the first
+	 * time they are asked for, so that starting up does not require reading
+	 * every jar and folder on the classpath. All methods can be called
+	 * concurrently.
+	 */
 	private static class Cache{
+
+		/**
+		 * The classpath entries, in the order in which they were added.
+		 * Entries are only ever appended
+		 */
+		public final List<Entry> entries = new CopyOnWriteArrayList<>();
+
 		/**
 		 * Key -> a classpath entry (eg folder or jar file)
 		 * <p>
-		 * Value -> set of all classes in that CP entry
+		 * Value -> its index
 		 */
-		public  Map<String,Set<String>> mapCPtoClasses = new LinkedHashMap<>(); 
+		public final Map<String,Entry> mapCPtoEntry = new ConcurrentHashMap<>();
 
 		/**
 		 * Key -> full qualifying name of a class, eg org.some.Foo
 		 * <p>
 		 * Value -> the classpath entry in which it can be found
 		 */
-		public  Map<String,String> mapClassToCP = new LinkedHashMap<>();
+		public final Map<String,String> mapClassToCP = new ConcurrentHashMap<>();
 
 		/**
-		 * Key -> package prefix
+		 * Key -> full qualifying name of a class that was not found
 		 * <p>
-		 * Value -> set of classpath entries having such prefix
+		 * Value -> number of classpath entries already searched for it
 		 */
-		public Map<String,Set<String>> mapPrefixToCPs = new LinkedHashMap<>();
+		public final Map<String,Integer> mapClassToSearchedEntries = new ConcurrentHashMap<>();
 
 		/**
 		 * Keep track of the classes that should be on the classpath but they are not
 		 */
-		public Set<String> missingClasses = new LinkedHashSet<>();
-		
-		
-		public void addPrefix(String prefix, String cpEntry){
-			Set<String> classPathEntries = mapPrefixToCPs.get(prefix);
-			if(classPathEntries==null){
-				classPathEntries = new LinkedHashSet<>();
-				mapPrefixToCPs.put(prefix, classPathEntries);
-			}
-			classPathEntries.add(cpEntry);
-
-			if(!prefix.isEmpty()){
-				String parent = getParentPackageName(prefix);
-				addPrefix(parent,cpEntry);
-			}
-		}
+		public final Set<String> missingClasses = ConcurrentHashMap.newKeySet();
 
 		/**
 		 * Keep track of all jars we opened.
 		 * Key -> the path of the jar file
 		 */
-		public Map<String,JarFile> openedJars = new LinkedHashMap<>();
+		public final Map<String,JarFile> openedJars = new ConcurrentHashMap<>();
 
-		public JarFile getJar(String entry){
-			if(openedJars.containsKey(entry)){
-				return openedJars.get(entry);
+		/**
+		 * @return false if the entry was already there
+		 */
+		public synchronized boolean addEntry(String classPathElement){
+			if(mapCPtoEntry.containsKey(classPathElement)){
+				return false;
 			}
-			try {
-				JarFile jar = new JarFile(entry);
-				openedJars.put(entry,jar);
-				return jar;
-			} catch (IOException e) {
-				logger.error("Error while reading jar file "+entry+": "+e.getMessage(),e);
-				return null;
+			Entry entry = new Entry(classPathElement, entries.size(), this);
+			entries.add(entry);
+			mapCPtoEntry.put(classPathElement, entry);
+			return true;
+		}
+
+		/**
+		 * Find the classpath entry from which the given class is loaded
+		 *
+		 * @param className a fully qualifying name, e.g. org.some.Foo
+		 * @return null if the class is not on the classpath
+		 */
+		public String getEntryOf(String className){
+			String cpEntry = mapClassToCP.get(className);
+			if(cpEntry != null){
+				return cpEntry;
 			}
+
+			int size = entries.size();
+			for(int i = mapClassToSearchedEntries.getOrDefault(className, 0); i < size; i++){
+				Entry entry = entries.get(i);
+				if(!entry.contains(className)){
+					continue;
+				}
+
+				// If there is an outer class in an earlier entry, then we
+				// have a classpath problem and should ignore this
+				if(className.contains("$")) {
+					String outerClass = className.substring(0, className.indexOf('$'));
+					String outerEntry = getEntryOf(outerClass);
+					if(outerEntry != null && mapCPtoEntry.get(outerEntry).index < i) {
+						// later entries are even further behind the outer class
+						mapClassToSearchedEntries.put(className, Integer.MAX_VALUE);
+						return null;
+					}
+				}
+
+				// The same class may exist in different classpath entries
+				// and only the first one is kept
+				cpEntry = mapClassToCP.putIfAbsent(className, entry.path);
+				return cpEntry != null ? cpEntry : entry.path;
+			}
+
+			mapClassToSearchedEntries.merge(className, size, Math::max);
+			return null;
+		}
+
+		public JarFile getJar(String entry){
+			return openedJars.computeIfAbsent(entry, e -> {
+				try {
+					return new JarFile(e);
+				} catch (IOException ex) {
+					logger.error("Error while reading jar file "+e+": "+ex.getMessage(),ex);
+					return null;
+				}
+			});
 		}
 
 		public void close(){
@@ -135,13 +360,13 @@ public class ResourceList {
 	/**
 	 * Current cache. Do not access directly, but rather use getCache(), as it can be null
 	 */
-	private Cache cache = null;
+	private volatile Cache cache = null;
 	
 	
 	/*
 	 * ResourceList for each ClassLoader
 	 */
-	private static Map<ClassLoader, ResourceList> instanceMap = new HashMap<>();
+	private static final Map<ClassLoader, ResourceList> instanceMap = Collections.synchronizedMap(new HashMap<>());
 
 	private final ClassLoader classLoader;
 
@@ -151,10 +376,7 @@ public class ResourceList {
 	}
 
 	public static ResourceList getInstance(ClassLoader classLoader) {
-		if (!instanceMap.containsKey(classLoader)) {
-			instanceMap.put(classLoader, new ResourceList(classLoader));
-		}
-		return instanceMap.get(classLoader);
+		return instanceMap.computeIfAbsent(classLoader, ResourceList::new);
 	}
 
 
@@ -162,7 +384,7 @@ public class ResourceList {
 	// --------- public methods  ----------------- 
 	// -------------------------------------------
 
-	public void resetCache(){
+	public synchronized void resetCache(){
 		if(cache!=null){
 			cache.close();
 		}
@@ -182,7 +404,7 @@ public class ResourceList {
 	 * @return
 	 */
 	public boolean hasClass(String className) {
-		return getCache().mapClassToCP.containsKey(className);
+		return getCache().getEntryOf(className) != null;
 	}
 
 	/**
@@ -195,7 +417,7 @@ public class ResourceList {
 		String path = name.replace('.', '/') + ".class";
 		String windowsPath = name.replace(".", "\\") + ".class";
 
-		String cpEntry = getCache().mapClassToCP.get(name);
+		String cpEntry = getCache().getEntryOf(name);
 		if(cpEntry==null){
 			
 			/*
@@ -209,8 +431,7 @@ public class ResourceList {
 				return ins;
 			}
 
-			if(!getCache().missingClasses.contains(name)){
-				getCache().missingClasses.add(name);
+			if(getCache().missingClasses.add(name)){
 				/*
 				 * Note: can't really have "warn" here, as the SUT can use the classloader,
 				 * and try to load garbage (eg random string generated as test data) that
@@ -311,20 +532,36 @@ public class ResourceList {
 
 			classPathEntry = (new File(classPathEntry)).getAbsolutePath();
 
-			addEntry(classPathEntry);
+			Cache cache = getCache();
+			addEntry(cache, classPathEntry);
+
+			Entry entry = cache.mapCPtoEntry.get(classPathEntry);
 
-			//no need to scan the classpath entry cache if it does not have the given prefix
-			Set<String> cps = getCache().mapPrefixToCPs.get(prefix);
-			if(cps==null || !cps.contains(classPathEntry)){
+			//no need to go through the classes of the entry if it does not have the given prefix
+			if(!entry.hasPackage(prefix)){
 				return Collections.emptySet();
 			}
 
+			// classes are only listed for the first entry they appear in, so
+			// read the earlier entries as well rather than looking them up one by one
+			for(int i = 0; i < entry.index; i++){
+				cache.entries.get(i).getClasses();
+			}
+
 			Set<String> classes = new LinkedHashSet<>();
+			boolean hasPrefix = false;
 
-			for(String className : getCache().mapCPtoClasses.get(classPathEntry)){
+			for(String className : entry.getClasses()){
 				if(!className.startsWith(prefix)){
 					continue;
 				}
+				if(!classPathEntry.equals(cache.getEntryOf(className))){
+					continue;
+				}
+				String packageName = getParentPackageName(className);
+				if(prefix.isEmpty() || packageName.equals(prefix) || packageName.startsWith(prefix + ".")){
+					hasPrefix = true;
+				}
                 if(!includeInternalClasses && className.contains("$")){
                     continue;
                 }
@@ -335,6 +572,10 @@ public class ResourceList {
 				classes.add(className);
 			}
 
+			if(!hasPrefix){
+				return Collections.emptySet();
+			}
+
 			return classes;
 		}
 	}
@@ -475,143 +716,72 @@ public class ResourceList {
 		return className.substring(0,index);
 	}
 
+	/**
+	 * A class name has no empty segments and no path separators, eg neither
+	 * "a..Foo" nor ".Foo" nor "a/Foo" are valid
+	 * 
+	 * @param className
+	 * @return
+	 */
+	private static boolean isValidClassName(String className){
+		if(className.isEmpty() || className.startsWith(".") || className.endsWith(".")
+				|| className.contains("..")){
+			return false;
+		}
+		return className.indexOf('/') < 0 && className.indexOf('\\') < 0;
+	}
+
 	/**
 	 * Init the cache if null
 	 * @return
 	 */
 	private Cache getCache(){
-		if(cache == null){
-			initCache();
+		Cache current = cache;
+		if(current == null){
+			synchronized (this) {
+				if(cache == null){
+					initCache();
+				}
+				current = cache;
+			}
 		}
 
-		return cache;
+		return current;
 	}
 
 	
 	private void initCache() {
-		cache = new Cache();
+		Cache newCache = new Cache();
 
 		String cp = ClassPathHandler.getInstance().getTargetProjectClasspath();
 
-		for(String entry : cp.split(File.pathSeparator)){
-			addEntry(entry);
-		}		
+		try {
+			for(String entry : cp.split(File.pathSeparator)){
+				addEntry(newCache, entry);
+			}
+		} finally {
+			// only publish the cache once it has all the entries
+			cache = newCache;
+		}
 	}
 
-	private void addEntry(String classPathElement) throws IllegalArgumentException{
+	private static void addEntry(Cache cache, String classPathElement) throws IllegalArgumentException{
 		final File file = new File(classPathElement);
 
 		classPathElement = file.getAbsolutePath();
 
-		if(getCache().mapCPtoClasses.containsKey(classPathElement)){
+		if(!cache.addEntry(classPathElement)){
 			return; //this classpath entry has already been analyzed
 		}
 
-		getCache().mapCPtoClasses.put(classPathElement, new LinkedHashSet<>());
-
-
 		if (!file.exists()) {
 			throw new IllegalArgumentException("The class path resource "
 					+ file.getAbsolutePath() + " does not exist");
 		}
 
-		if (file.isDirectory()) {
-			scanDirectory(file,classPathElement);
-		} else if (file.getName().endsWith(".jar")) {
-			scanJar(classPathElement);
-		} else {
+		if (!file.isDirectory() && !file.getName().endsWith(".jar")) {
 			throw new IllegalArgumentException("The class path resource "
 					+ file.getAbsolutePath() + " is not valid");
 		}		
 	}
-
-	private void scanDirectory(final File directory,
-			final String classPathFolder) {
-
-		if (!directory.exists()) {
-			return;
-		}
-		if (!directory.isDirectory()) {
-			return;
-		}
-		if (!directory.canRead()) {
-			logger.warn("No permission to read: "+directory.getAbsolutePath());
-			return;
-		}
-
-		String prefix =  directory.getAbsolutePath().replace(classPathFolder + File.separator,"");
-		prefix = prefix.replace(File.separatorChar, '.');
-
-		File[] fileList = directory.listFiles();
-		for (final File file : fileList) {
-			if (file.isDirectory()) {
-				/*
-				 * recursion till we get to a file that is not a folder.
-				 */
-				scanDirectory(file, classPathFolder);
-			} else {
-				if(! file.getName().endsWith(".class")){
-					continue; // we are only interested in class files
-				}
-				String relativeFilePath = file.getAbsolutePath().replace(classPathFolder + File.separator,"");
-				String className = getClassNameFromResourcePath(relativeFilePath);
-
-				// The same class may exist in different classpath entries
-				// and only the first one is kept
-				if(getCache().mapClassToCP.containsKey(className))
-					continue;
-				
-				// If there is an outer class, then we also have a classpath
-				// problem and should ignore this
-				if(className.contains("$")) {
-					String outerClass = className.substring(0, className.indexOf('$'));
-					if(getCache().mapClassToCP.containsKey(outerClass)) {
-						if(!getCache().mapClassToCP.get(outerClass).equals(classPathFolder)) {
-							continue;
-						}
-					}
-				}
-
-
-				getCache().mapClassToCP.put(className, classPathFolder);
-				getCache().mapCPtoClasses.get(classPathFolder).add(className);
-				getCache().addPrefix(prefix, classPathFolder);
-			}
-		}
-	}
-
-	private void scanJar(String jarEntry) {
-		JarFile zf = getCache().getJar(jarEntry);
-
-		Enumeration<?> e = zf.entries();
-		while (e.hasMoreElements()) {
-			JarEntry ze = (JarEntry) e.nextElement();
-			String entryName = ze.getName();
-
-			if(! entryName.endsWith(".class")){
-				continue;
-			}
-
-			String className = getClassNameFromResourcePath(entryName);
-			
-			// The same class may exist in different classpath entries
-			// and only the first one is kept
-			if(getCache().mapClassToCP.containsKey(className))
-				continue;
-			
-			if(className.contains("$")) {
-				String outerClass = className.substring(0, className.indexOf('$'));
-				if(getCache().mapClassToCP.containsKey(outerClass)) {
-					if(!getCache().mapClassToCP.get(outerClass).equals(jarEntry)) {
-						continue;
-					}
-				}
-			}
-			
-			getCache().mapClassToCP.put(className, jarEntry);//getPackageName
-			getCache().mapCPtoClasses.get(jarEntry).add(className);
-			getCache().addPrefix(getParentPackageName(className), jarEntry);
-		}
-	}
-
-}
\ No newline at end of file
+}
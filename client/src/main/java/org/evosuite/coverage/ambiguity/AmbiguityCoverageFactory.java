@@ -60,6 +60,10 @@ public class AmbiguityCoverageFactory extends
 
 	private static List<StringBuilder> transposedMatrix = new ArrayList<>();
 
+	/**
+	 * Same as <code>transposedMatrix</code>, with each row packed in bits
+	 */
+	private static List<BitRow> packedTransposedMatrix = new ArrayList<>();
 
 	private static double max_ambiguity_score = Double.MAX_VALUE;
 
@@ -87,6 +91,10 @@ public class AmbiguityCoverageFactory extends
 			}
 
 			transposedMatrix = tranposeMatrix(matrix);
+			packedTransposedMatrix = new ArrayList<>(transposedMatrix.size());
+			for (StringBuilder row : transposedMatrix) {
+				packedTransposedMatrix.add(new BitRow(row));
+			}
 			//double ag = AmbiguityCoverageFactory.getDefaultAmbiguity(transposedMatrix) * 1.0 / ((double) goals.size());
 			double ag = TestFitnessFunction.normalize(AmbiguityCoverageFactory.getDefaultAmbiguity(transposedMatrix));
 			logger.info("AmbiguityScore of an existing test suite: " + ag);
@@ -152,6 +160,13 @@ public class AmbiguityCoverageFactory extends
 		return transposedMatrix;
 	}
 
+	/**
+	 * 
+	 * @return the transposed matrix, with each row packed in bits
+	 */
+	public static List<BitRow> getPackedTransposedMatrix() {
+		return packedTransposedMatrix;
+	}
 	/**
 	 * 
 	 * @param matrix
@@ -190,14 +205,13 @@ public class AmbiguityCoverageFactory extends
 	protected static double getDefaultAmbiguity(List<StringBuilder> matrix) {
 
 		int number_of_components = matrix.size();
-		Map<String, Integer> groups = new HashMap<>();
+		Map<BitRow, Integer> groups = new HashMap<>();
 
 		for (StringBuilder s : matrix) {
-			if (!groups.containsKey(s.toString())) {
-				groups.put(s.toString(), 1); // in the beginning they are ambiguity, so they belong to the same group '1'
-			} else {
-				groups.put(s.toString(), groups.get(s.toString()) + 1);
-			}
+			BitRow row = new BitRow(s);
+			Integer count = groups.get(row);
+			// in the beginning they are ambiguity, so they belong to the same group '1'
+			groups.put(row, count == null ? 1 : count + 1);
 		}
 
 		return getAmbiguity(number_of_components, groups);
@@ -208,11 +222,11 @@ public class AmbiguityCoverageFactory extends
 	 * @param matrix transposed matrix
 	 * @return
 	 */
-	public static double getAmbiguity(int number_of_components, Map<String, Integer> groups) {
+	public static double getAmbiguity(int number_of_components, Map<?, Integer> groups) {
 
 		double fit = 0.0;
-		for (String s : groups.keySet()) {
-			double cardinality = groups.get(s);
+		for (Integer size : groups.values()) {
+			double cardinality = size;
 			if (cardinality == 1.0) {
 				continue ;
 			}
@@ -227,5 +241,6 @@ public class AmbiguityCoverageFactory extends
 	protected static void reset() {
 		goals.clear();
 		transposedMatrix.clear();
+		packedTransposedMatrix.clear();
 	}
 }
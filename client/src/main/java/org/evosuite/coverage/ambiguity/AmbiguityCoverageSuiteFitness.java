@@ -19,7 +19,6 @@
  */
 package org.evosuite.coverage.ambiguity;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -43,6 +42,11 @@ public class AmbiguityCoverageSuiteFitness extends TestSuiteFitnessFunction {
 	
 	private final Set<Integer> goals;
 
+	/**
+	 * Index of the row of each goal (i.e. line) in the coverage matrix
+	 */
+	private final Map<Integer, Integer> goalIndexes;
+
 	
 	public AmbiguityCoverageSuiteFitness() {
 
@@ -50,44 +54,51 @@ public class AmbiguityCoverageSuiteFitness extends TestSuiteFitnessFunction {
 		for (LineCoverageTestFitness goal : AmbiguityCoverageFactory.getGoals()) {
 			this.goals.add(goal.getLine());
 		}
+
+		this.goalIndexes = new HashMap<>();
+		for (Integer goal : this.goals) {
+			this.goalIndexes.put(goal, this.goalIndexes.size());
+		}
 	}
 
 	@Override
 	public double getFitness(TestSuiteChromosome suite) {
 
-		List<StringBuilder> transposedMatrix = new ArrayList<>(AmbiguityCoverageFactory.getTransposedMatrix());
-		List<Set<Integer>> coveredLines = new ArrayList<>();
+		List<BitRow> transposedMatrix = AmbiguityCoverageFactory.getPackedTransposedMatrix();
 
-		// Execute test cases and collect the covered lines
+		// Execute test cases
 		List<ExecutionResult> results = runTestSuite(suite);
-		for (ExecutionResult result : results) {
-			coveredLines.add(result.getTrace().getCoveredLines());
-		}
-
-		Map<String, Integer> groups = new HashMap<>();
-		int g_i = 0;
-
-		for (Integer goal : this.goals) {
-			StringBuffer str = null;
 
+		// the coverage of each goal by the previous test cases, followed by the one of the test cases of the suite
+		BitRow[] rows = new BitRow[this.goals.size()];
+		int[] offsets = new int[rows.length];
+		for (int g_i = 0; g_i < rows.length; g_i++) {
 			if (transposedMatrix.size() > g_i) {
-				str = new StringBuffer(transposedMatrix.get(g_i).length() + coveredLines.size());
-				str.append(transposedMatrix.get(g_i));
+				BitRow previous = transposedMatrix.get(g_i);
+				rows[g_i] = previous.extend(results.size());
+				offsets[g_i] = previous.length();
 			} else {
-				str = new StringBuffer(coveredLines.size());
-			}
-
-			for (Set<Integer> covered : coveredLines) {
-				str.append( covered.contains(goal) ? "1" : "0" );
+				rows[g_i] = new BitRow(results.size());
 			}
+		}
 
-			if (!groups.containsKey(str.toString())) {
-				groups.put(str.toString(), 1); // in the beginning they are ambiguity, so they belong to the same group '1'
-			} else {
-				groups.put(str.toString(), groups.get(str.toString()) + 1);
+		// Collect the covered lines, only looking at the lines that are covered
+		int t_i = 0;
+		for (ExecutionResult result : results) {
+			for (Integer line : result.getTrace().getCoveredLines()) {
+				Integer g_i = this.goalIndexes.get(line);
+				if (g_i != null) {
+					rows[g_i].set(offsets[g_i] + t_i);
+				}
 			}
+			t_i++;
+		}
 
-			g_i++;
+		Map<BitRow, Integer> groups = new HashMap<>();
+		for (BitRow row : rows) {
+			Integer count = groups.get(row);
+			// in the beginning they are ambiguity, so they belong to the same group '1'
+			groups.put(row, count == null ? 1 : count + 1);
 		}
 
 		//double fitness = AmbiguityCoverageFactory.getAmbiguity(this.goals.size(), groups) * 1.0 / AmbiguityCoverageFactory.getMaxAmbiguityScore();
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.ambiguity;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A row of a coverage matrix (i.e., whether a component is covered by each
+ * test case), packed in 64 bits words.
+ *
+ * Rows with the same length and the same bits are equal, so they can be used
+ * directly as keys to group components with the same coverage spectrum. The
+ * rows are hashed with a 64-bit hash of all their words.
+ */
+public final class BitRow implements Serializable {
+
+	private static final long serialVersionUID = -3012785373487129416L;
+
+	private final int length;
+
+	private final long[] words;
+
+	private long hash;
+
+	private boolean hashed = false;
+
+	/**
+	 * Creates a row with all bits unset
+	 *
+	 * @param length
+	 *            number of bits of the row
+	 */
+	public BitRow(int length) {
+		this.length = length;
+		this.words = new long[(length + 63) >>> 6];
+	}
+
+	/**
+	 * Creates a row from a string of '0' and '1' characters
+	 *
+	 * @param bits
+	 */
+	public BitRow(CharSequence bits) {
+		this(bits.length());
+		for (int i = 0; i < length; i++) {
+			if (bits.charAt(i) == '1') {
+				set(i);
+			}
+		}
+	}
+
+	/**
+	 * Returns a new row, with the bits of this one followed by
+	 * <code>extraLength</code> unset bits
+	 *
+	 * @param extraLength
+	 * @return
+	 */
+	public BitRow extend(int extraLength) {
+		BitRow row = new BitRow(length + extraLength);
+		System.arraycopy(words, 0, row.words, 0, words.length);
+		return row;
+	}
+
+	public int length() {
+		return length;
+	}
+
+	public void set(int index) {
+		if (index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException("Index " + index + " out of row of length " + length);
+		}
+		words[index >>> 6] |= 1L << index;
+		hashed = false;
+	}
+
+	public boolean get(int index) {
+		if (index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException("Index " + index + " out of row of length " + length);
+		}
+		return (words[index >>> 6] & (1L << index)) != 0;
+	}
+
+	/**
+	 * Returns the number of bits set
+	 *
+	 * @return
+	 */
+	public int cardinality() {
+		int count = 0;
+		for (long word : words) {
+			count += Long.bitCount(word);
+		}
+		return count;
+	}
+
+	/**
+	 * 64-bit hash of the row
+	 *
+	 * @return
+	 */
+	public long longHashCode() {
+		if (!hashed) {
+			long h = length;
+			for (long word : words) {
+				h = (h ^ word) * 0x9E3779B97F4A7C15L;
+				h ^= h >>> 32;
+			}
+			hash = h;
+			hashed = true;
+		}
+		return hash;
+	}
+
+	@Override
+	public int hashCode() {
+		long h = longHashCode();
+		return (int) (h ^ (h >>> 32));
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null || getClass() != obj.getClass())
+			return false;
+		BitRow other = (BitRow) obj;
+		return length == other.length && longHashCode() == other.longHashCode()
+				&& Arrays.equals(words, other.words);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			builder.append(get(i) ? '1' : '0');
+		}
+		return builder.toString();
+	}
+}
@@ -54,30 +54,31 @@ public class BranchCoverageFactory extends
 	private List<BranchCoverageTestFitness> computeCoverageGoals(boolean limitToCUT){
 		long start = System.currentTimeMillis();
 		List<BranchCoverageTestFitness> goals = new ArrayList<>();
+		BranchPool branchPool = BranchPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT());
+		BranchRegistry registry = branchPool.getRegistry();
 
 		// logger.info("Getting branches");
-		for (String className : BranchPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).knownClasses()) {
+		for (String className : branchPool.knownClasses()) {
 			//when limitToCUT== true, if not the class under test of a inner/anonymous class, continue
 			if(limitToCUT && !isCUT(className)) continue;
 			//when limitToCUT==false, consider all classes, but excludes libraries ones according the INSTRUMENT_LIBRARIES property
 			if(!limitToCUT && (!Properties.INSTRUMENT_LIBRARIES && !DependencyAnalysis.isTargetProject(className))) continue;
 			final MethodNameMatcher matcher = new MethodNameMatcher();
 			// Branchless methods
-			for (String method : BranchPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getBranchlessMethods(className)) {
+			for (String method : branchPool.getBranchlessMethods(className)) {
 				if (matcher.fullyQualifiedMethodMatches(method)) {
 					goals.add(createRootBranchTestFitness(className, method));
 				}
 			}
 
 			// Branches
-			for (String methodName : BranchPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).knownMethods(className)) {
+			for (String methodName : branchPool.knownMethods(className)) {
 				if (!matcher.methodMatches(methodName)) {
 					logger.info("Method " + methodName + " does not match criteria. ");
 					continue;
 				}
 
-				for (Branch b : BranchPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).retrieveBranchesInMethod(className,
-						methodName)) {
+				for (Branch b : registry.getBranches(className, methodName)) {
                     if(!b.isInstrumented()) {
                         goals.add(createBranchCoverageTestFitness(b, true));
                         goals.add(createBranchCoverageTestFitness(b, false));
@@ -22,6 +22,8 @@ package org.evosuite.coverage.branch;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -37,6 +39,8 @@ import org.evosuite.testcase.TestFitnessFunction;
 import org.evosuite.testcase.execution.ExecutionResult;
 import org.evosuite.testcase.statements.ConstructorStatement;
 import org.evosuite.testcase.statements.Statement;
+import org.evosuite.testsuite.IncrementalSuiteAggregator;
+import org.evosuite.testsuite.IncrementalSuiteAggregator.MinimumDistances;
 import org.evosuite.testsuite.TestSuiteChromosome;
 import org.evosuite.testsuite.TestSuiteFitnessFunction;
 import org.objectweb.asm.Type;
@@ -80,7 +84,73 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
 	private final Set<Integer> removedBranchesT = new LinkedHashSet<>();
 	private final Set<Integer> removedBranchesF = new LinkedHashSet<>();
 	private final Set<String> removedRootBranches = new LinkedHashSet<>();
-	
+
+	/**
+	 * Incremented whenever goals are removed, so that the contributions
+	 * computed before are not reused
+	 */
+	private transient int goalsVersion = 0;
+
+	private transient BranchAggregator aggregator;
+
+	/**
+	 * The goals reached by a single test execution. Contributions are cached
+	 * in the execution result, and must not be modified once built.
+	 */
+	protected static final class BranchContribution {
+
+		private final Map<Integer, Integer> predicateCount = new HashMap<>();
+		private final Map<String, Integer> callCount = new HashMap<>();
+		private final Map<Integer, Double> trueDistance = new HashMap<>();
+		private final Map<Integer, Double> falseDistance = new HashMap<>();
+		private final boolean hasTimeoutOrTestException;
+		private final int goalsVersion;
+
+		private BranchContribution(boolean hasTimeoutOrTestException, int goalsVersion) {
+			this.hasTimeoutOrTestException = hasTimeoutOrTestException;
+			this.goalsVersion = goalsVersion;
+		}
+	}
+
+	/**
+	 * Sums of the predicate and call counts, and minima of the branch
+	 * distances, over the tests of the last evaluated suite
+	 */
+	private static final class BranchAggregator extends IncrementalSuiteAggregator<BranchContribution> {
+
+		private final Map<Integer, Integer> predicateCount = new HashMap<>();
+		private final Map<String, Integer> callCount = new HashMap<>();
+		private final MinimumDistances<Integer> trueDistance = new MinimumDistances<>();
+		private final MinimumDistances<Integer> falseDistance = new MinimumDistances<>();
+		private int timeoutsOrTestExceptions = 0;
+
+		@Override
+		protected void changeMultiplicity(BranchContribution contribution, int oldCount, int newCount) {
+			if (contribution.hasTimeoutOrTestException) {
+				timeoutsOrTestExceptions += newCount - oldCount;
+				return;
+			}
+			addCounts(predicateCount, contribution.predicateCount, newCount - oldCount);
+			addCounts(callCount, contribution.callCount, newCount - oldCount);
+			if (oldCount == 0) {
+				trueDistance.add(contribution, contribution.trueDistance);
+				falseDistance.add(contribution, contribution.falseDistance);
+			} else if (newCount == 0) {
+				trueDistance.remove(contribution, contribution.trueDistance);
+				falseDistance.remove(contribution, contribution.falseDistance);
+			}
+		}
+
+		@Override
+		protected void clearAggregates() {
+			predicateCount.clear();
+			callCount.clear();
+			trueDistance.clear();
+			falseDistance.clear();
+			timeoutsOrTestExceptions = 0;
+		}
+	}
+
 	/**
 	 * <p>
 	 * Constructor for BranchCoverageSuiteFitness.
@@ -277,40 +347,62 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
 	}
 
 	/**
-	 * Iterate over all execution results and summarize statistics
+	 * Summarize the goals reached by an execution. The summary is computed
+	 * only once per execution (it is shared by the clones of the result), so
+	 * the goals are marked as covered and the archive is updated only when the
+	 * test is executed, or when the set of goals changes.
 	 * 
-	 * @param results
-	 * @param predicateCount
-	 * @param callCount
-	 * @param trueDistance
-	 * @param falseDistance
+	 * @param result
 	 * @return
 	 */
-	private boolean analyzeTraces(TestSuiteChromosome suite,
-								  List<ExecutionResult> results,
-								  Map<Integer, Integer> predicateCount, Map<String, Integer> callCount,
-								  Map<Integer, Double> trueDistance, Map<Integer, Double> falseDistance) {
-		boolean hasTimeoutOrTestException = false;
-		for (ExecutionResult result : results) {
-			if (result.hasTimeout() || result.hasTestException()) {
-				hasTimeoutOrTestException = true;
-				continue;
-			}
+	private BranchContribution getContribution(ExecutionResult result) {
+		Object cached = result.getContribution(this);
+		if (cached instanceof BranchContribution
+				&& ((BranchContribution) cached).goalsVersion == goalsVersion) {
+			return (BranchContribution) cached;
+		}
+
+		BranchContribution contribution;
+		if (result.hasTimeout() || result.hasTestException()) {
+			contribution = new BranchContribution(true, goalsVersion);
+		} else {
+			contribution = new BranchContribution(false, goalsVersion);
 
 			TestChromosome test = new TestChromosome();
 			test.setTestCase(result.test);
 			test.setLastExecutionResult(result);
 			test.setChanged(false);
 
-			handleBranchlessMethods(test, result, callCount);
-			handlePredicateCount(result, predicateCount);
-			handleTrueDistances(test, result, trueDistance);
-			handleFalseDistances(test, result, falseDistance);
+			handleBranchlessMethods(test, result, contribution.callCount);
+			handlePredicateCount(result, contribution.predicateCount);
+			handleTrueDistances(test, result, contribution.trueDistance);
+			handleFalseDistances(test, result, contribution.falseDistance);
 
 			// In case there were exceptions in a constructor
-			handleConstructorExceptions(test, result, callCount);
+			handleConstructorExceptions(test, result, contribution.callCount);
+		}
+		result.setContribution(this, contribution);
+		return contribution;
+	}
+
+	/**
+	 * Aggregate the contributions of all execution results, reusing the
+	 * aggregation of the previously evaluated suite for the results that did
+	 * not change
+	 * 
+	 * @param results
+	 * @return
+	 */
+	private BranchAggregator analyzeTraces(List<ExecutionResult> results) {
+		if (aggregator == null) {
+			aggregator = new BranchAggregator();
+		}
+		List<BranchContribution> contributions = new ArrayList<>(results.size());
+		for (ExecutionResult result : results) {
+			contributions.add(getContribution(result));
 		}
-		return hasTimeoutOrTestException;
+		aggregator.update(contributions);
+		return aggregator;
 	}
 
 	@Override
@@ -361,6 +453,13 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
 			}
 		}
 		
+		if (!toRemoveRootBranches.isEmpty() || !toRemoveBranchesT.isEmpty() || !toRemoveBranchesF.isEmpty()) {
+			// Cached contributions may refer to the removed goals
+			goalsVersion++;
+			if (aggregator != null) {
+				aggregator.reset();
+			}
+		}
 		toRemoveRootBranches.clear();
 		toRemoveBranchesF.clear();
 		toRemoveBranchesT.clear();
@@ -380,15 +479,14 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
 		double fitness = 0.0;
 
 		List<ExecutionResult> results = runTestSuite(suite);
-		Map<Integer, Double> trueDistance = new LinkedHashMap<>();
-		Map<Integer, Double> falseDistance = new LinkedHashMap<>();
-		Map<Integer, Integer> predicateCount = new LinkedHashMap<>();
-		Map<String, Integer> callCount = new LinkedHashMap<>();
 
 		// Collect stats in the traces 
-		boolean hasTimeoutOrTestException = analyzeTraces(suite, results, predicateCount,
-		                                                  callCount, trueDistance,
-		                                                  falseDistance);
+		BranchAggregator stats = analyzeTraces(results);
+		Map<Integer, Integer> predicateCount = stats.predicateCount;
+		Map<String, Integer> callCount = stats.callCount;
+		MinimumDistances<Integer> trueDistance = stats.trueDistance;
+		MinimumDistances<Integer> falseDistance = stats.falseDistance;
+		boolean hasTimeoutOrTestException = stats.timeoutsOrTestExceptions > 0;
 
 		// Collect branch distances of covered branches
 		int numCoveredBranches = 0;
@@ -127,12 +127,13 @@ public class BranchCoverageTestFitness extends TestFitnessFunction {
 			        && call.methodName.equals(goal.getMethodName())) {
 				methodExecuted = true;
 				if (goal.getBranch() != null) {
+					int instructionId = goal.getBranch().getInstruction().getInstructionId();
 					for (int i = 0; i < call.branchTrace.size(); i++) {
-						if (call.branchTrace.get(i) == goal.getBranch().getInstruction().getInstructionId()) {
+						if (call.branchTrace.getInt(i) == instructionId) {
 							if (goal.getValue())
-								sum += call.falseDistanceTrace.get(i);
+								sum += call.falseDistanceTrace.getDouble(i);
 							else
-								sum += call.trueDistanceTrace.get(i);
+								sum += call.trueDistanceTrace.getDouble(i);
 						}
 					}
 				}
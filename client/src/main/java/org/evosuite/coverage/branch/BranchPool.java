@@ -29,6 +29,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 // TODO: root branches should not be special cases
 // every root branch should be a branch just
@@ -79,14 +80,48 @@ public class BranchPool {
 	// number of known Branches - used for actualBranchIds
 	private int branchCounter = 0;
 
-	private static Map<ClassLoader, BranchPool> instanceMap = new HashMap<>();
+	// snapshot of the branches for lock-free reads, null if it needs to be rebuilt.
+	// The pool is only changed while holding its lock, so that the snapshot is
+	// never built from a pool in the middle of a change
+	private volatile BranchRegistry registry = null;
+
+	private static Map<ClassLoader, BranchPool> instanceMap = new ConcurrentHashMap<>();
 
 	public static BranchPool getInstance(ClassLoader classLoader) {
-		if (!instanceMap.containsKey(classLoader)) {
-			instanceMap.put(classLoader, new BranchPool());
+		BranchPool pool = instanceMap.get(classLoader);
+		if (pool == null) {
+			pool = new BranchPool();
+			BranchPool previous = instanceMap.putIfAbsent(classLoader, pool);
+			if (previous != null) {
+				pool = previous;
+			}
+		}
+		return pool;
+	}
+
+	/**
+	 * Returns an immutable snapshot of the branches currently in the pool. The
+	 * snapshot is rebuilt only if branches or branchless methods were added or
+	 * removed since the last call.
+	 * 
+	 * @return
+	 */
+	public BranchRegistry getRegistry() {
+		BranchRegistry current = registry;
+		if (current == null) {
+			synchronized (this) {
+				current = registry;
+				if (current == null) {
+					current = new BranchRegistry(branchIdMap, branchMap, branchlessMethods);
+					registry = current;
+				}
+			}
 		}
+		return current;
+	}
 
-		return instanceMap.get(classLoader);
+	private void invalidateRegistry() {
+		registry = null;
 	}
 	// fill the pool
 
@@ -100,11 +135,12 @@ public class BranchPool {
 	 * @param className
 	 *            a {@link java.lang.String} object.
 	 */
-	public void addBranchlessMethod(String className, String methodName,
+	public synchronized void addBranchlessMethod(String className, String methodName,
 	        int lineNumber) {
 		if (!branchlessMethods.containsKey(className))
 			branchlessMethods.put(className, new HashMap<>());
 		branchlessMethods.get(className).put(methodName, lineNumber);
+		invalidateRegistry();
 	}
 
 	/**
@@ -115,7 +151,7 @@ public class BranchPool {
 	 * @param instruction
 	 *            a {@link org.evosuite.graphs.cfg.BytecodeInstruction} object.
 	 */
-	public void registerAsBranch(BytecodeInstruction instruction) {
+	public synchronized void registerAsBranch(BytecodeInstruction instruction) {
 		if (!(instruction.isActualBranch()))
 			throw new IllegalArgumentException("CFGVertex of a branch expected");
 		if (isKnownAsBranch(instruction))
@@ -157,6 +193,7 @@ public class BranchPool {
 		Branch b = new Branch(v, branchCounter);
 		addBranchToMap(b);
 		branchIdMap.put(branchCounter, b);
+		invalidateRegistry();
 
 		logger.info("Branch " + branchCounter + " at line " + v.getLineNumber());
 	}
@@ -236,6 +273,7 @@ public class BranchPool {
 		registerSwitchBranch(v, switchBranch);
 		addBranchToMap(switchBranch);
 		branchIdMap.put(branchCounter, switchBranch);
+		invalidateRegistry();
 
 		registerSwitchLabel(switchBranch, targetLabel);
 
@@ -307,6 +345,7 @@ public class BranchPool {
 		if (!branchMap.get(className).containsKey(methodName))
 			branchMap.get(className).put(methodName, new ArrayList<>());
 		branchMap.get(className).get(methodName).add(b);
+		invalidateRegistry();
 	}
 
 	// retrieve information from the pool
@@ -412,7 +451,9 @@ public class BranchPool {
 			throw new IllegalArgumentException(
 			        "expect given instruction to be known as a normal branch");
 
-		return getBranch(registeredNormalBranches.get(instruction));
+		// called during instrumentation right after the branches of a method
+		// are registered, so the snapshot would be rebuilt for each method
+		return branchIdMap.get(registeredNormalBranches.get(instruction));
 	}
 
 	/**
@@ -581,8 +622,7 @@ public class BranchPool {
 	 * @return The branch, or null if it does not exist
 	 */
 	public Branch getBranch(int branchId) {
-
-		return branchIdMap.get(branchId);
+		return getRegistry().getBranch(branchId);
 	}
 	
 	public Collection<Branch> getAllBranches() {
@@ -668,11 +708,7 @@ public class BranchPool {
 	}
 	
 	public boolean isBranchlessMethod(String className, String methodName) {
-		Map<String, Integer> methodMap = branchlessMethods.get(className);
-		if(methodMap != null) {
-			return methodMap.containsKey(methodName);
-		}
-		return false;
+		return getRegistry().isBranchlessMethod(className, methodName);
 	}
 
 	/**
@@ -778,13 +814,7 @@ public class BranchPool {
 	 */
 	public List<Branch> retrieveBranchesInMethod(String className,
 	        String methodName) {
-		List<Branch> r = new ArrayList<>();
-		if (branchMap.get(className) == null)
-			return r;
-		List<Branch> branches = branchMap.get(className).get(methodName);
-		if (branches != null)
-			r.addAll(branches);
-		return r;
+		return getRegistry().getBranches(className, methodName);
 	}
 
 	/**
@@ -813,7 +843,7 @@ public class BranchPool {
 	 * Reset all the data structures used to keep track of the branch
 	 * information
 	 */
-	public void reset() {
+	public synchronized void reset() {
 		branchCounter = 0;
 		branchMap.clear();
 		branchlessMethods.clear();
@@ -822,6 +852,7 @@ public class BranchPool {
 		registeredSwitches.clear();
 		registeredDefaultCases.clear();
 		switchLabels.clear();
+		invalidateRegistry();
 	}
 
 	/**
@@ -831,7 +862,7 @@ public class BranchPool {
 	 * 
 	 * TODO: One of these two methods should go
 	 */
-	public void clear() {
+	public synchronized void clear() {
 		branchCounter = 0;
 		branchMap.clear();
 		branchIdMap.clear();
@@ -840,6 +871,7 @@ public class BranchPool {
 		registeredDefaultCases.clear();
 		registeredNormalBranches.clear();
 		registeredSwitches.clear();
+		invalidateRegistry();
 	}
 
 	/**
@@ -850,9 +882,10 @@ public class BranchPool {
 	 * @param className
 	 *            a {@link java.lang.String} object.
 	 */
-	public void clear(String className) {
+	public synchronized void clear(String className) {
 		branchMap.remove(className);
 		branchlessMethods.remove(className);
+		invalidateRegistry();
 	}
 
 	/**
@@ -865,7 +898,7 @@ public class BranchPool {
 	 * @param methodName
 	 *            a {@link java.lang.String} object.
 	 */
-	public void clear(String className, String methodName) {
+	public synchronized void clear(String className, String methodName) {
 		int numBranches = 0;
 
 		if (branchMap.containsKey(className)) {
@@ -878,6 +911,7 @@ public class BranchPool {
 		logger.info("Resetting branchCounter from " + branchCounter + " to "
 		        + (branchCounter - numBranches));
 		branchCounter -= numBranches;
+		invalidateRegistry();
 	}
 
 }
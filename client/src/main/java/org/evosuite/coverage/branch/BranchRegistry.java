@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.branch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Immutable snapshot of the branches known to a {@link BranchPool}.
+ * 
+ * Branches are stored in an array indexed by their actual branch id, and the
+ * branches of each method as an array of ids, so that the lookups done while
+ * tests are executed and evaluated need neither locking nor boxing. A new
+ * snapshot is published by the pool whenever it is read after the set of
+ * branches has changed (e.g., when a new class is instrumented), and readers
+ * holding the previous one keep a consistent view.
+ */
+public final class BranchRegistry {
+
+	private static final int[] NO_IDS = new int[0];
+
+	/**
+	 * Branches indexed by actual branch id (ids start from 1)
+	 */
+	private final Branch[] branches;
+
+	private final int numBranches;
+
+	/**
+	 * class name -> method name -> ids of the branches in the method
+	 */
+	private final Map<String, Map<String, int[]>> methodBranchIds;
+
+	/**
+	 * class name -> names of the methods without branches
+	 */
+	private final Map<String, Map<String, Integer>> branchlessMethods;
+
+	BranchRegistry(Map<Integer, Branch> branchIdMap,
+	        Map<String, Map<String, List<Branch>>> branchMap,
+	        Map<String, Map<String, Integer>> branchlessMethods) {
+		int maxId = 0;
+		for (Integer id : branchIdMap.keySet()) {
+			maxId = Math.max(maxId, id);
+		}
+		this.branches = new Branch[maxId + 1];
+		for (Entry<Integer, Branch> entry : branchIdMap.entrySet()) {
+			branches[entry.getKey()] = entry.getValue();
+		}
+		this.numBranches = branchIdMap.size();
+
+		Map<String, Map<String, int[]>> ids = new HashMap<>();
+		for (Entry<String, Map<String, List<Branch>>> classEntry : branchMap.entrySet()) {
+			Map<String, int[]> methods = new HashMap<>();
+			for (Entry<String, List<Branch>> methodEntry : classEntry.getValue().entrySet()) {
+				List<Branch> methodBranches = methodEntry.getValue();
+				int[] methodIds = new int[methodBranches.size()];
+				for (int i = 0; i < methodIds.length; i++) {
+					methodIds[i] = methodBranches.get(i).getActualBranchId();
+				}
+				methods.put(methodEntry.getKey(), methodIds);
+			}
+			ids.put(classEntry.getKey(), methods);
+		}
+		this.methodBranchIds = ids;
+
+		Map<String, Map<String, Integer>> branchless = new HashMap<>();
+		for (Entry<String, Map<String, Integer>> entry : branchlessMethods.entrySet()) {
+			branchless.put(entry.getKey(), new HashMap<>(entry.getValue()));
+		}
+		this.branchlessMethods = branchless;
+	}
+
+	/**
+	 * Returns the branch with the given actual branch id
+	 * 
+	 * @param branchId
+	 * @return the branch, or null if there is none with such id
+	 */
+	public Branch getBranch(int branchId) {
+		if (branchId < 0 || branchId >= branches.length) {
+			return null;
+		}
+		return branches[branchId];
+	}
+
+	/**
+	 * Returns the number of branches in this snapshot
+	 * 
+	 * @return
+	 */
+	public int getNumBranches() {
+		return numBranches;
+	}
+
+	/**
+	 * Returns the largest branch id in this snapshot (0 if there is none)
+	 * 
+	 * @return
+	 */
+	public int getMaxBranchId() {
+		return branches.length - 1;
+	}
+
+	/**
+	 * Returns the ids of the branches in the given method, in the order they
+	 * were registered. The returned array must not be modified.
+	 * 
+	 * @param className
+	 * @param methodName
+	 * @return
+	 */
+	public int[] getBranchIds(String className, String methodName) {
+		Map<String, int[]> methods = methodBranchIds.get(className);
+		if (methods == null) {
+			return NO_IDS;
+		}
+		int[] ids = methods.get(methodName);
+		return ids == null ? NO_IDS : ids;
+	}
+
+	/**
+	 * Returns the branches in the given method, in the order they were
+	 * registered
+	 * 
+	 * @param className
+	 * @param methodName
+	 * @return
+	 */
+	public List<Branch> getBranches(String className, String methodName) {
+		int[] ids = getBranchIds(className, methodName);
+		List<Branch> result = new ArrayList<>(ids.length);
+		for (int id : ids) {
+			result.add(branches[id]);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns true if the given method (as <className>.<methodName>) is known
+	 * to have no branches
+	 * 
+	 * @param className
+	 * @param methodName
+	 * @return
+	 */
+	public boolean isBranchlessMethod(String className, String methodName) {
+		Map<String, Integer> methods = branchlessMethods.get(className);
+		return methods != null && methods.containsKey(methodName);
+	}
+}
@@ -26,7 +26,9 @@ import org.evosuite.coverage.TestCoverageGoal;
 import org.evosuite.graphs.cfg.BytecodeInstruction;
 import org.evosuite.graphs.cfg.ControlDependency;
 import org.evosuite.testcase.statements.Statement;
+import org.evosuite.testcase.execution.DoubleTraceList;
 import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.IntTraceList;
 import org.evosuite.testcase.execution.MethodCall;
 import org.evosuite.testcase.statements.ConstructorStatement;
 import org.objectweb.asm.Type;
@@ -251,8 +253,8 @@ public class ControlFlowDistanceCalculator {
 		}
 		handled.add(branch);
 
-		List<Double> trueDistances = call.trueDistanceTrace;
-		List<Double> falseDistances = call.falseDistanceTrace;
+		DoubleTraceList trueDistances = call.trueDistanceTrace;
+		DoubleTraceList falseDistances = call.falseDistanceTrace;
 
 		// IDEA:
 		// if this goal's branch is traced in the given path, return the
@@ -271,10 +273,10 @@ public class ControlFlowDistanceCalculator {
 			for (Integer branchTracePosition : branchTracePositions)
 				if (value)
 					r.setBranchDistance(Math.min(r.getBranchDistance(),
-					                             trueDistances.get(branchTracePosition)));
+					                             trueDistances.getDouble(branchTracePosition)));
 				else
 					r.setBranchDistance(Math.min(r.getBranchDistance(),
-					                             falseDistances.get(branchTracePosition)));
+					                             falseDistances.getDouble(branchTracePosition)));
 
 			if (r.getBranchDistance() == Double.MAX_VALUE)
 				throw new IllegalStateException("should be impossible");
@@ -357,9 +359,10 @@ public class ControlFlowDistanceCalculator {
 	        Branch branch) {
 
 		Set<Integer> r = new HashSet<>();
-		List<Integer> path = call.branchTrace;
+		IntTraceList path = call.branchTrace;
+		int branchId = branch.getActualBranchId();
 		for (int pos = 0; pos < path.size(); pos++) {
-			if (path.get(pos) == branch.getActualBranchId()) { //.getActualBranchId()); {
+			if (path.getInt(pos) == branchId) { //.getActualBranchId()); {
 				r.add(pos);
 			}
 		}
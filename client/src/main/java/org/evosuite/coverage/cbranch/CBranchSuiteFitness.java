@@ -128,31 +128,31 @@ public class CBranchSuiteFitness extends TestSuiteFitnessFunction {
 	// }
 
 	private CBranchTestFitness getContextGoal(String classAndMethodName, CallContext context) {
-		if (privateMethodsMethodsMap.containsKey(classAndMethodName)) {
-			return privateMethodsMethodsMap.get(classAndMethodName);
-		} else if (methodsMap.get(classAndMethodName) == null
-				|| methodsMap.get(classAndMethodName).get(context) == null)
-			return null;
-		else
-			return methodsMap.get(classAndMethodName).get(context);
+		CBranchTestFitness privateGoal = privateMethodsMethodsMap.get(classAndMethodName);
+		if (privateGoal != null) {
+			return privateGoal;
+		}
+		Map<CallContext, CBranchTestFitness> contextGoals = methodsMap.get(classAndMethodName);
+		return contextGoals == null ? null : contextGoals.get(context);
 	}
 
 	private CBranchTestFitness getContextGoal(Integer branchId, CallContext context, boolean value) {
-		if (privateMethodsGoalsMap.containsKey(branchId)) {
-			for (CBranchTestFitness cBranchTestFitness : privateMethodsGoalsMap.get(branchId)) {
-				if (cBranchTestFitness.getValue() == value) {
-					return cBranchTestFitness;
-				}
+		Set<CBranchTestFitness> goals = privateMethodsGoalsMap.get(branchId);
+		if (goals == null) {
+			Map<CallContext, Set<CBranchTestFitness>> contextGoals = contextGoalsMap.get(branchId);
+			if (contextGoals == null) {
+				return null;
 			}
-		} else if (contextGoalsMap.get(branchId) == null
-				|| contextGoalsMap.get(branchId).get(context) == null)
-			return null;
-		else
-			for (CBranchTestFitness cBranchTestFitness : contextGoalsMap.get(branchId).get(context)) {
-				if (cBranchTestFitness.getValue() == value) {
-					return cBranchTestFitness;
-				}
+			goals = contextGoals.get(context);
+			if (goals == null) {
+				return null;
 			}
+		}
+		for (CBranchTestFitness cBranchTestFitness : goals) {
+			if (cBranchTestFitness.getValue() == value) {
+				return cBranchTestFitness;
+			}
+		}
 		return null;
 	}
 
@@ -158,9 +158,12 @@ public class LineCoverageTestFitness extends TestFitnessFunction {
 		double fitness = 1.0;
 
 		// Deactivate coverage archive while measuring fitness, since branchcoverage fitness
-		// evaluating will attempt to claim coverage for it in the archive
+		// evaluating will attempt to claim coverage for it in the archive. The flag is
+		// only written if the archive is enabled, so that goals can be matched in parallel
+		// while coverage is measured with the archive disabled
 		boolean archive = Properties.TEST_ARCHIVE;
-		Properties.TEST_ARCHIVE = false;
+		if (archive)
+			Properties.TEST_ARCHIVE = false;
 		if (result.getTrace().getCoveredLines().contains(this.line)) {
 			fitness = 0.0;
 		} else {
@@ -185,7 +188,8 @@ public class LineCoverageTestFitness extends TestFitnessFunction {
 			
 			fitness = r;
 		}
-		Properties.TEST_ARCHIVE = archive;
+		if (archive)
+			Properties.TEST_ARCHIVE = true;
 		updateIndividual(individual, fitness);
 
 		if (fitness == 0.0) {
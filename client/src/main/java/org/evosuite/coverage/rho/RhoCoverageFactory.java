@@ -35,7 +35,9 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static java.util.Comparator.comparingInt;
 
@@ -65,6 +67,13 @@ public class RhoCoverageFactory extends
 
 	private static List<List<Integer>> matrix = new ArrayList<>();
 
+	/**
+	 * Covered lines of each test case in <code>matrix</code>, to check in
+	 * constant time whether a test case has the same coverage of an existing
+	 * one
+	 */
+	private static Set<Set<Integer>> matrixCoverage = new HashSet<>();
+
 	/**
 	 * Read the coverage of a test suite from a file
 	 */
@@ -92,6 +101,7 @@ public class RhoCoverageFactory extends
 				}
 
 				matrix.add(test);
+				matrixCoverage.add(new HashSet<>(test));
 				number_of_ones += test.size();
 				number_of_test_cases++;
 			}
@@ -204,6 +214,16 @@ public class RhoCoverageFactory extends
 		return matrix.contains(newTest);
 	}
 
+	/**
+	 * 
+	 * @param coveredLines
+	 * @return true if a test case of the existing test suite covers exactly
+	 *         the same lines
+	 */
+	public static boolean exists(Set<Integer> coveredLines) {
+		return matrixCoverage.contains(coveredLines);
+	}
+
 	// only for testing
 	protected static void reset() {
 		goals.clear();
@@ -211,5 +231,6 @@ public class RhoCoverageFactory extends
 		number_of_test_cases = 0;
 		rho = 1.0;
 		matrix.clear();
+		matrixCoverage.clear();
 	}
 }
@@ -46,7 +46,8 @@ public class RhoCoverageSuiteFitness extends TestSuiteFitnessFunction {
 
 	protected double getFitness(TestSuiteChromosome suite, boolean updateFitness) {
 
-		Set<Set<Integer>> tmp_coverage_matrix = new LinkedHashSet<>(this.coverage_matrix_generated_so_far);
+		// coverage of the test cases of this suite not generated so far
+		Set<Set<Integer>> tmp_coverage_matrix = new HashSet<>();
 
 		double fitness = 1.0;
 
@@ -61,17 +62,14 @@ public class RhoCoverageSuiteFitness extends TestSuiteFitnessFunction {
 			Set<Integer> coveredLines = result.getTrace().getCoveredLines();
 
 			if (Properties.STRATEGY == Properties.Strategy.ENTBUG) {
-				// order set
-				List<Integer> l_coveredLines = new ArrayList<>(coveredLines);
-				Collections.sort(l_coveredLines);
-				Set<Integer> coveredLinesOrdered = new LinkedHashSet<>(l_coveredLines);
-
 				// there is coverage, and already exists on the original test
-				// suite, and already exists locally
-				if ((coveredLinesOrdered.size() != 0
-						&& tmp_coverage_matrix.add(coveredLinesOrdered))
-						&& !RhoCoverageFactory.exists(l_coveredLines)) {
-					number_of_ones += coveredLinesOrdered.size();
+				// suite, and already exists locally (sets are equal regardless
+				// of the order of their elements, so there is no need to sort them)
+				if ((coveredLines.size() != 0
+						&& !this.coverage_matrix_generated_so_far.contains(coveredLines)
+						&& tmp_coverage_matrix.add(coveredLines))
+						&& !RhoCoverageFactory.exists(coveredLines)) {
+					number_of_ones += coveredLines.size();
 					number_of_test_cases++;
 				}
 			} else {
@@ -19,10 +19,7 @@
  */
 package org.evosuite.coverage.rho;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.LinkedHashSet;
-import java.util.List;
 import java.util.Set;
 
 import org.evosuite.Properties;
@@ -42,8 +39,6 @@ public class RhoCoverageTestFitness extends TestFitnessFunction {
 	@Override
 	public double getFitness(TestChromosome individual, ExecutionResult result) {
 
-		Set<Set<Integer>> tmp_coverage_matrix = new LinkedHashSet<>(this.coverage_matrix_generated_so_far);
-
 		double fitness = 1.0;
 
 		int number_of_goals = RhoCoverageFactory.getNumberGoals();
@@ -53,29 +48,24 @@ public class RhoCoverageTestFitness extends TestFitnessFunction {
 		Set<Integer> coveredLines = result.getTrace().getCoveredLines();
 
 		if (Properties.STRATEGY == Properties.Strategy.ENTBUG) {
-			// order set
-			List<Integer> l_coveredLines = new ArrayList<>(coveredLines);
-			Collections.sort(l_coveredLines);
-			Set<Integer> coveredLinesOrdered = new LinkedHashSet<>(l_coveredLines);
-
 			// no coverage
-			if (coveredLinesOrdered.size() == 0) {
+			if (coveredLines.size() == 0) {
 				updateIndividual(individual, 1.0);
 				return 1.0;
 			}
 			// already exists locally
-			else if (!tmp_coverage_matrix.add(coveredLinesOrdered)) {
+			else if (this.coverage_matrix_generated_so_far.contains(coveredLines)) {
 				updateIndividual(individual, 1.0);
 				return 1.0;
 			}
 			// already exists on the original test suite
-			else if (RhoCoverageFactory.exists(l_coveredLines)) {
+			else if (RhoCoverageFactory.exists(coveredLines)) {
 				updateIndividual(individual, 1.0);
 				return 1.0;
 			}
 			// good
 			else {
-				number_of_ones += coveredLinesOrdered.size();
+				number_of_ones += coveredLines.size();
 				number_of_test_cases++;
 			}
 		} else {
@@ -123,9 +123,12 @@ public class StatementCoverageTestFitness extends TestFitnessFunction {
         double r = Double.MAX_VALUE;
 
         // Deactivate coverage archive while measuring fitness, since BranchCoverage fitness
-        // evaluating will attempt to claim coverage for it in the archive
+        // evaluating will attempt to claim coverage for it in the archive. The flag is
+        // only written if the archive is enabled, so that goals can be matched in parallel
+        // while coverage is measured with the archive disabled
         boolean archive = Properties.TEST_ARCHIVE;
-        Properties.TEST_ARCHIVE = false;
+        if (archive)
+            Properties.TEST_ARCHIVE = false;
 
         // Find minimum distance to satisfying any of the control dependencies
         for (BranchCoverageTestFitness branchFitness : this.branchFitnesses) {
@@ -141,7 +144,8 @@ public class StatementCoverageTestFitness extends TestFitnessFunction {
                 r = newFitness;
         }
 
-        Properties.TEST_ARCHIVE = archive;
+        if (archive)
+            Properties.TEST_ARCHIVE = true;
 
         updateIndividual(individual, r);
 
@@ -1,11 +1,24 @@
 package org.evosuite.ga;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
 public abstract class NoveltyFunction<T extends Chromosome<T>> {
 
     public abstract double getDistance(T individual1, T individual2);
 
+    /**
+     * Called once for each individual before a batch of distances is computed,
+     * so that implementations can execute the test and cache whatever the
+     * distance computation needs.
+     *
+     * @param individual
+     */
+    public void prepare(T individual) {
+        // Nothing to prepare by default
+    }
+
     public double getNovelty(T individual, Collection<T> population) {
         double distance = population.stream()
                 .filter(other -> other != individual)
@@ -16,4 +29,71 @@ public abstract class NoveltyFunction<T extends Chromosome<T>> {
 
         return distance;
     }
+
+    /**
+     * Computes the novelty of every individual of the population as the mean
+     * distance to its <code>k</code> nearest neighbours among the rest of the
+     * population and the archive. Each distance is computed only once, as the
+     * distances within the population are symmetric. Archive entries that are
+     * the individual itself (e.g., parents kept in the population) are not
+     * neighbours of the individual.
+     *
+     * @param population
+     * @param archive
+     * @param k
+     *            number of neighbours to consider, all of them if not positive
+     * @return the novelty of each individual, in population order
+     */
+    public double[] getNovelty(List<T> population, List<T> archive, int k) {
+        int n = population.size();
+        int m = archive.size();
+        for (T individual : population)
+            prepare(individual);
+        for (T individual : archive)
+            prepare(individual);
+
+        double[][] distances = new double[n][n + m];
+        for (int i = 0; i < n; i++) {
+            T individual = population.get(i);
+            for (int j = i + 1; j < n; j++) {
+                double distance = getDistance(individual, population.get(j));
+                distances[i][j] = distance;
+                distances[j][i] = distance;
+            }
+            for (int j = 0; j < m; j++) {
+                if (archive.get(j) != individual)
+                    distances[i][n + j] = getDistance(individual, archive.get(j));
+            }
+        }
+
+        double[] novelty = new double[n];
+        double[] neighbours = new double[Math.max(0, n + m - 1)];
+        for (int i = 0; i < n; i++) {
+            // Leave out the distance of the individual to itself
+            System.arraycopy(distances[i], 0, neighbours, 0, i);
+            System.arraycopy(distances[i], i + 1, neighbours, i, n - i - 1);
+            int length = n - 1;
+            T individual = population.get(i);
+            for (int j = 0; j < m; j++) {
+                if (archive.get(j) != individual)
+                    neighbours[length++] = distances[i][n + j];
+            }
+            novelty[i] = meanOfNearest(neighbours, length, k);
+        }
+        return novelty;
+    }
+
+    private static double meanOfNearest(double[] distances, int length, int k) {
+        if (length <= 0)
+            return 0.0;
+        int count = length;
+        if (k > 0 && k < count) {
+            Arrays.sort(distances, 0, length);
+            count = k;
+        }
+        double sum = 0.0;
+        for (int i = 0; i < count; i++)
+            sum += distances[i];
+        return sum / count;
+    }
 }
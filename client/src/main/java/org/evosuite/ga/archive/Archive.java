@@ -28,6 +28,7 @@ import java.util.Map;
 import java.util.Set;
 import org.evosuite.Properties;
 import org.evosuite.ga.Chromosome;
+import org.evosuite.ga.FitnessFunction;
 import org.evosuite.ga.SecondaryObjective;
 import org.evosuite.runtime.util.AtMostOnceLogger;
 import org.evosuite.setup.TestCluster;
@@ -74,6 +75,11 @@ public abstract class Archive implements Serializable {
    */
   protected boolean hasBeenUpdated = false;
 
+  /**
+   * Whether the current thread is re-evaluating a merged solution
+   */
+  private static final ThreadLocal<Boolean> merging = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
   /**
    * Register a target.
    *
@@ -328,11 +334,67 @@ public abstract class Archive implements Serializable {
   }
 
   /**
-   * 
+   * Extends a copy of the given suite with the archived solutions of the targets it does not
+   * cover, and re-evaluates it. Archive updates made by the current thread while re-evaluating the
+   * merged suite are ignored, as it only contains solutions that are already in the archive. Other
+   * threads can keep updating the archive in the meantime.
+   *
    * @param solution
    * @return
    */
-  protected abstract TestSuiteChromosome createMergedSolution(TestSuiteChromosome solution);
+  protected TestSuiteChromosome createMergedSolution(TestSuiteChromosome solution) {
+    TestSuiteChromosome mergedSolution = solution.clone();
+
+    // skip solutions that have been modified as those might not have been evaluated yet, or have
+    // timeout or throw some exception and therefore they may slow down future analysis on the final
+    // test suite
+    mergedSolution.getTestChromosomes()
+        .removeIf(t -> t.isChanged()
+            || (t.getLastExecutionResult() != null && (t.getLastExecutionResult().hasTimeout()
+                || t.getLastExecutionResult().hasTestException())));
+
+    // to avoid adding the same solution to 'mergedSolution' suite
+    Set<TestChromosome> solutionsSampledFromArchive = new LinkedHashSet<>();
+
+    for (TestFitnessFunction target : this.getCoveredTargets()) {
+      TestChromosome chromosome = this.getSolution(target);
+      if (solutionsSampledFromArchive.contains(chromosome)) {
+        continue;
+      }
+
+      // has target been covered? to answer it, we perform a local check rather than calling method
+      // {@link TestFitnessFunction.isCoveredBy} as it may perform a fitness evaluation to access
+      // whether that 'target' is covered or not (and therefore, it could be more expensive)
+      boolean isGoalCovered = mergedSolution.getTestChromosomes().stream()
+          .anyMatch(test -> test.getTestCase().isGoalCovered(target));
+      if (!isGoalCovered) {
+        solutionsSampledFromArchive.add(chromosome);
+        mergedSolution.addTest(chromosome);
+      }
+    }
+
+    // re-evaluate merged solution
+    merging.set(Boolean.TRUE);
+    try {
+      for (FitnessFunction<TestSuiteChromosome> ff : solution.getFitnessValues().keySet()) {
+        ff.getFitness(mergedSolution);
+      }
+    } finally {
+      merging.set(Boolean.FALSE);
+    }
+
+    return mergedSolution;
+  }
+
+  /**
+   * Returns true if the current thread is re-evaluating a merged solution, in which case it must
+   * not update the archive
+   *
+   * @return
+   */
+  protected static boolean isMerging() {
+    return merging.get();
+  }
 
   /**
    * Creates a solution based on the best solutions in the archive and the parameter solution.
@@ -543,6 +605,8 @@ public abstract class Archive implements Serializable {
         return CoverageArchive.instance;
       case MIO:
         return MIOArchive.instance;
+      case CONCURRENT_COVERAGE:
+        return ConcurrentCoverageArchive.instance;
     }
   }
 }
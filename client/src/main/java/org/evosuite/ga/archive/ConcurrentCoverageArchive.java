@@ -0,0 +1,365 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.archive;
+
+import org.evosuite.runtime.util.AtMostOnceLogger;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.evosuite.utils.Randomness;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Coverage archive that can be updated from several threads at once, e.g., by
+ * fitness functions computed on several threads or by solutions received from
+ * other clients.
+ *
+ * <p>Every target owns a slot holding the best covering solution found so
+ * far. A candidate replaces the solution of a slot with a compare-and-set, so
+ * improvements of already covered targets never block. Only the first
+ * coverage of a target takes a lock, as it updates the per-method bookkeeping
+ * and the test cluster. Like {@link CoverageArchive}, solutions are stored as
+ * they are and only cloned when they are handed out again.</p>
+ *
+ * <p>Targets and solutions are reported in the order in which the targets
+ * were registered.</p>
+ */
+public class ConcurrentCoverageArchive extends Archive {
+
+  private static final long serialVersionUID = 5526016208719632862L;
+
+  private static final Logger logger = LoggerFactory.getLogger(ConcurrentCoverageArchive.class);
+
+  /**
+   * Holds the best solution of a target, or null if the target has not been covered yet
+   */
+  private static final class Slot extends AtomicReference<TestChromosome> {
+
+    private static final long serialVersionUID = -2206853547981271873L;
+  }
+
+  /**
+   * Map used to find the slot of a target
+   */
+  private final ConcurrentMap<TestFitnessFunction, Slot> slots = new ConcurrentHashMap<>();
+
+  /**
+   * All registered targets, in registration order
+   */
+  private final List<TestFitnessFunction> targets = new CopyOnWriteArrayList<>();
+
+  private final AtomicInteger numberOfCoveredTargets = new AtomicInteger();
+
+  public static final ConcurrentCoverageArchive instance = new ConcurrentCoverageArchive();
+
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void addTarget(TestFitnessFunction target) {
+    super.addTarget(target);
+
+    synchronized (this.nonCoveredTargetsOfEachMethod) {
+      if (this.slots.containsKey(target)) {
+        return;
+      }
+      logger.debug("Registering new target '" + target + "'");
+      this.slots.put(target, new Slot());
+      this.targets.add(target);
+      this.registerNonCoveredTargetOfAMethod(target);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void updateArchive(TestFitnessFunction target, TestChromosome solution, double fitnessValue) {
+    super.updateArchive(target, solution, fitnessValue);
+    Slot slot = this.slots.get(target);
+    assert slot != null : "Unknown goal: " + target;
+
+    if (isMerging()) {
+      return;
+    }
+
+    if (fitnessValue > 0.0) {
+      // as this type of archive only cares about covered targets, it ignores all
+      // targets with a fitness value greater than 0.0
+      return;
+    }
+
+    TestChromosome currentSolution;
+    do {
+      currentSolution = slot.get();
+      if (currentSolution != null && !this.isBetterThanCurrent(currentSolution, solution)) {
+        return;
+      }
+      // retry if another thread has replaced the solution in the meantime
+    } while (!slot.compareAndSet(currentSolution, solution));
+
+    if (currentSolution == null) {
+      logger.debug("Solution for non-covered target '" + target + "'");
+      this.numberOfCoveredTargets.incrementAndGet();
+      synchronized (this.nonCoveredTargetsOfEachMethod) {
+        this.removeNonCoveredTargetOfAMethod(target);
+      }
+    }
+    this.hasBeenUpdated = true;
+
+    ExecutionResult result = solution.getLastExecutionResult();
+    if (result != null && (result.hasTimeout() || result.hasTestException())) {
+      AtMostOnceLogger.warn(logger,
+          "A solution with a timeout/exception result has been added to the archive. The covered goal was "
+              + target.toString());
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected boolean isMethodFullyCovered(String methodFullName) {
+    synchronized (this.nonCoveredTargetsOfEachMethod) {
+      return super.isMethodFullyCovered(methodFullName);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getNumOfRemainingTargets(String methodFullName) {
+    synchronized (this.nonCoveredTargetsOfEachMethod) {
+      return super.getNumOfRemainingTargets(methodFullName);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isArchiveEmpty() {
+    return this.numberOfCoveredTargets.get() == 0;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getNumberOfTargets() {
+    return this.targets.size();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getNumberOfCoveredTargets() {
+    return this.numberOfCoveredTargets.get();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getNumberOfCoveredTargets(Class<?> targetClass) {
+    return (int) this.getCoveredTargets().stream()
+        .filter(target -> target.getClass() == targetClass).count();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Set<TestFitnessFunction> getCoveredTargets() {
+    return new TargetView(true);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getNumberOfUncoveredTargets() {
+    return this.targets.size() - this.numberOfCoveredTargets.get();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getNumberOfUncoveredTargets(Class<?> targetClass) {
+    return (int) this.getUncoveredTargets().stream()
+        .filter(target -> target.getClass() == targetClass).count();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Set<TestFitnessFunction> getUncoveredTargets() {
+    return new TargetView(false);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean hasTarget(TestFitnessFunction target) {
+    assert target != null;
+    return this.slots.containsKey(target);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getNumberOfSolutions() {
+    return this.numberOfCoveredTargets.get();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Set<TestChromosome> getSolutions() {
+    Set<TestChromosome> solutions = new LinkedHashSet<>();
+    for (TestFitnessFunction target : this.targets) {
+      TestChromosome solution = this.slots.get(target).get();
+      if (solution != null) {
+        solutions.add(solution);
+      }
+    }
+    return solutions;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public TestChromosome getSolution() {
+    return this.getRandomSolution();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public TestChromosome getSolution(TestFitnessFunction target) {
+    assert target != null;
+    Slot slot = this.slots.get(target);
+    assert slot != null && slot.get() != null;
+    return slot == null ? null : slot.get();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean hasSolution(TestFitnessFunction target) {
+    assert target != null;
+    Slot slot = this.slots.get(target);
+    return slot != null && slot.get() != null;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public TestChromosome getRandomSolution() {
+    TestChromosome randomChoice = Randomness.choice(this.getSolutions());
+    if (randomChoice == null) {
+      return null;
+    }
+    return randomChoice.clone();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void shrinkSolutions(int size) {
+    // NO-OP
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString() {
+    return "NumTargets: " + this.getNumberOfTargets() + ", NumCoveredTargets: "
+        + this.getNumberOfCoveredTargets() + ", NumSolutions: " + this.getNumberOfSolutions();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void reset() {
+    synchronized (this.nonCoveredTargetsOfEachMethod) {
+      super.reset();
+      this.slots.clear();
+      this.targets.clear();
+      this.numberOfCoveredTargets.set(0);
+    }
+  }
+
+  /**
+   * Live, read-only view of either the covered or the uncovered targets
+   */
+  private final class TargetView extends AbstractSet<TestFitnessFunction> {
+
+    private final boolean covered;
+
+    private TargetView(boolean covered) {
+      this.covered = covered;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      Slot slot = slots.get(o);
+      return slot != null && (slot.get() != null) == this.covered;
+    }
+
+    @Override
+    public Iterator<TestFitnessFunction> iterator() {
+      return targets.stream().filter(this::contains).iterator();
+    }
+
+    @Override
+    public int size() {
+      return this.covered ? getNumberOfCoveredTargets() : getNumberOfUncoveredTargets();
+    }
+  }
+}
@@ -19,8 +19,6 @@
  */
 package org.evosuite.ga.archive;
 
-import org.evosuite.Properties;
-import org.evosuite.ga.FitnessFunction;
 import org.evosuite.runtime.util.AtMostOnceLogger;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.TestFitnessFunction;
@@ -83,6 +81,10 @@ public class CoverageArchive extends Archive {
     super.updateArchive(target, solution, fitnessValue);
     assert this.covered.containsKey(target) || this.uncovered.contains(target) : "Unknown goal: "+target;
 
+    if (isMerging()) {
+      return;
+    }
+
     if (fitnessValue > 0.0) {
       // as this type of archive only cares about covered targets, it ignores all
       // targets with a fitness value greater than 0.0
@@ -187,13 +189,6 @@ public class CoverageArchive extends Archive {
     return this.uncovered;
   }
 
-  private Set<TestFitnessFunction> getTargets() {
-    Set<TestFitnessFunction> targets = new LinkedHashSet<>();
-    targets.addAll(this.getCoveredTargets());
-    targets.addAll(this.getUncoveredTargets());
-    return targets;
-  }
-
   /**
    * {@inheritDoc}
    */
@@ -261,63 +256,6 @@ public class CoverageArchive extends Archive {
     return randomChoice.clone();
   }
 
-  /**
-   * {@inheritDoc}
-   */
-  @Override
-  protected TestSuiteChromosome createMergedSolution(TestSuiteChromosome solution) {
-    // Deactivate in case a test is executed and would access the archive as this might cause a
-    // concurrent access
-    Properties.TEST_ARCHIVE = false;
-
-    TestSuiteChromosome mergedSolution = solution.clone();
-
-    // skip solutions that have been modified as those might not have been evaluated yet, or have
-    // timeout or throw some exception and therefore they may slow down future analysis on the final
-    // test suite
-    mergedSolution.getTestChromosomes()
-        .removeIf(t -> t.isChanged()
-            || (t.getLastExecutionResult() != null && (t.getLastExecutionResult().hasTimeout()
-                || t.getLastExecutionResult().hasTestException())));
-
-    // to avoid adding the same solution to 'mergedSolution' suite
-    Set<TestChromosome> solutionsSampledFromArchive = new LinkedHashSet<>();
-
-    for (TestFitnessFunction target : this.getTargets()) {
-      // has target been covered? to answer it, we perform a local check rather than calling method
-      // {@link TestFitnessFunction.isCoveredBy} as it may perform a fitness evaluation to access
-      // whether that 'target' is covered or not (and therefore, it could be more expensive)
-      boolean isGoalCovered = false;
-      for (TestChromosome test : mergedSolution.getTestChromosomes()) {
-        if (test.getTestCase().isGoalCovered(target)) {
-          isGoalCovered = true;
-          break;
-        }
-      }
-
-      if (!isGoalCovered) {
-        TestChromosome chromosome = this.covered.get(target);
-
-        // is there any solution in the archive that covers it, and has that solution not been
-        // considered yet?
-        if (chromosome != null && !solutionsSampledFromArchive.contains(chromosome)) {
-          solutionsSampledFromArchive.add(chromosome);
-          mergedSolution.addTest(chromosome);
-        }
-      }
-    }
-
-    // re-evaluate merged solution
-    for (FitnessFunction<TestSuiteChromosome> ff : solution.getFitnessValues().keySet()) {
-      ff.getFitness(mergedSolution);
-    }
-
-    // re-active it
-    Properties.TEST_ARCHIVE = true;
-
-    return mergedSolution;
-  }
-
   /**
    * {@inheritDoc}
    */
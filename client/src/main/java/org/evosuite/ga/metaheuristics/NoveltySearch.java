@@ -19,6 +19,12 @@ public class NoveltySearch extends GeneticAlgorithm<TestChromosome>  {
 
     private NoveltyFunction<TestChromosome> noveltyFunction;
 
+    /**
+     * The most novel individual of each past generation, oldest first, bounded
+     * by {@link Properties#NOVELTY_ARCHIVE_SIZE}
+     */
+    private final List<TestChromosome> noveltyArchive = new ArrayList<>();
+
     public NoveltySearch(ChromosomeFactory<TestChromosome> factory) {
         super(factory);
 
@@ -44,25 +50,46 @@ public class NoveltySearch extends GeneticAlgorithm<TestChromosome>  {
     protected void calculateNoveltyAndSortPopulation() {
         logger.debug("Calculating novelty for " + population.size() + " individuals");
 
-        Iterator<TestChromosome> iterator = population.iterator();
         Map<TestChromosome, Double> noveltyMap = new LinkedHashMap<>();
 
-        while (iterator.hasNext()) {
-            TestChromosome c = iterator.next();
-            if (isFinished()) {
-                if (c.isChanged())
-                    iterator.remove();
-            } else {
-                // TODO: This needs to take the archive into account
-                double novelty = noveltyFunction.getNovelty(c, population);
-                noveltyMap.put(c, novelty);
+        if (isFinished()) {
+            population.removeIf(TestChromosome::isChanged);
+        } else {
+            double[] novelty = noveltyFunction.getNovelty(population, noveltyArchive, Properties.NOVELTY_NEIGHBOURS);
+            for (int i = 0; i < novelty.length; i++) {
+                noveltyMap.put(population.get(i), novelty[i]);
             }
+            updateNoveltyArchive(noveltyMap);
         }
 
         // Sort population
         sortPopulation(population, noveltyMap);
     }
 
+    /**
+     * Adds the most novel individual not yet archived, dropping the oldest
+     * archived individual if the archive is full
+     */
+    private void updateNoveltyArchive(Map<TestChromosome, Double> noveltyMap) {
+        if (Properties.NOVELTY_ARCHIVE_SIZE <= 0)
+            return;
+
+        TestChromosome mostNovel = null;
+        double maxNovelty = Double.NEGATIVE_INFINITY;
+        for (Map.Entry<TestChromosome, Double> entry : noveltyMap.entrySet()) {
+            if (entry.getValue() > maxNovelty && !noveltyArchive.contains(entry.getKey())) {
+                mostNovel = entry.getKey();
+                maxNovelty = entry.getValue();
+            }
+        }
+        if (mostNovel == null)
+            return;
+
+        if (noveltyArchive.size() >= Properties.NOVELTY_ARCHIVE_SIZE)
+            noveltyArchive.remove(0);
+        noveltyArchive.add(mostNovel);
+    }
+
     @Override
     public void initializePopulation() {
         notifySearchStarted();
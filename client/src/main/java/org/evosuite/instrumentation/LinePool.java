@@ -44,13 +44,19 @@ public class LinePool {
 	 * @param lineNo a int.
 	 */
 	public static void addLine(String className, String methodName, int lineNo) {
-		if (!lineMap.containsKey(className))
-			lineMap.put(className, new LinkedHashMap<>());
+		Map<String, Set<Integer>> methods = lineMap.get(className);
+		if (methods == null) {
+			methods = new LinkedHashMap<>();
+			lineMap.put(className, methods);
+		}
 
-		if (!lineMap.get(className).containsKey(methodName))
-			lineMap.get(className).put(methodName, new LinkedHashSet<>());
+		Set<Integer> lines = methods.get(methodName);
+		if (lines == null) {
+			lines = new LinkedHashSet<>();
+			methods.put(methodName, lines);
+		}
 
-		lineMap.get(className).get(methodName).add(lineNo);
+		lines.add(lineNo);
 	}
 
 	/**
@@ -61,9 +67,12 @@ public class LinePool {
 	 * @return a {@link java.util.Set} object.
 	 */
 	public static Set<Integer> getLines(String className, String methodName) {
-		if (lineMap.containsKey(className))
-			if (lineMap.get(className).containsKey(methodName))
-				return lineMap.get(className).get(methodName);
+		Map<String, Set<Integer>> methods = lineMap.get(className);
+		if (methods != null) {
+			Set<Integer> lines = methods.get(methodName);
+			if (lines != null)
+				return lines;
+		}
 
 		return new HashSet<>();
 	}
@@ -76,8 +85,9 @@ public class LinePool {
 	 */
 	public static Set<Integer> getLines(String className) {
 		Set<Integer> lines = new LinkedHashSet<>();
-		if (lineMap.containsKey(className))
-			for (Set<Integer> methodLines : lineMap.get(className).values())
+		Map<String, Set<Integer>> methods = lineMap.get(className);
+		if (methods != null)
+			for (Set<Integer> methodLines : methods.values())
 				lines.addAll(methodLines);
 		return lines;
 	}
@@ -89,8 +99,8 @@ public class LinePool {
 	 */
 	public static Set<Integer> getAllLines() {
 		Set<Integer> lines = new LinkedHashSet<>();
-		for (String className : lineMap.keySet())
-			for (Set<Integer> methodLines : lineMap.get(className).values())
+		for (Map<String, Set<Integer>> methods : lineMap.values())
+			for (Set<Integer> methodLines : methods.values())
 				lines.addAll(methodLines);
 		return lines;
 	}
@@ -102,8 +112,8 @@ public class LinePool {
 	 */
 	public static int getNumLines() {
 		int num = 0;
-		for (String className : lineMap.keySet())
-			num += lineMap.get(className).size();
+		for (Map<String, Set<Integer>> methods : lineMap.values())
+			num += methods.size();
 
 		return num;
 	}
@@ -119,10 +129,11 @@ public class LinePool {
 	}
 
 	public static Set<String> getKnownMethodsFor(String className) {
-		if(!lineMap.containsKey(className))
+		Map<String, Set<Integer>> methods = lineMap.get(className);
+		if(methods == null)
 			return new HashSet<>();
 		else
-			return lineMap.get(className).keySet();
+			return methods.keySet();
 	}
 
 	public static void removeClass(String className) {
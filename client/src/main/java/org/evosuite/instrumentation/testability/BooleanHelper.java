@@ -20,6 +20,8 @@
 
 package org.evosuite.instrumentation.testability;
 
+import java.util.Arrays;
+import java.util.EmptyStackException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Stack;
@@ -631,15 +633,40 @@ public class BooleanHelper {
 			return o1 != o2 ? K : -K;
 	}
 
+	/**
+	 * Stack of primitive parameters, stored as raw long bits so that pushing
+	 * and popping inside the instrumented code does not box every value
+	 */
+	private static final class PrimitiveStack {
+
+		private long[] values = new long[16];
+
+		private int size = 0;
+
+		synchronized void push(long value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+
+		synchronized long pop() {
+			if (size == 0) {
+				throw new EmptyStackException();
+			}
+			return values[--size];
+		}
+	}
+
 	private static Stack<Object> parametersObject = new Stack<>();
-	private static Stack<Boolean> parametersBoolean = new Stack<>();
-	private static Stack<Character> parametersChar = new Stack<>();
-	private static Stack<Byte> parametersByte = new Stack<>();
-	private static Stack<Short> parametersShort = new Stack<>();
-	private static Stack<Integer> parametersInteger = new Stack<>();
-	private static Stack<Float> parametersFloat = new Stack<>();
-	private static Stack<Long> parametersLong = new Stack<>();
-	private static Stack<Double> parametersDouble = new Stack<>();
+	private static final PrimitiveStack parametersBoolean = new PrimitiveStack();
+	private static final PrimitiveStack parametersChar = new PrimitiveStack();
+	private static final PrimitiveStack parametersByte = new PrimitiveStack();
+	private static final PrimitiveStack parametersShort = new PrimitiveStack();
+	private static final PrimitiveStack parametersInteger = new PrimitiveStack();
+	private static final PrimitiveStack parametersFloat = new PrimitiveStack();
+	private static final PrimitiveStack parametersLong = new PrimitiveStack();
+	private static final PrimitiveStack parametersDouble = new PrimitiveStack();
 
 	/**
 	 * <p>
@@ -649,7 +676,7 @@ public class BooleanHelper {
 	 * @return a boolean.
 	 */
 	public static boolean popParameterBooleanFromInt() {
-		int i = parametersInteger.pop();
+		int i = (int) parametersInteger.pop();
 		boolean result = i > 0;
 		return result;
 	}
@@ -662,7 +689,7 @@ public class BooleanHelper {
 	 * @return a int.
 	 */
 	public static int popParameterIntFromBoolean() {
-		boolean i = parametersBoolean.pop();
+		boolean i = parametersBoolean.pop() != 0;
 		if (i)
 			return K;
 		else
@@ -677,7 +704,7 @@ public class BooleanHelper {
 	 * @return a boolean.
 	 */
 	public static boolean popParameterBoolean() {
-		return parametersBoolean.pop();
+		return parametersBoolean.pop() != 0;
 	}
 
 	/**
@@ -688,7 +715,7 @@ public class BooleanHelper {
 	 * @return a char.
 	 */
 	public static char popParameterChar() {
-		return parametersChar.pop();
+		return (char) parametersChar.pop();
 	}
 
 	/**
@@ -699,7 +726,7 @@ public class BooleanHelper {
 	 * @return a byte.
 	 */
 	public static byte popParameterByte() {
-		return parametersByte.pop();
+		return (byte) parametersByte.pop();
 	}
 
 	/**
@@ -710,7 +737,7 @@ public class BooleanHelper {
 	 * @return a short.
 	 */
 	public static short popParameterShort() {
-		return parametersShort.pop();
+		return (short) parametersShort.pop();
 	}
 
 	/**
@@ -721,7 +748,7 @@ public class BooleanHelper {
 	 * @return a int.
 	 */
 	public static int popParameterInt() {
-		return parametersInteger.pop();
+		return (int) parametersInteger.pop();
 	}
 
 	/**
@@ -732,7 +759,7 @@ public class BooleanHelper {
 	 * @return a float.
 	 */
 	public static float popParameterFloat() {
-		return parametersFloat.pop();
+		return Float.intBitsToFloat((int) parametersFloat.pop());
 	}
 
 	/**
@@ -754,7 +781,7 @@ public class BooleanHelper {
 	 * @return a double.
 	 */
 	public static double popParameterDouble() {
-		return parametersDouble.pop();
+		return Double.longBitsToDouble(parametersDouble.pop());
 	}
 
 	/**
@@ -790,7 +817,7 @@ public class BooleanHelper {
 	 *            a boolean.
 	 */
 	public static void pushParameter(boolean o) {
-		parametersBoolean.push(o);
+		parametersBoolean.push(o ? 1 : 0);
 	}
 
 	/**
@@ -850,7 +877,7 @@ public class BooleanHelper {
 	 *            a float.
 	 */
 	public static void pushParameter(float o) {
-		parametersFloat.push(o);
+		parametersFloat.push(Float.floatToRawIntBits(o));
 	}
 
 	/**
@@ -874,7 +901,7 @@ public class BooleanHelper {
 	 *            a double.
 	 */
 	public static void pushParameter(double o) {
-		parametersDouble.push(o);
+		parametersDouble.push(Double.doubleToRawLongBits(o));
 	}
 
 	/**
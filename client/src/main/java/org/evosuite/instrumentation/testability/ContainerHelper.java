@@ -81,8 +81,10 @@ public class ContainerHelper {
                                             - n2.doubleValue()));
                         } else if (o2 instanceof String) {
                             ConstantPoolManager.getInstance().addDynamicConstant(o1);
+                            // No need to compute distances beyond the best one so far
+                            int bound = (int) Math.min(Integer.MAX_VALUE, Math.ceil(min_distance));
                             min_distance = Math.min(min_distance,
-                                    StringHelper.editDistance((String) o1, (String) o2));
+                                    StringHelper.editDistance((String) o1, (String) o2, bound));
                         }
                     }
                 }
@@ -33,6 +33,15 @@ import java.util.regex.Pattern;
  */
 public class StringHelper {
 
+    /**
+     * Largest row (in cells) kept in the per-thread scratch buffers of
+     * {@link #editDistance(String, String, int)}; comparisons on longer strings
+     * allocate their rows and let them be collected afterwards
+     */
+    private static final int MAX_CACHED_ROW = 1 << 16;
+
+    private static final ThreadLocal<int[][]> editDistanceRows = new ThreadLocal<>();
+
     /**
      * <p>
      * editDistance
@@ -45,13 +54,59 @@ public class StringHelper {
      * @return a int.
      */
     public static int editDistance(String s, String t) {
+        return editDistance(s, t, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Levenshtein distance between {@code s} and {@code t}, computed only as far
+     * as needed to decide whether it is below {@code bound}. If the distance is
+     * smaller than {@code bound} it is returned exactly, otherwise {@code bound}
+     * is returned. This is meant for callers looking for a minimum over several
+     * candidates, where the best distance so far is the bound.
+     *
+     * @param s
+     *            a {@link java.lang.String} object.
+     * @param t
+     *            a {@link java.lang.String} object.
+     * @param bound
+     *            a non-negative int.
+     * @return a int.
+     */
+    public static int editDistance(String s, String t, int bound) {
         //if (s == null || t == null) {
         //	throw new IllegalArgumentException("Strings must not be null");
         //}
 
+        int n = s.length(); // length of s
+        int m = t.length(); // length of t
+
+        // The distance is at least the difference in length
+        if (Math.abs(n - m) >= bound) {
+            return bound;
+        }
+
+        // A common prefix and suffix never change the distance
+        int prefix = 0;
+        int limit = Math.min(n, m);
+        while (prefix < limit && s.charAt(prefix) == t.charAt(prefix)) {
+            prefix++;
+        }
+        int suffix = 0;
+        limit -= prefix;
+        while (suffix < limit && s.charAt(n - 1 - suffix) == t.charAt(m - 1 - suffix)) {
+            suffix++;
+        }
+        n -= prefix + suffix;
+        m -= prefix + suffix;
+
+        if (n == 0) {
+            return Math.min(m, bound);
+        } else if (m == 0) {
+            return Math.min(n, bound);
+        }
+
 		/*
-		    The difference between this impl. and the previous is that, rather
-		     than creating and retaining a matrix of size s.length()+1 by t.length()+1,
+		     Rather than creating and retaining a matrix of size s.length()+1 by t.length()+1,
 		     we maintain two single-dimensional arrays of length s.length()+1.  The first, d,
 		     is the 'current working' distance array that maintains the newest distance cost
 		     counts as we iterate through the characters of String s.  Each time we increment
@@ -59,24 +114,22 @@ public class StringHelper {
 		     allows us to retain the previous cost counts as required by the algorithm (taking
 		     the minimum of the cost count to the left, up one, and diagonally up and to the left
 		     of the current cost count being calculated).  (Note that the arrays aren't really
-		     copied anymore, just switched...this is clearly much better than cloning an array
-		     or doing a System.arraycopy() each time  through the outer loop.)
+		     copied anymore, just switched.)
 
-		     Effectively, the difference between the two implementations is this one does not
-		     cause an out of memory condition when calculating the LD over two very large strings.
+		     The two arrays are kept per thread, as this is called on every string
+		     comparison of the SUT. As the smallest value of a row never decreases
+		     from one row to the next, we can stop as soon as it reaches the bound.
 		 */
-
-        int n = s.length(); // length of s
-        int m = t.length(); // length of t
-
-        if (n == 0) {
-            return m;
-        } else if (m == 0) {
-            return n;
+        int[][] rows = editDistanceRows.get();
+        if (rows == null || rows[0].length < n + 1) {
+            rows = new int[][] { new int[n + 1], new int[n + 1] };
+            if (n + 1 <= MAX_CACHED_ROW) {
+                editDistanceRows.set(rows);
+            }
         }
 
-        int[] p = new int[n + 1]; //'previous' cost array, horizontally
-        int[] d = new int[n + 1]; // cost array, horizontally
+        int[] p = rows[0]; //'previous' cost array, horizontally
+        int[] d = rows[1]; // cost array, horizontally
         int[] _d; //placeholder to assist in swapping p and d
 
         // indexes into strings s and t
@@ -92,13 +145,21 @@ public class StringHelper {
         }
 
         for (j = 1; j <= m; j++) {
-            t_j = t.charAt(j - 1);
+            t_j = t.charAt(prefix + j - 1);
             d[0] = j;
+            int rowMin = j;
 
             for (i = 1; i <= n; i++) {
-                cost = s.charAt(i - 1) == t_j ? 0 : 1;
+                cost = s.charAt(prefix + i - 1) == t_j ? 0 : 1;
                 // minimum of cell to the left+1, to the top+1, diagonally left and up +cost
                 d[i] = Math.min(Math.min(d[i - 1] + 1, p[i] + 1), p[i - 1] + cost);
+                if (d[i] < rowMin) {
+                    rowMin = d[i];
+                }
+            }
+
+            if (rowMin >= bound) {
+                return bound;
             }
 
             // copy current distance counts to 'previous row' distance counts
@@ -109,7 +170,7 @@ public class StringHelper {
 
         // our last action in the above loop was to switch d and p, so p now
         // actually has the most recent cost counts
-        return p[n];
+        return Math.min(p[n], bound);
     }
 
 	/*
@@ -342,7 +403,10 @@ public class StringHelper {
      */
     public static int StringStartsWith(String value, String prefix, int start) {
         int len = Math.min(prefix.length(), value.length());
-        ConstantPoolManager.getInstance().addDynamicConstant(prefix + value);
+        addDynamicConcatenation(prefix, value);
+        if (value.startsWith(prefix, start)) {
+            return BooleanHelper.K;
+        }
         return StringEquals(value.substring(start, Math.min(start + len, value.length())), prefix);
     }
 
@@ -358,12 +422,25 @@ public class StringHelper {
      * @return a int.
      */
     public static int StringEndsWith(String value, String suffix) {
+        addDynamicConcatenation(value, suffix);
+        if (value.endsWith(suffix)) {
+            return BooleanHelper.K;
+        }
         int len = Math.min(suffix.length(), value.length());
         String val1 = value.substring(value.length() - len);
-        ConstantPoolManager.getInstance().addDynamicConstant(value + suffix);
         return StringEquals(val1, suffix);
     }
 
+    /**
+     * Adds the concatenation of the two strings to the dynamic pool, unless it
+     * would be too long to be accepted there anyway
+     */
+    private static void addDynamicConcatenation(String first, String second) {
+        if (first.length() + second.length() <= Properties.MAX_STRING) {
+            ConstantPoolManager.getInstance().addDynamicConstant(first + second);
+        }
+    }
+
     /**
      * <p>
      * StringIsEmpty
@@ -428,15 +505,28 @@ public class StringHelper {
         if (ignoreCase) {
             s1 = s1.toLowerCase();
             s2 = s2.toLowerCase();
+        } else if (value.regionMatches(thisStart, string, start, length)) {
+            // Swapping identical regions leaves both strings unchanged
+            if (Properties.DYNAMIC_POOL > 0.0) {
+                ConstantPoolManager.getInstance().addDynamicConstant(value);
+                ConstantPoolManager.getInstance().addDynamicConstant(string);
+            }
+            return BooleanHelper.K;
         }
         if (Properties.DYNAMIC_POOL > 0.0) {
-            String sub1 = s1.substring(thisStart, length + thisStart);
-            String sub2 = s2.substring(start, length + start);
-            String sn1 = s1.substring(0, thisStart) + sub2
-                    + s1.substring(thisStart + length);
-            String sn2 = s2.substring(0, start) + sub1 + s2.substring(start + length);
-            ConstantPoolManager.getInstance().addDynamicConstant(sn1);
-            ConstantPoolManager.getInstance().addDynamicConstant(sn2);
+            // Swapping the regions keeps the lengths, so there is no point in
+            // building strings that the dynamic pool would reject
+            if (s1.length() <= Properties.MAX_STRING) {
+                String sub2 = s2.substring(start, length + start);
+                String sn1 = s1.substring(0, thisStart) + sub2
+                        + s1.substring(thisStart + length);
+                ConstantPoolManager.getInstance().addDynamicConstant(sn1);
+            }
+            if (s2.length() <= Properties.MAX_STRING) {
+                String sub1 = s1.substring(thisStart, length + thisStart);
+                String sn2 = s2.substring(0, start) + sub1 + s2.substring(start + length);
+                ConstantPoolManager.getInstance().addDynamicConstant(sn2);
+            }
         }
 
         return StringEquals(s1.substring(thisStart, Math.min(length + thisStart, s1.length())),
@@ -45,7 +45,6 @@ import org.evosuite.statistics.StatisticsSender;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.TestFitnessFunction;
 import org.evosuite.testcase.execution.ExecutionResult;
-import org.evosuite.testcase.execution.ExecutionTrace;
 import org.evosuite.testcase.execution.ExecutionTracer;
 import org.evosuite.testcase.factories.JUnitTestCarvedChromosomeFactory;
 import org.evosuite.testsuite.TestSuiteChromosome;
@@ -63,6 +62,12 @@ import java.io.*;
 import java.lang.reflect.Modifier;
 import java.text.NumberFormat;
 import java.util.*;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
 import java.util.zip.ZipFile;
@@ -94,6 +99,16 @@ public class CoverageAnalysis {
 	private static int totalCoveredGoals = 0;
 	private static Set<String> targetClasses = new LinkedHashSet<>();
 
+	/**
+	 * Criteria whose goals only read the given execution trace when they are
+	 * matched against a test, and can therefore be matched by several threads
+	 * at once. Goals of other criteria share static state, e.g., data flow goals
+	 * use global calculators.
+	 */
+	private static final Set<Criterion> PARALLEL_MATCHING_CRITERIA = EnumSet.of(Criterion.BRANCH,
+			Criterion.ONLYBRANCH, Criterion.METHOD, Criterion.METHODNOEXCEPTION, Criterion.LINE,
+			Criterion.STATEMENT);
+
 	/**
 	 * Identify all JUnit tests starting with the given name prefix, instrument
 	 * and run tests
@@ -473,67 +488,32 @@ public class CoverageAnalysis {
 		}
 		totalGoals += goals.size();
 
-		// A dummy Chromosome
-        TestChromosome dummy = new TestChromosome();
-        dummy.setChanged(false);
-
-        // Execution result of a dummy Test Case
-        ExecutionResult executionResult = new ExecutionResult(dummy.getTestCase());
-
         // coverage matrix (each row represents the coverage of each test case
         // and each column represents the coverage of each component (e.g., line)
         // this coverage matrix is useful for Rho fitness
     	boolean[][] coverage_matrix = new boolean[results.size()][goals.size() + 1]; // +1 because we also want to include the test result
-    	BitSet covered = new BitSet(goals.size());
+    	BitSet covered;
+
+    	// Measuring coverage must not update the archive, which also keeps the
+    	// goals from writing the shared archive flag while they are matched
+    	boolean archive = Properties.TEST_ARCHIVE;
+    	Properties.TEST_ARCHIVE = false;
+    	try {
+    		if (criterion == Criterion.MUTATION
+    				|| criterion ==  Criterion.STRONGMUTATION) {
+    			covered = analyzeMutants(results, goals, coverage_matrix);
+    		} else if (Properties.COVERAGE_ANALYSIS_THREADS > 1 && results.size() > 1
+    				&& canMatchGoalsInParallel(criterion)) {
+    			covered = matchGoalsInParallel(results, goals, coverage_matrix);
+    		} else {
+    			covered = matchGoals(results, goals, coverage_matrix, 0, 1);
+    		}
+    	} finally {
+    		Properties.TEST_ARCHIVE = archive;
+    	}
 
         for (int index_test = 0; index_test < results.size(); index_test++) {
-        	JUnitResult tR = results.get(index_test);
-
-        	ExecutionTrace trace = tR.getExecutionTrace();
-            executionResult.setTrace(trace);
-            dummy.getTestCase().clearCoveredGoals();
-            dummy.setLastExecutionResult(executionResult);
-
-            if (criterion == Criterion.MUTATION
-            		|| criterion ==  Criterion.STRONGMUTATION) {
-            	for (Integer mutationID : trace.getTouchedMutants()) {
-					Mutation mutation = MutationPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getMutant(mutationID);
-
-            		if (goals.contains(mutation)) {
-            			MutationObserver.activateMutation(mutationID);
-            			List<JUnitResult> mutationResults = executeTests(tR.getJUnitClass());
-            			MutationObserver.deactivateMutation();
-
-            			for (JUnitResult mR : mutationResults) {
-            				if (mR.getFailureCount() != tR.getFailureCount()) {
-            					logger.info("Mutation killed: " + mutationID);
-            					covered.set(mutation.getId());
-                                coverage_matrix[index_test][mutationID] = true;
-                                break;
-            				}
-            			}
-            		}
-            	}
-            } else {
-            	
-            	if (criterion==Criterion.EXCEPTION) {
-            		// TODO collect exception goals from execution results
-            	}
-            	
-	            for (int index_component = 0; index_component < goals.size(); index_component++) {
-	            	TestFitnessFunction goal = (TestFitnessFunction) goals.get(index_component);
-
-	                if (goal.isCovered(dummy)) {
-	                	covered.set(index_component);
-	                	coverage_matrix[index_test][index_component] = true;
-	                }
-	                else {
-	                	coverage_matrix[index_test][index_component] = false;
-	                }
-	            }
-            }
-
-            coverage_matrix[index_test][goals.size()] = tR.wasSuccessful();
+            coverage_matrix[index_test][goals.size()] = results.get(index_test).wasSuccessful();
         }
         totalCoveredGoals += covered.cardinality();
 
@@ -570,6 +550,138 @@ public class CoverageAnalysis {
         }
 	}
 
+	/**
+	 * Re-runs the test class of each test touching a mutant with the mutant
+	 * activated. Tests of the same class share the re-run of their class, as
+	 * it executes all of them anyway.
+	 */
+	private static BitSet analyzeMutants(List<JUnitResult> results, List<?> goals, boolean[][] coverage_matrix) {
+		BitSet covered = new BitSet(goals.size());
+		Map<Class<?>, Map<Integer, List<JUnitResult>>> mutationRuns = new HashMap<>();
+
+        for (int index_test = 0; index_test < results.size(); index_test++) {
+        	JUnitResult tR = results.get(index_test);
+
+        	for (Integer mutationID : tR.getExecutionTrace().getTouchedMutants()) {
+				Mutation mutation = MutationPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getMutant(mutationID);
+
+        		if (goals.contains(mutation)) {
+        			List<JUnitResult> mutationResults = mutationRuns
+        					.computeIfAbsent(tR.getJUnitClass(), k -> new HashMap<>())
+        					.computeIfAbsent(mutationID, id -> {
+        						MutationObserver.activateMutation(id);
+        						try {
+        							return executeTests(tR.getJUnitClass());
+        						} finally {
+        							MutationObserver.deactivateMutation();
+        						}
+        					});
+
+        			for (JUnitResult mR : mutationResults) {
+        				if (mR.getFailureCount() != tR.getFailureCount()) {
+        					logger.info("Mutation killed: " + mutationID);
+        					covered.set(mutation.getId());
+                            coverage_matrix[index_test][mutationID] = true;
+                            break;
+        				}
+        			}
+        		}
+        	}
+        }
+        return covered;
+	}
+
+	/**
+	 * Checks the traces of the tests {@code first}, {@code first + step}, ...
+	 * against all goals, filling their rows of the coverage matrix.
+	 *
+	 * @return the goals covered by any of these tests
+	 */
+	private static BitSet matchGoals(List<JUnitResult> results, List<?> goals, boolean[][] coverage_matrix,
+			int first, int step) {
+
+		// A dummy Chromosome
+        TestChromosome dummy = new TestChromosome();
+        dummy.setChanged(false);
+
+        // Execution result of a dummy Test Case
+        ExecutionResult executionResult = new ExecutionResult(dummy.getTestCase());
+
+		BitSet covered = new BitSet(goals.size());
+        for (int index_test = first; index_test < results.size(); index_test += step) {
+            executionResult.setTrace(results.get(index_test).getExecutionTrace());
+            dummy.getTestCase().clearCoveredGoals();
+            dummy.setLastExecutionResult(executionResult);
+
+            // TODO collect exception goals from execution results for Criterion.EXCEPTION
+
+            for (int index_component = 0; index_component < goals.size(); index_component++) {
+            	TestFitnessFunction goal = (TestFitnessFunction) goals.get(index_component);
+
+                if (goal.isCovered(dummy)) {
+                	covered.set(index_component);
+                	coverage_matrix[index_test][index_component] = true;
+                }
+            }
+        }
+        return covered;
+	}
+
+	/**
+	 * Goals can be matched in parallel only for criteria known to be safe
+	 */
+	private static boolean canMatchGoalsInParallel(Criterion criterion) {
+		if (!PARALLEL_MATCHING_CRITERIA.contains(criterion)) {
+			logger.info("Matching goals of criterion " + criterion + " sequentially");
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Splits the tests across {@link Properties#COVERAGE_ANALYSIS_THREADS}
+	 * threads, each matching the traces of its share against all goals with a
+	 * dummy chromosome of its own. The tests have already been executed, so
+	 * this does not involve the execution tracer.
+	 */
+	private static BitSet matchGoalsInParallel(List<JUnitResult> results, List<?> goals,
+			boolean[][] coverage_matrix) {
+		int threads = Math.min(Properties.COVERAGE_ANALYSIS_THREADS, results.size());
+		AtomicInteger count = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+			Thread thread = new Thread(r, "CoverageAnalysis-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			CompletionService<BitSet> completion = new ExecutorCompletionService<>(executor);
+			for (int i = 0; i < threads; i++) {
+				final int first = i;
+				completion.submit(() -> matchGoals(results, goals, coverage_matrix, first, threads));
+			}
+
+			BitSet covered = new BitSet(goals.size());
+			for (int i = 0; i < threads; i++) {
+				covered.or(completion.take().get());
+				logger.debug("Matched goals of " + (i + 1) + " / " + threads + " shards of tests, "
+						+ covered.cardinality() + " goals covered so far");
+			}
+			return covered;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while analyzing coverage", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new IllegalStateException(cause);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
 	private static void printReport(List<JUnitResult> results) {
 
 		Iterator<String> it = targetClasses.iterator();
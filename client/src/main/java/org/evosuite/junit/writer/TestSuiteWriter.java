@@ -20,6 +20,7 @@
 
 package org.evosuite.junit.writer;
 
+import org.apache.commons.io.FileUtils;
 import org.evosuite.Properties;
 import org.evosuite.Properties.Criterion;
 import org.evosuite.Properties.OutputGranularity;
@@ -46,8 +47,13 @@ import org.slf4j.LoggerFactory;
 
 import javax.swing.*;
 
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.Charset;
 import java.util.*;
 
 import static org.evosuite.junit.writer.TestSuiteWriterUtils.*;
@@ -87,6 +93,13 @@ public class TestSuiteWriter implements Opcodes {
 
     private TestNameGenerationStrategy nameGenerator = null;
 
+    /**
+     * Emits (part of) the source code of a test file
+     */
+    private interface SourceEmitter {
+        void emit(Writer out) throws IOException;
+    }
+
     /**
      * Add test to suite. If the test is a prefix of an existing test, just keep
      * existing test. If an existing test is a prefix of the test, replace the
@@ -195,7 +208,6 @@ public class TestSuiteWriter implements Opcodes {
 
         List<File> generated = new ArrayList<>();
         String dir = TestSuiteWriterUtils.makeDirectory(directory);
-        String content = "";
 
         // Execute all tests
         executor.newObservers();
@@ -240,16 +252,14 @@ public class TestSuiteWriter implements Opcodes {
         if (Properties.OUTPUT_GRANULARITY == OutputGranularity.MERGED || testCases.size() == 0) {
             File file = new File(dir + "/" + name + ".java");
             //executor.newObservers();
-            content = getUnitTestsAllInSameFile(name, results);
-            FileIOUtils.writeFile(content, file);
+            writeFile(file, out -> writeUnitTestsAllInSameFile(name, results, out));
             generated.add(file);
         } else {
             for (int i = 0; i < testCases.size(); i++) {
                 File file = new File(dir + "/" + name + "_" + i + ".java"); // e.g., dir/Foo_ESTest_0.java
                 //executor.newObservers();
-                String testCode = getOneUnitTestInAFile(name, i, results);
-                FileIOUtils.writeFile(testCode, file);
-                content += testCode;
+                final int testId = i;
+                writeFile(file, out -> writeOneUnitTestInAFile(name, testId, results, out));
                 generated.add(file);
             }
         }
@@ -257,19 +267,36 @@ public class TestSuiteWriter implements Opcodes {
         if (Properties.TEST_SCAFFOLDING && !Properties.NO_RUNTIME_DEPENDENCY) {
             String scaffoldingName = Scaffolding.getFileName(name);
             File file = new File(dir + "/" + scaffoldingName + ".java");
-            String scaffoldingContent = Scaffolding.getScaffoldingFileContent(name, results,
-                    TestSuiteWriterUtils.hasAnySecurityException(results));
-            FileIOUtils.writeFile(scaffoldingContent, file);
+            writeFile(file, out -> out.write(Scaffolding.getScaffoldingFileContent(name, results,
+                    TestSuiteWriterUtils.hasAnySecurityException(results))));
             generated.add(file);
-            content += scaffoldingContent;
         }
 
         writeCoveredGoalsFile();
 
-        TestGenerationResultBuilder.getInstance().setTestSuiteCode(content);
+        TestGenerationResultBuilder.getInstance().setTestSuiteCode(readWrittenCode(generated));
         return generated;
     }
 
+    /**
+     * Read the code of the written files back, once, so that the result
+     * carries the code of the suite instead of paths on this machine
+     *
+     * @param files the files the suite was written to
+     * @return the concatenated code of the files
+     */
+    private String readWrittenCode(List<File> files) {
+        StringBuilder code = new StringBuilder();
+        for (File file : files) {
+            try {
+                code.append(FileUtils.readFileToString(file, Charset.defaultCharset()));
+            } catch (IOException e) {
+                logger.error("Error while reading back file " + file.getName() + " , " + e.getMessage(), e);
+            }
+        }
+        return code.toString();
+    }
+
     /**
      * To avoid having completely empty test classes, a no-op test is created
      * 
@@ -308,13 +335,29 @@ public class TestSuiteWriter implements Opcodes {
     }
 
 
+    /**
+     * Write a source file through a buffered writer, one test at a time,
+     * instead of building its whole content in memory first
+     *
+     * @param file    the file to write
+     * @param emitter writes the source code of the file
+     */
+    private void writeFile(File file, SourceEmitter emitter) {
+        try (Writer out = new BufferedWriter(
+                new OutputStreamWriter(FileUtils.openOutputStream(file), Charset.defaultCharset()))) {
+            emitter.emit(out);
+        } catch (IOException e) {
+            logger.error("Error while writing file " + file.getName() + " , " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Create JUnit file for given class name
      *
      * @param name Name of the class file
-     * @return String representation of JUnit test file
+     * @param out  the writer the JUnit test file is written to
      */
-    private String getUnitTestsAllInSameFile(String name, List<ExecutionResult> results) {
+    private void writeUnitTestsAllInSameFile(String name, List<ExecutionResult> results, Writer out) throws IOException {
 
 		/*
          * if there was any security exception, then we need to scaffold the
@@ -322,24 +365,20 @@ public class TestSuiteWriter implements Opcodes {
 		 */
         boolean wasSecurityException = TestSuiteWriterUtils.hasAnySecurityException(results);
 
-        StringBuilder builder = new StringBuilder();
-
-        builder.append(getHeader(name, name, results));
+        out.write(getHeader(name, name, results));
 
         if (!Properties.TEST_SCAFFOLDING && !Properties.NO_RUNTIME_DEPENDENCY) {
-            builder.append(new Scaffolding().getBeforeAndAfterMethods(name, wasSecurityException, results));
+            out.write(new Scaffolding().getBeforeAndAfterMethods(name, wasSecurityException, results));
         }
         
         if(testCases.isEmpty()) {
-        	builder.append(getEmptyTest());
+        	out.write(getEmptyTest());
         } else {
         	for (int i = 0; i < testCases.size(); i++) {
-        		builder.append(testToString(i, i, results.get(i)));
+        		out.write(testToString(i, i, results.get(i)));
         	}
         }
-        builder.append(getFooter());
-
-        return builder.toString();
+        out.write(getFooter());
     }
 
     /**
@@ -347,24 +386,20 @@ public class TestSuiteWriter implements Opcodes {
      *
      * @param name   Name of the class file
      * @param testId a int.
-     * @return String representation of JUnit test file
+     * @param out    the writer the JUnit test file is written to
      */
-    private String getOneUnitTestInAFile(String name, int testId, List<ExecutionResult> results) {
+    private void writeOneUnitTestInAFile(String name, int testId, List<ExecutionResult> results, Writer out) throws IOException {
 
         boolean wasSecurityException = results.get(testId).hasSecurityException();
 
-        StringBuilder builder = new StringBuilder();
-
-        builder.append(getHeader(name + "_" + testId, name, results));
+        out.write(getHeader(name + "_" + testId, name, results));
 
         if (!Properties.TEST_SCAFFOLDING) {
-            builder.append(new Scaffolding().getBeforeAndAfterMethods(name + "_" + testId, wasSecurityException, results));
+            out.write(new Scaffolding().getBeforeAndAfterMethods(name + "_" + testId, wasSecurityException, results));
         }
 
-        builder.append(testToString(testId, testId, results.get(testId)));
-        builder.append(getFooter());
-
-        return builder.toString();
+        out.write(testToString(testId, testId, results.get(testId)));
+        out.write(getFooter());
     }
 
     /**
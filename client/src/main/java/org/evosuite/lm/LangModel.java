@@ -19,63 +19,112 @@
  */
 package org.evosuite.lm;
 
-import java.io.*;
-
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
-import java.util.Comparator;
-
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
-import java.util.regex.Matcher;
 
 /**
  * Represents a language model, a set of bigrams, unigrams and associated
  * log-probabilities.
+ *
+ * Every unigram is given a dense id when the model is loaded, so that the
+ * probabilities can be kept in arrays indexed by id (bigrams in a square
+ * matrix) and scoring a string does not need to build any substrings.
+ * A model is immutable once loaded; use {@link #forResource(String)} to share
+ * one instance per model file.
  */
 public class LangModel {
 
-    // class variables
-    // Hashes storing various Language Model probabilities
-    /**
-     * Probability of a unigram occurring.
-     */
-    private Map<String, Double> unigram_probs = new HashMap<>();
-    /**
-     * Unigram backoff probabilities (used in bigram probability estimation).
-     */
-    private Map<String, Double> unigram_backoff_probs = new HashMap<>();
+    private static final Pattern FIELD_SEPARATOR = Pattern.compile("\\s+");
+
+    private static final String NGRAM_SECTION_SUFFIX = "-grams:";
+
     /**
-     * Probability that Unigram2 follows Unigram1, where each key is of the form "Unigram1 Unigram2".
+     * Models that have been loaded so far, by resource name.
      */
-    private Map<String, Double> bigram_probs = new HashMap<>();
+    private static final Map<String, LangModel> models = new ConcurrentHashMap<>();
 
     //Sentinel unigram values:
     public static final String START_OF_STRING = "<s>";
     public static final String END_OF_STRING="</s>";
     public static final String START_NEW_WORD="<w>";
 
-    private double unknown_char_prob = 0;
+    /**
+     * Id of each unigram.
+     */
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    /**
+     * Unigram of each id.
+     */
+    private final List<String> unigrams = new ArrayList<>();
+
+    /**
+     * Id of the unigram of each ASCII character, or -1 if there is none.
+     */
+    private final int[] ascii_ids = new int[128];
+
+    /**
+     * Log-probability of a unigram occurring, by id; NaN if unknown.
+     */
+    private double[] unigram_probs;
+
+    /**
+     * Unigram backoff log-probabilities (used in bigram probability
+     * estimation), by id; NaN if unknown.
+     */
+    private double[] unigram_backoff_probs;
+
+    /**
+     * Log-probability that unigram j follows unigram i, at index
+     * <code>i * numUnigrams + j</code>; NaN if the bigram is not in the model.
+     */
+    private double[] bigram_probs;
+
+    private int numUnigrams;
 
+    private double unknown_char_prob = 0;
 
-    // Hashes to store most probable next characters in bigram
     /**
-     * Mapping of the nth most likely unigrams to follow each unigram.
-     * Encoded as: <code>(unigram)(n)> -> (unigram)</code>
+     * Ids of the most likely unigrams to follow each unigram, most likely first.
      */
-    private HashMap<String, String> context_char = new HashMap<>();
+    private int[][] context_char;
+
     /**
-     * Mapping of the probability of the nth most likely unigram to follow each unigram.
-     * Encoded as: <code>(unigram)(n)> -> (log_probability)</code>
+     * Log-probabilities matching <code>context_char</code>.
      */
-    private HashMap<String, Double> context_prob = new HashMap<>();
+    private double[][] context_prob;
 
     // Maximum number of characters to predict for each bigram
     int predicted_chars = 10;
 
-    // Constructors
-    // Read in data from language model to be manipulated later
-    // Takes language model file as argument
+    /**
+     * Returns the language model stored in the given resource, loading it
+     * only the first time it is requested.
+     *
+     * @param lmFileName path to a language model file.
+     * @throws IOException if the model file can't be found or read.
+     */
+    public static LangModel forResource(String lmFileName) throws IOException {
+        LangModel model = models.get(lmFileName);
+        if (model == null) {
+            model = new LangModel(lmFileName);
+            LangModel previous = models.putIfAbsent(lmFileName, model);
+            if (previous != null) {
+                model = previous;
+            }
+        }
+        return model;
+    }
 
     /**
      * Load the language model.
@@ -84,122 +133,123 @@ public class LangModel {
      */
     public LangModel(String lmFileName) throws IOException {
 
-
-
-        // Flag to indicate length of n-grams currently being read (0 == read
-        // nothing)
-        int ngram_len = 0; //size of the n-grams we're reading (i.e. ngram_len = 5 implies 5-grams).
-
         InputStream fstream = LangModel.class.getClassLoader().getResourceAsStream(lmFileName);
-        // FileInputStream fstream = new FileInputStream(lmFileName);
-
-        DataInputStream in = new DataInputStream(fstream);
-        BufferedReader br = new BufferedReader(new InputStreamReader(in));
-        String strLine;
-
-        double highest_unigram_prob = 0;
-
-        // Read file line by line
-        while ((strLine = br.readLine()) != null) {
-            Pattern ngram_len_p = Pattern.compile("(\\d+)-grams:");
-            Matcher match_ngram_len = ngram_len_p.matcher(strLine);
-            //does line match (\d+)-grams: ?
-            if (match_ngram_len.find()) {
-                ngram_len = Integer.parseInt(match_ngram_len.group(1));
-
-            } else if (ngram_len == 1) {
-                //We're looking at unigrams;
-                Pattern unigram_p = Pattern
-                        .compile("([-0-9\\.]+)\\s*(\\S+)\\s*([-0-9\\.]+)");
-                // Match with <floating point number> <one or more chars> <floating point number>
-                //                        |                   |                 +------ backoff probability
-                //                        |                   +------------------------ unigram
-                //                        +-------------------------------------------- unigram probability
-                Matcher match_unigram = unigram_p.matcher(strLine);
-                if (match_unigram.find()) {
-
-                    double unigram_prob = Double.parseDouble(match_unigram
-                            .group(1));
-                    String unigram = match_unigram.group(2);
-                    double unigram_backoff_prob = Double
-                            .parseDouble(match_unigram.group(3));
-
-                    unigram_probs.put(unigram, unigram_prob);
-                    unigram_backoff_probs.put(unigram, unigram_backoff_prob);
-
-                    if(unigram_prob < unknown_char_prob) {
-                        unknown_char_prob = unigram_prob;
-                    } // if
-                    if(unigram_prob > highest_unigram_prob) {
-                        highest_unigram_prob = unigram_prob;
-                    } //if
+        if (fstream == null) {
+            throw new IOException("Language model not found: " + lmFileName);
+        }
 
-                } // if
+        Arrays.fill(ascii_ids, -1);
+
+        List<String[]> unigram_lines = new ArrayList<>();
+        List<String[]> bigram_lines = new ArrayList<>();
+
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(fstream, StandardCharsets.UTF_8))) {
+            // Size of the n-grams we're reading (i.e. ngram_len = 5 implies 5-grams), 0 before the first section
+            int ngram_len = 0;
+            String strLine;
+            while ((strLine = br.readLine()) != null) {
+                String line = strLine.trim();
+                if (line.endsWith(NGRAM_SECTION_SUFFIX)) {
+                    ngram_len = Integer.parseInt(line.substring(line.startsWith("\\") ? 1 : 0,
+                            line.length() - NGRAM_SECTION_SUFFIX.length()));
+                    if (ngram_len > 2) {
+                        // Longer n-grams are not used
+                        break;
+                    }
+                } else if (!line.isEmpty() && (ngram_len == 1 || ngram_len == 2)) {
+                    // <log probability> <unigram>... [<backoff log probability>]
+                    String[] fields = FIELD_SEPARATOR.split(line);
+                    if (fields.length > ngram_len) {
+                        (ngram_len == 1 ? unigram_lines : bigram_lines).add(fields);
+                        for (int i = 1; i <= ngram_len; i++) {
+                            getOrCreateId(fields[i]);
+                        }
+                    }
+                }
+            }
+        }
 
-            } else if (ngram_len == 2) {
-                Pattern bigram_p = Pattern.compile("([-0-9\\.]+)\\s*(\\S+) (\\S+)");
-                //Match line with <floating point number> <one or more chars> <one or more chars>
-                //                            |                   |                    +---- end char of bigram
-                //                            |                   +------------------------- start char of bigram
-                //                            +--------------------------------------------- bigram probability
-                Matcher match_bigram = bigram_p.matcher(strLine);
-                if (match_bigram.find()) {
-                    double bigram_prob = Double.parseDouble(match_bigram
-                            .group(1));
-                    String bigram_start = match_bigram.group(2);
-                    String bigram_end = match_bigram.group(3);
-                    String bigram = bigram_start + " " + bigram_end;
-
-                    bigram_probs.put(bigram, bigram_prob);
+        numUnigrams = unigrams.size();
+        unigram_probs = new double[numUnigrams];
+        unigram_backoff_probs = new double[numUnigrams];
+        Arrays.fill(unigram_probs, Double.NaN);
+        Arrays.fill(unigram_backoff_probs, Double.NaN);
+        for (String[] fields : unigram_lines) {
+            int id = ids.get(fields[1]);
+            double unigram_prob = Double.parseDouble(fields[0]);
+            unigram_probs[id] = unigram_prob;
+            if (fields.length > 2) {
+                unigram_backoff_probs[id] = Double.parseDouble(fields[2]);
+            }
+            if (unigram_prob < unknown_char_prob) {
+                unknown_char_prob = unigram_prob;
+            }
+        }
 
-                } // if
+        bigram_probs = new double[numUnigrams * numUnigrams];
+        Arrays.fill(bigram_probs, Double.NaN);
+        List<List<Integer>> followers = new ArrayList<>(numUnigrams);
+        for (int i = 0; i < numUnigrams; i++) {
+            followers.add(new ArrayList<>());
+        }
+        for (String[] fields : bigram_lines) {
+            int first = ids.get(fields[1]);
+            int second = ids.get(fields[2]);
+            bigram_probs[first * numUnigrams + second] = Double.parseDouble(fields[0]);
+            followers.get(first).add(second);
+        }
 
-            } // if/else
-        } // while
-        // Close the input stream
-        in.close();
-
-        ValueComparator bvc = new ValueComparator(bigram_probs);
-        TreeMap<String, Double> sorted_bigram_probs = new TreeMap<>(
-                bvc);
-
-        //Store bigrams sorted by probability:
-        sorted_bigram_probs.putAll(bigram_probs);
-
-        // Regular expressions setup
-        Pattern context_p = Pattern.compile("(\\S+) (\\S+)");
-
-        //Go through each bigram in order (most likely first) and build a
-        // table of the predicted_chars most likely characters to follow each character.
-        for (Map.Entry<String, Double> entry : sorted_bigram_probs.entrySet()) {
-            Matcher match_context = context_p.matcher(entry.getKey());
-            if (match_context.find()) {
-                String pre = match_context.group(1);
-                String middle = match_context.group(2);
-
-                // Add to hash (do this by starting counter at 0 and then
-                // testing hash and
-                // filling first empty slot. If no empty slot found then value
-                // is not stored.
-                for (int c = 0; c < predicted_chars; c++) {
-                    String key = pre + c;
-                    if (!context_char.containsKey(key)) {
-                        context_char.put(key, middle);
-                        context_prob.put(key, entry.getValue());
-                        break;
-                    } // if
-                } // for
-            } // if
+        // Build a table of the predicted_chars most likely characters to follow each character
+        context_char = new int[numUnigrams][];
+        context_prob = new double[numUnigrams][];
+        for (int first = 0; first < numUnigrams; first++) {
+            final int row = first * numUnigrams;
+            List<Integer> candidates = followers.get(first);
+            // Stable, so bigrams of equal probability keep the order of the model file
+            candidates.sort((a, b) -> Double.compare(bigram_probs[row + b], bigram_probs[row + a]));
+            int size = Math.min(predicted_chars, candidates.size());
+            context_char[first] = new int[size];
+            context_prob[first] = new double[size];
+            for (int n = 0; n < size; n++) {
+                int second = candidates.get(n);
+                context_char[first][n] = second;
+                context_prob[first][n] = bigram_probs[row + second];
+            }
+        }
 
-        } // for
+    } // LangModel
 
-        // Print out as sanity check
-        //for (Map.Entry<String, String> entry : context_char.entrySet()) {
-        // System.out.println("Key = " + entry.getKey() + ", Value = " +
-        // entry.getValue());
-        //}
+    private int getOrCreateId(String unigram) {
+        Integer id = ids.get(unigram);
+        if (id == null) {
+            id = unigrams.size();
+            ids.put(unigram, id);
+            unigrams.add(unigram);
+            if (unigram.length() == 1 && unigram.charAt(0) < ascii_ids.length) {
+                ascii_ids[unigram.charAt(0)] = id;
+            }
+        }
+        return id;
+    }
 
-    } // LangModel
+    /**
+     * @return the id of the unigram for the given character, or -1 if the
+     *         model does not know it
+     */
+    private int getId(char c) {
+        if (c == ' ') {
+            return getId(START_NEW_WORD);
+        }
+        if (c < ascii_ids.length) {
+            return ascii_ids[c];
+        }
+        return getId(String.valueOf(c));
+    }
+
+    private int getId(String unigram) {
+        Integer id = ids.get(unigram);
+        return id == null ? -1 : id;
+    }
 
     // Method which returns language model score for string str Splits
     // string into bigrams and looks up the probability for each. If
@@ -222,7 +272,7 @@ public class LangModel {
      */
     public double score(String str, boolean verbose) {
 
-        if (verbose == true) {
+        if (verbose) {
             System.out.println("String is " + str);
         } // if
 
@@ -231,72 +281,38 @@ public class LangModel {
         // Get length of string
         int no_chars = str.length();
 
-        // Break string down into bigrams
-        for (int i = -1; i < (no_chars - 1); i++) {
-            String first_char;
-            String second_char;
-            if (i == -1) {
-                first_char = "<s>";
-                second_char = str.substring(0, 1);
-            } else {
-                first_char = str.substring(i, i + 1);
-                second_char = str.substring(i + 1, i + 2);
-            } // if/else
-
-            if (first_char.equals(" ")) {
-                first_char = "<w>";
-            } // if
-            if (second_char.equals(" ")) {
-                second_char = "<w>";
-            } // if
-            String bigram = first_char + " " + second_char;
-
-            if (verbose == true) {
-                System.out.println("Bigram is " + bigram);
-            } // if
-
-            // Get negative log likelihood for each bigram
-            // (Either get directly or estimate using backoff)
-            if (bigram_probs.containsKey(bigram)) {
+        int first = getId(START_OF_STRING);
+        for (int i = 0; i < no_chars; i++) {
+            int second = getId(str.charAt(i));
+
+            double bigram_prob = first >= 0 && second >= 0 ? bigram_probs[first * numUnigrams + second] : Double.NaN;
+            if (!Double.isNaN(bigram_prob)) {
                 // Get direct bigram probabilities
-                double bigram_prob = bigram_probs.get(bigram);
                 log_prob = log_prob + bigram_prob;
-                if (verbose == true) {
-                    System.out.println("Direct bigram prob: "
+                if (verbose) {
+                    System.out.println("Direct bigram prob of " + describe(first, i, str) + ": "
                             + Math.pow(10, bigram_prob) + "\n");
                 } // if
-            } else if(unigram_probs.containsKey(second_char) && unigram_backoff_probs.containsKey(first_char)){
-
+            } else if (second >= 0 && !Double.isNaN(unigram_probs[second])
+                    && first >= 0 && !Double.isNaN(unigram_backoff_probs[first])) {
                 // Otherwise split into unigrams and do backoff
-                double unigram_backoff_prob = unigram_backoff_probs
-                        .get(first_char);
-                log_prob = log_prob + unigram_backoff_prob;
-                // System.out.println("Unigram ("+first_char+") backoff prob: "+unigram_backoff_prob);
-
-
-
-
-                double unigram_prob = unigram_probs.get(second_char);
-                log_prob = log_prob + unigram_prob;
-
-                if (verbose == true) {
-                    double bigram_prob = unigram_backoff_prob + unigram_prob;
-                    System.out.println("Inferred bigram prob: "
-                            + Math.pow(10, bigram_prob)
-                            + " (formed from unigram probs " + first_char
-                            + ": " + Math.pow(10, unigram_backoff_prob)
-                            + " and " + second_char + ": "
-                            + Math.pow(10, unigram_prob) + ")\n");
+                double unigram_backoff_prob = unigram_backoff_probs[first];
+                double unigram_prob = unigram_probs[second];
+                log_prob = log_prob + unigram_backoff_prob + unigram_prob;
+
+                if (verbose) {
+                    System.out.println("Inferred bigram prob of " + describe(first, i, str) + ": "
+                            + Math.pow(10, unigram_backoff_prob + unigram_prob)
+                            + " (formed from unigram probs " + Math.pow(10, unigram_backoff_prob)
+                            + " and " + Math.pow(10, unigram_prob) + ")\n");
                 } // if
             } else {
                 //Note: we don't penalise strings containing weird (non-printable) characters.
                 //If we hit one (this block), just do nothing.
-                //throw new RuntimeException("Language Model can't give predictions for bigram " + bigram);
-
                 log_prob += unknown_char_prob;
-
             }
 
+            first = second;
         } // for
 
         // Convert log probs to probs and take geometric mean
@@ -308,6 +324,11 @@ public class LangModel {
 
     } // score
 
+    private String describe(int first, int position, String str) {
+        String first_char = first >= 0 ? unigrams.get(first) : position == 0 ? START_OF_STRING : str.substring(position - 1, position);
+        return first_char + " " + str.charAt(position);
+    }
+
     /**
      * Convenience method for {@link #score(String, boolean)} with verbose flag set to false.
      */
@@ -322,17 +343,11 @@ public class LangModel {
      */
     public String predict_char(String pre, int n) {
 
-        if (pre.equals(" ")) {
-            pre = "<w>";
-        }
-
-        String key = pre + n;
-
-        if (n < 0 || n > predicted_chars) {
+        int[] chars = getContext(context_char, pre);
+        if (chars == null || n < 0 || n >= chars.length) {
             return null;
-        } else {
-            return context_char.get(key);
-        } // if/else
+        }
+        return unigrams.get(chars[n]);
 
     } // predict_char
 
@@ -341,35 +356,33 @@ public class LangModel {
      */
     public String predict_char(int n) {
 
-        return predict_char("<s>", n);
+        return predict_char(START_OF_STRING, n);
 
     } // predict_char
 
     /**
      * Method which returns the probability of the nth most likely character, given a
      * preceeding character (pre). Use in combination with the predict_char methods.
-     * @return the probability of the nth character that is most likely to appear
+     * @return the probability of the nth character that is most likely to appear,
+     *         or 0 if there is no such character
      */
     public double predict_char_prob(String pre, int n) {
 
-        if (n < 0 || n > predicted_chars) {
+        double[] probs = getContext(context_prob, pre);
+        if (probs == null || n < 0 || n >= probs.length) {
             return 0;
         }
+        return Math.pow(10, probs[n]);
 
+    } // predict_char_prob
+
+    private <A> A getContext(A[] table, String pre) {
         if (pre.equals(" ")) {
-            pre = "<w>";
+            pre = START_NEW_WORD;
         }
-
-        String key = pre + n;
-        Double prob = context_prob.get(key);
-
-        if (prob != null) {
-            prob = Math.pow(10, prob);
-        } // if
-
-        return prob;
-
-    } // predict_char_prob
+        int id = getId(pre);
+        return id < 0 ? null : table[id];
+    }
 
     /**
      * Method which returns the probability of the nth most likley character at
@@ -379,7 +392,7 @@ public class LangModel {
      */
     public double predict_char_prob(int n) {
 
-        return predict_char_prob("<s>", n);
+        return predict_char_prob(START_OF_STRING, n);
 
     } // predict_char_prob
 
@@ -394,31 +407,3 @@ public class LangModel {
 
 
 } // LangModel
-
-/**
- * Compares values based on their values in an associated Map.
- */
-class ValueComparator implements Comparator<String> {
-
-    Map<String, Double> base;
-
-    /**
-     * Create a new comparator using a mapping of probabilities.
-     * The comparator will use the attached probabilities to return the
-     * ordering for two Strings.
-     * @param base a mapping of probabilities for strings.
-     */
-    public ValueComparator(Map<String, Double> base) {
-        this.base = base;
-    }
-
-    // Note: this comparator imposes orderings that are inconsistent with
-    // equals.
-    public int compare(String a, String b) {
-        if (base.get(a) >= base.get(b)) {
-            return -1;
-        } else {
-            return 1;
-        } // returning 0 would merge keys
-    }
-}
\ No newline at end of file
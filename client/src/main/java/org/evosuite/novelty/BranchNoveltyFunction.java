@@ -48,37 +48,56 @@ public class BranchNoveltyFunction extends NoveltyFunction<TestChromosome> {
     }
 
 
+    /**
+     * Returns the behaviour of the individual as one value per branch and
+     * branchless method, in the order of <code>branches</code> followed by
+     * <code>branchlessMethods</code>. A branch holds its true distance, or NaN
+     * if it was not reached; a branchless method holds 1 if it was covered.
+     * The descriptor is computed once per execution and cached in its result.
+     */
+    double[] getDescriptor(TestChromosome individual) {
+        ExecutionResult result = getExecutionResult(individual);
+        double[] descriptor = (double[]) result.getContribution(this);
+        if (descriptor == null) {
+            ExecutionTrace trace = result.getTrace();
+            descriptor = new double[branches.size() + branchlessMethods.size()];
+            int i = 0;
+            for (Integer branch : branches) {
+                descriptor[i++] = trace.hasTrueDistance(branch) ? trace.getTrueDistance(branch) : Double.NaN;
+            }
+            Set<String> methods = trace.getCoveredBranchlessMethods();
+            for (String branchlessMethod : branchlessMethods) {
+                descriptor[i++] = methods.contains(branchlessMethod) ? 1.0 : 0.0;
+            }
+            result.setContribution(this, descriptor);
+        }
+        return descriptor;
+    }
+
     @Override
-    public double getDistance(TestChromosome individual1, TestChromosome individual2) {
-        ExecutionResult result1 = getExecutionResult(individual1);
-        ExecutionResult result2 = getExecutionResult(individual2);
+    public void prepare(TestChromosome individual) {
+        getDescriptor(individual);
+    }
 
-        ExecutionTrace trace1 = result1.getTrace();
-        ExecutionTrace trace2 = result2.getTrace();
+    @Override
+    public double getDistance(TestChromosome individual1, TestChromosome individual2) {
+        double[] descriptor1 = getDescriptor(individual1);
+        double[] descriptor2 = getDescriptor(individual2);
 
         double difference = 0.0;
-
-        for(Integer branch : branches) {
-            if(trace1.hasTrueDistance(branch) && trace2.hasTrueDistance(branch)) {
-                double distance1 = trace1.getTrueDistance(branch);
-                double distance2 = trace2.getTrueDistance(branch);
-
-                difference += Math.abs(distance1 - distance2);
-
-            } else if(trace1.hasTrueDistance(branch) || trace2.hasTrueDistance(branch)) {
-                difference += 1.0;
-            }
-        }
-
-        Set<String> methods1 = trace1.getCoveredBranchlessMethods();
-        Set<String> methods2 = trace2.getCoveredBranchlessMethods();
-        for(String branchlessMethod : branchlessMethods) {
-            if(methods1.contains(branchlessMethod) != methods2.contains(branchlessMethod)) {
+        for (int i = 0; i < descriptor1.length; i++) {
+            double value1 = descriptor1[i];
+            double value2 = descriptor2[i];
+            boolean reached1 = !Double.isNaN(value1);
+            boolean reached2 = !Double.isNaN(value2);
+            if (reached1 && reached2) {
+                difference += Math.abs(value1 - value2);
+            } else if (reached1 || reached2) {
                 difference += 1.0;
             }
         }
 
-        difference /= (branches.size() + branchlessMethods.size());
+        difference /= descriptor1.length;
 
         return difference;
     }
@@ -65,8 +65,6 @@ public class CallContext implements Serializable {
 	 *            an array of {@link java.lang.StackTraceElement} objects.
 	 */
 	public CallContext(StackTraceElement[] stackTrace) {
-        addJUnitExcludes();
-
         int startPos = stackTrace.length - 1;
 		int endPos = 0;
 		List<Call> context = new ArrayList<>();
@@ -103,8 +101,6 @@ public class CallContext implements Serializable {
 	 * @param stackTrace
 	 */
 	public CallContext(LinkedList<MethodCall> stackTrace) {
-		addJUnitExcludes();
-
 		int startPos = stackTrace.size() - 1;
 		int endPos = 0;
 		List<Call> context = new ArrayList<>();
@@ -144,8 +140,6 @@ public class CallContext implements Serializable {
 	 * @param methodName
 	 */
 	public CallContext(String className, String methodName) {
-        addJUnitExcludes();
-
         List<Call> context = new ArrayList<>();
 		context.add(new Call(className, methodName));
 		this.context=context;
@@ -153,16 +147,12 @@ public class CallContext implements Serializable {
 	}
 	
 	public CallContext() {
-        addJUnitExcludes();
-
         List<Call> context = new ArrayList<>();
 		this.context=context;
 		hcode = this.context.hashCode();
 	}
 
 	public CallContext(Collection<Call> contextt) {
-        addJUnitExcludes();
-
         List<Call> context = new ArrayList<>(contextt);
 		this.context=context;
 		hcode = this.context.hashCode();
@@ -173,27 +163,46 @@ public class CallContext implements Serializable {
 
 	}
 
-    private String[] excludedPackages = new String[] { "java", "sun", PackageInfo.getEvoSuitePackage() };
+    private static final String[] DEFAULT_EXCLUDED_PACKAGES = new String[] { "java", "sun", PackageInfo.getEvoSuitePackage() };
+
+    /*
+     * The excluded packages only change with Properties.JUNIT, so they are
+     * computed once for each value of it rather than for each context
+     */
+    private static String excludedJUnit = "";
+
+    private static String[] excludedPackages = DEFAULT_EXCLUDED_PACKAGES;
 
     /**
      * If we are using -measureCoverage then we need to also exclude the junit tests
      */
-    private void addJUnitExcludes() {
-        if(Properties.JUNIT.isEmpty())
-            return;
-        List<String> values = new ArrayList<>(Arrays.asList(excludedPackages));
-        values.add("org.junit");
-        for(String junitClass : Properties.JUNIT.split(":")) {
-            values.add(junitClass);
+    private static synchronized String[] getExcludedPackages() {
+        String junit = Properties.JUNIT;
+        if (junit.equals(excludedJUnit))
+            return excludedPackages;
+        List<String> values = new ArrayList<>(Arrays.asList(DEFAULT_EXCLUDED_PACKAGES));
+        if (!junit.isEmpty()) {
+            values.add("org.junit");
+            for (String junitClass : junit.split(":")) {
+                values.add(junitClass);
+            }
         }
-        excludedPackages = new String[values.size()];
-        excludedPackages = values.toArray(excludedPackages);
+        excludedPackages = values.toArray(new String[0]);
+        excludedJUnit = junit;
+        return excludedPackages;
     }
 
-    private boolean shouldSkipEntry(String entry) {
+    /**
+     * Returns true if calls to methods of the given class are not part of
+     * call contexts (i.e., test driver, JDK and EvoSuite classes)
+     *
+     * @param entry the name of the class
+     * @return
+     */
+    public static boolean shouldSkipEntry(String entry) {
     	if(entry.isEmpty())
     		return true;
-        for(String excludedPackage : excludedPackages) {
+        for(String excludedPackage : getExcludedPackages()) {
             if (entry.startsWith(excludedPackage))
                 return true;
         }
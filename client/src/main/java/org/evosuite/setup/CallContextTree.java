@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.setup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tree of all the call contexts seen at runtime. Each node is identified by a
+ * small integer, and represents the context made of the calls on the path
+ * from the root (the empty context) to the node.
+ *
+ * Contexts are extended one call at a time when a method is entered, so that
+ * the context of the current call stack can be maintained incrementally
+ * instead of being rebuilt from the whole stack at each branch evaluation.
+ * The {@link CallContext} of a node is created only once, and then shared.
+ * The tree is replaced by an empty one whenever the test generation context
+ * is reset, so that it only grows with the contexts of the current target.
+ */
+public class CallContextTree {
+
+	private static volatile CallContextTree instance = new CallContextTree();
+
+	/**
+	 * Id of the node of the empty context
+	 */
+	public static final int ROOT = 0;
+
+	private final List<Call> calls = new ArrayList<>();
+
+	private final List<Integer> parents = new ArrayList<>();
+
+	private final List<Map<Call, Integer>> children = new ArrayList<>();
+
+	private final List<CallContext> contexts = new ArrayList<>();
+
+	private CallContextTree() {
+		addNode(null, -1);
+	}
+
+	public static CallContextTree getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Replaces the tree with an empty one. Nodes of the previous tree are
+	 * not valid in the new one
+	 */
+	public static void reset() {
+		instance = new CallContextTree();
+	}
+
+	private int addNode(Call call, int parent) {
+		int id = calls.size();
+		calls.add(call);
+		parents.add(parent);
+		children.add(null);
+		contexts.add(null);
+		return id;
+	}
+
+	/**
+	 * Returns the node of the context obtained by appending a call to the
+	 * context of the given node. As in {@link CallContext}, a call that is
+	 * already the last two calls of the context (i.e. recursion) is not
+	 * appended again.
+	 *
+	 * @param node
+	 * @param className
+	 * @param methodName
+	 * @return
+	 */
+	public synchronized int append(int node, String className, String methodName) {
+		Call call = new Call(className, methodName);
+		if (node != ROOT) {
+			int parent = parents.get(node);
+			if (parent != ROOT && call.equals(calls.get(node)) && call.equals(calls.get(parent))) {
+				return node;
+			}
+		}
+
+		Map<Call, Integer> nodeChildren = children.get(node);
+		if (nodeChildren == null) {
+			nodeChildren = new HashMap<>();
+			children.set(node, nodeChildren);
+		}
+		Integer child = nodeChildren.get(call);
+		if (child == null) {
+			child = addNode(call, node);
+			nodeChildren.put(call, child);
+		}
+		return child;
+	}
+
+	/**
+	 * Returns the call context represented by the given node
+	 *
+	 * @param node
+	 * @return
+	 */
+	public synchronized CallContext getContext(int node) {
+		CallContext context = contexts.get(node);
+		if (context == null) {
+			LinkedList<Call> path = new LinkedList<>();
+			for (int current = node; current != ROOT; current = parents.get(current)) {
+				path.addFirst(calls.get(current));
+			}
+			context = new CallContext(path);
+			contexts.set(node, context);
+		}
+		return context;
+	}
+
+	/**
+	 * Returns the number of nodes in the tree, including the root
+	 *
+	 * @return
+	 */
+	public synchronized int size() {
+		return calls.size();
+	}
+}
@@ -30,6 +30,7 @@ import org.evosuite.symbolic.expr.ExpressionEvaluator;
 import org.evosuite.symbolic.instrument.ConcolicInstrumentingClassLoader;
 import org.evosuite.symbolic.vm.ArithmeticVM;
 import org.evosuite.symbolic.vm.CallVM;
+import org.evosuite.symbolic.vm.ExpressionFactory;
 import org.evosuite.symbolic.vm.HeapVM;
 import org.evosuite.symbolic.vm.JumpVM;
 import org.evosuite.symbolic.vm.LocalsVM;
@@ -85,6 +86,7 @@ public abstract class ConcolicExecution {
 		 * Prepare DSC configuration
 		 */
 		MainConfig.setInstance();
+		ExpressionFactory.clearInternedExpressions();
 
 		/**
 		 * Path constraint and symbolic environment
@@ -136,6 +138,7 @@ public abstract class ConcolicExecution {
 			TestCaseExecutor.getInstance().setExecutionObservers(originalExecutionObservers);
 		}
 		VM.disableCallBacks(); // ignore all callbacks from now on
+		ExpressionFactory.clearInternedExpressions();
 
 		List<BranchCondition> branches = pc.getPathCondition();
 		logger.info("Concolic execution ended with " + branches.size() + " branches collected");
@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.ConstraintVisitor;
+import org.evosuite.symbolic.expr.IntegerConstraint;
+import org.evosuite.symbolic.expr.RealConstraint;
+import org.evosuite.symbolic.expr.StringConstraint;
+import org.evosuite.symbolic.expr.Variable;
+
+/**
+ * Partitions a list of constraints into independent sets, i.e. sets of
+ * constraints that do not share any variable (transitively), using a
+ * union-find over the variables of the constraints.
+ *
+ * Only the constraints in the same partition as a target constraint can
+ * influence its satisfiability. The remaining constraints are already
+ * satisfied by the current concrete values of their variables (they come from
+ * the path condition of an execution), so they do not need to be sent to the
+ * solver.
+ *
+ * Constraints are added incrementally, so that the slices for several
+ * prefixes of a path condition can be computed without starting over.
+ */
+public class ConstraintSlicer {
+
+	/**
+	 * Collects the variables of a constraint
+	 */
+	private static final class VariableCollector implements ConstraintVisitor<Set<Variable<?>>, Void> {
+
+		private static Set<Variable<?>> collect(Constraint<?> c) {
+			Set<Variable<?>> variables = new HashSet<>();
+			variables.addAll(c.getLeftOperand().getVariables());
+			variables.addAll(c.getRightOperand().getVariables());
+			return variables;
+		}
+
+		@Override
+		public Set<Variable<?>> visit(IntegerConstraint n, Void arg) {
+			return collect(n);
+		}
+
+		@Override
+		public Set<Variable<?>> visit(RealConstraint n, Void arg) {
+			return collect(n);
+		}
+
+		@Override
+		public Set<Variable<?>> visit(StringConstraint n, Void arg) {
+			return collect(n);
+		}
+	}
+
+	private static final VariableCollector variableCollector = new VariableCollector();
+
+	/**
+	 * Union-find forest over the variables, each variable points to its parent
+	 * (roots point to themselves)
+	 */
+	private final Map<Variable<?>, Variable<?>> parents = new HashMap<>();
+
+	private final Map<Variable<?>, Integer> ranks = new HashMap<>();
+
+	private final List<Constraint<?>> constraints = new ArrayList<>();
+
+	/**
+	 * The variables of each added constraint (same order as
+	 * <code>constraints</code>)
+	 */
+	private final List<Set<Variable<?>>> constraintVariables = new ArrayList<>();
+
+	/**
+	 * Adds a constraint, merging the partitions of all its variables
+	 *
+	 * @param c
+	 */
+	public void add(Constraint<?> c) {
+		Set<Variable<?>> variables = c.accept(variableCollector, null);
+		constraints.add(c);
+		constraintVariables.add(variables);
+
+		Variable<?> first = null;
+		for (Variable<?> v : variables) {
+			if (first == null) {
+				first = v;
+				find(v);
+			} else {
+				union(first, v);
+			}
+		}
+	}
+
+	/**
+	 * Adds all the constraints in the list
+	 *
+	 * @param cs
+	 */
+	public void addAll(List<Constraint<?>> cs) {
+		for (Constraint<?> c : cs) {
+			add(c);
+		}
+	}
+
+	/**
+	 * Returns the number of added constraints
+	 *
+	 * @return
+	 */
+	public int size() {
+		return constraints.size();
+	}
+
+	/**
+	 * Returns the added constraints that share variables (transitively) with
+	 * the target constraint, followed by the target constraint itself. The
+	 * target constraint is not added to the slicer. If the target has no
+	 * variables an empty list is returned.
+	 *
+	 * @param target
+	 * @return
+	 */
+	public List<Constraint<?>> slice(Constraint<?> target) {
+		Set<Variable<?>> targetVariables = target.accept(variableCollector, null);
+		LinkedList<Constraint<?>> slice = new LinkedList<>();
+		if (targetVariables.isEmpty()) {
+			return slice;
+		}
+
+		Set<Variable<?>> targetRoots = new HashSet<>();
+		for (Variable<?> v : targetVariables) {
+			if (parents.containsKey(v)) {
+				targetRoots.add(find(v));
+			}
+		}
+
+		if (!targetRoots.isEmpty()) {
+			for (int i = 0; i < constraints.size(); i++) {
+				Set<Variable<?>> variables = constraintVariables.get(i);
+				if (variables.isEmpty()) {
+					continue;
+				}
+				Variable<?> root = find(variables.iterator().next());
+				if (targetRoots.contains(root)) {
+					slice.add(constraints.get(i));
+				}
+			}
+		}
+		slice.add(target);
+		return slice;
+	}
+
+	private Variable<?> find(Variable<?> v) {
+		Variable<?> parent = parents.get(v);
+		if (parent == null) {
+			parents.put(v, v);
+			ranks.put(v, 0);
+			return v;
+		}
+		if (parent.equals(v)) {
+			return v;
+		}
+		Variable<?> root = find(parent);
+		parents.put(v, root); // path compression
+		return root;
+	}
+
+	private void union(Variable<?> a, Variable<?> b) {
+		Variable<?> rootA = find(a);
+		Variable<?> rootB = find(b);
+		if (rootA.equals(rootB)) {
+			return;
+		}
+		int rankA = ranks.get(rootA);
+		int rankB = ranks.get(rootB);
+		if (rankA < rankB) {
+			parents.put(rootA, rootB);
+		} else if (rankA > rankB) {
+			parents.put(rootB, rootA);
+		} else {
+			parents.put(rootB, rootA);
+			ranks.put(rootA, rankA + 1);
+		}
+	}
+}
@@ -74,59 +74,26 @@ public class DSEAlgorithm extends GeneticAlgorithm<TestSuiteChromosome> {
 
     HashSet<Set<Constraint<?>>> pathConditions = new HashSet<>();
 
-    for (int currentTestIndex = 0; currentTestIndex < generatedTests
-        .size(); currentTestIndex++) {
-
-      TestCase currentTestCase = generatedTests.get(currentTestIndex);
-
-      if (this.isFinished()) {
-        logger.debug("DSE test generation met a stopping condition. Exiting with "
-            + generatedTests.size() + " generated test cases for method "
-            + staticEntryMethod.getName());
-        return;
-      }
-
-      logger.debug("Starting concolic execution of test case: " + currentTestCase.toCode());
-
-      TestCase clonedTestCase = currentTestCase.clone();
-
-      final PathCondition pathCondition =
-          ConcolicExecution.executeConcolic((DefaultTestCase) clonedTestCase);
-      logger
-          .debug("Path condition collected with : " + pathCondition.size() + " branches");
-
-      Set<Constraint<?>> constraintsSet = canonicalize(pathCondition.getConstraints());
-      pathConditions.add(constraintsSet);
-      logger.debug("Number of stored path condition: " + pathConditions.size());
-
-      for (int i = pathCondition.size() - 1; i >= 0; i--) {
-        logger.debug("negating index " + i + " of path condition");
-
-        List<Constraint<?>> query = DSETestGenerator.buildQuery(pathCondition, i);
-
-        Set<Constraint<?>> constraintSet = canonicalize(query);
-
-        if (queryCache.containsKey(constraintSet)) {
-          logger.debug("skipping solving of current query since it is in the query cache");
-          continue;
-        }
-
-        if (isSubSetOf(constraintSet, queryCache.keySet())) {
-          logger.debug(
-              "skipping solving of current query because it is satisfiable and solved by previous path condition");
-          continue;
-        }
-
-        if (pathConditions.contains(constraintSet)) {
-          logger.debug("skipping solving of current query because of existing path condition");
-          continue;
-
+    DSESolverPipeline solverPipeline = new DSESolverPipeline();
+    try {
+      int nextTestIndexToExecute = 0;
+      while (true) {
+
+        // concolically execute the new test cases while the solver workers
+        // keep solving the queries scheduled so far
+        while (nextTestIndexToExecute < generatedTests.size()) {
+          if (this.isFinished()) {
+            logger.debug("DSE test generation met a stopping condition. Exiting with "
+                + generatedTests.size() + " generated test cases for method "
+                + staticEntryMethod.getName());
+            return;
+          }
+          TestCase currentTestCase = generatedTests.get(nextTestIndexToExecute++);
+          scheduleNegatedQueries(currentTestCase, pathConditions, solverPipeline);
         }
 
-        if (isSubSetOf(constraintSet, pathConditions)) {
-          logger.debug(
-              "skipping solving of current query because it is satisfiable and solved by previous path condition");
-          continue;
+        if (solverPipeline.isEmpty()) {
+          break;
         }
 
         if (this.isFinished()) {
@@ -136,12 +103,19 @@ public class DSEAlgorithm extends GeneticAlgorithm<TestSuiteChromosome> {
           return;
         }
 
-        logger.debug("Solving query with  " + query.size() + " constraints");
+        DSESolverPipeline.PendingQuery pendingQuery = solverPipeline.poll();
+        Set<Constraint<?>> constraintSet = pendingQuery.getKey();
 
-        List<Constraint<?>> varBounds = createVarBounds(query);
-        query.addAll(varBounds);
+        // the caches might have grown since the query was scheduled
+        if (isSolvedOrExplored(constraintSet, pathConditions)) {
+          logger.debug("discarding scheduled query since it was solved or explored meanwhile");
+          solverPipeline.discard(pendingQuery);
+          continue;
+        }
 
-        SolverResult result = DSETestGenerator.solve(query);
+        logger.debug("Solving query with  " + pendingQuery.getQuery().size() + " constraints");
+
+        SolverResult result = solverPipeline.getResult(pendingQuery);
 
         queryCache.put(constraintSet, result);
         logger.debug("Number of stored entries in query cache : " + queryCache.keySet().size());
@@ -153,7 +127,7 @@ public class DSEAlgorithm extends GeneticAlgorithm<TestSuiteChromosome> {
           Map<String, Object> solution = result.getModel();
           logger.debug("solver found solution " + solution.toString());
 
-          TestCase newTest = DSETestGenerator.updateTest(currentTestCase, solution);
+          TestCase newTest = DSETestGenerator.updateTest(pendingQuery.getOriginTest(), solution);
           logger.debug("Created new test case from SAT solution:" + newTest.toCode());
           generatedTests.add(newTest);
 
@@ -179,12 +153,97 @@ public class DSEAlgorithm extends GeneticAlgorithm<TestSuiteChromosome> {
           logger.debug("query is UNSAT (no solution found)");
         }
       }
+    } finally {
+      solverPipeline.shutdown();
     }
 
     logger.debug("DSE test generation finished for method " + staticEntryMethod.getName()
         + ". Exiting with " + generatedTests.size() + " generated test cases");
   }
 
+  /**
+   * Executes concolically the test case and schedules the solving of the negation of each branch
+   * condition in its path condition.
+   * 
+   * @param currentTestCase
+   * @param pathConditions
+   * @param solverPipeline
+   */
+  private void scheduleNegatedQueries(TestCase currentTestCase,
+      Set<Set<Constraint<?>>> pathConditions, DSESolverPipeline solverPipeline) {
+
+    logger.debug("Starting concolic execution of test case: " + currentTestCase.toCode());
+
+    TestCase clonedTestCase = currentTestCase.clone();
+
+    final PathCondition pathCondition =
+        ConcolicExecution.executeConcolic((DefaultTestCase) clonedTestCase);
+    logger.debug("Path condition collected with : " + pathCondition.size() + " branches");
+
+    Set<Constraint<?>> constraintsSet = canonicalize(pathCondition.getConstraints());
+    pathConditions.add(constraintsSet);
+    logger.debug("Number of stored path condition: " + pathConditions.size());
+
+    // the slices of all prefixes are computed incrementally with a single slicer
+    ConstraintSlicer slicer = new ConstraintSlicer();
+    List<List<Constraint<?>>> queries = new ArrayList<>(pathCondition.size());
+    for (int i = 0; i < pathCondition.size(); i++) {
+      queries.add(DSETestGenerator.buildQuery(pathCondition, i, slicer));
+    }
+
+    for (int i = pathCondition.size() - 1; i >= 0; i--) {
+      logger.debug("negating index " + i + " of path condition");
+
+      List<Constraint<?>> query = queries.get(i);
+
+      Set<Constraint<?>> constraintSet = canonicalize(query);
+
+      if (isSolvedOrExplored(constraintSet, pathConditions)) {
+        logger.debug("skipping solving of current query since it was solved or explored");
+        continue;
+      }
+
+      List<Constraint<?>> varBounds = createVarBounds(query);
+      query.addAll(varBounds);
+
+      solverPipeline.submit(query, constraintSet, currentTestCase);
+    }
+  }
+
+  /**
+   * Returns true if the query was already solved, or if it is satisfied by an already solved query
+   * or an explored path condition
+   * 
+   * @param constraintSet
+   * @param pathConditions
+   * @return
+   */
+  private boolean isSolvedOrExplored(Set<Constraint<?>> constraintSet,
+      Set<Set<Constraint<?>>> pathConditions) {
+
+    if (queryCache.containsKey(constraintSet)) {
+      logger.debug("query is in the query cache");
+      return true;
+    }
+
+    if (isSubSetOf(constraintSet, queryCache.keySet())) {
+      logger.debug("query is satisfiable and solved by previous query");
+      return true;
+    }
+
+    if (pathConditions.contains(constraintSet)) {
+      logger.debug("query is an existing path condition");
+      return true;
+    }
+
+    if (isSubSetOf(constraintSet, pathConditions)) {
+      logger.debug("query is satisfiable and solved by previous path condition");
+      return true;
+    }
+
+    return false;
+  }
+
   protected static HashSet<Constraint<?>> canonicalize(List<Constraint<?>> query) {
     return new HashSet<>(query);
   }
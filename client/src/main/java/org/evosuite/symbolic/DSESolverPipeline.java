@@ -0,0 +1,284 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.evosuite.Properties;
+import org.evosuite.Properties.SolverType;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.solver.SolverResult;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.localsearch.DSETestGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Speculatively solves the negated branch conditions of a path condition on a
+ * pool of worker threads, while the caller keeps executing concolically the
+ * tests obtained from previous solutions.
+ *
+ * Queries are handed back to the caller in submission order, regardless of
+ * the order in which the solver workers finish them. Identical queries that
+ * are still in flight are only submitted once. Queries are solved through
+ * the shared solver cache in both modes, so the results do not depend on the
+ * number of workers.
+ *
+ * If less than two worker threads are requested, or if the solver is not
+ * safe to be used concurrently (i.e. the EvoSuite solver, which mutates the
+ * concrete values of the variables and uses the global random generator),
+ * the queries are solved lazily in the caller thread when they are polled.
+ */
+public class DSESolverPipeline {
+
+	private static final Logger logger = LoggerFactory.getLogger(DSESolverPipeline.class);
+
+	/**
+	 * A negated branch condition waiting to be solved (or being solved)
+	 */
+	public static class PendingQuery {
+
+		private final List<Constraint<?>> query;
+
+		private final Set<Constraint<?>> key;
+
+		private final TestCase originTest;
+
+		private final FutureTask<SolverResult> task;
+
+		private PendingQuery(List<Constraint<?>> query, Set<Constraint<?>> key, TestCase originTest,
+				Function<List<Constraint<?>>, SolverResult> solving) {
+			this.query = query;
+			this.key = key;
+			this.originTest = originTest;
+			this.task = new FutureTask<>(() -> solving.apply(query));
+		}
+
+		/**
+		 * The constraints sent to the solver
+		 *
+		 * @return
+		 */
+		public List<Constraint<?>> getQuery() {
+			return query;
+		}
+
+		/**
+		 * The canonical form of the query used for caching and deduplication
+		 *
+		 * @return
+		 */
+		public Set<Constraint<?>> getKey() {
+			return key;
+		}
+
+		/**
+		 * The test case whose path condition was negated
+		 *
+		 * @return
+		 */
+		public TestCase getOriginTest() {
+			return originTest;
+		}
+	}
+
+	private final ThreadPoolExecutor executor;
+
+	private final Function<List<Constraint<?>>, SolverResult> solving;
+
+	private final Queue<PendingQuery> pending = new ArrayDeque<>();
+
+	private final Map<Set<Constraint<?>>, PendingQuery> inFlight = new HashMap<>();
+
+	private final AtomicInteger workerCount = new AtomicInteger(0);
+
+	/**
+	 * Creates a new pipeline with the number of solver workers given by
+	 * <code>Properties.DSE_SOLVER_THREADS</code>
+	 */
+	public DSESolverPipeline() {
+		this(Properties.DSE_SOLVER_THREADS);
+	}
+
+	/**
+	 * Creates a new pipeline with the given number of solver workers
+	 *
+	 * @param numberOfWorkers
+	 */
+	public DSESolverPipeline(int numberOfWorkers) {
+		this(getSupportedNumberOfWorkers(numberOfWorkers), DSETestGenerator::solve);
+	}
+
+	/**
+	 * Creates a new pipeline solving the queries with the given function,
+	 * which must be safe to be called concurrently if there is more than one
+	 * worker
+	 *
+	 * @param numberOfWorkers
+	 * @param solving
+	 */
+	DSESolverPipeline(int numberOfWorkers, Function<List<Constraint<?>>, SolverResult> solving) {
+		this.solving = solving;
+		if (numberOfWorkers > 1) {
+			this.executor = new ThreadPoolExecutor(numberOfWorkers, numberOfWorkers, 0L, TimeUnit.MILLISECONDS,
+					new LinkedBlockingQueue<>(), r -> {
+						Thread t = new Thread(r, "EvoSuite_DSE_solver_" + workerCount.incrementAndGet());
+						t.setDaemon(true);
+						return t;
+					});
+		} else {
+			this.executor = null;
+		}
+	}
+
+	private static int getSupportedNumberOfWorkers(int numberOfWorkers) {
+		if (numberOfWorkers > 1 && Properties.DSE_SOLVER == SolverType.EVOSUITE_SOLVER) {
+			logger.info("EvoSuite solver cannot be used concurrently, solving queries sequentially");
+			return 1;
+		}
+		return numberOfWorkers;
+	}
+
+	/**
+	 * Returns true if queries are solved by background workers
+	 *
+	 * @return
+	 */
+	public boolean isConcurrent() {
+		return executor != null;
+	}
+
+	/**
+	 * Schedules a query for solving. Returns false if an identical query is
+	 * already waiting to be polled.
+	 *
+	 * @param query
+	 *            the constraints to be solved
+	 * @param key
+	 *            the canonical form of the query
+	 * @param originTest
+	 *            the test whose path condition was negated
+	 * @return
+	 */
+	public boolean submit(List<Constraint<?>> query, Set<Constraint<?>> key, TestCase originTest) {
+		if (inFlight.containsKey(key)) {
+			logger.debug("skipping submission of query since an identical query is in flight");
+			return false;
+		}
+		PendingQuery pendingQuery = new PendingQuery(query, key, originTest, solving);
+		if (executor != null) {
+			executor.execute(pendingQuery.task);
+		}
+		inFlight.put(key, pendingQuery);
+		pending.add(pendingQuery);
+		return true;
+	}
+
+	/**
+	 * Returns true if no query is waiting to be polled
+	 *
+	 * @return
+	 */
+	public boolean isEmpty() {
+		return pending.isEmpty();
+	}
+
+	/**
+	 * Returns the number of queries waiting to be polled
+	 *
+	 * @return
+	 */
+	public int size() {
+		return pending.size();
+	}
+
+	/**
+	 * Removes the oldest submitted query, or <code>null</code> if there is
+	 * none. The result of the query can be retrieved with
+	 * <code>getResult</code>, or discarded with <code>discard</code>.
+	 *
+	 * @return
+	 */
+	public PendingQuery poll() {
+		PendingQuery pendingQuery = pending.poll();
+		if (pendingQuery != null) {
+			inFlight.remove(pendingQuery.getKey());
+		}
+		return pendingQuery;
+	}
+
+	/**
+	 * Waits (if needed) for the result of a polled query. In sequential mode
+	 * the query is solved in the calling thread.
+	 *
+	 * @param pendingQuery
+	 * @return the solver result, or <code>null</code> if the solver failed
+	 */
+	public SolverResult getResult(PendingQuery pendingQuery) {
+		if (executor == null) {
+			pendingQuery.task.run();
+		}
+		try {
+			return pendingQuery.task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		} catch (ExecutionException e) {
+			logger.debug("Solver failed with exception {}", e.getCause());
+			return null;
+		}
+	}
+
+	/**
+	 * Discards a polled query that became redundant. If no worker has started
+	 * solving it yet, it is never solved.
+	 *
+	 * @param pendingQuery
+	 */
+	public void discard(PendingQuery pendingQuery) {
+		pendingQuery.task.cancel(false);
+	}
+
+	/**
+	 * Cancels all pending queries and stops the solver workers
+	 */
+	public void shutdown() {
+		for (PendingQuery pendingQuery : pending) {
+			pendingQuery.task.cancel(true);
+		}
+		pending.clear();
+		inFlight.clear();
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+	}
+}
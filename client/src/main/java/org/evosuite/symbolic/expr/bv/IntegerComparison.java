@@ -80,9 +80,14 @@ public final class IntegerComparison extends AbstractExpression<Long> implements
 		return false;
 	}
 
+	private int hash = 0;
+
 	@Override
 	public int hashCode() {
-		return this.left.hashCode() + this.right.hashCode();
+		if (hash == 0) {
+			hash = this.left.hashCode() + this.right.hashCode();
+		}
+		return hash;
 	}
 
 	/**
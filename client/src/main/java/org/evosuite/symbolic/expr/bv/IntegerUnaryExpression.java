@@ -95,9 +95,14 @@ public final class IntegerUnaryExpression extends AbstractExpression<Long> imple
 		return false;
 	}
 
+	private int hash = 0;
+
 	@Override
 	public int hashCode() {
-		return this.expr.hashCode() + this.op.hashCode();
+		if (hash == 0) {
+			hash = this.expr.hashCode() + this.op.hashCode();
+		}
+		return hash;
 	}
 
 	@Override
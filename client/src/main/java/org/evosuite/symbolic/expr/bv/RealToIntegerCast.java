@@ -84,9 +84,14 @@ public final class RealToIntegerCast extends AbstractExpression<Long> implements
 		return false;
 	}
 
+	private int hash = 0;
+
 	@Override
 	public int hashCode() {
-		return this.expr.hashCode();
+		if (hash == 0) {
+			hash = this.expr.hashCode();
+		}
+		return hash;
 	}
 
 	@Override
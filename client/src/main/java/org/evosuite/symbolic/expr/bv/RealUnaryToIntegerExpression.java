@@ -108,9 +108,14 @@ public final class RealUnaryToIntegerExpression extends AbstractExpression<Long>
 		return expr.getConstants();
 	}
 
+	private int hash = 0;
+
 	@Override
 	public int hashCode() {
-		return this.op.hashCode() + this.getSize() + this.expr.hashCode();
+		if (hash == 0) {
+			hash = this.op.hashCode() + this.getSize() + this.expr.hashCode();
+		}
+		return hash;
 	}
 
 	@Override
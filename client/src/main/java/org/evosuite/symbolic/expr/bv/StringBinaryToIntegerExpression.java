@@ -134,10 +134,14 @@ public final class StringBinaryToIntegerExpression extends
 		return false;
 	}
 
+	private int hash = 0;
+
 	@Override
 	public int hashCode() {
-		return this.left.hashCode() + this.op.hashCode()
-				+ this.right.hashCode();
+		if (hash == 0) {
+			hash = this.left.hashCode() + this.op.hashCode() + this.right.hashCode();
+		}
+		return hash;
 	}
 
 	@Override
@@ -167,10 +167,14 @@ public final class StringMultipleComparison extends AbstractExpression<Long> imp
 		return false;
 	}
 
+	private int hash = 0;
+
 	@Override
 	public int hashCode() {
-		return this.op.hashCode() + this.left.hashCode() + this.right.hashCode()
-		        + this.other_v.hashCode();
+		if (hash == 0) {
+			hash = this.op.hashCode() + this.left.hashCode() + this.right.hashCode() + this.other_v.hashCode();
+		}
+		return hash;
 	}
 
 	@Override
@@ -91,9 +91,14 @@ public final class StringToIntegerCast extends AbstractExpression<Long> implemen
 		return false;
 	}
 
+	private int hash = 0;
+
 	@Override
 	public int hashCode() {
-		return this.expr.hashCode();
+		if (hash == 0) {
+			hash = this.expr.hashCode();
+		}
+		return hash;
 	}
 
 	public Expression<String> getParam() {
@@ -85,9 +85,14 @@ public final class IntegerToRealCast extends AbstractExpression<Double> implemen
 		return false;
 	}
 
+	private int hash = 0;
+
 	@Override
 	public int hashCode() {
-		return this.expr.hashCode();
+		if (hash == 0) {
+			hash = this.expr.hashCode();
+		}
+		return hash;
 	}
 
 	@Override
@@ -103,9 +103,14 @@ public final class RealUnaryExpression extends AbstractExpression<Double> implem
 		return variables;
 	}
 
+	private int hash = 0;
+
 	@Override
 	public int hashCode() {
-		return this.op.hashCode() + this.getSize() + this.expr.hashCode();
+		if (hash == 0) {
+			hash = this.op.hashCode() + this.getSize() + this.expr.hashCode();
+		}
+		return hash;
 	}
 
 	@Override
@@ -72,9 +72,14 @@ public final class IntegerToStringCast extends AbstractExpression<String> implem
 		return false;
 	}
 
+	private int hash = 0;
+
 	@Override
 	public int hashCode() {
-		return expr.hashCode();
+		if (hash == 0) {
+			hash = expr.hashCode();
+		}
+		return hash;
 	}
 
 	/** {@inheritDoc} */
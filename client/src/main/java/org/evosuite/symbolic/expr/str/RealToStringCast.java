@@ -73,9 +73,14 @@ public final class RealToStringCast extends AbstractExpression<String> implement
 		return false;
 	}
 
+	private int hash = 0;
+
 	@Override
 	public int hashCode() {
-		return this.expr.hashCode();
+		if (hash == 0) {
+			hash = this.expr.hashCode();
+		}
+		return hash;
 	}
 
 	/** {@inheritDoc} */
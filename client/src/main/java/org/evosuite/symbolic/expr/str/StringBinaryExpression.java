@@ -123,9 +123,14 @@ public final class StringBinaryExpression extends AbstractExpression<String> imp
 		return false;
 	}
 
+	private int hash = 0;
+
 	@Override
 	public int hashCode() {
-		return this.left.hashCode() + this.op.hashCode() + this.right.hashCode();
+		if (hash == 0) {
+			hash = this.left.hashCode() + this.op.hashCode() + this.right.hashCode();
+		}
+		return hash;
 	}
 
 	@Override
@@ -150,10 +150,14 @@ public final class StringMultipleExpression extends AbstractExpression<String> i
 		return false;
 	}
 
+	private int hash = 0;
+
 	@Override
 	public int hashCode() {
-		return this.op.hashCode() + this.left.hashCode() + this.right.hashCode()
-		        + this.other_v.hashCode();
+		if (hash == 0) {
+			hash = this.op.hashCode() + this.left.hashCode() + this.right.hashCode() + this.other_v.hashCode();
+		}
+		return hash;
 	}
 
 	private static boolean containsSymbolicVariable(ArrayList<Expression<?>> list) {
@@ -110,9 +110,14 @@ public final class StringUnaryExpression extends AbstractExpression<String> impl
 		return false;
 	}
 
+	private int hash = 0;
+
 	@Override
 	public int hashCode() {
-		return this.op.hashCode() + this.expr.hashCode();
+		if (hash == 0) {
+			hash = this.op.hashCode() + this.expr.hashCode();
+		}
+		return hash;
 	}
 
 	@Override
@@ -73,9 +73,14 @@ public final class HasMoreTokensExpr extends AbstractExpression<Long> implements
 		return false;
 	}
 
+	private int hash = 0;
+
 	@Override
 	public int hashCode() {
-		return this.tokenizerExpr.hashCode();
+		if (hash == 0) {
+			hash = this.tokenizerExpr.hashCode();
+		}
+		return hash;
 	}
 
 	/** {@inheritDoc} */
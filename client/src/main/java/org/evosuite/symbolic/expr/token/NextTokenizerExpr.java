@@ -62,9 +62,14 @@ public final class NextTokenizerExpr extends TokenizerExpr {
 			return false;
 	}
 
+	private int hash = 0;
+
 	@Override
 	public int hashCode() {
-		return tokenizerExpr.hashCode();
+		if (hash == 0) {
+			hash = tokenizerExpr.hashCode();
+		}
+		return hash;
 	}
 
 	@Override
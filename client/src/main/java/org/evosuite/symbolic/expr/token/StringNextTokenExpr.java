@@ -87,9 +87,14 @@ public final class StringNextTokenExpr extends AbstractExpression<String> implem
 		return false;
 	}
 
+	private int hash = 0;
+
 	@Override
 	public int hashCode() {
-		return this.tokenizerExpr.hashCode();
+		if (hash == 0) {
+			hash = this.tokenizerExpr.hashCode();
+		}
+		return hash;
 	}
 
 	@Override
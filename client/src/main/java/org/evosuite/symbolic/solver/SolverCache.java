@@ -25,6 +25,10 @@ import java.util.HashMap;
 
 import org.evosuite.symbolic.expr.Constraint;
 
+/**
+ * Cache of solver results. It can be shared by solvers running in different
+ * threads: the solvers are invoked outside the lock of the cache.
+ */
 public final class SolverCache {
 
 	/**
@@ -34,18 +38,22 @@ public final class SolverCache {
 	 * @return 
 	 */
 	public SolverResult solve(Solver solver, Collection<Constraint<?>> constraints) {
-		if (hasCachedResult(constraints)) {
-			SolverResult cached_solution = getCachedResult();
-			return cached_solution;
+		synchronized (this) {
+			if (hasCachedResult(constraints)) {
+				SolverResult cached_solution = getCachedResult();
+				return cached_solution;
+			}
 		}
 
 		SolverResult solverResult;
 		try {
 			solverResult = solver.solve(constraints);
-			if (solverResult.isUNSAT()) {
-				addUNSAT(constraints, solverResult);
-			} else {
-				addSAT(constraints, solverResult);
+			synchronized (this) {
+				if (solverResult.isUNSAT()) {
+					addUNSAT(constraints, solverResult);
+				} else {
+					addSAT(constraints, solverResult);
+				}
 			}
 		} catch (SolverTimeoutException | IOException | SolverParseException | SolverEmptyQueryException
 				| SolverErrorException e) {
@@ -62,11 +70,11 @@ public final class SolverCache {
 	private int cached_sat_result_count = 0;
 	private int cached_unsat_result_count = 0;
 
-	public int getNumberOfUNSATs() {
+	public synchronized int getNumberOfUNSATs() {
 		return cached_unsat_result_count;
 	}
 
-	public int getNumberOfSATs() {
+	public synchronized int getNumberOfSATs() {
 		return cached_sat_result_count;
 	}
 
@@ -108,7 +116,7 @@ public final class SolverCache {
 		}
 	}
 
-	public double getHitRate() {
+	public synchronized double getHitRate() {
 		return (double) this.number_of_hits / (double) this.number_of_accesses;
 	}
 
@@ -118,7 +126,7 @@ public final class SolverCache {
 	 * @param constraints
 	 * @return
 	 */
-	public SolverResult getCachedResult() {
+	public synchronized SolverResult getCachedResult() {
 
 		if (valid_cached_solution == false) {
 			throw new IllegalArgumentException("The constraint is not cached!");
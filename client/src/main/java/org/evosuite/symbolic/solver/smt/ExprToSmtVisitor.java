@@ -19,7 +19,9 @@
  */
 package org.evosuite.symbolic.solver.smt;
 
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.evosuite.symbolic.expr.Expression;
@@ -66,6 +68,30 @@ import org.evosuite.symbolic.solver.SmtExprBuilder;
 
 public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
+	/**
+	 * Translations of the expressions visited by this visitor. Path conditions
+	 * share subexpressions (see ExpressionFactory.intern()), each shared node
+	 * is translated only once. Identity is used instead of equals() since the
+	 * translation of a concrete subexpression depends on its concrete value.
+	 */
+	private final Map<Expression<?>, SmtExpr> translations = new IdentityHashMap<>();
+
+	/**
+	 * Returns the SMT translation of the expression, or <code>null</code> if
+	 * the expression cannot be translated
+	 * 
+	 * @param e
+	 * @return
+	 */
+	public final SmtExpr translate(Expression<?> e) {
+		if (translations.containsKey(e)) {
+			return translations.get(e);
+		}
+		SmtExpr smtExpr = e.accept(this, null);
+		translations.put(e, smtExpr);
+		return smtExpr;
+	}
+
 	protected static SmtExpr approximateToConcreteValue(Expression<?> e) {
 		if (e instanceof IntegerValue) {
 			return approximateToConcreteValue((IntegerValue) e);
@@ -108,8 +134,8 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
 	@Override
 	public final SmtExpr visit(IntegerBinaryExpression e, Void v) {
-		SmtExpr left = e.getLeftOperand().accept(this, null);
-		SmtExpr right = e.getRightOperand().accept(this, null);
+		SmtExpr left = translate(e.getLeftOperand());
+		SmtExpr right = translate(e.getRightOperand());
 
 		if (left == null || right == null) {
 			return null;
@@ -208,7 +234,7 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
 	@Override
 	public final SmtExpr visit(IntegerUnaryExpression e, Void v) {
-		SmtExpr operand = e.getOperand().accept(this, null);
+		SmtExpr operand = translate(e.getOperand());
 
 		if (operand == null) {
 			return null;
@@ -245,7 +271,7 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
 	@Override
 	public final SmtExpr visit(RealToIntegerCast e, Void v) {
-		SmtExpr operand = e.getArgument().accept(this, null);
+		SmtExpr operand = translate(e.getArgument());
 		if (operand == null) {
 			return null;
 		}
@@ -262,7 +288,7 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
 	@Override
 	public final SmtExpr visit(RealUnaryToIntegerExpression e, Void v) {
-		SmtExpr realExpr = e.getOperand().accept(this, null);
+		SmtExpr realExpr = translate(e.getOperand());
 		if (realExpr == null) {
 			return null;
 		}
@@ -288,7 +314,7 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
 	@Override
 	public final SmtExpr visit(IntegerToRealCast e, Void v) {
-		SmtExpr operand = e.getArgument().accept(this, null);
+		SmtExpr operand = translate(e.getArgument());
 		if (operand == null) {
 			return null;
 		}
@@ -305,9 +331,9 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
 	@Override
 	public final SmtExpr visit(RealBinaryExpression e, Void v) {
-		SmtExpr left = e.getLeftOperand().accept(this, null);
+		SmtExpr left = translate(e.getLeftOperand());
 		Operator operator = e.getOperator();
-		SmtExpr right = e.getRightOperand().accept(this, null);
+		SmtExpr right = translate(e.getRightOperand());
 
 		if (left == null || right == null) {
 			return null;
@@ -379,7 +405,7 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
 	@Override
 	public final SmtExpr visit(RealUnaryExpression e, Void v) {
-		SmtExpr operand = e.getOperand().accept(this, null);
+		SmtExpr operand = translate(e.getOperand());
 
 		if (operand == null) {
 			return null;
@@ -456,7 +482,7 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
 	@Override
 	public final SmtExpr visit(IntegerToStringCast e, Void v) {
-		SmtExpr operand = e.getArgument().accept(this, null);
+		SmtExpr operand = translate(e.getArgument());
 		if (operand == null) {
 			return null;
 		}
@@ -472,7 +498,7 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
 	@Override
 	public final SmtExpr visit(RealToStringCast e, Void arg) {
-		SmtExpr operand = e.getArgument().accept(this, null);
+		SmtExpr operand = translate(e.getArgument());
 		if (operand == null) {
 			return null;
 		}
@@ -489,7 +515,7 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
 	@Override
 	public final SmtExpr visit(HasMoreTokensExpr e, Void v) {
-		SmtExpr expr = e.getTokenizerExpr().accept(this, null);
+		SmtExpr expr = translate(e.getTokenizerExpr());
 		if (expr == null) {
 			return null;
 		}
@@ -532,8 +558,8 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 		Expression<?> rightOperand = e.getRightOperand();
 		Operator op = e.getOperator();
 
-		SmtExpr left = leftOperand.accept(this, null);
-		SmtExpr right = rightOperand.accept(this, null);
+		SmtExpr left = translate(leftOperand);
+		SmtExpr right = translate(rightOperand);
 
 		if (left == null || right == null) {
 			return null;
@@ -582,8 +608,8 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
 	@Override
 	public final SmtExpr visit(StringBinaryExpression e, Void arg) {
-		SmtExpr left = e.getLeftOperand().accept(this, null);
-		SmtExpr right = e.getRightOperand().accept(this, null);
+		SmtExpr left = translate(e.getLeftOperand());
+		SmtExpr right = translate(e.getRightOperand());
 		Operator operator = e.getOperator();
 
 		if (left == null || right == null) {
@@ -636,8 +662,8 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 		Operator op = e.getOperator();
 		Expression<?> rightOperand = e.getRightOperand();
 
-		SmtExpr left = leftOperand.accept(this, null);
-		SmtExpr right = rightOperand.accept(this, null);
+		SmtExpr left = translate(leftOperand);
+		SmtExpr right = translate(rightOperand);
 
 		if (left == null || right == null) {
 			return null;
@@ -686,11 +712,11 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
 	@Override
 	public final SmtExpr visit(StringMultipleComparison e, Void arg) {
-		SmtExpr left = e.getLeftOperand().accept(this, null);
+		SmtExpr left = translate(e.getLeftOperand());
 		Operator operator = e.getOperator();
-		SmtExpr right = e.getRightOperand().accept(this, null);
+		SmtExpr right = translate(e.getRightOperand());
 
-		List<SmtExpr> others = e.getOther().stream().map(t -> t.accept(this, null)).collect(Collectors.toList());
+		List<SmtExpr> others = e.getOther().stream().map(this::translate).collect(Collectors.toList());
 
 		if (left == null || right == null || others.contains(null)) {
 			return null;
@@ -734,9 +760,9 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 	@Override
 	public final SmtExpr visit(StringMultipleExpression e, Void arg) {
 		Operator operator = e.getOperator();
-		SmtExpr left = e.getLeftOperand().accept(this, null);
-		SmtExpr right = e.getRightOperand().accept(this, null);
-		List<SmtExpr> others = e.getOther().stream().map(t -> t.accept(this, null)).collect(Collectors.toList());
+		SmtExpr left = translate(e.getLeftOperand());
+		SmtExpr right = translate(e.getRightOperand());
+		List<SmtExpr> others = e.getOther().stream().map(this::translate).collect(Collectors.toList());
 
 		if (left == null || right == null || others.contains(null)) {
 			return null;
@@ -779,9 +805,9 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
 	@Override
 	public final SmtExpr visit(StringMultipleToIntegerExpression e, Void arg) {
-		SmtExpr left = e.getLeftOperand().accept(this, null);
-		SmtExpr right = e.getRightOperand().accept(this, null);
-		List<SmtExpr> others = e.getOther().stream().map(t -> t.accept(this, null)).collect(Collectors.toList());
+		SmtExpr left = translate(e.getLeftOperand());
+		SmtExpr right = translate(e.getRightOperand());
+		List<SmtExpr> others = e.getOther().stream().map(this::translate).collect(Collectors.toList());
 
 		if (left == null || right == null || others.contains(null)) {
 			return null;
@@ -819,7 +845,7 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
 	@Override
 	public final SmtExpr visit(StringNextTokenExpr n, Void arg) {
-		SmtExpr operand = n.getTokenizerExpr().accept(this, null);
+		SmtExpr operand = translate(n.getTokenizerExpr());
 		if (operand == null) {
 			return null;
 		}
@@ -836,7 +862,7 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
 	@Override
 	public final SmtExpr visit(StringReaderExpr e, Void arg) {
-		SmtExpr operand = e.getString().accept(this, null);
+		SmtExpr operand = translate(e.getString());
 		if (operand == null) {
 			return null;
 		}
@@ -854,7 +880,7 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
 	@Override
 	public final SmtExpr visit(StringUnaryExpression e, Void arg) {
-		SmtExpr operand = e.getOperand().accept(this, null);
+		SmtExpr operand = translate(e.getOperand());
 
 		if (operand == null) {
 			return null;
@@ -882,7 +908,7 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
 	@Override
 	public final SmtExpr visit(StringUnaryToIntegerExpression e, Void arg) {
-		SmtExpr operand = e.getOperand().accept(this, null);
+		SmtExpr operand = translate(e.getOperand());
 		if (operand == null) {
 			return null;
 		}
@@ -928,7 +954,7 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
 	@Override
 	public final SmtExpr visit(StringToIntegerCast e, Void arg) {
-		SmtExpr operand = e.getArgument().accept(this, null);
+		SmtExpr operand = translate(e.getArgument());
 
 		if (operand == null) {
 			return null;
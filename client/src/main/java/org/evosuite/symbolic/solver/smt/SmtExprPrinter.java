@@ -20,11 +20,19 @@
 package org.evosuite.symbolic.solver.smt;
 
 import java.text.DecimalFormat;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 public final class SmtExprPrinter implements SmtExprVisitor<String, Void> {
 
+	/**
+	 * Operations printed so far by this printer. Translated path conditions
+	 * share subexpressions, each shared operation is printed once.
+	 */
+	private final Map<SmtOperation, String> printedOperations = new IdentityHashMap<>();
+
 	@Override
 	public String visit(SmtIntConstant n, Void arg) {
 		long longValue = n.getConstantValue();
@@ -78,6 +86,11 @@ public final class SmtExprPrinter implements SmtExprVisitor<String, Void> {
 
 	@Override
 	public String visit(SmtOperation n, Void arg) {
+		String printedOperation = printedOperations.get(n);
+		if (printedOperation != null) {
+			return printedOperation;
+		}
+
 		List<String> retValues = new LinkedList<>();
 		for (SmtExpr argument : n.getArguments()) {
 			String retValue = argument.accept(this, null);
@@ -96,7 +109,9 @@ public final class SmtExprPrinter implements SmtExprVisitor<String, Void> {
 		if (!retValues.isEmpty()) {
 			result.append(")");
 		}
-		return result.toString();
+		printedOperation = result.toString();
+		printedOperations.put(n, printedOperation);
+		return printedOperation;
 	}
 
 	@Override
@@ -21,6 +21,12 @@ package org.evosuite.symbolic.solver.smt;
 
 public class SmtQueryPrinter {
 
+	/**
+	 * Shared by all the assertions of a query, so that common subexpressions
+	 * are printed once
+	 */
+	private final SmtExprPrinter exprPrinter = new SmtExprPrinter();
+
 	public String print(SmtQuery query) {
 		StringBuffer buff = new StringBuffer();
 		buff.append("\n");
@@ -75,9 +81,8 @@ public class SmtQueryPrinter {
 	}
 
 	public String print(SmtAssertion smtAssertion) {
-		SmtExprPrinter printer = new SmtExprPrinter();
 		SmtExpr expr = smtAssertion.getFormula();
-		String exprStr = expr.accept(printer, null);
+		String exprStr = expr.accept(exprPrinter, null);
 		String str = String.format("(assert %s)", exprStr);
 		return str;
 	}
@@ -297,6 +297,13 @@ public final class ArithmeticVM extends AbstractVM {
 		int left_concrete_value = left.getConcreteValue().intValue();
 		int right_concrete_value = right.getConcreteValue().intValue();
 
+		int con = left_concrete_value + right_concrete_value;
+
+		if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+			env.topFrame().operandStack.pushBv32(ExpressionFactory.buildNewIntegerConstant(con));
+			return;
+		}
+
 		if (!left.containsSymbolicVariable()) {
 			left = ExpressionFactory
 					.buildNewIntegerConstant(left_concrete_value);
@@ -306,8 +313,6 @@ public final class ArithmeticVM extends AbstractVM {
 					.buildNewIntegerConstant(right_concrete_value);
 		}
 
-		int con = left_concrete_value + right_concrete_value;
-
 		IntegerValue intExpr = ExpressionFactory.add(left, right, con);
 
 		env.topFrame().operandStack.pushBv32(intExpr);
@@ -326,6 +331,13 @@ public final class ArithmeticVM extends AbstractVM {
 		long left_concrete_value = left.getConcreteValue();
 		long right_concrete_value = right.getConcreteValue();
 
+		long con = left_concrete_value + right_concrete_value;
+
+		if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+			env.topFrame().operandStack.pushBv64(ExpressionFactory.buildNewIntegerConstant(con));
+			return;
+		}
+
 		if (!left.containsSymbolicVariable()) {
 			left = ExpressionFactory
 					.buildNewIntegerConstant(left_concrete_value);
@@ -335,8 +347,6 @@ public final class ArithmeticVM extends AbstractVM {
 					.buildNewIntegerConstant(right_concrete_value);
 		}
 
-		long con = left_concrete_value + right_concrete_value;
-
 		IntegerValue intExpr = ExpressionFactory.add(left, right, con);
 
 		env.topFrame().operandStack.pushBv64(intExpr);
@@ -356,6 +366,13 @@ public final class ArithmeticVM extends AbstractVM {
 		float right_concrete_value = right.getConcreteValue()
 				.floatValue();
 
+		float con = left_concrete_value + right_concrete_value;
+
+		if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+			env.topFrame().operandStack.pushFp32(ExpressionFactory.buildNewRealConstant(con));
+			return;
+		}
+
 		if (!left.containsSymbolicVariable()) {
 			left = ExpressionFactory.buildNewRealConstant(left_concrete_value);
 		}
@@ -364,8 +381,6 @@ public final class ArithmeticVM extends AbstractVM {
 					.buildNewRealConstant(right_concrete_value);
 		}
 
-		float con = left_concrete_value + right_concrete_value;
-
 		RealValue realExpr = ExpressionFactory.add(left, right, con);
 
 		env.topFrame().operandStack.pushFp32(realExpr);
@@ -380,6 +395,13 @@ public final class ArithmeticVM extends AbstractVM {
 		double left_concrete_value = left.getConcreteValue();
 		double right_concrete_value = right.getConcreteValue();
 
+		double con = left_concrete_value + right_concrete_value;
+
+		if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+			env.topFrame().operandStack.pushFp64(ExpressionFactory.buildNewRealConstant(con));
+			return;
+		}
+
 		if (!left.containsSymbolicVariable()) {
 			left = ExpressionFactory.buildNewRealConstant(left_concrete_value);
 		}
@@ -388,8 +410,6 @@ public final class ArithmeticVM extends AbstractVM {
 					.buildNewRealConstant(right_concrete_value);
 		}
 
-		double con = left_concrete_value + right_concrete_value;
-
 		RealValue realExpr = ExpressionFactory.add(left, right, con);
 
 		env.topFrame().operandStack.pushFp64(realExpr);
@@ -408,6 +428,13 @@ public final class ArithmeticVM extends AbstractVM {
 		int left_concrete_value = left.getConcreteValue().intValue();
 		int right_concrete_value = right.getConcreteValue().intValue();
 
+		int con = left_concrete_value - right_concrete_value;
+
+		if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+			env.topFrame().operandStack.pushBv32(ExpressionFactory.buildNewIntegerConstant(con));
+			return;
+		}
+
 		if (!left.containsSymbolicVariable()) {
 			left = ExpressionFactory
 					.buildNewIntegerConstant(left_concrete_value);
@@ -417,10 +444,8 @@ public final class ArithmeticVM extends AbstractVM {
 					.buildNewIntegerConstant(right_concrete_value);
 		}
 
-		int con = left_concrete_value - right_concrete_value;
-
-		IntegerValue intExpr = new IntegerBinaryExpression(left,
-				Operator.MINUS, right, (long) con);
+		IntegerValue intExpr = ExpressionFactory.intern(new IntegerBinaryExpression(left,
+				Operator.MINUS, right, (long) con));
 
 		env.topFrame().operandStack.pushBv32(intExpr);
 
@@ -439,6 +464,13 @@ public final class ArithmeticVM extends AbstractVM {
 		long left_concrete_value = left.getConcreteValue();
 		long right_concrete_value = right.getConcreteValue();
 
+		long con = left_concrete_value - right_concrete_value;
+
+		if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+			env.topFrame().operandStack.pushBv64(ExpressionFactory.buildNewIntegerConstant(con));
+			return;
+		}
+
 		if (!left.containsSymbolicVariable()) {
 			left = ExpressionFactory
 					.buildNewIntegerConstant(left_concrete_value);
@@ -448,10 +480,8 @@ public final class ArithmeticVM extends AbstractVM {
 					.buildNewIntegerConstant(right_concrete_value);
 		}
 
-		long con = left_concrete_value - right_concrete_value;
-
-		IntegerValue intExpr = new IntegerBinaryExpression(left,
-				Operator.MINUS, right, con);
+		IntegerValue intExpr = ExpressionFactory.intern(new IntegerBinaryExpression(left,
+				Operator.MINUS, right, con));
 
 		env.topFrame().operandStack.pushBv64(intExpr);
 	}
@@ -469,6 +499,13 @@ public final class ArithmeticVM extends AbstractVM {
 		float right_concrete_value = right.getConcreteValue()
 				.floatValue();
 
+		float con = left_concrete_value - right_concrete_value;
+
+		if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+			env.topFrame().operandStack.pushFp32(ExpressionFactory.buildNewRealConstant(con));
+			return;
+		}
+
 		if (!left.containsSymbolicVariable()) {
 			left = ExpressionFactory.buildNewRealConstant(left_concrete_value);
 		}
@@ -477,10 +514,8 @@ public final class ArithmeticVM extends AbstractVM {
 					.buildNewRealConstant(right_concrete_value);
 		}
 
-		float con = left_concrete_value - right_concrete_value;
-
-		RealValue realExpr = new RealBinaryExpression(left, Operator.MINUS,
-				right, (double) con);
+		RealValue realExpr = ExpressionFactory.intern(new RealBinaryExpression(left, Operator.MINUS,
+				right, (double) con));
 
 		env.topFrame().operandStack.pushFp32(realExpr);
 	}
@@ -493,6 +528,13 @@ public final class ArithmeticVM extends AbstractVM {
 		double left_concrete_value = left.getConcreteValue();
 		double right_concrete_value = right.getConcreteValue();
 
+		double con = left_concrete_value - right_concrete_value;
+
+		if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+			env.topFrame().operandStack.pushFp64(ExpressionFactory.buildNewRealConstant(con));
+			return;
+		}
+
 		if (!left.containsSymbolicVariable()) {
 			left = ExpressionFactory.buildNewRealConstant(left_concrete_value);
 		}
@@ -501,10 +543,8 @@ public final class ArithmeticVM extends AbstractVM {
 					.buildNewRealConstant(right_concrete_value);
 		}
 
-		double con = left_concrete_value - right_concrete_value;
-
-		RealValue realExpr = new RealBinaryExpression(left, Operator.MINUS,
-				right, con);
+		RealValue realExpr = ExpressionFactory.intern(new RealBinaryExpression(left, Operator.MINUS,
+				right, con));
 
 		env.topFrame().operandStack.pushFp64(realExpr);
 	}
@@ -522,6 +562,13 @@ public final class ArithmeticVM extends AbstractVM {
 		int left_concrete_value = left.getConcreteValue().intValue();
 		int right_concrete_value = right.getConcreteValue().intValue();
 
+		int con = left_concrete_value * right_concrete_value;
+
+		if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+			env.topFrame().operandStack.pushBv32(ExpressionFactory.buildNewIntegerConstant(con));
+			return;
+		}
+
 		if (!left.containsSymbolicVariable()) {
 			left = ExpressionFactory
 					.buildNewIntegerConstant(left_concrete_value);
@@ -531,8 +578,6 @@ public final class ArithmeticVM extends AbstractVM {
 					.buildNewIntegerConstant(right_concrete_value);
 		}
 
-		int con = left_concrete_value * right_concrete_value;
-
 		IntegerValue intExpr = ExpressionFactory.mul(left, right, con);
 
 		env.topFrame().operandStack.pushBv32(intExpr);
@@ -552,6 +597,13 @@ public final class ArithmeticVM extends AbstractVM {
 		long left_concrete_value = left.getConcreteValue();
 		long right_concrete_value = right.getConcreteValue();
 
+		long con = left_concrete_value * right_concrete_value;
+
+		if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+			env.topFrame().operandStack.pushBv64(ExpressionFactory.buildNewIntegerConstant(con));
+			return;
+		}
+
 		if (!left.containsSymbolicVariable()) {
 			left = ExpressionFactory
 					.buildNewIntegerConstant(left_concrete_value);
@@ -561,8 +613,6 @@ public final class ArithmeticVM extends AbstractVM {
 					.buildNewIntegerConstant(right_concrete_value);
 		}
 
-		long con = left_concrete_value * right_concrete_value;
-
 		IntegerValue intExpr = ExpressionFactory.mul(left, right, con);
 
 		env.topFrame().operandStack.pushBv64(intExpr);
@@ -578,6 +628,13 @@ public final class ArithmeticVM extends AbstractVM {
 		float right_concrete_value = right.getConcreteValue()
 				.floatValue();
 
+		float con = left_concrete_value * right_concrete_value;
+
+		if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+			env.topFrame().operandStack.pushFp32(ExpressionFactory.buildNewRealConstant(con));
+			return;
+		}
+
 		if (!left.containsSymbolicVariable()) {
 			left = ExpressionFactory.buildNewRealConstant(left_concrete_value);
 		}
@@ -586,8 +643,6 @@ public final class ArithmeticVM extends AbstractVM {
 					.buildNewRealConstant(right_concrete_value);
 		}
 
-		float con = left_concrete_value * right_concrete_value;
-
 		RealValue realExpr = ExpressionFactory.mul(left, right, con);
 
 		env.topFrame().operandStack.pushFp32(realExpr);
@@ -601,6 +656,13 @@ public final class ArithmeticVM extends AbstractVM {
 		double left_concrete_value = left.getConcreteValue();
 		double right_concrete_value = right.getConcreteValue();
 
+		double con = left_concrete_value * right_concrete_value;
+
+		if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+			env.topFrame().operandStack.pushFp64(ExpressionFactory.buildNewRealConstant(con));
+			return;
+		}
+
 		if (!left.containsSymbolicVariable()) {
 			left = ExpressionFactory.buildNewRealConstant(left_concrete_value);
 		}
@@ -609,8 +671,6 @@ public final class ArithmeticVM extends AbstractVM {
 					.buildNewRealConstant(right_concrete_value);
 		}
 
-		double con = left_concrete_value * right_concrete_value;
-
 		RealValue realExpr = ExpressionFactory.mul(left, right, con);
 
 		env.topFrame().operandStack.pushFp64(realExpr);
@@ -638,6 +698,13 @@ public final class ArithmeticVM extends AbstractVM {
 		int left_concrete_value = left.getConcreteValue().intValue();
 		int right_concrete_value = right.getConcreteValue().intValue();
 
+		int con = left_concrete_value / right_concrete_value;
+
+		if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+			env.topFrame().operandStack.pushBv32(ExpressionFactory.buildNewIntegerConstant(con));
+			return;
+		}
+
 		if (!left.containsSymbolicVariable()) {
 			left = ExpressionFactory
 					.buildNewIntegerConstant(left_concrete_value);
@@ -647,8 +714,6 @@ public final class ArithmeticVM extends AbstractVM {
 					.buildNewIntegerConstant(right_concrete_value);
 		}
 
-		int con = left_concrete_value / right_concrete_value;
-
 		IntegerValue intExpr = ExpressionFactory.div(left, right, con);
 
 		env.topFrame().operandStack.pushBv32(intExpr);
@@ -671,6 +736,13 @@ public final class ArithmeticVM extends AbstractVM {
 		long left_concrete_value = left.getConcreteValue();
 		long right_concrete_value = right.getConcreteValue();
 
+		long con = left_concrete_value / right_concrete_value;
+
+		if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+			env.topFrame().operandStack.pushBv64(ExpressionFactory.buildNewIntegerConstant(con));
+			return;
+		}
+
 		if (!left.containsSymbolicVariable()) {
 			left = ExpressionFactory
 					.buildNewIntegerConstant(left_concrete_value);
@@ -680,8 +752,6 @@ public final class ArithmeticVM extends AbstractVM {
 					.buildNewIntegerConstant(right_concrete_value);
 		}
 
-		long con = left_concrete_value / right_concrete_value;
-
 		IntegerValue intExpr = ExpressionFactory.div(left, right, con);
 
 		env.topFrame().operandStack.pushBv64(intExpr);
@@ -697,6 +767,13 @@ public final class ArithmeticVM extends AbstractVM {
 		float right_concrete_value = right.getConcreteValue()
 				.floatValue();
 
+		float con = left_concrete_value / right_concrete_value;
+
+		if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+			env.topFrame().operandStack.pushFp32(ExpressionFactory.buildNewRealConstant(con));
+			return;
+		}
+
 		if (!left.containsSymbolicVariable()) {
 			left = ExpressionFactory.buildNewRealConstant(left_concrete_value);
 		}
@@ -705,8 +782,6 @@ public final class ArithmeticVM extends AbstractVM {
 					.buildNewRealConstant(right_concrete_value);
 		}
 
-		float con = left_concrete_value / right_concrete_value;
-
 		RealValue realExpr = ExpressionFactory.div(left, right, con);
 
 		env.topFrame().operandStack.pushFp32(realExpr);
@@ -720,6 +795,13 @@ public final class ArithmeticVM extends AbstractVM {
 		double left_concrete_value = left.getConcreteValue();
 		double right_concrete_value = right.getConcreteValue();
 
+		double con = left_concrete_value / right_concrete_value;
+
+		if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+			env.topFrame().operandStack.pushFp64(ExpressionFactory.buildNewRealConstant(con));
+			return;
+		}
+
 		if (!left.containsSymbolicVariable()) {
 			left = ExpressionFactory.buildNewRealConstant(left_concrete_value);
 		}
@@ -728,8 +810,6 @@ public final class ArithmeticVM extends AbstractVM {
 					.buildNewRealConstant(right_concrete_value);
 		}
 
-		double con = left_concrete_value / right_concrete_value;
-
 		RealValue realExpr = ExpressionFactory.div(left, right, con);
 
 		env.topFrame().operandStack.pushFp64(realExpr);
@@ -752,6 +832,13 @@ public final class ArithmeticVM extends AbstractVM {
 		int left_concrete_value = left.getConcreteValue().intValue();
 		int right_concrete_value = right.getConcreteValue().intValue();
 
+		int con = left_concrete_value % right_concrete_value;
+
+		if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+			env.topFrame().operandStack.pushBv32(ExpressionFactory.buildNewIntegerConstant(con));
+			return;
+		}
+
 		if (!left.containsSymbolicVariable()) {
 			left = ExpressionFactory
 					.buildNewIntegerConstant(left_concrete_value);
@@ -761,8 +848,6 @@ public final class ArithmeticVM extends AbstractVM {
 					.buildNewIntegerConstant(right_concrete_value);
 		}
 
-		int con = left_concrete_value % right_concrete_value;
-
 		IntegerValue intExpr = ExpressionFactory.rem(left, right, con);
 
 		env.topFrame().operandStack.pushBv32(intExpr);
@@ -779,6 +864,13 @@ public final class ArithmeticVM extends AbstractVM {
 		float right_concrete_value = right.getConcreteValue()
 				.floatValue();
 
+		float con = left_concrete_value % right_concrete_value;
+
+		if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+			env.topFrame().operandStack.pushFp32(ExpressionFactory.buildNewRealConstant(con));
+			return;
+		}
+
 		if (!left.containsSymbolicVariable()) {
 			left = ExpressionFactory.buildNewRealConstant(left_concrete_value);
 		}
@@ -787,8 +879,6 @@ public final class ArithmeticVM extends AbstractVM {
 					.buildNewRealConstant(right_concrete_value);
 		}
 
-		float con = left_concrete_value % right_concrete_value;
-
 		RealValue realExpr = ExpressionFactory.rem(left, right, con);
 
 		env.topFrame().operandStack.pushFp32(realExpr);
@@ -802,6 +892,13 @@ public final class ArithmeticVM extends AbstractVM {
 		double left_concrete_value = left.getConcreteValue();
 		double right_concrete_value = right.getConcreteValue();
 
+		double con = left_concrete_value % right_concrete_value;
+
+		if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+			env.topFrame().operandStack.pushFp64(ExpressionFactory.buildNewRealConstant(con));
+			return;
+		}
+
 		if (!left.containsSymbolicVariable()) {
 			left = ExpressionFactory.buildNewRealConstant(left_concrete_value);
 		}
@@ -810,8 +907,6 @@ public final class ArithmeticVM extends AbstractVM {
 					.buildNewRealConstant(right_concrete_value);
 		}
 
-		double con = left_concrete_value % right_concrete_value;
-
 		RealValue realExpr = ExpressionFactory.rem(left, right, con);
 
 		env.topFrame().operandStack.pushFp64(realExpr);
@@ -834,8 +929,8 @@ public final class ArithmeticVM extends AbstractVM {
 
 		int con = -param_concrete_value;
 
-		IntegerValue intExpr = new IntegerUnaryExpression(param, Operator.NEG,
-				(long) con);
+		IntegerValue intExpr = ExpressionFactory.intern(new IntegerUnaryExpression(param, Operator.NEG,
+				(long) con));
 
 		env.topFrame().operandStack.pushBv32(intExpr);
 
@@ -858,8 +953,8 @@ public final class ArithmeticVM extends AbstractVM {
 
 		long con = -param_concrete_value;
 
-		IntegerValue intExpr = new IntegerUnaryExpression(param, Operator.NEG,
-				con);
+		IntegerValue intExpr = ExpressionFactory.intern(new IntegerUnaryExpression(param, Operator.NEG,
+				con));
 
 		env.topFrame().operandStack.pushBv64(intExpr);
 	}
@@ -877,8 +972,8 @@ public final class ArithmeticVM extends AbstractVM {
 		}
 		float con = -param_concrete_value;
 
-		RealValue realExpr = new RealUnaryExpression(param, Operator.NEG,
-				(double) con);
+		RealValue realExpr = ExpressionFactory.intern(new RealUnaryExpression(param, Operator.NEG,
+				(double) con));
 
 		env.topFrame().operandStack.pushFp32(realExpr);
 	}
@@ -895,7 +990,7 @@ public final class ArithmeticVM extends AbstractVM {
 		}
 		double con = -param_concrete_value;
 
-		RealValue realExpr = new RealUnaryExpression(param, Operator.NEG, con);
+		RealValue realExpr = ExpressionFactory.intern(new RealUnaryExpression(param, Operator.NEG, con));
 
 		env.topFrame().operandStack.pushFp64(realExpr);
 	}
@@ -921,8 +1016,8 @@ public final class ArithmeticVM extends AbstractVM {
 
 		int concrete_value = left_concrete_value << (right_concrete_value & 0x001F);
 
-		IntegerBinaryExpression intExpr = new IntegerBinaryExpression(
-				left_expr, Operator.SHL, right_expr, (long) concrete_value);
+		IntegerBinaryExpression intExpr = ExpressionFactory.intern(new IntegerBinaryExpression(
+				left_expr, Operator.SHL, right_expr, (long) concrete_value));
 
 		env.topFrame().operandStack.pushBv32(intExpr);
 	}
@@ -948,8 +1043,8 @@ public final class ArithmeticVM extends AbstractVM {
 
 		int concrete_value = left_concrete_value >> (right_concrete_value & 0x001F);
 
-		IntegerBinaryExpression intExpr = new IntegerBinaryExpression(
-				left_expr, Operator.SHR, right_expr, (long) concrete_value);
+		IntegerBinaryExpression intExpr = ExpressionFactory.intern(new IntegerBinaryExpression(
+				left_expr, Operator.SHR, right_expr, (long) concrete_value));
 
 		env.topFrame().operandStack.pushBv32(intExpr);
 	}
@@ -976,8 +1071,8 @@ public final class ArithmeticVM extends AbstractVM {
 
 		int concrete_value = left_concrete_value >>> (right_concrete_value & 0x001F);
 
-		IntegerBinaryExpression intExpr = new IntegerBinaryExpression(
-				left_expr, Operator.USHR, right_expr, (long) concrete_value);
+		IntegerBinaryExpression intExpr = ExpressionFactory.intern(new IntegerBinaryExpression(
+				left_expr, Operator.USHR, right_expr, (long) concrete_value));
 
 		env.topFrame().operandStack.pushBv32(intExpr);
 	}
@@ -1004,8 +1099,8 @@ public final class ArithmeticVM extends AbstractVM {
 
 		long concrete_value = left_concrete_value >>> (right_concrete_value & 0x001F);
 
-		IntegerBinaryExpression intExpr = new IntegerBinaryExpression(
-				left_expr, Operator.USHR, right_expr, concrete_value);
+		IntegerBinaryExpression intExpr = ExpressionFactory.intern(new IntegerBinaryExpression(
+				left_expr, Operator.USHR, right_expr, concrete_value));
 
 		env.topFrame().operandStack.pushBv64(intExpr);
 	}
@@ -1031,8 +1126,8 @@ public final class ArithmeticVM extends AbstractVM {
 
 		long concrete_value = left_concrete_value >> (right_concrete_value & 0x001F);
 
-		IntegerBinaryExpression intExpr = new IntegerBinaryExpression(
-				left_expr, Operator.SHL, right_expr, concrete_value);
+		IntegerBinaryExpression intExpr = ExpressionFactory.intern(new IntegerBinaryExpression(
+				left_expr, Operator.SHL, right_expr, concrete_value));
 
 		env.topFrame().operandStack.pushBv64(intExpr);
 	}
@@ -1057,8 +1152,8 @@ public final class ArithmeticVM extends AbstractVM {
 
 		long concrete_value = left_concrete_value << (right_concrete_value & 0x001F);
 
-		IntegerBinaryExpression intExpr = new IntegerBinaryExpression(
-				left_expr, Operator.SHL, right_expr, concrete_value);
+		IntegerBinaryExpression intExpr = ExpressionFactory.intern(new IntegerBinaryExpression(
+				left_expr, Operator.SHL, right_expr, concrete_value));
 
 		env.topFrame().operandStack.pushBv64(intExpr);
 	}
@@ -1077,6 +1172,13 @@ public final class ArithmeticVM extends AbstractVM {
 		int left_concrete_value = left.getConcreteValue().intValue();
 		int right_concrete_value = right.getConcreteValue().intValue();
 
+		int con = left_concrete_value & right_concrete_value;
+
+		if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+			env.topFrame().operandStack.pushBv32(ExpressionFactory.buildNewIntegerConstant(con));
+			return;
+		}
+
 		if (!left.containsSymbolicVariable()) {
 			left = ExpressionFactory
 					.buildNewIntegerConstant(left_concrete_value);
@@ -1086,10 +1188,8 @@ public final class ArithmeticVM extends AbstractVM {
 					.buildNewIntegerConstant(right_concrete_value);
 		}
 
-		int con = left_concrete_value & right_concrete_value;
-
-		IntegerValue intExpr = new IntegerBinaryExpression(left, Operator.IAND,
-				right, (long) con);
+		IntegerValue intExpr = ExpressionFactory.intern(new IntegerBinaryExpression(left, Operator.IAND,
+				right, (long) con));
 
 		env.topFrame().operandStack.pushBv32(intExpr);
 
@@ -1109,6 +1209,13 @@ public final class ArithmeticVM extends AbstractVM {
 		int left_concrete_value = left.getConcreteValue().intValue();
 		int right_concrete_value = right.getConcreteValue().intValue();
 
+		int con = left_concrete_value | right_concrete_value;
+
+		if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+			env.topFrame().operandStack.pushBv32(ExpressionFactory.buildNewIntegerConstant(con));
+			return;
+		}
+
 		if (!left.containsSymbolicVariable()) {
 			left = ExpressionFactory
 					.buildNewIntegerConstant(left_concrete_value);
@@ -1118,10 +1225,8 @@ public final class ArithmeticVM extends AbstractVM {
 					.buildNewIntegerConstant(right_concrete_value);
 		}
 
-		int con = left_concrete_value | right_concrete_value;
-
-		IntegerValue intExpr = new IntegerBinaryExpression(left, Operator.IOR,
-				right, (long) con);
+		IntegerValue intExpr = ExpressionFactory.intern(new IntegerBinaryExpression(left, Operator.IOR,
+				right, (long) con));
 
 		env.topFrame().operandStack.pushBv32(intExpr);
 
@@ -1141,6 +1246,13 @@ public final class ArithmeticVM extends AbstractVM {
 		int left_concrete_value = left.getConcreteValue().intValue();
 		int right_concrete_value = right.getConcreteValue().intValue();
 
+		int con = left_concrete_value ^ right_concrete_value;
+
+		if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+			env.topFrame().operandStack.pushBv32(ExpressionFactory.buildNewIntegerConstant(con));
+			return;
+		}
+
 		if (!left.containsSymbolicVariable()) {
 			left = ExpressionFactory
 					.buildNewIntegerConstant(left_concrete_value);
@@ -1150,10 +1262,8 @@ public final class ArithmeticVM extends AbstractVM {
 					.buildNewIntegerConstant(right_concrete_value);
 		}
 
-		int con = left_concrete_value ^ right_concrete_value;
-
-		IntegerValue intExpr = new IntegerBinaryExpression(left, Operator.IXOR,
-				right, (long) con);
+		IntegerValue intExpr = ExpressionFactory.intern(new IntegerBinaryExpression(left, Operator.IXOR,
+				right, (long) con));
 
 		env.topFrame().operandStack.pushBv32(intExpr);
 
@@ -1172,6 +1282,13 @@ public final class ArithmeticVM extends AbstractVM {
 		long left_concrete_value = left.getConcreteValue();
 		long right_concrete_value = right.getConcreteValue();
 
+		long con = left_concrete_value & right_concrete_value;
+
+		if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+			env.topFrame().operandStack.pushBv64(ExpressionFactory.buildNewIntegerConstant(con));
+			return;
+		}
+
 		if (!left.containsSymbolicVariable()) {
 			left = ExpressionFactory
 					.buildNewIntegerConstant(left_concrete_value);
@@ -1181,10 +1298,8 @@ public final class ArithmeticVM extends AbstractVM {
 					.buildNewIntegerConstant(right_concrete_value);
 		}
 
-		long con = left_concrete_value & right_concrete_value;
-
-		IntegerValue intExpr = new IntegerBinaryExpression(left, Operator.IAND,
-				right, con);
+		IntegerValue intExpr = ExpressionFactory.intern(new IntegerBinaryExpression(left, Operator.IAND,
+				right, con));
 
 		env.topFrame().operandStack.pushBv64(intExpr);
 	}
@@ -1202,6 +1317,13 @@ public final class ArithmeticVM extends AbstractVM {
 		long left_concrete_value = left.getConcreteValue();
 		long right_concrete_value = right.getConcreteValue();
 
+		long con = left_concrete_value | right_concrete_value;
+
+		if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+			env.topFrame().operandStack.pushBv64(ExpressionFactory.buildNewIntegerConstant(con));
+			return;
+		}
+
 		if (!left.containsSymbolicVariable()) {
 			left = ExpressionFactory
 					.buildNewIntegerConstant(left_concrete_value);
@@ -1211,10 +1333,8 @@ public final class ArithmeticVM extends AbstractVM {
 					.buildNewIntegerConstant(right_concrete_value);
 		}
 
-		long con = left_concrete_value | right_concrete_value;
-
-		IntegerValue intExpr = new IntegerBinaryExpression(left, Operator.IOR,
-				right, con);
+		IntegerValue intExpr = ExpressionFactory.intern(new IntegerBinaryExpression(left, Operator.IOR,
+				right, con));
 
 		env.topFrame().operandStack.pushBv64(intExpr);
 	}
@@ -1232,6 +1352,13 @@ public final class ArithmeticVM extends AbstractVM {
 		long left_concrete_value = left.getConcreteValue();
 		long right_concrete_value = right.getConcreteValue();
 
+		long con = left_concrete_value ^ right_concrete_value;
+
+		if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+			env.topFrame().operandStack.pushBv64(ExpressionFactory.buildNewIntegerConstant(con));
+			return;
+		}
+
 		if (!left.containsSymbolicVariable()) {
 			left = ExpressionFactory
 					.buildNewIntegerConstant(left_concrete_value);
@@ -1241,10 +1368,8 @@ public final class ArithmeticVM extends AbstractVM {
 					.buildNewIntegerConstant(right_concrete_value);
 		}
 
-		long con = left_concrete_value ^ right_concrete_value;
-
-		IntegerValue intExpr = new IntegerBinaryExpression(left, Operator.IXOR,
-				right, con);
+		IntegerValue intExpr = ExpressionFactory.intern(new IntegerBinaryExpression(left, Operator.IXOR,
+				right, con));
 
 		env.topFrame().operandStack.pushBv64(intExpr);
 	}
@@ -1257,19 +1382,21 @@ public final class ArithmeticVM extends AbstractVM {
 	 */
 	@Override
 	public void IINC(int i, int value) {
-		IntegerConstant right = ExpressionFactory
-				.buildNewIntegerConstant(value);
 		IntegerValue left = env.topFrame().localsTable.getBv32Local(i);
 
 		int left_concrete_value = left.getConcreteValue().intValue();
 		int right_concrete_value = value;
 
+		int con = left_concrete_value + right_concrete_value;
+
 		if (!left.containsSymbolicVariable()) {
-			left = ExpressionFactory
-					.buildNewIntegerConstant(left_concrete_value);
+			// loop counters are the common case, do not build any expression
+			env.topFrame().localsTable.setBv32Local(i, ExpressionFactory.buildNewIntegerConstant(con));
+			return;
 		}
 
-		int con = left_concrete_value + right_concrete_value;
+		IntegerConstant right = ExpressionFactory
+				.buildNewIntegerConstant(value);
 
 		IntegerValue intExpr = ExpressionFactory.add(left, right, con);
 
@@ -1313,8 +1440,8 @@ public final class ArithmeticVM extends AbstractVM {
 			concrete_value = -1;
 		}
 
-		IntegerComparison intComp = new IntegerComparison(left, right,
-				(long) concrete_value);
+		IntegerComparison intComp = ExpressionFactory.intern(new IntegerComparison(left, right,
+				(long) concrete_value));
 
 		env.topFrame().operandStack.pushBv32(intComp);
 	}
@@ -1354,8 +1481,8 @@ public final class ArithmeticVM extends AbstractVM {
 			concrete_value = -1;
 		}
 
-		RealComparison ret = new RealComparison(left, right,
-				(long) concrete_value);
+		RealComparison ret = ExpressionFactory.intern(new RealComparison(left, right,
+				(long) concrete_value));
 
 		env.topFrame().operandStack.pushBv32(ret);
 	}
@@ -1402,8 +1529,8 @@ public final class ArithmeticVM extends AbstractVM {
 			concrete_value = -1;
 		}
 
-		RealComparison ret = new RealComparison(left, right,
-				(long) concrete_value);
+		RealComparison ret = ExpressionFactory.intern(new RealComparison(left, right,
+				(long) concrete_value));
 
 		env.topFrame().operandStack.pushBv32(ret);
 	}
@@ -1444,8 +1571,8 @@ public final class ArithmeticVM extends AbstractVM {
 		if (!integerExpr.containsSymbolicVariable()) {
 			realExpr = ExpressionFactory.buildNewRealConstant(concreteValue);
 		} else {
-			realExpr = new IntegerToRealCast(integerExpr,
-					(double) concreteValue);
+			realExpr = ExpressionFactory.intern(new IntegerToRealCast(integerExpr,
+					(double) concreteValue));
 		}
 		env.topFrame().operandStack.pushFp32(realExpr);
 	}
@@ -1463,8 +1590,8 @@ public final class ArithmeticVM extends AbstractVM {
 		if (!integerExpr.containsSymbolicVariable()) {
 			realExpr = ExpressionFactory.buildNewRealConstant(concreteValue);
 		} else {
-			realExpr = new IntegerToRealCast(integerExpr,
-					concreteValue);
+			realExpr = ExpressionFactory.intern(new IntegerToRealCast(integerExpr,
+					concreteValue));
 		}
 		env.topFrame().operandStack.pushFp64(realExpr);
 	}
@@ -1484,8 +1611,8 @@ public final class ArithmeticVM extends AbstractVM {
 		if (!integerExpr.containsSymbolicVariable()) {
 			realExpr = ExpressionFactory.buildNewRealConstant(concreteValue);
 		} else {
-			realExpr = new IntegerToRealCast(integerExpr,
-					(double) concreteValue);
+			realExpr = ExpressionFactory.intern(new IntegerToRealCast(integerExpr,
+					(double) concreteValue));
 		}
 		env.topFrame().operandStack.pushFp32(realExpr);
 	}
@@ -1499,8 +1626,8 @@ public final class ArithmeticVM extends AbstractVM {
 		if (!integerExpr.containsSymbolicVariable()) {
 			realExpr = ExpressionFactory.buildNewRealConstant(concreteValue);
 		} else {
-			realExpr = new IntegerToRealCast(integerExpr,
-					concreteValue);
+			realExpr = ExpressionFactory.intern(new IntegerToRealCast(integerExpr,
+					concreteValue));
 		}
 		env.topFrame().operandStack.pushFp64(realExpr);
 	}
@@ -1514,7 +1641,7 @@ public final class ArithmeticVM extends AbstractVM {
 		if (!realExpr.containsSymbolicVariable()) {
 			intExpr = ExpressionFactory.buildNewIntegerConstant(concreteValue);
 		} else {
-			intExpr = new RealToIntegerCast(realExpr, (long) concreteValue);
+			intExpr = ExpressionFactory.intern(new RealToIntegerCast(realExpr, (long) concreteValue));
 		}
 		env.topFrame().operandStack.pushBv32(intExpr);
 	}
@@ -1528,7 +1655,7 @@ public final class ArithmeticVM extends AbstractVM {
 		if (!realExpr.containsSymbolicVariable()) {
 			intExpr = ExpressionFactory.buildNewIntegerConstant(concreteValue);
 		} else {
-			intExpr = new RealToIntegerCast(realExpr, concreteValue);
+			intExpr = ExpressionFactory.intern(new RealToIntegerCast(realExpr, concreteValue));
 		}
 		env.topFrame().operandStack.pushBv64(intExpr);
 	}
@@ -1548,7 +1675,7 @@ public final class ArithmeticVM extends AbstractVM {
 		if (!realExpr.containsSymbolicVariable()) {
 			intExpr = ExpressionFactory.buildNewIntegerConstant(concreteValue);
 		} else {
-			intExpr = new RealToIntegerCast(realExpr, (long) concreteValue);
+			intExpr = ExpressionFactory.intern(new RealToIntegerCast(realExpr, (long) concreteValue));
 		}
 		env.topFrame().operandStack.pushBv32(intExpr);
 	}
@@ -1562,7 +1689,7 @@ public final class ArithmeticVM extends AbstractVM {
 		if (!realExpr.containsSymbolicVariable()) {
 			intExpr = ExpressionFactory.buildNewIntegerConstant(concreteValue);
 		} else {
-			intExpr = new RealToIntegerCast(realExpr, concreteValue);
+			intExpr = ExpressionFactory.intern(new RealToIntegerCast(realExpr, concreteValue));
 		}
 		env.topFrame().operandStack.pushBv64(intExpr);
 	}
@@ -1599,6 +1726,13 @@ public final class ArithmeticVM extends AbstractVM {
 		long left_concrete_value = left.getConcreteValue();
 		long right_concrete_value = right.getConcreteValue();
 
+		long con = left_concrete_value % right_concrete_value;
+
+		if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+			env.topFrame().operandStack.pushBv64(ExpressionFactory.buildNewIntegerConstant(con));
+			return;
+		}
+
 		if (!left.containsSymbolicVariable()) {
 			left = ExpressionFactory
 					.buildNewIntegerConstant(left_concrete_value);
@@ -1608,8 +1742,6 @@ public final class ArithmeticVM extends AbstractVM {
 					.buildNewIntegerConstant(right_concrete_value);
 		}
 
-		long con = left_concrete_value % right_concrete_value;
-
 		IntegerValue intExpr = ExpressionFactory.rem(left, right, con);
 
 		env.topFrame().operandStack.pushBv64(intExpr);
@@ -19,6 +19,7 @@
  */
 package org.evosuite.symbolic.vm;
 
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
 import org.evosuite.symbolic.expr.bv.IntegerValue;
 
 /**
@@ -34,6 +35,37 @@ public final class Bv32Operand implements SingleWordOperand, IntegerOperand {
 		this.integerExpr = integerExpr;
 	}
 
+	/**
+	 * Operands wrapping the shared constants of the ExpressionFactory
+	 * (ICONST_M1 to ICONST_5)
+	 */
+	private static final Bv32Operand[] CONSTANT_OPERANDS = new Bv32Operand[] {
+			new Bv32Operand(ExpressionFactory.ICONST_M1),
+			new Bv32Operand(ExpressionFactory.ICONST_0), new Bv32Operand(ExpressionFactory.ICONST_1),
+			new Bv32Operand(ExpressionFactory.ICONST_2), new Bv32Operand(ExpressionFactory.ICONST_3),
+			new Bv32Operand(ExpressionFactory.ICONST_4), new Bv32Operand(ExpressionFactory.ICONST_5) };
+
+	/**
+	 * Returns an operand for the expression. Operands are immutable, therefore
+	 * the operands of the shared small constants are reused instead of
+	 * allocated.
+	 * 
+	 * @param integerExpr
+	 * @return
+	 */
+	public static Bv32Operand valueOf(IntegerValue integerExpr) {
+		if (integerExpr instanceof IntegerConstant) {
+			long value = integerExpr.getConcreteValue();
+			if (value >= -1 && value <= 5) {
+				Bv32Operand operand = CONSTANT_OPERANDS[(int) value + 1];
+				if (operand.integerExpr == integerExpr) {
+					return operand;
+				}
+			}
+		}
+		return new Bv32Operand(integerExpr);
+	}
+
 	@Override
 	public IntegerValue getIntegerExpression() {
 		return integerExpr;
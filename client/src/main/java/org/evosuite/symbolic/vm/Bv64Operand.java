@@ -19,6 +19,7 @@
  */
 package org.evosuite.symbolic.vm;
 
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
 import org.evosuite.symbolic.expr.bv.IntegerValue;
 
 /**
@@ -33,6 +34,32 @@ public final class Bv64Operand implements DoubleWordOperand, IntegerOperand {
 		this.integerExpr = integerExpr;
 	}
 
+	/**
+	 * Operands wrapping the shared constants of the ExpressionFactory
+	 * (ICONST_M1 to ICONST_5)
+	 */
+	private static final Bv64Operand[] CONSTANT_OPERANDS = new Bv64Operand[] {
+			new Bv64Operand(ExpressionFactory.ICONST_M1),
+			new Bv64Operand(ExpressionFactory.ICONST_0), new Bv64Operand(ExpressionFactory.ICONST_1),
+			new Bv64Operand(ExpressionFactory.ICONST_2), new Bv64Operand(ExpressionFactory.ICONST_3),
+			new Bv64Operand(ExpressionFactory.ICONST_4), new Bv64Operand(ExpressionFactory.ICONST_5) };
+
+	/**
+	 * @see Bv32Operand#valueOf(IntegerValue)
+	 */
+	public static Bv64Operand valueOf(IntegerValue integerExpr) {
+		if (integerExpr instanceof IntegerConstant) {
+			long value = integerExpr.getConcreteValue();
+			if (value >= -1 && value <= 5) {
+				Bv64Operand operand = CONSTANT_OPERANDS[(int) value + 1];
+				if (operand.integerExpr == integerExpr) {
+					return operand;
+				}
+			}
+		}
+		return new Bv64Operand(integerExpr);
+	}
+
 	@Override
 	public IntegerValue getIntegerExpression() {
 		return integerExpr;
@@ -234,7 +234,7 @@ public final class CallVM extends AbstractVM {
 			MemberInfo memberInfo = memberInfos.get(constructor);
 			if (memberInfo != null)
 				maxLocals = memberInfo.maxLocals;
-			frame = new ConstructorFrame(constructor, maxLocals);
+			frame = env.buildConstructorFrame(constructor, maxLocals);
 			calleeNeedsThis = true;
 
 			if (callerFrame.weInvokedInstrumentedCode() == false) {
@@ -255,7 +255,7 @@ public final class CallVM extends AbstractVM {
 			MemberInfo memberInfo = memberInfos.get(method);
 			if (memberInfo != null)
 				maxLocals = memberInfo.maxLocals;
-			frame = new MethodFrame(method, maxLocals);
+			frame = env.buildMethodFrame(method, maxLocals);
 			calleeNeedsThis = !Modifier.isStatic(method.getModifiers());
 		}
 
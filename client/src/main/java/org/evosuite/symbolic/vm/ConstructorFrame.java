@@ -38,6 +38,11 @@ public final class ConstructorFrame extends Frame
 		super(maxLocals);
 		this.constructor = constructor;
 	}
+
+	ConstructorFrame(Constructor<?> constructor, OperandStack operandStack, LocalsTable localsTable) {
+		super(operandStack, localsTable);
+		this.constructor = constructor;
+	}
 	
 	@Override
 	public int getNrFormalParameters() {
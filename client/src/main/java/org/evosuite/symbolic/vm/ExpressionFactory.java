@@ -19,6 +19,11 @@
  */
 package org.evosuite.symbolic.vm;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.evosuite.symbolic.expr.Expression;
 import org.evosuite.symbolic.expr.Operator;
 import org.evosuite.symbolic.expr.bv.IntegerBinaryExpression;
 import org.evosuite.symbolic.expr.bv.IntegerConstant;
@@ -49,6 +54,53 @@ public abstract class ExpressionFactory {
 	public static final IntegerConstant ICONST_0 = new IntegerConstant(0);
 	public static final IntegerConstant ICONST_M1 = new IntegerConstant(-1);
 
+	/**
+	 * The interning table is dropped when it exceeds this size
+	 */
+	private static final int MAX_INTERNED_EXPRESSIONS = 100_000;
+
+	/**
+	 * Hash-consing table of the expressions built during the current concolic
+	 * execution
+	 */
+	private static final Map<Expression<?>, Expression<?>> internedExpressions = new HashMap<>();
+
+	/**
+	 * Returns a previously built expression that is structurally equal to (and
+	 * has the same concrete value as) <code>expr</code>, or registers
+	 * <code>expr</code> if there is none. Sharing instances saves memory on
+	 * long path conditions and lets equals() and the SMT translation
+	 * short-circuit on identical subterms.
+	 * 
+	 * @param expr
+	 *            a freshly built expression
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends Expression<?>> T intern(T expr) {
+		Expression<?> interned = internedExpressions.get(expr);
+		if (interned == null) {
+			if (internedExpressions.size() >= MAX_INTERNED_EXPRESSIONS) {
+				internedExpressions.clear();
+			}
+			internedExpressions.put(expr, expr);
+			return expr;
+		}
+		// equals() ignores concrete values, these must match too
+		if (interned.getClass() == expr.getClass()
+				&& Objects.equals(interned.getConcreteValue(), expr.getConcreteValue())) {
+			return (T) interned;
+		}
+		return expr;
+	}
+
+	/**
+	 * Forgets all interned expressions
+	 */
+	public static void clearInternedExpressions() {
+		internedExpressions.clear();
+	}
+
 	public static IntegerConstant buildNewIntegerConstant(int value) {
 		return buildNewIntegerConstant((long) value);
 	}
@@ -107,7 +159,7 @@ public abstract class ExpressionFactory {
 
 		// can only optimize if left is a literal
 		if (!(left instanceof IntegerConstant))
-			return new IntegerBinaryExpression(left, Operator.PLUS, right, con);
+			return intern(new IntegerBinaryExpression(left, Operator.PLUS, right, con));
 
 		/*
 		 * (add 0 x) --> x
@@ -137,12 +189,12 @@ public abstract class ExpressionFactory {
 
 				IntegerConstant a_plus_b = buildNewIntegerConstant(a + b);
 
-				return new IntegerBinaryExpression(a_plus_b, Operator.PLUS,
-						add.getRightOperand(), con);
+				return intern(new IntegerBinaryExpression(a_plus_b, Operator.PLUS,
+						add.getRightOperand(), con));
 			}
 		}
 
-		return new IntegerBinaryExpression(left, Operator.PLUS, right, con);
+		return intern(new IntegerBinaryExpression(left, Operator.PLUS, right, con));
 	}
 
 	public static RealValue add(RealValue left, RealValue right, double con) {
@@ -158,7 +210,7 @@ public abstract class ExpressionFactory {
 			RealValue left, double con) {
 		// can only optimize if left is a literal
 		if (!(left instanceof RealConstant))
-			return new RealBinaryExpression(left, Operator.PLUS, right, con);
+			return intern(new RealBinaryExpression(left, Operator.PLUS, right, con));
 
 		/*
 		 * (add 0 x) --> x
@@ -188,12 +240,12 @@ public abstract class ExpressionFactory {
 
 				RealConstant a_plus_b = buildNewRealConstant(a + b);
 
-				return new RealBinaryExpression(a_plus_b, Operator.PLUS,
-						add.getRightOperand(), con);
+				return intern(new RealBinaryExpression(a_plus_b, Operator.PLUS,
+						add.getRightOperand(), con));
 			}
 		}
 
-		return new RealBinaryExpression(left, Operator.PLUS, right, con);
+		return intern(new RealBinaryExpression(left, Operator.PLUS, right, con));
 
 	}
 
@@ -234,8 +286,8 @@ public abstract class ExpressionFactory {
 
 		}
 
-		return new IntegerBinaryExpression(left, Operator.MUL, right,
-				con);
+		return intern(new IntegerBinaryExpression(left, Operator.MUL, right,
+				con));
 	}
 
 	public static RealValue mul(RealValue left, RealValue right, double con) {
@@ -273,7 +325,7 @@ public abstract class ExpressionFactory {
 
 		}
 
-		return new RealBinaryExpression(left, Operator.MUL, right, con);
+		return intern(new RealBinaryExpression(left, Operator.MUL, right, con));
 	}
 
 	public static RealValue div(RealValue left, RealValue right, double con) {
@@ -284,7 +336,7 @@ public abstract class ExpressionFactory {
 		if (left instanceof RealConstant && left.getConcreteValue() == 0)
 			return buildNewRealConstant(0);
 
-		return new RealBinaryExpression(left, Operator.DIV, right, con);
+		return intern(new RealBinaryExpression(left, Operator.DIV, right, con));
 	}
 
 	public static IntegerValue div(IntegerValue left, IntegerValue right,
@@ -296,7 +348,7 @@ public abstract class ExpressionFactory {
 		if (left instanceof IntegerConstant && left.getConcreteValue() == 0)
 			return buildNewIntegerConstant(0);
 
-		return new IntegerBinaryExpression(left, Operator.DIV, right, con);
+		return intern(new IntegerBinaryExpression(left, Operator.DIV, right, con));
 	}
 
 	public static RealValue rem(RealValue left, RealValue right, double con) {
@@ -307,7 +359,7 @@ public abstract class ExpressionFactory {
 		if (left instanceof RealConstant && left.getConcreteValue() == 0)
 			return buildNewRealConstant(0);
 
-		return new RealBinaryExpression(left, Operator.REM, right, con);
+		return intern(new RealBinaryExpression(left, Operator.REM, right, con));
 	}
 
 	public static IntegerValue rem(IntegerValue left, IntegerValue right,
@@ -319,7 +371,7 @@ public abstract class ExpressionFactory {
 		if (left instanceof IntegerConstant && left.getConcreteValue() == 0)
 			return buildNewIntegerConstant(0);
 
-		return new IntegerBinaryExpression(left, Operator.REM, right, con);
+		return intern(new IntegerBinaryExpression(left, Operator.REM, right, con));
 	}
 
 	public static ReferenceConstant buildNewNullExpression() {
@@ -65,7 +65,7 @@ public abstract class Frame {
 	/**
 	 * Operand stack
 	 */
-	public final OperandStack operandStack = new OperandStack();
+	public final OperandStack operandStack;
 
 	/**
 	 * List of local variables
@@ -76,7 +76,16 @@ public abstract class Frame {
 	 * Constructor
 	 */
 	protected Frame(int maxLocals) {
-		localsTable = new LocalsTable(maxLocals);
+		this(new OperandStack(), new LocalsTable(maxLocals));
+	}
+
+	/**
+	 * Constructor reusing the (empty) operand stack and locals table of a
+	 * disposed frame
+	 */
+	protected Frame(OperandStack operandStack, LocalsTable localsTable) {
+		this.operandStack = operandStack;
+		this.localsTable = localsTable;
 	}
 
 	public abstract Member getMember();
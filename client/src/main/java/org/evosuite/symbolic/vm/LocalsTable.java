@@ -19,8 +19,7 @@
  */
 package org.evosuite.symbolic.vm;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 import org.evosuite.symbolic.expr.bv.IntegerValue;
 import org.evosuite.symbolic.expr.fp.RealValue;
@@ -34,71 +33,93 @@ import org.evosuite.symbolic.expr.ref.ReferenceExpression;
 public final class LocalsTable {
 
 	/**
-	 * List of local variables
+	 * Local variables
 	 */
-	private final List<Operand> locals = new ArrayList<>();
+	private Operand[] locals;
 
 	public LocalsTable(int maxLocals) {
-		for (int i = 0; i < maxLocals; i++)
-			locals.add(null);
+		locals = new Operand[maxLocals];
+	}
+
+	/**
+	 * Discards all local variables, making room for <code>maxLocals</code>
+	 * variables. Used for reusing the table of a disposed frame.
+	 * 
+	 * @param maxLocals
+	 */
+	void reset(int maxLocals) {
+		if (locals.length < maxLocals) {
+			locals = new Operand[maxLocals];
+		} else {
+			Arrays.fill(locals, null);
+		}
 	}
 
 	public ReferenceExpression getRefLocal(int i) {
-		Operand x = locals.get(i);
+		Operand x = locals[i];
 		ReferenceOperand refOp = (ReferenceOperand) x;
 		return refOp.getReference();
 	}
 
 	public Operand getOperand(int i) {
-		Operand x = locals.get(i);
+		Operand x = locals[i];
 		return x;
 	}
 
 	public void setRefLocal(int i, ReferenceExpression o) {
-		locals.set(i, new ReferenceOperand(o));
+		locals[i] = new ReferenceOperand(o);
 	}
 
 	public IntegerValue getBv64Local(int i) {
-		Operand x = locals.get(i);
+		Operand x = locals[i];
 		Bv64Operand bv64 = (Bv64Operand) x;
 		return bv64.getIntegerExpression();
 	}
 
 	public IntegerValue getBv32Local(int i) {
-		Operand x = locals.get(i);
+		Operand x = locals[i];
 		Bv32Operand bv32 = (Bv32Operand) x;
 		return bv32.getIntegerExpression();
 	}
 
 	public void setBv32Local(int i, IntegerValue e) {
-		locals.set(i, new Bv32Operand(e));
+		Operand x = locals[i];
+		if (x instanceof Bv32Operand && ((Bv32Operand) x).getIntegerExpression() == e) {
+			// same value stored back (e.g. ILOAD followed by ISTORE)
+			return;
+		}
+		locals[i] = Bv32Operand.valueOf(e);
 	}
 
 	public void setBv64Local(int i, IntegerValue e) {
-		locals.set(i, new Bv64Operand(e));
+		Operand x = locals[i];
+		if (x instanceof Bv64Operand && ((Bv64Operand) x).getIntegerExpression() == e) {
+			return;
+		}
+		locals[i] = Bv64Operand.valueOf(e);
 	}
 
 	public RealValue getFp32Local(int i) {
-		Operand x = locals.get(i);
+		Operand x = locals[i];
 		Fp32Operand fp32 = (Fp32Operand) x;
 		return fp32.getRealExpression();
 	}
 
 	public RealValue getFp64Local(int i) {
-		Operand x = locals.get(i);
+		Operand x = locals[i];
 		Fp64Operand fp64 = (Fp64Operand) x;
 		return fp64.getRealExpression();
 	}
 
 	public void setFp64Local(int i, RealValue r) {
-		locals.set(i, new Fp64Operand(r));
+		locals[i] = new Fp64Operand(r);
 	}
 
 	public void setFp32Local(int i, RealValue r) {
-		locals.set(i, new Fp32Operand(r));
+		locals[i] = new Fp32Operand(r);
 	}
 
 	public void setOperand(int i, Operand operand) {
-		locals.set(i, operand);
+		locals[i] = operand;
 	}
 }
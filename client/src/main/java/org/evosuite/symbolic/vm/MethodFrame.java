@@ -40,6 +40,11 @@ public final class MethodFrame extends Frame {
 		this.method = method;
 	}
 
+	MethodFrame(Method method, OperandStack operandStack, LocalsTable localsTable) {
+		super(operandStack, localsTable);
+		this.method = method;
+	}
+
 	@Override
 	public int getNrFormalParameters() {
 		return method.getParameterTypes().length;
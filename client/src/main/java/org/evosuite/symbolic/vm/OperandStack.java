@@ -19,9 +19,9 @@
  */
 package org.evosuite.symbolic.vm;
 
-import java.util.Deque;
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.NoSuchElementException;
 
 import org.evosuite.symbolic.expr.bv.IntegerValue;
 import org.evosuite.symbolic.expr.fp.RealValue;
@@ -34,29 +34,52 @@ import org.evosuite.symbolic.expr.ref.ReferenceExpression;
  */
 public final class OperandStack implements Iterable<Operand> {
 
-	private final Deque<Operand> stack = new LinkedList<>();
+	private static final int INITIAL_CAPACITY = 8;
+
+	/**
+	 * Operands are stored from the bottom (index 0) to the top (index
+	 * <code>size-1</code>) of the stack. An array is used instead of a linked
+	 * list to avoid allocating a node per pushed operand.
+	 */
+	private Operand[] stack = new Operand[INITIAL_CAPACITY];
+
+	private int size = 0;
 
 	public OperandStack() {
 	}
 
 	public void pushRef(ReferenceExpression r) {
-		stack.push(new ReferenceOperand(r));
+		push(new ReferenceOperand(r));
 	}
 
 	public void pushBv32(IntegerValue e) {
-		stack.push(new Bv32Operand(e));
+		push(Bv32Operand.valueOf(e));
 	}
 
 	public void pushBv64(IntegerValue e) {
-		stack.push(new Bv64Operand(e));
+		push(Bv64Operand.valueOf(e));
 	}
 
 	public void pushFp32(RealValue e) {
-		stack.push(new Fp32Operand(e));
+		push(new Fp32Operand(e));
 	}
 
 	public void pushFp64(RealValue e) {
-		stack.push(new Fp64Operand(e));
+		push(new Fp64Operand(e));
+	}
+
+	private void push(Operand operand) {
+		if (size == stack.length) {
+			stack = Arrays.copyOf(stack, size * 2);
+		}
+		stack[size++] = operand;
+	}
+
+	private Operand peek() {
+		if (size == 0) {
+			return null;
+		}
+		return stack[size - 1];
 	}
 
 	public ReferenceExpression popRef() {
@@ -90,51 +113,75 @@ public final class OperandStack implements Iterable<Operand> {
 	}
 
 	public Operand popOperand() {
-		Operand ret_val = this.stack.pop();
+		if (size == 0) {
+			throw new NoSuchElementException();
+		}
+		Operand ret_val = this.stack[--size];
+		this.stack[size] = null;
 		return ret_val;
 	}
 
 	public void clearOperands() {
-		stack.clear();
+		Arrays.fill(stack, 0, size, null);
+		size = 0;
 	}
 
 	public void pushOperand(Operand operand) {
 		if (operand == null) {
 			throw new IllegalArgumentException("Cannot push a null operand into OperandStack");
 		}
-		stack.push(operand);
+		push(operand);
 	}
 
 	public RealValue peekFp64() {
-		Operand operand = stack.peek();
+		Operand operand = peek();
 		Fp64Operand fp64 = (Fp64Operand) operand;
 		return fp64.getRealExpression();
 	}
 
 	public RealValue peekFp32() {
-		Operand operand = stack.peek();
+		Operand operand = peek();
 		Fp32Operand fp32 = (Fp32Operand) operand;
 		return fp32.getRealExpression();
 	}
 
 	public IntegerValue peekBv64() {
-		Operand operand = stack.peek();
+		Operand operand = peek();
 		Bv64Operand bv64 = (Bv64Operand) operand;
 		return bv64.getIntegerExpression();
 	}
 
 	public IntegerValue peekBv32() {
-		Operand operand = stack.peek();
+		Operand operand = peek();
 		Bv32Operand bv32 = (Bv32Operand) operand;
 		return bv32.getIntegerExpression();
 	}
 
 	public Operand peekOperand() {
-		return stack.peek();
+		return peek();
 	}
 
+	/**
+	 * Iterates the operands from the top to the bottom of the stack
+	 */
 	public Iterator<Operand> iterator() {
-		return stack.iterator();
+		return new Iterator<Operand>() {
+
+			private int next = size - 1;
+
+			@Override
+			public boolean hasNext() {
+				return next >= 0;
+			}
+
+			@Override
+			public Operand next() {
+				if (next < 0) {
+					throw new NoSuchElementException();
+				}
+				return stack[next--];
+			}
+		};
 	}
 
 	public ReferenceExpression peekRef() {
@@ -150,7 +197,7 @@ public final class OperandStack implements Iterable<Operand> {
 
 	@Override
 	public String toString() {
-		if (this.stack.isEmpty()) {
+		if (this.isEmpty()) {
 			return "<<EMPTY_OPERAND_STACK>>";
 		}
 
@@ -162,15 +209,15 @@ public final class OperandStack implements Iterable<Operand> {
 	}
 
 	public int size() {
-		return stack.size();
+		return size;
 	}
 
 	public boolean isEmpty() {
-		return stack.isEmpty();
+		return size == 0;
 	}
 
 	public void pushNullRef() {
 		ReferenceExpression nullExpression = ExpressionFactory.buildNewNullExpression();
-		this.stack.push(new ReferenceOperand(nullExpression));
+		push(new ReferenceOperand(nullExpression));
 	}
 }
@@ -22,11 +22,13 @@ package org.evosuite.symbolic.vm;
 import org.evosuite.dse.MainConfig;
 
 import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.Iterator;
 import java.util.Set;
 
 import org.evosuite.symbolic.expr.ref.ReferenceExpression;
@@ -49,7 +51,29 @@ public final class SymbolicEnvironment {
 	/**
 	 * Stack of function/method/constructor invocation frames
 	 */
-	private final Deque<Frame> stackFrame = new LinkedList<>();
+	private final Deque<Frame> stackFrame = new ArrayDeque<>();
+
+	/**
+	 * Maximum number of disposed operand stacks and locals tables kept for
+	 * reuse
+	 */
+	private static final int MAX_POOLED_FRAMES = 64;
+
+	/**
+	 * Operand stacks of disposed frames that can be reused by new frames
+	 */
+	private final Deque<OperandStack> freeOperandStacks = new ArrayDeque<>();
+
+	/**
+	 * Locals tables of disposed frames that can be reused by new frames
+	 */
+	private final Deque<LocalsTable> freeLocalsTables = new ArrayDeque<>();
+
+	/**
+	 * The last popped frame. Its operand stack might still be read (e.g. to
+	 * transfer a return value), so it is only disposed on the next pop.
+	 */
+	private Frame lastPoppedFrame = null;
 
 	/**
 	 * Classes whose static fields have been set to the default zero value or a
@@ -72,14 +96,58 @@ public final class SymbolicEnvironment {
 	}
 
 	public Frame callerFrame() {
-		Frame top = stackFrame.pop();
-		Frame res = stackFrame.peek();
-		stackFrame.push(top);
-		return res;
+		Iterator<Frame> it = stackFrame.iterator();
+		it.next();
+		return it.hasNext() ? it.next() : null;
 	}
 
 	public Frame popFrame() {
-		return stackFrame.pop();
+		Frame frame = stackFrame.pop();
+		if (lastPoppedFrame != null) {
+			disposeFrame(lastPoppedFrame);
+		}
+		lastPoppedFrame = frame;
+		return frame;
+	}
+
+	/**
+	 * Returns a new frame for a method invocation, reusing the storage of
+	 * disposed frames if possible
+	 */
+	public MethodFrame buildMethodFrame(Method method, int maxLocals) {
+		if (freeOperandStacks.isEmpty()) {
+			return new MethodFrame(method, maxLocals);
+		}
+		return new MethodFrame(method, freeOperandStacks.pop(), reuseLocalsTable(maxLocals));
+	}
+
+	/**
+	 * Returns a new frame for a constructor invocation, reusing the storage of
+	 * disposed frames if possible
+	 */
+	public ConstructorFrame buildConstructorFrame(Constructor<?> constructor, int maxLocals) {
+		if (freeOperandStacks.isEmpty()) {
+			return new ConstructorFrame(constructor, maxLocals);
+		}
+		return new ConstructorFrame(constructor, freeOperandStacks.pop(), reuseLocalsTable(maxLocals));
+	}
+
+	private LocalsTable reuseLocalsTable(int maxLocals) {
+		LocalsTable localsTable = freeLocalsTables.pop();
+		localsTable.reset(maxLocals);
+		return localsTable;
+	}
+
+	private void disposeFrame(Frame frame) {
+		if (freeOperandStacks.size() >= MAX_POOLED_FRAMES) {
+			return;
+		}
+		if (!(frame instanceof MethodFrame) && !(frame instanceof ConstructorFrame)) {
+			return;
+		}
+		frame.operandStack.clearOperands();
+		freeOperandStacks.push(frame.operandStack);
+		freeLocalsTables.push(frame.localsTable);
 	}
 
 	public Class<?> ensurePrepared(String className) {
@@ -173,6 +241,7 @@ public final class SymbolicEnvironment {
 	 */
 	public void prepareStack(Method mainMethod) {
 		stackFrame.clear();
+		lastPoppedFrame = null;
 		// bottom of the stack trace
 		this.pushFrame(new FakeBottomFrame());
 
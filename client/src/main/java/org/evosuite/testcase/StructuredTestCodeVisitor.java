@@ -53,24 +53,24 @@ public class StructuredTestCodeVisitor extends TestCodeVisitor {
 	@Override
 	protected void visitAssertion(Assertion assertion) {
 		if (!checkAdded && assertion.getStatement().getPosition() == checkingPosition) {
-			testCode += "\n// Check\n";
+			testCode.append("\n// Check\n");
 			checkAdded = true;
 		}
 
 		/*
 		Set<Mutation> killedMutants = assertion.getKilledMutations();
 		if (!killedMutants.isEmpty()) {
-			testCode += "// Kills: ";
+			testCode.append("// Kills: ");
 			boolean first = true;
 			for (Mutation m : killedMutants) {
 				if (!first) {
-					testCode += ", ";
+					testCode.append(", ");
 				} else {
 					first = false;
 				}
-				testCode += m.getMethodName() + "-" + m.getId();
+				testCode.append(m.getMethodName() + "-" + m.getId());
 			}
-			testCode += "\n";
+			testCode.append("\n");
 		}
 		*/
 		super.visitAssertion(assertion);
@@ -80,14 +80,14 @@ public class StructuredTestCodeVisitor extends TestCodeVisitor {
 	public void visitStatement(Statement statement) {
 		int position = statement.getPosition();
 		if (position == exercisePosition)
-			testCode += "\n// Exercise\n";
+			testCode.append("\n// Exercise\n");
 		else if (position == 0)
-			testCode += "// Setup\n";
+			testCode.append("// Setup\n");
 
 		super.visitStatement(statement);
 		if (position == checkingPosition) {
 			if (!checkAdded && !statement.hasAssertions()) {
-				testCode += "\n// Check\n";
+				testCode.append("\n// Check\n");
 				checkAdded = true;
 			}
 		}
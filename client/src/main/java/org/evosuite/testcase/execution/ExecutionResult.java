@@ -71,6 +71,13 @@ public class ExecutionResult implements Cloneable {
 
 	private List<FeatureVector> featureVectors = new ArrayList<>(1);
 
+	/**
+	 * Per-test summaries computed by suite fitness functions, keyed by the
+	 * fitness function. They only depend on the trace, so they are shared by
+	 * clones of this result
+	 */
+	private transient Map<Object, Object> contributions;
+
 	/**
 	 * @return the executedStatements
 	 */
@@ -119,6 +126,7 @@ public class ExecutionResult implements Cloneable {
 	 */
 	public void setThrownExceptions(Map<Integer, Throwable> data) {
 		exceptions.clear();
+		contributions = null;
 		data.forEach(this::reportNewThrownException);
 	}
 
@@ -148,6 +156,7 @@ public class ExecutionResult implements Cloneable {
 	 */
 	public void reportNewThrownException(Integer position, Throwable t) {
 		exceptions.put(position, t);
+		contributions = null;
 	}
 
 	/**
@@ -272,6 +281,34 @@ public class ExecutionResult implements Cloneable {
 			throw new IllegalArgumentException("Trace cannot be null");
 		}
 		this.trace = trace;
+		contributions = null;
+	}
+
+	/**
+	 * Returns the summary of this execution cached by the given owner, such as
+	 * a suite fitness function, or <code>null</code> if there is none
+	 *
+	 * @param owner
+	 * @return
+	 */
+	public Object getContribution(Object owner) {
+		return contributions == null ? null : contributions.get(owner);
+	}
+
+	/**
+	 * Caches a summary of this execution computed by a fitness or novelty
+	 * function.
+	 * The summary must not be modified afterwards, as it is shared with the
+	 * clones of this result.
+	 *
+	 * @param owner
+	 * @param contribution
+	 */
+	public void setContribution(Object owner, Object contribution) {
+		if (contributions == null) {
+			contributions = new IdentityHashMap<>(2);
+		}
+		contributions.put(owner, contribution);
 	}
 
 	/**
@@ -417,6 +454,9 @@ public class ExecutionResult implements Cloneable {
 		}
 		copy.wasAnyPropertyWritten = wasAnyPropertyWritten;
 		copy.featureVectors = new ArrayList<>(this.featureVectors);
+		if (contributions != null) {
+			copy.contributions = new IdentityHashMap<>(contributions);
+		}
 
 		return copy;
 	}
@@ -26,6 +26,7 @@ import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -40,9 +41,11 @@ import org.evosuite.coverage.dataflow.DefUsePool;
 import org.evosuite.coverage.dataflow.Definition;
 import org.evosuite.coverage.dataflow.Use;
 import org.evosuite.setup.CallContext;
+import org.evosuite.setup.CallContextTree;
 import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.utils.ArrayUtil;
 import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -179,17 +182,10 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 		checkSaneCall(call);
 
 		Collections.sort(removableIndices);
-		for (int i = removableIndices.size() - 1; i >= 0; i--) {
-			int removableIndex = removableIndices.get(i);
-			Integer removedBranch = call.branchTrace.remove(removableIndex);
-			Double removedTrue = call.trueDistanceTrace.remove(removableIndex);
-			Double removedFalse = call.falseDistanceTrace.remove(removableIndex);
-			Integer removedCounter = call.defuseCounterTrace.remove(removableIndex);
-			if ((removedCounter == null) || (removedBranch == null) || (removedTrue == null)
-					|| (removedFalse == null)) {
-				throw new IllegalStateException("trace.finished_calls-traces not allowed to contain null");
-			}
-		}
+		call.branchTrace.removeIndices(removableIndices);
+		call.trueDistanceTrace.removeIndices(removableIndices);
+		call.falseDistanceTrace.removeIndices(removableIndices);
+		call.defuseCounterTrace.removeIndices(removableIndices);
 	}
 
 	private List<BranchEval> branchesTrace = new ArrayList<>();
@@ -258,6 +254,9 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	// active calls
 	LinkedList<MethodCall> stack = new LinkedList<>();
 
+	// tree the context nodes of the active calls belong to
+	private CallContextTree contextTree = CallContextTree.getInstance();
+
 	public Set<Integer> touchedMutants = Collections.synchronizedSet(new HashSet<>());
 
 	public Map<Integer, Double> trueDistances = Collections.synchronizedMap(new HashMap<>());
@@ -356,13 +355,12 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 		}
 
 		if (Properties.BRANCH_COMPARISON_TYPES) {
-			int opcode = BranchPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT())
-					.getBranch(branch).getInstruction().getASMNode().getOpcode();
+			AbstractInsnNode node = BranchPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT())
+					.getBranch(branch).getInstruction().getASMNode();
+			int opcode = node.getOpcode();
 			int previousOpcode = -2;
-			if (BranchPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getBranch(branch)
-					.getInstruction().getASMNode().getPrevious() != null)
-				previousOpcode = BranchPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT())
-						.getBranch(branch).getInstruction().getASMNode().getPrevious().getOpcode();
+			if (node.getPrevious() != null)
+				previousOpcode = node.getPrevious().getOpcode();
 			boolean cTrue = coveredTrue.containsKey(branch);
 			boolean cFalse = coveredFalse.containsKey(branch);
 			switch (previousOpcode) {
@@ -509,69 +507,139 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	 * @param false_distance
 	 */
 	private void updateBranchContextMaps(int branch, double true_distance, double false_distance) {
-		if (!coveredPredicateContext.containsKey(branch)) {
-			coveredPredicateContext.put(branch, new HashMap<>());
-			coveredTrueContext.put(branch, new HashMap<>());
-			coveredFalseContext.put(branch, new HashMap<>());
+		Map<CallContext, Integer> predicateContexts = coveredPredicateContext.get(branch);
+		Map<CallContext, Double> trueContexts;
+		Map<CallContext, Double> falseContexts;
+		if (predicateContexts == null) {
+			predicateContexts = new HashMap<>();
+			trueContexts = new HashMap<>();
+			falseContexts = new HashMap<>();
+			coveredPredicateContext.put(branch, predicateContexts);
+			coveredTrueContext.put(branch, trueContexts);
+			coveredFalseContext.put(branch, falseContexts);
+		} else {
+			trueContexts = coveredTrueContext.get(branch);
+			falseContexts = coveredFalseContext.get(branch);
 		}
 		//CallContext context = new CallContext(new Throwable().getStackTrace());
-		CallContext context = new CallContext(stack);
+		CallContext context = getCurrentContext();
 
-		if (!coveredPredicateContext.get(branch).containsKey(context)) {
-			coveredPredicateContext.get(branch).put(context, 1);
-			coveredTrueContext.get(branch).put(context, true_distance);
-			coveredFalseContext.get(branch).put(context, false_distance);
+		Integer count = predicateContexts.get(context);
+		if (count == null) {
+			predicateContexts.put(context, 1);
+			trueContexts.put(context, true_distance);
+			falseContexts.put(context, false_distance);
 		} else {
-			coveredPredicateContext.get(branch).put(context, coveredPredicateContext.get(branch).get(context) + 1);
-			coveredTrueContext.get(branch).put(context,
-					Math.min(coveredTrueContext.get(branch).get(context), true_distance));
-			coveredFalseContext.get(branch).put(context,
-					Math.min(coveredFalseContext.get(branch).get(context), false_distance));
+			predicateContexts.put(context, count + 1);
+			trueContexts.put(context, Math.min(trueContexts.get(context), true_distance));
+			falseContexts.put(context, Math.min(falseContexts.get(context), false_distance));
 		}
 	}
 
+	/**
+	 * Returns the call context of the current stack. The context of each call
+	 * on the stack is computed only once, extending the context of the call
+	 * below it, and it is interned in the {@link CallContextTree}. This gives
+	 * the same contexts as <code>new CallContext(stack)</code>.
+	 * 
+	 * @return
+	 */
+	private CallContext getCurrentContext() {
+		CallContextTree tree = CallContextTree.getInstance();
+		if (tree != contextTree) {
+			// the tree was reset, the nodes of the active calls are no longer valid
+			for (MethodCall call : stack) {
+				call.contextNode = -1;
+			}
+			contextTree = tree;
+		}
+
+		if (stack.isEmpty()) {
+			return tree.getContext(CallContextTree.ROOT);
+		}
+
+		// find the topmost call whose context is already known
+		int unknown = 0;
+		for (MethodCall call : stack) {
+			if (call.contextNode >= 0) {
+				break;
+			}
+			unknown++;
+		}
+
+		int node = CallContextTree.ROOT;
+		int contextId = CallContextTree.ROOT;
+		if (unknown < stack.size()) {
+			MethodCall known = stack.get(unknown);
+			node = known.contextNode;
+			contextId = known.contextId;
+		}
+
+		// the top of the stack is at index 0
+		ListIterator<MethodCall> iterator = stack.listIterator(unknown);
+		while (iterator.hasPrevious()) {
+			MethodCall call = iterator.previous();
+			boolean excluded = CallContext.shouldSkipEntry(call.className);
+			if (!excluded || node != CallContextTree.ROOT) {
+				// excluded calls at the bottom of the stack are not part of the context
+				node = tree.append(node, call.className, call.methodName);
+			}
+			if (!excluded) {
+				// excluded calls at the top of the stack are not part of the context
+				contextId = node;
+			}
+			call.contextNode = node;
+			call.contextId = contextId;
+		}
+
+		return tree.getContext(stack.peek().contextId);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
-	 * Reset to 0
+	 * Reset to 0. The collections are emptied in place so that their tables
+	 * are reused by the next execution; collections obtained through the
+	 * getters of this trace are emptied as well.
 	 */
 	@Override
 	public void clear() {
-		finishedCalls = new ArrayList<>();
-		stack = new LinkedList<>();
-
-		// stack.clear();
-		// finished_calls.clear();
+		finishedCalls.clear();
+		stack.clear();
 		stack.add(new MethodCall("", "", 0, 0, 0)); // Main method
-		coverage = new HashMap<>();
-		returnData = new HashMap<>();
+		coverage.clear();
+		returnData.clear();
 
 		methodId = 0;
 		duCounter = 0;
 		objectCounter = 0;
-		knownCallerObjects = new HashMap<>();
-		trueDistances = new HashMap<>();
-		falseDistances = new HashMap<>();
-		mutantDistances = new HashMap<>();
-		touchedMutants = new HashSet<>();
-		coveredMethods = new HashMap<>();
-		coveredBranchlessMethods = new HashMap<>();
-		coveredPredicates = new HashMap<>();
-		coveredTrue = new HashMap<>();
-		coveredFalse = new HashMap<>();
-		coveredDefs = new HashMap<>();
-		passedDefinitions = new HashMap<>();
-		passedUses = new HashMap<>();
-		passedDefinitionObject = new HashMap<>();
-		passedUseObject = new HashMap<>();
-		branchesTrace = new ArrayList<>();
-		coveredTrueContext = new HashMap<>();
-		coveredFalseContext = new HashMap<>();
-		coveredPredicateContext = new HashMap<>();
-
-		initializedClasses = new ArrayList<>();
-		classesWithStaticReads = new HashSet<>();
-		classesWithStaticWrites  = new HashSet<>();
+		explicitException = null;
+		knownCallerObjects.clear();
+		trueDistances.clear();
+		falseDistances.clear();
+		trueDistancesSum.clear();
+		falseDistancesSum.clear();
+		mutantDistances.clear();
+		touchedMutants.clear();
+		coveredMethods.clear();
+		coveredBranchlessMethods.clear();
+		coveredPredicates.clear();
+		coveredTrue.clear();
+		coveredFalse.clear();
+		coveredDefs.clear();
+		passedDefinitions.clear();
+		passedUses.clear();
+		passedDefinitionObject.clear();
+		passedUseObject.clear();
+		branchesTrace.clear();
+		coveredTrueContext.clear();
+		coveredFalseContext.clear();
+		coveredPredicateContext.clear();
+		coveredMethodContext.clear();
+
+		initializedClasses.clear();
+		classesWithStaticReads.clear();
+		classesWithStaticWrites.clear();
 	}
 
 	/**
@@ -717,10 +785,10 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 			if (traceCalls) {
 				if (ArrayUtil.contains(Properties.CRITERION, Criterion.DEFUSE)
 						|| ArrayUtil.contains(Properties.CRITERION, Criterion.ALLDEFS)) {
-					call.branchTrace.add(-1);
-					call.trueDistanceTrace.add(1.0);
-					call.falseDistanceTrace.add(0.0);
-					call.defuseCounterTrace.add(duCounter);
+					call.branchTrace.addInt(-1);
+					call.trueDistanceTrace.addDouble(1.0);
+					call.falseDistanceTrace.addDouble(0.0);
+					call.defuseCounterTrace.addInt(duCounter);
 					// TODO line_trace ?
 				}
 			}
@@ -741,18 +809,17 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	 */
 	private void updateMethodContextMaps(String className, String methodName, Object caller) {
 		String id = className + "." + methodName;
-		if (!coveredMethodContext.containsKey(id)) {
-			coveredMethodContext.put(id, new HashMap<>());
+		Map<CallContext, Integer> methodContexts = coveredMethodContext.get(id);
+		if (methodContexts == null) {
+			methodContexts = new HashMap<>();
+			coveredMethodContext.put(id, methodContexts);
 		}
 
 		// CallContext context = new CallContext(new Throwable().getStackTrace());
-		CallContext context = new CallContext(stack);
+		CallContext context = getCurrentContext();
 
-		if (!coveredMethodContext.get(id).containsKey(context)) {
-			coveredMethodContext.get(id).put(context, 1);
-		} else {
-			coveredMethodContext.get(id).put(context, coveredMethodContext.get(id).get(context) + 1);
-		}
+		Integer count = methodContexts.get(context);
+		methodContexts.put(context, count == null ? 1 : count + 1);
 	}
 
 	/** {@inheritDoc} */
@@ -1231,8 +1298,8 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 			}
 			ArrayList<Integer> removableIndices = new ArrayList<>();
 			for (int i = 0; i < call.defuseCounterTrace.size(); i++) {
-				int currentDUCounter = call.defuseCounterTrace.get(i);
-				int currentBranchBytecode = call.branchTrace.get(i);
+				int currentDUCounter = call.defuseCounterTrace.getInt(i);
+				int currentBranchBytecode = call.branchTrace.getInt(i);
 
 				if (currentDUCounter < duCounterStart || currentDUCounter > duCounterEnd)
 					removableIndices.add(i);
@@ -1241,10 +1308,10 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 					// targetDU
 					boolean targetExpressionValue = targetDU.getControlDependentBranchExpressionValue();
 					if (targetExpressionValue) {
-						if (call.trueDistanceTrace.get(i) == 0.0)
+						if (call.trueDistanceTrace.getDouble(i) == 0.0)
 							removableIndices.add(i);
 					} else {
-						if (call.falseDistanceTrace.get(i) == 0.0)
+						if (call.falseDistanceTrace.getDouble(i) == 0.0)
 							removableIndices.add(i);
 					}
 
@@ -1392,7 +1459,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 					}
 				}
 				if (!empty)
-					stack.peek().lineTrace.add(line);
+					stack.peek().lineTrace.addInt(line);
 			}
 		}
 		if (traceCoverage) {
@@ -1602,14 +1669,15 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 			if (stack.isEmpty()) {
 				return;
 			}
-			stack.peek().branchTrace.add(branch); // was: bytecode_id
-			stack.peek().trueDistanceTrace.add(true_distance);
-			stack.peek().falseDistanceTrace.add(false_distance);
+			MethodCall call = stack.peek();
+			call.branchTrace.addInt(branch); // was: bytecode_id
+			call.trueDistanceTrace.addDouble(true_distance);
+			call.falseDistanceTrace.addDouble(false_distance);
 			assert ((true_distance == 0.0) || (false_distance == 0.0));
 			// TODO line_trace ?
 			if (ArrayUtil.contains(Properties.CRITERION, Criterion.DEFUSE)
 					|| ArrayUtil.contains(Properties.CRITERION, Criterion.ALLDEFS)) {
-				stack.peek().defuseCounterTrace.add(duCounter);
+				call.defuseCounterTrace.addInt(duCounter);
 			}
 		}
 	}
@@ -83,8 +83,13 @@ public class ExecutionTraceProxy implements ExecutionTrace, Cloneable {
 	/** {@inheritDoc} */
 	@Override
 	public void clear() {
-		copyOnWrite();
-		trace.clear();
+		if (trace.getProxyCount() > 1) {
+			// The shared data stays with the other proxies, no need to copy it just to throw it away
+			trace.removeProxy();
+			trace = new ExecutionTraceImpl();
+		} else {
+			trace.clear();
+		}
 	}
 
 	/**
@@ -55,6 +55,9 @@ public class ExecutionTracer {
 
 	private ExecutionTrace trace;
 
+	/** Whether the current trace has been returned by getTrace() and may be kept by a result */
+	private boolean traceHandedOut = false;
+
 
 	private static boolean checkCallerThread = true;
 
@@ -193,7 +196,13 @@ public class ExecutionTracer {
 	 * Reset for new execution
 	 */
 	public void clear() {
-		trace = new ExecutionTraceProxy();
+		if (traceHandedOut) {
+			trace = new ExecutionTraceProxy();
+			traceHandedOut = false;
+		} else {
+			// Nobody else can see the trace, so its collections can be reused
+			trace.clear();
+		}
 		BooleanHelper.clearStack();
 		num_statements = 0;
 	}
@@ -231,6 +240,7 @@ public class ExecutionTracer {
 	 */
 	public ExecutionTrace getTrace() {
 		trace.finishCalls();
+		traceHandedOut = true;
 		return trace;
 
 		// ExecutionTrace copy = trace.clone();
@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Growable list of ints stored in a primitive array. Used for the per-call
+ * traces of {@link MethodCall}, which can grow to millions of entries in tests
+ * with deep loops, so that recording an entry does not box it.
+ *
+ * The primitive accessors should be preferred on hot paths; the
+ * {@link java.util.List} view exists for the code that only needs to read.
+ */
+public final class IntTraceList extends AbstractList<Integer> implements RandomAccess {
+
+	private static final int[] EMPTY = new int[0];
+
+	private int[] values;
+
+	private int size;
+
+	public IntTraceList() {
+		values = EMPTY;
+	}
+
+	public IntTraceList(IntTraceList other) {
+		values = Arrays.copyOf(other.values, other.size);
+		size = other.size;
+	}
+
+	public void addInt(int value) {
+		if (size == values.length)
+			values = Arrays.copyOf(values, Math.max(8, size + (size >> 1)));
+		values[size++] = value;
+		modCount++;
+	}
+
+	public int getInt(int index) {
+		if (index >= size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+		return values[index];
+	}
+
+	@Override
+	public boolean add(Integer value) {
+		addInt(value);
+		return true;
+	}
+
+	@Override
+	public Integer get(int index) {
+		return getInt(index);
+	}
+
+	@Override
+	public Integer set(int index, Integer value) {
+		int old = getInt(index);
+		values[index] = value;
+		return old;
+	}
+
+	@Override
+	public Integer remove(int index) {
+		int old = getInt(index);
+		System.arraycopy(values, index + 1, values, index, size - index - 1);
+		size--;
+		modCount++;
+		return old;
+	}
+
+	/**
+	 * Removes the entries at the given positions, which must be in ascending
+	 * order, with a single pass over the list
+	 *
+	 * @param sortedIndices
+	 */
+	public void removeIndices(List<Integer> sortedIndices) {
+		if (sortedIndices.isEmpty())
+			return;
+		int next = 0;
+		int kept = 0;
+		for (int i = 0; i < size; i++) {
+			if (next < sortedIndices.size() && sortedIndices.get(next) == i) {
+				next++;
+				continue;
+			}
+			values[kept++] = values[i];
+		}
+		size = kept;
+		modCount++;
+	}
+
+	@Override
+	public void clear() {
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+}
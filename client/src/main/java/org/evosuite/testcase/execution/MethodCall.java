@@ -24,20 +24,30 @@
  */
 package org.evosuite.testcase.execution;
 
-import java.util.ArrayList;
-import java.util.List;
 public class MethodCall implements Cloneable {
 	public String className;
 	public String methodName;
-	public List<Integer> lineTrace;
-	public List<Integer> branchTrace;
-	public List<Double> trueDistanceTrace;
-	public List<Double> falseDistanceTrace;
-	public List<Integer> defuseCounterTrace;
+	public IntTraceList lineTrace;
+	public IntTraceList branchTrace;
+	public DoubleTraceList trueDistanceTrace;
+	public DoubleTraceList falseDistanceTrace;
+	public IntTraceList defuseCounterTrace;
 	public int methodId;
 	public int callingObjectID;
 	public int callDepth;
 
+	/**
+	 * Node in the {@link org.evosuite.setup.CallContextTree} of the context of
+	 * the stack up to this call, or -1 if not computed yet
+	 */
+	public int contextNode = -1;
+
+	/**
+	 * Node of the call context of the stack up to this call, ignoring the
+	 * excluded classes on top of it (see {@link org.evosuite.setup.CallContext})
+	 */
+	public int contextId = -1;
+
 	/**
 	 * <p>Constructor for MethodCall.</p>
 	 *
@@ -51,11 +61,11 @@ public class MethodCall implements Cloneable {
 	        int callingObjectID, int callDepth) {
 		this.className = className;
 		this.methodName = methodName;
-		lineTrace = new ArrayList<>();
-		branchTrace = new ArrayList<>();
-		trueDistanceTrace = new ArrayList<>();
-		falseDistanceTrace = new ArrayList<>();
-		defuseCounterTrace = new ArrayList<>();
+		lineTrace = new IntTraceList();
+		branchTrace = new IntTraceList();
+		trueDistanceTrace = new DoubleTraceList();
+		falseDistanceTrace = new DoubleTraceList();
+		defuseCounterTrace = new IntTraceList();
 		this.methodId = methodId;
 		this.callingObjectID = callingObjectID;
 		this.callDepth = callDepth;
@@ -156,11 +166,13 @@ public class MethodCall implements Cloneable {
 	public MethodCall clone() {
 		MethodCall copy = new MethodCall(className, methodName, methodId,
 		        callingObjectID, callDepth);
-		copy.lineTrace = new ArrayList<>(lineTrace);
-		copy.branchTrace = new ArrayList<>(branchTrace);
-		copy.trueDistanceTrace = new ArrayList<>(trueDistanceTrace);
-		copy.falseDistanceTrace = new ArrayList<>(falseDistanceTrace);
-		copy.defuseCounterTrace = new ArrayList<>(defuseCounterTrace);
+		copy.lineTrace = new IntTraceList(lineTrace);
+		copy.branchTrace = new IntTraceList(branchTrace);
+		copy.trueDistanceTrace = new DoubleTraceList(trueDistanceTrace);
+		copy.falseDistanceTrace = new DoubleTraceList(falseDistanceTrace);
+		copy.defuseCounterTrace = new IntTraceList(defuseCounterTrace);
+		copy.contextNode = contextNode;
+		copy.contextId = contextId;
 		return copy;
 	}
 }
@@ -53,6 +53,12 @@ public class AVMTestCaseLocalSearch extends TestCaseLocalSearch<TestChromosome>
 		}
 		TestCase test = individual.getTestCase();
 
+		ProbeCachingLocalSearchObjective cache = null;
+		if (Properties.LOCAL_SEARCH_PROBE_CACHE) {
+			cache = new ProbeCachingLocalSearchObjective(objective);
+			objective = cache;
+		}
+
 		// We count down to make the code work when lines are
 		// added during the search (see NullReferenceSearch).
 
@@ -100,6 +106,8 @@ public class AVMTestCaseLocalSearch extends TestCaseLocalSearch<TestChromosome>
 		}
 
 		LocalSearchBudget.getInstance().countLocalSearchOnTest();
+		if (cache != null)
+			logger.info("Probes answered from cache: " + cache.getCacheHits());
 
 		// logger.warn("Test after local search: " +
 		// individual.getTestCase().toCode());
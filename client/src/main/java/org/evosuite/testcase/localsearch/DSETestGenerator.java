@@ -24,6 +24,7 @@ import org.evosuite.ga.localsearch.LocalSearchBudget;
 import org.evosuite.ga.localsearch.LocalSearchObjective;
 import org.evosuite.symbolic.BranchCondition;
 import org.evosuite.symbolic.ConcolicExecution;
+import org.evosuite.symbolic.ConstraintSlicer;
 import org.evosuite.symbolic.DSEStats;
 import org.evosuite.symbolic.PathCondition;
 import org.evosuite.symbolic.expr.Constraint;
@@ -297,22 +298,41 @@ public class DSETestGenerator {
 			throw new IndexOutOfBoundsException("The position " + conditionIndexToNegate + " does not exists");
 		}
 
-		List<Constraint<?>> query = new LinkedList<>();
+		ConstraintSlicer slicer = new ConstraintSlicer();
 		for (int i = 0; i < conditionIndexToNegate; i++) {
 			BranchCondition b = pc.get(i);
-			query.addAll(b.getSupportingConstraints());
-			query.add(b.getConstraint());
+			slicer.addAll(b.getSupportingConstraints());
+			slicer.add(b.getConstraint());
 		}
+		return buildQuery(pc, conditionIndexToNegate, slicer);
+	}
 
+	/**
+	 * Creates a Solver query given a branch condition, reusing a slicer that
+	 * already contains the constraints of all the branch conditions before the
+	 * one to negate. Only the constraints that share variables (transitively)
+	 * with the negated condition are kept in the query.
+	 *
+	 * On return, the slicer contains the constraints up to (and including) the
+	 * negated branch condition, so that it can be used to build the query for
+	 * the next branch condition.
+	 *
+	 * @param pc
+	 * @param conditionIndexToNegate
+	 * @param slicer
+	 * @return
+	 */
+	public static List<Constraint<?>> buildQuery(PathCondition pc, int conditionIndexToNegate,
+			ConstraintSlicer slicer) {
 		BranchCondition targetBranch = pc.get(conditionIndexToNegate);
 		Constraint<?> negation = targetBranch.getConstraint().negate();
-		query.addAll(targetBranch.getSupportingConstraints());
-		query.add(negation);
+		slicer.addAll(targetBranch.getSupportingConstraints());
 
-		// Compute cone of influence reduction
-		List<Constraint<?>> simplified_query = reduce(query);
+		// Compute the independent slice of the negated condition
+		List<Constraint<?>> query = slicer.slice(negation);
 
-		return simplified_query;
+		slicer.add(targetBranch.getConstraint());
+		return query;
 	}
 
 	/**
@@ -405,38 +425,6 @@ public class DSETestGenerator {
 
 	}
 
-	/**
-	 * Apply cone of influence reduction to constraints with respect to the last
-	 * constraint in the list
-	 *
-	 * @param constraints
-	 * @return
-	 */
-	private static List<Constraint<?>> reduce(List<Constraint<?>> constraints) {
-
-		Constraint<?> target = constraints.get(constraints.size() - 1);
-		Set<Variable<?>> dependencies = getVariables(target);
-
-		LinkedList<Constraint<?>> coi = new LinkedList<>();
-		if (dependencies.size() <= 0)
-			return coi;
-
-		coi.add(target);
-
-		for (int i = constraints.size() - 2; i >= 0; i--) {
-			Constraint<?> constraint = constraints.get(i);
-			Set<Variable<?>> variables = getVariables(constraint);
-			for (Variable<?> var : dependencies) {
-				if (variables.contains(var)) {
-					dependencies.addAll(variables);
-					coi.addFirst(constraint);
-					break;
-				}
-			}
-		}
-		return coi;
-	}
-
 	/**
 	 * Get the statement that defines this variable
 	 *
@@ -455,19 +443,6 @@ public class DSETestGenerator {
 		return null;
 	}
 
-	/**
-	 * Determine the set of variable referenced by this constraint
-	 *
-	 * @param constraint
-	 * @return
-	 */
-	private static Set<Variable<?>> getVariables(Constraint<?> constraint) {
-		Set<Variable<?>> variables = new HashSet<>();
-		getVariables(constraint.getLeftOperand(), variables);
-		getVariables(constraint.getRightOperand(), variables);
-		return variables;
-	}
-
 	/**
 	 * Recursively determine constraints in expression
 	 *
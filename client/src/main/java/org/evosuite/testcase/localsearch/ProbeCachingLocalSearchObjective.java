@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.localsearch;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.evosuite.ga.FitnessFunction;
+import org.evosuite.ga.localsearch.LocalSearchObjective;
+import org.evosuite.testcase.TestChromosome;
+
+/**
+ * Wraps the objective of a single AVM session and remembers which probes have
+ * already been executed, keyed by the code of the probed test.
+ *
+ * The AVM only ever accepts strict improvements, so the fitness of the current
+ * individual never gets worse during a session. A probe that has been executed
+ * before can therefore never be an improvement when it is revisited, and a probe
+ * that was worse than the current individual stays worse. Both answers are
+ * served without executing the test again; all other queries are delegated.
+ *
+ * An instance must not outlive the session it was created for, since the
+ * answers depend on the rest of the test suite staying unchanged.
+ */
+public class ProbeCachingLocalSearchObjective implements LocalSearchObjective<TestChromosome> {
+
+	/** Upper bound on remembered probes before the cache starts over */
+	static final int MAX_PROBES = 10000;
+
+	private final LocalSearchObjective<TestChromosome> delegate;
+
+	/** Code of every executed probe, mapped to whether it was worse than the current individual */
+	private final Map<String, Boolean> probes = new HashMap<>();
+
+	private int hits = 0;
+
+	public ProbeCachingLocalSearchObjective(LocalSearchObjective<TestChromosome> delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public boolean isDone() {
+		return delegate.isDone();
+	}
+
+	@Override
+	public boolean isMaximizationObjective() {
+		return delegate.isMaximizationObjective();
+	}
+
+	@Override
+	public boolean hasImproved(TestChromosome chromosome) {
+		String key = chromosome.getTestCase().toCode();
+		if (probes.containsKey(key)) {
+			hits++;
+			return false;
+		}
+		boolean improved = delegate.hasImproved(chromosome);
+		// Not improving does not tell equal and worse apart
+		remember(key, false);
+		return improved;
+	}
+
+	@Override
+	public boolean hasNotWorsened(TestChromosome chromosome) {
+		String key = chromosome.getTestCase().toCode();
+		if (Boolean.TRUE.equals(probes.get(key))) {
+			hits++;
+			return false;
+		}
+		boolean notWorsened = delegate.hasNotWorsened(chromosome);
+		remember(key, !notWorsened);
+		return notWorsened;
+	}
+
+	@Override
+	public int hasChanged(TestChromosome chromosome) {
+		String key = chromosome.getTestCase().toCode();
+		if (Boolean.TRUE.equals(probes.get(key))) {
+			hits++;
+			return 1;
+		}
+		int change = delegate.hasChanged(chromosome);
+		remember(key, change > 0);
+		return change;
+	}
+
+	private void remember(String key, boolean worse) {
+		if (probes.size() >= MAX_PROBES && !probes.containsKey(key))
+			probes.clear();
+		if (worse || !probes.containsKey(key))
+			probes.put(key, worse);
+	}
+
+	/**
+	 * @return the number of probes answered without executing the test
+	 */
+	public int getCacheHits() {
+		return hits;
+	}
+
+	@Override
+	public void addFitnessFunction(FitnessFunction<TestChromosome> fitness) {
+		delegate.addFitnessFunction(fitness);
+	}
+
+	@Override
+	public List<FitnessFunction<TestChromosome>> getFitnessFunctions() {
+		return delegate.getFitnessFunctions();
+	}
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testsuite;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+/**
+ * Aggregates the contributions of the tests of a suite (e.g., the distances
+ * and counts of the goals reached by each test) into suite-level values.
+ *
+ * Contributions are compared by identity with those of the previously
+ * aggregated suite: only the contributions that are no longer in the suite are
+ * subtracted, and only the new ones are added. Unchanged tests (including the
+ * clones of a test, whose execution results share the same contribution) cost
+ * nothing, so consecutive evaluations of related suites (e.g., a parent and
+ * its offspring) take time proportional to the tests that changed rather than
+ * to the size of the suite.
+ *
+ * @param <C>
+ *            the type of the contribution of a single test
+ */
+public abstract class IncrementalSuiteAggregator<C> {
+
+	/**
+	 * The contributions of the last aggregated suite, with the number of times
+	 * they appear in it
+	 */
+	private Map<C, Integer> current = new IdentityHashMap<>();
+
+	/**
+	 * Replaces the aggregated suite with one made of the given contributions
+	 *
+	 * @param contributions
+	 */
+	public void update(Collection<C> contributions) {
+		Map<C, Integer> next = new IdentityHashMap<>();
+		for (C contribution : contributions) {
+			Integer count = next.get(contribution);
+			next.put(contribution, count == null ? 1 : count + 1);
+		}
+
+		// Removals come first, so that minima are recomputed only once
+		for (Entry<C, Integer> entry : current.entrySet()) {
+			if (!next.containsKey(entry.getKey())) {
+				changeMultiplicity(entry.getKey(), entry.getValue(), 0);
+			}
+		}
+		for (Entry<C, Integer> entry : next.entrySet()) {
+			Integer before = current.get(entry.getKey());
+			int oldCount = before == null ? 0 : before;
+			if (oldCount != entry.getValue()) {
+				changeMultiplicity(entry.getKey(), oldCount, entry.getValue());
+			}
+		}
+		current = next;
+	}
+
+	/**
+	 * Returns the number of distinct contributions currently aggregated
+	 *
+	 * @return
+	 */
+	public int size() {
+		return current.size();
+	}
+
+	/**
+	 * Forgets all the aggregated contributions
+	 */
+	public void reset() {
+		current = new IdentityHashMap<>();
+		clearAggregates();
+	}
+
+	/**
+	 * Updates the aggregated values after the number of occurrences of a
+	 * contribution in the suite changed
+	 *
+	 * @param contribution
+	 * @param oldCount
+	 *            occurrences in the previous suite (0 if it is new)
+	 * @param newCount
+	 *            occurrences in the new suite (0 if it was removed)
+	 */
+	protected abstract void changeMultiplicity(C contribution, int oldCount, int newCount);
+
+	/**
+	 * Clears all the aggregated values
+	 */
+	protected abstract void clearAggregates();
+
+	/**
+	 * Adds <code>times</code> times the given counts to the totals (subtracts
+	 * them if <code>times</code> is negative), dropping the keys whose total
+	 * becomes zero
+	 *
+	 * @param totals
+	 * @param counts
+	 * @param times
+	 */
+	protected static <K> void addCounts(Map<K, Integer> totals, Map<K, Integer> counts, int times) {
+		for (Entry<K, Integer> entry : counts.entrySet()) {
+			Integer total = totals.get(entry.getKey());
+			int value = (total == null ? 0 : total) + times * entry.getValue();
+			if (value == 0) {
+				totals.remove(entry.getKey());
+			} else {
+				totals.put(entry.getKey(), value);
+			}
+		}
+	}
+
+	/**
+	 * The minimum distance of each goal over the aggregated contributions. For
+	 * each goal the distance of every contribution is kept, so that when the
+	 * contribution with the minimum distance is removed the new minimum can be
+	 * found among the remaining ones without going through the whole suite.
+	 *
+	 * @param <K>
+	 *            the type of the goals
+	 */
+	public static class MinimumDistances<K> {
+
+		private final Map<K, Map<Object, Double>> distances = new HashMap<>();
+
+		private final Map<K, Double> minimum = new HashMap<>();
+
+		private final Map<K, Object> best = new HashMap<>();
+
+		/**
+		 * Goals whose best contribution was removed, and whose minimum is
+		 * recomputed when needed
+		 */
+		private final Set<K> stale = new HashSet<>();
+
+		/**
+		 * Adds the distances of a contribution
+		 *
+		 * @param contribution
+		 * @param values
+		 */
+		public void add(Object contribution, Map<K, Double> values) {
+			for (Entry<K, Double> entry : values.entrySet()) {
+				K goal = entry.getKey();
+				double distance = entry.getValue();
+				Map<Object, Double> goalDistances = distances.get(goal);
+				if (goalDistances == null) {
+					goalDistances = new IdentityHashMap<>(2);
+					distances.put(goal, goalDistances);
+				}
+				goalDistances.put(contribution, distance);
+				if (stale.contains(goal)) {
+					continue;
+				}
+				Double min = minimum.get(goal);
+				if (min == null || distance < min) {
+					minimum.put(goal, distance);
+					best.put(goal, contribution);
+				}
+			}
+		}
+
+		/**
+		 * Removes the distances of a contribution
+		 *
+		 * @param contribution
+		 * @param values
+		 */
+		public void remove(Object contribution, Map<K, Double> values) {
+			for (K goal : values.keySet()) {
+				Map<Object, Double> goalDistances = distances.get(goal);
+				if (goalDistances == null || goalDistances.remove(contribution) == null) {
+					continue;
+				}
+				if (goalDistances.isEmpty()) {
+					distances.remove(goal);
+					minimum.remove(goal);
+					best.remove(goal);
+					stale.remove(goal);
+				} else if (best.get(goal) == contribution) {
+					stale.add(goal);
+				}
+			}
+		}
+
+		public boolean containsKey(K goal) {
+			return distances.containsKey(goal);
+		}
+
+		/**
+		 * Returns the minimum distance of a goal, or <code>null</code> if no
+		 * contribution reaches it
+		 *
+		 * @param goal
+		 * @return
+		 */
+		public Double get(K goal) {
+			if (stale.remove(goal)) {
+				recompute(goal);
+			}
+			return minimum.get(goal);
+		}
+
+		public int size() {
+			return distances.size();
+		}
+
+		public void clear() {
+			distances.clear();
+			minimum.clear();
+			best.clear();
+			stale.clear();
+		}
+
+		private void recompute(K goal) {
+			Double min = null;
+			Object argMin = null;
+			for (Entry<Object, Double> entry : distances.get(goal).entrySet()) {
+				if (min == null || entry.getValue() < min) {
+					min = entry.getValue();
+					argMin = entry.getKey();
+				}
+			}
+			minimum.put(goal, min);
+			best.put(goal, argMin);
+		}
+	}
+}
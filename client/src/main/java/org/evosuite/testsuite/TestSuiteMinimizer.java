@@ -98,7 +98,9 @@ public class TestSuiteMinimizer {
         logger.info("Minimization Strategy: " + strategy + ", " + suite.size() + " tests");
         suite.clearMutationHistory();
 
-        if (minimizePerTest)
+        if (minimizePerTest && Properties.MINIMIZE_SET_COVER)
+            minimizeTestsBySetCover(suite);
+        else if (minimizePerTest)
             minimizeTests(suite);
         else
             minimizeSuite(suite);
@@ -252,6 +254,16 @@ public class TestSuiteMinimizer {
             removeRedundantTestCases(suite, goals);
         }
 
+        reportMinimizedCoverage(suite);
+
+        for (TestFitnessFunction goal : goals) {
+            if (!covered.contains(goal))
+                logger.info("Failed to cover: " + goal);
+        }
+        // suite.tests = minimizedTests;
+    }
+
+    private void reportMinimizedCoverage(TestSuiteChromosome suite) {
         double suiteCoverage = suite.getCoverage();
         logger.info("Setting coverage to: " + suiteCoverage);
 
@@ -260,12 +272,160 @@ public class TestSuiteMinimizer {
         information.setProgress(100);
         information.setCoverage((int) (Math.round(suiteCoverage * 100)));
         ClientServices.getInstance().getClientNode().changeState(state, information);
+    }
 
-        for (TestFitnessFunction goal : goals) {
-            if (!covered.contains(goal))
-                logger.info("Failed to cover: " + goal);
+    /**
+     * Minimize test suite with respect to the isCovered Method of the goals
+     * defined by the supplied TestFitnessFactory. Unlike
+     * {@link #minimizeTests(TestSuiteChromosome)}, every test is executed once
+     * to build a goals x tests coverage matrix, and only the tests chosen by a
+     * greedy set cover of that matrix are minimized. If the timeout is reached
+     * while minimizing, the remaining selected tests are kept unminimized
+     * instead of rolling back.
+     *
+     * @param suite a {@link org.evosuite.testsuite.TestSuiteChromosome} object.
+     */
+    private void minimizeTestsBySetCover(TestSuiteChromosome suite) {
+
+        logger.info("Minimizing per test using a set cover");
+
+        ExecutionTracer.enableTraceCalls();
+
+        for (TestChromosome test : suite.getTestChromosomes()) {
+            test.setChanged(true); // implies test.clearCachedResults();
         }
-        // suite.tests = minimizedTests;
+
+        List<TestFitnessFunction> goals = new ArrayList<>();
+        for (TestFitnessFactory<?> ff : testFitnessFactories) {
+            goals.addAll(ff.getCoverageGoals());
+        }
+        filterJUnitCoveredGoals(goals);
+
+        if (Properties.MINIMIZE_SORT)
+            Collections.sort(goals);
+
+        // Preferred tests come first, as ties in the cover go to the lower index
+        List<TestChromosome> tests = new ArrayList<>(suite.getTestChromosomes());
+        Collections.sort(tests);
+
+        BitSet[] coverage = new BitSet[tests.size()];
+        for (int i = 0; i < tests.size(); i++) {
+            updateClientStatus(50 * i / tests.size());
+            if (isTimeoutReached()) {
+                logger.warn("Minimization timeout. Roll back to original test suite");
+                return;
+            }
+            coverage[i] = getCoveredGoals(tests.get(i), goals);
+        }
+
+        List<Integer> selected = selectGreedyCover(coverage);
+        logger.info("Selected " + selected.size() + " of " + tests.size() + " tests to cover the goals");
+
+        BitSet covered = new BitSet(goals.size());
+        TestSuiteWriter minimizedSuite = new TestSuiteWriter();
+        int done = 0;
+        for (int index : selected) {
+            updateClientStatus(50 + 50 * done++ / selected.size());
+            TestChromosome test = tests.get(index);
+            BitSet pending = (BitSet) coverage[index].clone();
+            pending.andNot(covered);
+            for (int goal = pending.nextSetBit(0); goal >= 0; goal = pending.nextSetBit(goal + 1)) {
+                if (covered.get(goal))
+                    continue;
+
+                if (isTimeoutReached()) {
+                    logger.info("Minimization timeout, keeping test as it is");
+                    minimizedSuite.insertTest(test.getTestCase());
+                    covered.or(coverage[index]);
+                    break;
+                }
+
+                logger.info("Minimizing test for goal: " + goals.get(goal));
+                TestChromosome copy = test.clone();
+                new org.evosuite.testcase.TestCaseMinimizer(goals.get(goal)).minimize(copy);
+
+                // TODO: Need proper list of covered goals
+                copy.getTestCase().clearCoveredGoals();
+                BitSet copyCoverage = getCoveredGoals(copy, goals);
+                if (!copyCoverage.get(goal)) {
+                    logger.info("Minimized test lost its goal, keeping test as it is");
+                    copy = test;
+                    copyCoverage = coverage[index];
+                }
+                covered.or(copyCoverage);
+                minimizedSuite.insertTest(copy.getTestCase());
+            }
+        }
+
+        logger.info("Minimized suite covers " + covered.cardinality() + "/" + goals.size()
+                + " goals");
+        suite.tests.clear();
+        for (TestCase test : minimizedSuite.getTestCases()) {
+            suite.addTest(test);
+        }
+
+        if (Properties.MINIMIZE_SECOND_PASS) {
+            removeRedundantTestCases(suite, goals);
+        }
+
+        reportMinimizedCoverage(suite);
+
+        for (int goal = covered.nextClearBit(0); goal < goals.size(); goal = covered.nextClearBit(goal + 1)) {
+            logger.info("Failed to cover: " + goals.get(goal));
+        }
+    }
+
+    /**
+     * Returns the indices of the goals covered by the test; executes the test
+     * only if it has no up to date execution result
+     */
+    private static BitSet getCoveredGoals(TestChromosome test, List<TestFitnessFunction> goals) {
+        BitSet covered = new BitSet(goals.size());
+        for (int i = 0; i < goals.size(); i++) {
+            if (goals.get(i).isCovered(test)) { // isCovered(test) adds the goal
+                covered.set(i);
+            }
+        }
+        return covered;
+    }
+
+    /**
+     * Greedy set cover of the given rows, using lazy evaluation: the gain of a
+     * row can only shrink as goals get covered, so a row whose recomputed gain
+     * is still the largest in the queue is the best choice.
+     *
+     * @param coverage for each test, the goals it covers
+     * @return the indices of the selected tests, in order of selection; ties
+     *         are broken in favour of the lower index
+     */
+    static List<Integer> selectGreedyCover(BitSet[] coverage) {
+        // Entries are {gain, index}
+        PriorityQueue<int[]> queue = new PriorityQueue<>(
+                (a, b) -> a[0] != b[0] ? Integer.compare(b[0], a[0]) : Integer.compare(a[1], b[1]));
+        for (int i = 0; i < coverage.length; i++) {
+            int gain = coverage[i].cardinality();
+            if (gain > 0)
+                queue.add(new int[] { gain, i });
+        }
+
+        BitSet covered = new BitSet();
+        List<Integer> selected = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            int[] entry = queue.poll();
+            BitSet newGoals = (BitSet) coverage[entry[1]].clone();
+            newGoals.andNot(covered);
+            int gain = newGoals.cardinality();
+            if (gain == 0)
+                continue;
+            if (gain < entry[0]) {
+                entry[0] = gain;
+                queue.add(entry);
+                continue;
+            }
+            selected.add(entry[1]);
+            covered.or(newGoals);
+        }
+        return selected;
     }
 
     private boolean isTimeoutReached() {
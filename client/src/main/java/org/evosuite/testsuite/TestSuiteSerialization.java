@@ -20,6 +20,7 @@
 package org.evosuite.testsuite;
 
 import org.evosuite.TestGenerationContext;
+import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.statements.Statement;
 import org.evosuite.utils.DebuggingObjectOutputStream;
@@ -30,50 +31,62 @@ import org.slf4j.LoggerFactory;
 import java.io.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Created by Andrea Arcuri on 08/06/15.
+ *
+ * <p>
+ * Tests are saved as a header ({@link #MAGIC} and {@link #VERSION}) followed by
+ * a compressed stream with one serialized {@link TestCase} per test. The
+ * object stream is reset after each test, so tests can be read one at a time
+ * without the stream retaining the ones already read. Only the test cases are
+ * stored: fitness values and mutation history of the chromosomes are not
+ * needed to seed a search, and can reference large graphs of coverage goals.
+ * Files written by older versions, which contain serialized
+ * {@link TestChromosome}s without a header, can still be read.
  */
 public class TestSuiteSerialization {
 
     private static final Logger logger = LoggerFactory.getLogger(TestSuiteSerialization.class);
 
+    /** "EVOT"; Java serialization streams start with 0xACED instead */
+    private static final int MAGIC = 0x45564f54;
+
+    private static final int VERSION = 1;
 
     public static boolean saveTests(List<TestSuiteChromosome> list, File target) throws IllegalArgumentException{
         Inputs.checkNull(list,target);
 
-        File parent = target.getParentFile();
-        if(!parent.exists()){
-            parent.mkdirs();
+        List<TestChromosome> tests = new ArrayList<>();
+        for(TestSuiteChromosome ts : list) {
+            tests.addAll(ts.getTestChromosomes());
         }
-
-        try(ObjectOutputStream out = new DebuggingObjectOutputStream(new FileOutputStream(target));){
-            for(TestSuiteChromosome ts : list) {
-                for (TestChromosome tc : ts.getTestChromosomes()) {
-                    out.writeObject(tc);
-                }
-            }
-
-            out.flush();
-            out.close();
-        }catch (IOException e){
-            logger.error("Failed to open/handle "+target.getAbsolutePath()+" for writing: "+e.getMessage());
-            return false;
-        }
-
-        return true;
+        return writeTests(tests, target);
     }
     
     public static boolean saveTests(TestSuiteChromosome ts, File target) throws IllegalArgumentException{
+        return writeTests(ts.getTestChromosomes(), target);
+    }
+
+    private static boolean writeTests(List<TestChromosome> tests, File target) {
         File parent = target.getParentFile();
         if(!parent.exists()){
             parent.mkdirs();
         }
 
-        try(ObjectOutputStream out = new DebuggingObjectOutputStream(new FileOutputStream(target));){
-        	for (TestChromosome tc : ts.getTestChromosomes()) {
-        		out.writeObject(tc);
+        try(DataOutputStream header = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(target)))){
+            header.writeInt(MAGIC);
+            header.writeInt(VERSION);
+
+            ObjectOutputStream out = new DebuggingObjectOutputStream(new GZIPOutputStream(header, 1 << 16));
+            for (TestChromosome tc : tests) {
+                out.writeObject(tc.getTestCase());
+                out.reset();
             }
+            out.writeObject(null);
 
             out.flush();
             out.close();
@@ -108,23 +121,50 @@ public class TestSuiteSerialization {
     }
 
     public static List<TestChromosome> loadTests(File target) throws IllegalArgumentException{
-        Inputs.checkNull(target);
-
         List<TestChromosome> list = new ArrayList<>();
+        readTests(target, list::add);
+        return list;
+    }
 
-        try(ObjectInputStream in = new ObjectInputStream(new FileInputStream(target)) ){
+    /**
+     * Reads the tests saved in the given file one at a time, handing each of
+     * them to the consumer as soon as it is read. Problems with the file are
+     * logged, and the tests read up to that point are kept.
+     *
+     * @param target a file written by one of the {@code saveTests} methods
+     * @param consumer receives the tests in the order they were saved
+     * @return the number of tests read
+     */
+    public static int readTests(File target, Consumer<TestChromosome> consumer) throws IllegalArgumentException{
+        Inputs.checkNull(target, consumer);
+
+        int count = 0;
+        try(BufferedInputStream buffered = new BufferedInputStream(new FileInputStream(target), 1 << 16)){
+
+            ObjectInputStream in = openTests(buffered, target);
+            if(in == null){
+                return 0;
+            }
 
             try {
                 Object obj = in.readObject();
                 while(obj !=null){
-                    if(obj instanceof TestChromosome){
+                    TestChromosome tc = null;
+                    if(obj instanceof TestCase){
+                        tc = new TestChromosome();
+                        tc.setTestCase((TestCase) obj);
+                    } else if(obj instanceof TestChromosome){
                         //this check might fail if old version is used, and EvoSuite got updated
-                        TestChromosome tc = (TestChromosome) obj;
+                        tc = (TestChromosome) obj;
+                    }
+
+                    if(tc != null){
                         for(Statement st : tc.getTestCase()){
                             st.changeClassLoader(TestGenerationContext.getInstance().getClassLoaderForSUT());
                         }
 
-                        list.add(tc);
+                        consumer.accept(tc);
+                        count++;
                     }
                     obj = in.readObject();
                 }
@@ -141,6 +181,35 @@ public class TestSuiteSerialization {
             logger.error("Failed to open/handle " + target.getAbsolutePath() + " for reading: " + e.getMessage());
         }
 
-        return list;
+        return count;
+    }
+
+    /**
+     * Checks the header of the file and returns a stream positioned on its
+     * first test, or null if the file was written by a newer version
+     */
+    private static ObjectInputStream openTests(BufferedInputStream buffered, File target) throws IOException {
+        buffered.mark(4);
+        DataInputStream header = new DataInputStream(buffered);
+        int magic;
+        try {
+            magic = header.readInt();
+        } catch (EOFException e) {
+            magic = 0;
+        }
+
+        if(magic != MAGIC){
+            // written before the header was introduced
+            buffered.reset();
+            return new ObjectInputStream(buffered);
+        }
+
+        int version = header.readInt();
+        if(version > VERSION){
+            logger.warn("Cannot load tests from " + target.getAbsolutePath() + " as they were saved in format version "
+                    + version + ", while only versions up to " + VERSION + " are supported");
+            return null;
+        }
+        return new ObjectInputStream(new GZIPInputStream(buffered, 1 << 16));
     }
 }
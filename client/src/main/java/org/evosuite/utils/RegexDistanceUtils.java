@@ -20,8 +20,11 @@
 package org.evosuite.utils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -45,58 +48,137 @@ import dk.brics.automaton.Transition;
  */
 public class RegexDistanceUtils {
 
+	/**
+	 * Maximum number of compiled regexes kept in the cache
+	 */
+	private static final int MAX_CACHED_REGEXES = 1000;
+
+	/**
+	 * Workspaces larger than this number of cells are not kept after a distance
+	 * calculation, to avoid holding on to the matrix of a very long string in
+	 * every thread that computes a regex distance
+	 */
+	private static final int MAX_WORKSPACE_CELLS = 1 << 16;
+
+	/*
+	 * Types of path in the cells of the matrix used by the distance for StringAVM
+	 */
+	private static final int DEL = 0;
+	private static final int REP = 1;
+	private static final int INS = 2;
+
 	/*
 	 * Automatons for regex can be expensive to build. So we cache them,
-	 * as we might need to access to them several times during the search
+	 * as we might need to access to them several times during the search.
+	 * The cache is shared by all threads and evicts the least recently used regex.
 	 */
-	private static Map<String, List<State>> regexStateCache = new HashMap<>();
-	private static Map<String, Automaton> regexAutomatonCache = new HashMap<>();
+	private static final Map<String, CompiledRegex> regexCache = Collections.synchronizedMap(
+			new LinkedHashMap<String, CompiledRegex>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, CompiledRegex> eldest) {
+					return size() > MAX_CACHED_REGEXES;
+				}
+			});
+
+	/*
+	 * The cost matrices of the last distance calculated on each thread. Distances are
+	 * often calculated repeatedly for the same regex and strings that only differ at
+	 * the end, in which case the rows for the common prefix are reused.
+	 */
+	private static final ThreadLocal<Workspace> standardWorkspace = ThreadLocal.withInitial(Workspace::new);
+	private static final ThreadLocal<Workspace> stringAVMWorkspace = ThreadLocal.withInitial(Workspace::new);
 
 	public static Automaton getRegexAutomaton(String regex) {
-		if (!regexAutomatonCache.containsKey(regex)) {
-			cacheRegex(regex);
-		}
-		return regexAutomatonCache.get(regex);
+		return getCompiledRegex(regex).automaton;
 	}
 
 	public static String getRegexInstance(String regex) {
-		if (!regexAutomatonCache.containsKey(regex)) {
-			cacheRegex(regex);
-		}
-		Automaton automaton = regexAutomatonCache.get(regex);
+		Automaton automaton = getCompiledRegex(regex).automaton;
 		return automaton.getShortestExample(true);
 	}
 
 	public static String getNonMatchingRegexInstance(String regex) {
-		if (!regexAutomatonCache.containsKey(regex)) {
-			cacheRegex(regex);
-		}
-		Automaton automaton = regexAutomatonCache.get(regex);
+		Automaton automaton = getCompiledRegex(regex).automaton;
 		return automaton.getShortestExample(false);
 	}
 
-	private static class GraphTransition {
-				
-		public enum TransitionType{INSERTION, DELETION, REPLACEMENT, 
-			/**
-			 * A phantom transition is an artificial transition from the sink/final states to a single artificial sink/state.
-			 * This is used to simplify the recursion calculation of the subpath costs. 
-			 */
-			PHANTOM};
-		
-		public final double cost;
-		public final int fromRow;
-		public final State fromState;
-		public final TransitionType type;
-		
-		public GraphTransition(double cost, int fromRow, State fromState, TransitionType type) {
-			this.cost = cost;
-			this.fromRow = fromRow;
-			this.fromState = fromState;
-			this.type = type;
+	/**
+	 * The automaton of a regex in a form suited to calculate distances. Its states,
+	 * in topological order (ignoring back edges), are the columns of the cost matrix,
+	 * i.e., the graph of Myers and Miller contains one copy of the automaton for each
+	 * prefix of the argument. The transitions entering column c are stored at the
+	 * indices from firstIncoming[c] (inclusive) to firstIncoming[c + 1] (exclusive) of
+	 * the incoming* arrays.
+	 */
+	private static class CompiledRegex {
+
+		public final Automaton automaton;
+
+		public final int numberOfStates;
+
+		public final int[] firstIncoming;
+		public final int[] incomingSource;
+		public final char[] incomingMin;
+		public final char[] incomingMax;
+
+		public final int[] acceptingStates;
+
+		public CompiledRegex(Automaton automaton, List<State> topologicalOrder) {
+			this.automaton = automaton;
+			this.numberOfStates = topologicalOrder.size();
+
+			Map<State, Integer> columns = new HashMap<>();
+			for (State state : topologicalOrder) {
+				columns.put(state, columns.size());
+			}
+
+			firstIncoming = new int[numberOfStates + 1];
+			for (State state : topologicalOrder) {
+				for (Transition t : state.getTransitions()) {
+					firstIncoming[columns.get(t.getDest()) + 1]++;
+				}
+			}
+			for (int col = 0; col < numberOfStates; col++) {
+				firstIncoming[col + 1] += firstIncoming[col];
+			}
+
+			int numberOfTransitions = firstIncoming[numberOfStates];
+			incomingSource = new int[numberOfTransitions];
+			incomingMin = new char[numberOfTransitions];
+			incomingMax = new char[numberOfTransitions];
+			int[] next = Arrays.copyOf(firstIncoming, numberOfStates);
+			for (State state : topologicalOrder) {
+				int source = columns.get(state);
+				for (Transition t : state.getTransitions()) {
+					int index = next[columns.get(t.getDest())]++;
+					incomingSource[index] = source;
+					incomingMin[index] = t.getMin();
+					incomingMax[index] = t.getMax();
+				}
+			}
+
+			List<Integer> accepting = new ArrayList<>();
+			for (State state : automaton.getStates()) {
+				if (state.isAccept()) {
+					accepting.add(columns.get(state));
+				}
+			}
+			acceptingStates = accepting.stream().mapToInt(Integer::intValue).toArray();
 		}
 	}
 
+	/**
+	 * Cost matrix of the last distance calculated on a thread, together with the
+	 * regex and argument it was calculated for
+	 */
+	private static class Workspace {
+		private CompiledRegex regex;
+		private String arg;
+		private double[] matrix = new double[0];
+	}
+
 	/**
 	 * Normalize x in [0,1]
 	 * 
@@ -178,25 +260,7 @@ public class RegexDistanceUtils {
 		return regex;
 	}
 
-	/**
-	 * Ensure that each row has the full data structures containing the target state
-	 * 
-	 * @param transitions 
-	 * @param state
-	 * @param numRows
-	 */
-	private static void ensureState(
-			Map<Integer, Map<State, Set<GraphTransition>>> transitions, State state,
-			int numRows) {
-		for (int row = 0; row <= numRows; row++) {
-			if (!transitions.containsKey(row))
-				transitions.put(row, new HashMap<>());
-			if (!transitions.get(row).containsKey(state))
-				transitions.get(row).put(state, new HashSet<>());
-		}
-	}
-
-	private static void cacheRegex(String regex) {
+	private static CompiledRegex compileRegex(String regex) {
 		String r = expandRegex(regex);
 		Automaton automaton = new RegExp(r, RegExp.NONE).toAutomaton();
 		automaton.expandSingleton();
@@ -238,8 +302,20 @@ public class RegexDistanceUtils {
 			topologicalOrder.add(iterator.next());
 		}
 
-		regexStateCache.put(regex, topologicalOrder);
-		regexAutomatonCache.put(regex, automaton);
+		return new CompiledRegex(automaton, topologicalOrder);
+	}
+
+	private static CompiledRegex getCompiledRegex(String regex) {
+		CompiledRegex compiled = regexCache.get(regex);
+		if (compiled == null) {
+			/*
+			 * Create an automaton representing the regex. Threads that ask
+			 * for the same regex at the same time may both build it.
+			 */
+			compiled = compileRegex(regex);
+			regexCache.put(regex, compiled);
+		}
+		return compiled;
 	}
 
 	/**
@@ -255,9 +331,9 @@ public class RegexDistanceUtils {
 			return getDefaultDistance(arg, regex);
 		}
 
-		RegexGraph graph = new RegexGraph(arg, regex);		
-		CostMatrix matrix = new CostMatrix();
-		return matrix.calculateStandardCost(graph);		
+		CompiledRegex compiled = getCompiledRegex(regex);
+		double min = calculateCost(compiled, arg, standardWorkspace.get(), 1);
+		return (int)Math.round(min);
 	}
 	
 	private static int getDefaultDistance(String arg, String regex) {
@@ -296,449 +372,281 @@ public class RegexDistanceUtils {
 	 * @return
 	 */
 	public static double getDistanceTailoredForStringAVM(String arg, String regex) {
-		RegexGraph graph = new RegexGraph(arg, regex);		
-		CostMatrix matrix = new CostMatrix();
-		return matrix.calculateCostForStringAVM(graph);		
+		CompiledRegex compiled = getCompiledRegex(regex);
+		return calculateCost(compiled, arg, stringAVMWorkspace.get(), 3);
 	}
 	
 	protected static Automaton getAndCacheAutomaton(String regex){
-		/*
-		 * Cache it if first time we build it
-		 */
-		if (!regexAutomatonCache.containsKey(regex)) {
-			/*
-			 * Create an automaton representing the regex
-			 */
-			cacheRegex(regex);
-		}
-		
-		Automaton automaton = regexAutomatonCache.get(regex);
-		return automaton;
+		return getCompiledRegex(regex).automaton;
 	}
 
-	
 	/**
-	 * A graph created based on an "arg" that is matched against a "regex".
-	 * There is going to be arg.length+1 copies of the regex automaton. 
-	 * Each copy represents a "row".
-	 * Each automaton state, in topological order, represents a "column".
-	 * The graph can be considered as a "rows"x"columns" matrix.
-	 * 
-	 * @author arcuri
+	 * Fill the cost matrix for the given argument and return the cost of the
+	 * cheapest path to an accepting state after the last character.
+	 *
+	 * <p>Each cell of the matrix holds either a single cost (standard distance), or
+	 * the costs of three different types of path (distance for StringAVM). Row i
+	 * only depends on the first i characters of the argument, so rows calculated
+	 * for a previous argument with the same prefix are kept.</p>
 	 *
+	 * @param regex
+	 * @param arg
+	 * @param workspace
+	 * @param cellSize
+	 * @return
 	 */
-	private static class RegexGraph {
+	private static double calculateCost(CompiledRegex regex, String arg, Workspace workspace, int cellSize) {
+		final int ROWS = arg.length() + 1;
+		final int ROW_SIZE = regex.numberOfStates * cellSize;
 
-		private  Map<Integer, Map<State, Set<GraphTransition>>> transitions;
-		private  Map<Integer, State> intToStateMap;
-		private  Map<State, Integer> stateToIntMap;
-		
-		/**
-		 * Build the graph
-		 * @param arg
-		 * @param regex
-		 */
-		public RegexGraph(String arg, String regex){
-			transitions = createGraph(arg,regex);
+		int validRows = 0;
+		if (workspace.regex == regex) {
+			validRows = commonPrefixLength(workspace.arg, arg) + 1;
 		}
-		
-		public int getNumberOfRows(){
-			return transitions.keySet().size();
-		}
-		
-		public int getNumberOfColumns(){
-			return stateToIntMap.size();
-		}
-		
-		/**
-		 * Get all the incoming transitions to the node located at coordinate "row" and "column"
-		 * @param row
-		 * @param column
-		 * @return
-		 */
-		public Set<GraphTransition> getIncomingTransitions(int row, int column){
-			State state = intToStateMap.get(column);
-			return transitions.get(row).get(state);
+		double[] matrix = workspace.matrix;
+		if (matrix.length < ROWS * ROW_SIZE) {
+			matrix = Arrays.copyOf(matrix, Math.max(ROWS * ROW_SIZE, 2 * matrix.length));
 		}
-		
-		public int getColumn(State state){
-			return stateToIntMap.get(state);
-		}
-		
-		private  Map<Integer, Map<State, Set<GraphTransition>>> createGraph(String arg, String regex){
 
+		for (int row = validRows; row < ROWS; row++) {
 			/*
-			 * Create a graph to calculate the distance. The algorithm is based on what discussed in:
-			 * 
-			 * Mohammad Alshraideh and Leonardo Bottaci
-			 * Search-based software test data generation for string data using program-specific search operators
-			 * http://neo.lcc.uma.es/mase/attachments/085_TestDataGenerationForStringData.pdf
-			 * 
-			 * and 
-			 * 
-			 * EUGENE W. MYERS and WEBB MILLER
-			 * APPROXIMATE MATCHING OF REGULAR EXPRESSIONS
-			 * http://www.cs.mun.ca/~harold/Courses/Old/Ling6800.W06/Diary/reg.aprox.pdf
+			 * Columns later in the topological order are read as 0 until they are
+			 * calculated, as they would be on a fresh matrix
 			 */
+			Arrays.fill(matrix, row * ROW_SIZE, (row + 1) * ROW_SIZE, 0.0);
+			if (cellSize == 1) {
+				calculateStandardRow(regex, arg, row, matrix);
+			} else {
+				calculateStringAVMRow(regex, arg, row, matrix);
+			}
+		}
 
-			Automaton automaton = getAndCacheAutomaton(regex);
-			final int NUM_CHARS = arg.length();
-
-
-			List<State> topologicalOrder = regexStateCache.get(regex);
-
-			Map<Integer, Map<State, Set<GraphTransition>>> transitions = new HashMap<>();
-
-			intToStateMap = new HashMap<>();
-			stateToIntMap = new HashMap<>();
-			int numState = 0;
-
-			for (State currentState : topologicalOrder) {
-
-				/*
-				 * Init data structure to quickly map/access state/index
-				 */
-				stateToIntMap.put(currentState, numState);
-				intToStateMap.put(numState, currentState);
-				numState++;
+		if (matrix.length <= MAX_WORKSPACE_CELLS) {
+			workspace.regex = regex;
+			workspace.arg = arg;
+			workspace.matrix = matrix;
+		} else {
+			workspace.regex = null;
+			workspace.arg = null;
+		}
 
-				for (Transition t : currentState.getTransitions()) {
+		/*
+		 * Zero-cost transitions lead from the accepting states after the last
+		 * character to the final state, so take the minimum among all of them
+		 */
+		double min = Double.MAX_VALUE;
+		int last = (ROWS - 1) * ROW_SIZE;
+		for (int state : regex.acceptingStates) {
+			for (int path = 0; path < cellSize; path++) {
+				min = Math.min(min, matrix[last + state * cellSize + path]);
+			}
+		}
+		return min;
+	}
 
-					State destination = t.getDest();
-					ensureState(transitions, destination , NUM_CHARS);
+	private static int commonPrefixLength(String a, String b) {
+		int length = Math.min(a.length(), b.length());
+		for (int i = 0; i < length; i++) {
+			if (a.charAt(i) != b.charAt(i)) {
+				return i;
+			}
+		}
+		return length;
+	}
 
-					for (int row = 0; row <= NUM_CHARS; row++) {
-						/*
-						 *  add an insertion edge from currentState in row to target state in same row
-						 */
+	/**
+	 * Cost of replacing the given character by one matching the transition
+	 */
+	private static double getReplacementCost(char c, char min, char max) {
+		if (c < min || c > max) {
+			int distMin = Math.abs(c - min);
+			int distMax = Math.abs(c - max);
+			return normalize(Math.min(distMin, distMax));
+		}
+		return 0.0;
+	}
 
-						transitions.get(row).get(destination).add(new GraphTransition(1.0, row, currentState, GraphTransition.TransitionType.INSERTION));
-					}
+	/**
+	 * All operations (insertion/deletion/replacement) cost 1.
+	 *
+	 * @param regex
+	 * @param arg
+	 * @param row
+	 * @param matrix
+	 */
+	private static void calculateStandardRow(CompiledRegex regex, String arg, int row, double[] matrix) {
+		final int COLUMNS = regex.numberOfStates;
+		final int current = row * COLUMNS;
 
-					for (int row = 0; row < NUM_CHARS; row++) {
-						/*
-						 *  Add a replacement edge from currentState in row to t.getDest in row+1
-						 *  if charAt row+1 == the parameter of this transition, this is a zero-cost edge
-						 */
-
-						double cost = 0.0;
-
-						if (arg.charAt(row) < t.getMin() || arg.charAt(row) > t.getMax()) {					
-							int distMin = Math.abs(arg.charAt(row) - t.getMin());
-							int distMax = Math.abs(arg.charAt(row) - t.getMax());
-							cost = normalize(Math.min(distMin, distMax));
-						}
-
-						/*
-						 * Important: even if the cost is 0 (eg match on the arg/regex in which we replace char X with X), we CANNOT
-						 * use a PHANTOM transition. Even if we do not replace anything, we still need to consider it as a replacement 
-						 * transition. Consider the case
-						 * 
-						 *  "ac".matches("abc")
-						 *  
-						 *  If we used a phantom transition to represent the alignment c/c, then it would be possible to insert 'b' in the 
-						 *  middle of "abc". On the other hand, if we use a replacement c/c, then inserting 'b' would not be allowed, as an
-						 *  insertion cannot be followed by a replacement.  
-						 */
-
-						transitions.get(row + 1).get(destination).add(new GraphTransition(cost, row, currentState, GraphTransition.TransitionType.REPLACEMENT));
+		if (row == 0) {
+			/*
+			 * First row is cost of matching empty sequence on regex, which can
+			 * only be done with insertions. The starting state has 0 costs.
+			 */
+			for (int col = 1; col < COLUMNS; col++) {
+				double min = Double.MAX_VALUE;
+				for (int t = regex.firstIncoming[col]; t < regex.firstIncoming[col + 1]; t++) {
+					int otherCol = regex.incomingSource[t];
+					//self transition
+					if (col == otherCol) {
+						continue;
 					}
+					min = Math.min(min, getSubPathCost(matrix[otherCol], 1.0));
 				}
+				matrix[col] = min;
+			}
+			return;
+		}
 
-				ensureState(transitions, currentState, NUM_CHARS);
-
-				for (int row = 0; row < NUM_CHARS; row++) {
+		final int previous = current - COLUMNS;
+		final char c = arg.charAt(row - 1);
 
-					/*
-					 * add a deletion edge with cost 1 from currentState to currentState in next row
-					 */
+		for (int col = 0; col < COLUMNS; col++) {
+			// delete the character
+			double min = getSubPathCost(matrix[previous + col], 1.0);
 
-					transitions.get(row + 1).get(currentState).add(new GraphTransition(1.0, row, currentState,  GraphTransition.TransitionType.DELETION));
-				}			
-			}
+			for (int t = regex.firstIncoming[col]; t < regex.firstIncoming[col + 1]; t++) {
+				int otherCol = regex.incomingSource[t];
 
-			// Add zero-cost transitions from accepting states to final state
-			State finalState = new State();
-			ensureState(transitions, finalState, NUM_CHARS);
-			for (State s : automaton.getStates()) {
-				if (s.isAccept()) {
-					transitions.get(NUM_CHARS).get(finalState).add(new GraphTransition(0, NUM_CHARS, s, GraphTransition.TransitionType.PHANTOM));
+				// insert a character, self transitions cannot improve the cost
+				if (otherCol != col) {
+					min = Math.min(min, getSubPathCost(matrix[current + otherCol], 1.0));
 				}
+
+				// replace the character
+				double cost = Math.ceil(getReplacementCost(c, regex.incomingMin[t], regex.incomingMax[t]));
+				min = Math.min(min, getSubPathCost(matrix[previous + otherCol], cost));
 			}
-			intToStateMap.put(numState, finalState); 
-			stateToIntMap.put(finalState, numState);	
 
-			return transitions;
+			matrix[current + col] = min;
 		}
 	}
 
 	/**
-	 * Class used to calculate the cost, ie the actual distance, based on a RegexGraph.	
-	 * 
-	 * @author arcuri
+	 * Insertion/deletion cost 1, whereas replacement is in [0,1].
+	 *
+	 * <p>Note: this is different from normal matching algorithms, as we enforce an order
+	 * among the operators: delete, replace and then insert. Each cell has 3 values, each
+	 * representing the cost of three different types of path:</p>
+	 * <ol>
+	 * <li>only deletion</li>
+	 * <li>deletions followed by replacement</li>
+	 * <li>as above, and then followed by insertions</li>
+	 * </ol>
+	 *
+	 * @param regex
+	 * @param arg
+	 * @param row
+	 * @param matrix
 	 */
-	private static class CostMatrix{
-		
-		private final int DEL = 0;
-		private final int REP = 1;
-		private final int INS = 2;
-		
-		public CostMatrix() {
-			super();			
-		}
+	private static void calculateStringAVMRow(CompiledRegex regex, String arg, int row, double[] matrix) {
+		final int COLUMNS = regex.numberOfStates;
+		final int current = row * COLUMNS * 3;
 
-		public int calculateStandardCost(RegexGraph graph){
-			final int ROWS = graph.getNumberOfRows();
-			final int COLUMNS = graph.getNumberOfColumns();
-			
-			final double[][] matrix = new double[ROWS][COLUMNS]; 
-			
-			// First row is cost of matching empty sequence on regex
-			final int FIRST_ROW = 0;
-			
+		if (row == 0) {
 			/*
-			 * init first starting state with 0 costs
+			 * First row is cost of matching empty sequence on regex. As there can be
+			 * only insertions, the delete and replace paths cannot be followed, and so
+			 * maximum distance. The starting state has 0 costs.
 			 */
-			matrix[FIRST_ROW][0] = 0;
-			
-			//look at first row (which is special)
-			for (int col = 1; col < graph.getNumberOfColumns(); col++) {
-
+			for (int col = 1; col < COLUMNS; col++) {
 				double min = Double.MAX_VALUE;
-				
-				for (GraphTransition t :  graph.getIncomingTransitions(FIRST_ROW, col)) {
-
-					int otherCol = graph.getColumn(t.fromState);
-
+				for (int t = regex.firstIncoming[col]; t < regex.firstIncoming[col + 1]; t++) {
+					int otherCol = regex.incomingSource[t];
 					//self transition
-					if (col == otherCol){
+					if (col == otherCol) {
 						continue;
 					}
-					
-					double otherCost = matrix[FIRST_ROW][otherCol];
-
-					min = Math.min(min, getSubPathCost(otherCost, Math.ceil(t.cost)));
+					min = Math.min(min, getSubPathCost(matrix[otherCol * 3 + INS], 1.0));
 				}
-				
-				matrix[FIRST_ROW][col] = min;
+				matrix[col * 3 + DEL] = Double.MAX_VALUE;
+				matrix[col * 3 + REP] = Double.MAX_VALUE;
+				matrix[col * 3 + INS] = min;
 			}
-		
-			//then look at the other rows
-			for(int i=1; i<ROWS; i++){
-				
-				for (int col = 0; col < COLUMNS; col++) {
-					
-					matrix[i][col] = Double.MAX_VALUE;
-					
-					for (GraphTransition t : graph.getIncomingTransitions(i, col)) {
-						
-						int otherCol = graph.getColumn(t.fromState);
-						int otherRow = t.fromRow;
-						
-						if(! t.type.equals(GraphTransition.TransitionType.PHANTOM)){														
-							matrix[i][col] = Math.min(matrix[i][col], getSubPathCost(matrix[otherRow][otherCol],Math.ceil(t.cost)));							
-						} else {
-							/*
-							 * artificial transition to final/sink state, so just take same values as previous state
-							 */
-							matrix[i][col] = Math.min(matrix[i][col], matrix[otherRow][otherCol]);
-							
-						}
-					}
-				}
-			}
-			
-			double min = matrix[ROWS-1][COLUMNS-1];			
-			return (int)Math.round(min);
+			return;
 		}
-		
-		/**
-		 * Note: this is different from normal matching algorithms, as we enforce an order
-		 * among the operators: delete, replace and then insert. 
-		 * @param graph
-		 * @return
-		 */
-		public double calculateCostForStringAVM(RegexGraph graph){
-			
-			final int ROWS = graph.getNumberOfRows();
-			final int COLUMNS = graph.getNumberOfColumns();
-			
+
+		final int previous = current - COLUMNS * 3;
+		final char c = arg.charAt(row - 1);
+
+		for (int col = 0; col < COLUMNS; col++) {
 			/*
-			 * we create a matrix based on each row and each column in the graph.
-			 * Each cell has 3 values, each representing the cost of thre different types of path:
-			 * 
-			 * 0) only deletion
-			 * 1) deletions followed by replacement
-			 * 2) as above, and then followed by insertions
+			 * deletion can only follow a deletion path, but from this state on,
+			 * any new path can be followed
 			 */
-			final double[][][] matrix = new double[ROWS][COLUMNS][3]; 
-			
-			calculateInsertionCostOnFirstRow(graph, matrix);
-			
-			for(int i=1; i<ROWS; i++){
-				
-				for (int col = 0; col < COLUMNS; col++) {
-					
-					/*
-					 * unless a path is explicitly updated, it will have maximum distance by default
-					 */
-					matrix[i][col][DEL] = Double.MAX_VALUE;
-					matrix[i][col][REP] = Double.MAX_VALUE;
-					matrix[i][col][INS] = Double.MAX_VALUE;
-					
-					for (GraphTransition t : graph.getIncomingTransitions(i, col)) {
-						
-						int otherCol = graph.getColumn(t.fromState);
-						int otherRow = t.fromRow;
-						
-						if(t.type.equals(GraphTransition.TransitionType.INSERTION)){							
-							assert otherRow == i;			
-							/*
-							 * if we have an insertion, only the insertion path can be continued.
-							 * that's the reason why on the left side we only update for [INS].
-							 * An insertion can continue any type of path (and so all types are present on the right side). 
-							 */
-							matrix[i][col][INS] = Math.min(matrix[i][col][INS], getSubPathCost(matrix[otherRow][otherCol][DEL],t.cost));
-							matrix[i][col][INS] = Math.min(matrix[i][col][INS], getSubPathCost(matrix[otherRow][otherCol][REP],t.cost));
-							matrix[i][col][INS] = Math.min(matrix[i][col][INS], getSubPathCost(matrix[otherRow][otherCol][INS],t.cost));
-						} else if(t.type.equals(GraphTransition.TransitionType.REPLACEMENT)){
-							/*
-							 * if we have a replacement, then we cannot continue a delete path.
-							 * So, no [DEL] on the left side.
-							 * A replacement can continue a delete or replace path, but not an insertion one (and so [DEL] and
-							 * [REP] on right side)
-							 */
-							matrix[i][col][REP] = Math.min(matrix[i][col][REP], getSubPathCost(matrix[otherRow][otherCol][DEL],t.cost));
-							matrix[i][col][REP] = Math.min(matrix[i][col][REP], getSubPathCost(matrix[otherRow][otherCol][REP],t.cost));
-							/*
-							 * from this state on, an insertion path can be followed, with same cost (ie right side) as replacement path
-							 */
-							matrix[i][col][INS] = Math.min(matrix[i][col][INS], getSubPathCost(matrix[otherRow][otherCol][DEL],t.cost));
-							matrix[i][col][INS] = Math.min(matrix[i][col][INS], getSubPathCost(matrix[otherRow][otherCol][REP],t.cost));
-						} else if(t.type.equals(GraphTransition.TransitionType.DELETION)){
-							/*
-							 * deletion can only follow a deletion path (so only [DEL] or right side). 
-							 * but, from this state on, any new path can be followed (so all on left side)
-							 */
-							matrix[i][col][DEL] = Math.min(matrix[i][col][DEL], getSubPathCost(matrix[otherRow][otherCol][DEL],t.cost));
-							matrix[i][col][REP] = Math.min(matrix[i][col][REP], getSubPathCost(matrix[otherRow][otherCol][DEL],t.cost));
-							matrix[i][col][INS] = Math.min(matrix[i][col][INS], getSubPathCost(matrix[otherRow][otherCol][DEL],t.cost));
-						} else if(t.type.equals(GraphTransition.TransitionType.PHANTOM)){
-							assert t.cost == 0;							
-							/*
-							 * artificial transition to final/sink state, so just take same values as previous state
-							 */
-							matrix[i][col][DEL] = Math.min(matrix[i][col][DEL], matrix[otherRow][otherCol][DEL]);
-							matrix[i][col][REP] = Math.min(matrix[i][col][REP], matrix[otherRow][otherCol][REP]);
-							matrix[i][col][INS] = Math.min(matrix[i][col][INS], matrix[otherRow][otherCol][INS]);
-						}
-					}
-				}
-				
+			double deletion = getSubPathCost(matrix[previous + col * 3 + DEL], 1.0);
+			double del = deletion;
+			double rep = deletion;
+			double ins = deletion;
+
+			for (int t = regex.firstIncoming[col]; t < regex.firstIncoming[col + 1]; t++) {
+				int other = regex.incomingSource[t] * 3;
+
 				/*
-				 * TODO: The algorithm of Myers's paper, at page 12, makes a distinction between D and E transitions.
-				 * Insertions of type E are done last. Not fully clear if it has an effect here: ie, recall that
-				 * here we do minimization (calculate distance) and not maximization (similarity)  
+				 * if we have an insertion, only the insertion path can be continued.
+				 * An insertion can continue any type of path. Self transitions cannot
+				 * improve the cost, as the insertion path is never more expensive than
+				 * the others.
 				 */
-			}
-			
-			/*
-			 * get the minimum among the 3 different paths in the sink state
-			 */
-			double min = Double.MAX_VALUE;
-			for(double value : matrix[ROWS-1][COLUMNS-1]){
-				if(value < min){
-					min = value;
+				if (other != col * 3) {
+					ins = Math.min(ins, getSubPathCost(matrix[current + other + DEL], 1.0));
+					ins = Math.min(ins, getSubPathCost(matrix[current + other + REP], 1.0));
+					ins = Math.min(ins, getSubPathCost(matrix[current + other + INS], 1.0));
 				}
-			}
-			
-			return min;
-		}
 
-		/**
-		 * We cannot just do previousStateCost + transitionCost, as there might be computational overflows
-		 * 
-		 * @param previousStateCost
-		 * @param transitionCost
-		 * @return
-		 * @throws IllegalArgumentException
-		 */
-		private double getSubPathCost(double previousStateCost, double transitionCost) throws IllegalArgumentException{
-			if(previousStateCost<0){
-				throw new IllegalArgumentException("previousStateCost cannot be negative: "+previousStateCost);
-			}
-			if(transitionCost<0){
-				throw new IllegalArgumentException("transitionCost cannot be negative: "+transitionCost);
-			}
-			
-			if(previousStateCost == Double.MAX_VALUE || transitionCost == Double.MAX_VALUE){
-				return Double.MAX_VALUE;
-			}
-			
-			double sum =  previousStateCost + transitionCost;
-			
-			if(sum<previousStateCost || sum<transitionCost){
 				/*
-				 * likely overflow
+				 * if we have a replacement, then we cannot continue a delete path, and
+				 * it cannot continue an insertion one. From this state on, an insertion
+				 * path can be followed, with same cost as replacement path
 				 */
-				return Double.MAX_VALUE;
+				double cost = getReplacementCost(c, regex.incomingMin[t], regex.incomingMax[t]);
+				double replacement = Math.min(getSubPathCost(matrix[previous + other + DEL], cost),
+						getSubPathCost(matrix[previous + other + REP], cost));
+				rep = Math.min(rep, replacement);
+				ins = Math.min(ins, replacement);
 			}
-			
-			return sum;
+
+			matrix[current + col * 3 + DEL] = del;
+			matrix[current + col * 3 + REP] = rep;
+			matrix[current + col * 3 + INS] = ins;
 		}
-		
-		/**
-		 * First row is special, ie very different from the others
-		 * 
-		 * @param graph
-		 * @param matrix
+
+		/*
+		 * TODO: The algorithm of Myers's paper, at page 12, makes a distinction between D and E transitions.
+		 * Insertions of type E are done last. Not fully clear if it has an effect here: ie, recall that
+		 * here we do minimization (calculate distance) and not maximization (similarity)
 		 */
-		private void calculateInsertionCostOnFirstRow(RegexGraph graph, final double[][][] matrix) {
-			
-			// First row is cost of matching empty sequence on regex
-			final int FIRST_ROW = 0;
-			
+	}
+
+	/**
+	 * We cannot just do previousStateCost + transitionCost, as there might be computational overflows
+	 * 
+	 * @param previousStateCost
+	 * @param transitionCost
+	 * @return
+	 * @throws IllegalArgumentException
+	 */
+	private static double getSubPathCost(double previousStateCost, double transitionCost) throws IllegalArgumentException{
+		if(previousStateCost<0){
+			throw new IllegalArgumentException("previousStateCost cannot be negative: "+previousStateCost);
+		}
+		if(transitionCost<0){
+			throw new IllegalArgumentException("transitionCost cannot be negative: "+transitionCost);
+		}
+		
+		if(previousStateCost == Double.MAX_VALUE || transitionCost == Double.MAX_VALUE){
+			return Double.MAX_VALUE;
+		}
+		
+		double sum =  previousStateCost + transitionCost;
+		
+		if(sum<previousStateCost || sum<transitionCost){
 			/*
-			 * init first starting state with 0 costs
+			 * likely overflow
 			 */
-			matrix[FIRST_ROW][0][0] = 0;
-			matrix[FIRST_ROW][0][1] = 0;
-			matrix[FIRST_ROW][0][2] = 0;
-			
-			for (int col = 1; col < graph.getNumberOfColumns(); col++) {
-
-				double min = Double.MAX_VALUE;
-				
-				for (GraphTransition t :  graph.getIncomingTransitions(FIRST_ROW, col)) {
-					
-					/*
-					 * on first row, there can be only insertions coming from the same row,
-					 * apart from last node that can have a phantom transition to sink state
-					 */
-					assert t.type.equals(GraphTransition.TransitionType.INSERTION) ||
-						t.type.equals(GraphTransition.TransitionType.PHANTOM);
-					assert t.fromRow == 0;
-					
-					int otherCol = graph.getColumn(t.fromState);
-
-					//self transition
-					if (col == otherCol){
-						continue;
-					}
-					
-					double otherCost = matrix[FIRST_ROW][otherCol][2];
-
-					min = Math.min(min, getSubPathCost(otherCost, t.cost));
-				}
-				
-				/*
-				 * as there can be only insertions, the delete and replace paths cannot be followed, and 
-				 * so maximum distance
-				 */
-				matrix[FIRST_ROW][col][0] = Double.MAX_VALUE;
-				matrix[FIRST_ROW][col][1] = Double.MAX_VALUE;				
-				matrix[FIRST_ROW][col][2] = min;
-			}
-		}		
+			return Double.MAX_VALUE;
+		}
+		
+		return sum;
 	}
 }
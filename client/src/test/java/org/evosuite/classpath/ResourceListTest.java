@@ -24,6 +24,14 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.evosuite.TestGenerationContext;
 import org.evosuite.classpath.ClassPathHandler;
@@ -120,11 +128,45 @@ public class ResourceListTest {
 		Assert.assertTrue(classes.contains(target));
 	}
 	
+	@Test
+	public void testConcurrentAccess() throws Exception {
+		ResourceList resources = ResourceList.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT());
+		String cp = ClassPathHandler.getInstance().getTargetProjectClasspath();
+		Callable<Set<String>> task = () -> {
+			Assert.assertTrue(resources.hasClass(SubPackageFoo.class.getName()));
+			Assert.assertFalse(resources.hasClass(basePrefix + ".NotThere"));
+			return resources.getAllClasses(cp, basePrefix, true, false);
+		};
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Set<String>>> results = executor.invokeAll(
+					IntStream.range(0, 32).mapToObj(i -> task).collect(Collectors.toList()));
+			for (Future<Set<String>> result : results) {
+				Assert.assertEquals(4, result.get().size());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
 	@Test
 	public void testHasClass(){
 		Assert.assertTrue(ResourceList.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).hasClass(Foo.class.getName()));
 		Assert.assertTrue(ResourceList.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).hasClass(SubPackageFoo.class.getName()));		
 	}
+
+	@Test
+	public void testHasClassOnlyForExactName(){
+		ResourceList resources = ResourceList.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT());
+		String name = Foo.class.getName();
+		Assert.assertFalse(resources.hasClass(name.replace(".", "..")));
+		Assert.assertFalse(resources.hasClass("." + name));
+		Assert.assertFalse(resources.hasClass(name + "."));
+		// would be found by a plain file check on a case-insensitive file system
+		Assert.assertFalse(resources.hasClass(name.toLowerCase()));
+		Assert.assertTrue(resources.hasClass(name));
+	}
 	
 	
 	@Test
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.ambiguity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class BitRowTest {
+
+    @Test
+    public void testFromString() {
+        BitRow row = new BitRow("0110");
+        assertEquals(4, row.length());
+        assertFalse(row.get(0));
+        assertTrue(row.get(1));
+        assertTrue(row.get(2));
+        assertFalse(row.get(3));
+        assertEquals(2, row.cardinality());
+        assertEquals("0110", row.toString());
+    }
+
+    @Test
+    public void testExtendAcrossWords() {
+        StringBuilder bits = new StringBuilder();
+        for (int i = 0; i < 70; i++) {
+            bits.append(i % 3 == 0 ? '1' : '0');
+        }
+        BitRow row = new BitRow(bits).extend(10);
+        row.set(75);
+        assertEquals(80, row.length());
+        assertEquals(bits.toString() + "0000010000", row.toString());
+    }
+
+    @Test
+    public void testEqualityIncludesLength() {
+        assertEquals(new BitRow("101"), new BitRow("101"));
+        assertEquals(new BitRow("101").hashCode(), new BitRow("101").hashCode());
+        assertFalse(new BitRow("101").equals(new BitRow("1010")));
+        assertFalse(new BitRow("101").equals(new BitRow("100")));
+    }
+
+    @Test
+    public void testGrouping() {
+        Map<BitRow, Integer> groups = new HashMap<>();
+        for (String s : new String[] { "100", "010", "011", "100" }) {
+            BitRow row = new BitRow(s);
+            Integer count = groups.get(row);
+            groups.put(row, count == null ? 1 : count + 1);
+        }
+        assertEquals(3, groups.size());
+        assertEquals(0.25, AmbiguityCoverageFactory.getAmbiguity(4, groups), 0.0);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+public class NoveltyFunctionTest {
+
+    /** Distance between the first genes of two chromosomes */
+    private static class GeneDistance extends NoveltyFunction<DummyChromosome> {
+
+        private int distances = 0;
+
+        @Override
+        public double getDistance(DummyChromosome individual1, DummyChromosome individual2) {
+            distances++;
+            return Math.abs(individual1.get(0) - individual2.get(0));
+        }
+    }
+
+    @Test
+    public void testAllNeighboursMatchesSingleNovelty() {
+        List<DummyChromosome> population = Arrays.asList(new DummyChromosome(0), new DummyChromosome(1),
+                new DummyChromosome(5), new DummyChromosome(9));
+        GeneDistance function = new GeneDistance();
+
+        double[] novelty = function.getNovelty(population, Collections.emptyList(), 0);
+
+        for (int i = 0; i < population.size(); i++) {
+            assertEquals(function.getNovelty(population.get(i), population), novelty[i], 1e-9);
+        }
+    }
+
+    @Test
+    public void testNearestNeighboursAndArchive() {
+        List<DummyChromosome> population = Arrays.asList(new DummyChromosome(0), new DummyChromosome(1),
+                new DummyChromosome(9));
+        List<DummyChromosome> archive = Collections.singletonList(new DummyChromosome(8));
+        GeneDistance function = new GeneDistance();
+
+        double[] novelty = function.getNovelty(population, archive, 1);
+
+        assertEquals(1.0, novelty[0], 0.0);
+        assertEquals(1.0, novelty[1], 0.0);
+        assertEquals(1.0, novelty[2], 0.0);
+        // Three pairs within the population and three distances to the archive
+        assertEquals(6, function.distances);
+
+        novelty = function.getNovelty(population, archive, 2);
+        assertEquals(4.5, novelty[0], 0.0);
+        assertEquals(4.0, novelty[1], 0.0);
+        assertEquals(4.5, novelty[2], 0.0);
+    }
+
+    @Test
+    public void testIndividualInArchiveIsNotItsOwnNeighbour() {
+        DummyChromosome parent = new DummyChromosome(0);
+        List<DummyChromosome> population = Arrays.asList(parent, new DummyChromosome(4));
+        List<DummyChromosome> archive = Arrays.asList(parent, new DummyChromosome(2));
+        GeneDistance function = new GeneDistance();
+
+        double[] novelty = function.getNovelty(population, archive, 0);
+
+        // the parent is only compared with the other individual and the other archive entry
+        assertEquals(3.0, novelty[0], 0.0);
+        // the other individual is compared with the parent once for the population and once for the archive
+        assertEquals(10.0 / 3, novelty[1], 1e-9);
+
+        novelty = function.getNovelty(population, archive, 1);
+        assertEquals(2.0, novelty[0], 0.0);
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.archive;
+
+import org.evosuite.Properties;
+import org.evosuite.coverage.line.LineCoverageTestFitness;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.secondaryobjectives.MinimizeLengthSecondaryObjective;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.evosuite.testsuite.TestSuiteFitnessFunction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+
+public class ConcurrentCoverageArchiveTest {
+
+    private static final String CLASS_NAME = "com.example.Foo";
+
+    private Properties.Criterion[] criteria;
+
+    private final MinimizeLengthSecondaryObjective length = new MinimizeLengthSecondaryObjective();
+
+    private final ConcurrentCoverageArchive archive = new ConcurrentCoverageArchive();
+
+    @Before
+    public void setUp() {
+        criteria = Properties.CRITERION;
+        Properties.CRITERION = new Properties.Criterion[] { Properties.Criterion.LINE };
+        TestChromosome.addSecondaryObjective(length);
+    }
+
+    @After
+    public void tearDown() {
+        TestChromosome.removeSecondaryObjective(length);
+        Properties.CRITERION = criteria;
+    }
+
+    private static TestChromosome test(int size) {
+        DefaultTestCase test = new DefaultTestCase();
+        for (int i = 0; i < size; i++) {
+            test.addStatement(new IntPrimitiveStatement(test, i));
+        }
+        TestChromosome chromosome = new TestChromosome();
+        chromosome.setTestCase(test);
+        return chromosome;
+    }
+
+    @Test
+    public void testCoveredAndUncoveredTargets() {
+        TestFitnessFunction line1 = new LineCoverageTestFitness(CLASS_NAME, "foo()V", 1);
+        TestFitnessFunction line2 = new LineCoverageTestFitness(CLASS_NAME, "foo()V", 2);
+        archive.addTarget(line1);
+        archive.addTarget(line2);
+        archive.addTarget(line1);
+        assertEquals(2, archive.getNumberOfTargets());
+        assertTrue(archive.isArchiveEmpty());
+
+        archive.updateArchive(line1, test(1), 0.5);
+        assertFalse(archive.hasSolution(line1));
+        assertFalse(archive.hasBeenUpdated());
+
+        TestChromosome solution = test(1);
+        archive.updateArchive(line1, solution, 0.0);
+        assertTrue(archive.hasBeenUpdated());
+        assertSame(solution, archive.getSolution(line1));
+        assertEquals(1, archive.getNumberOfCoveredTargets());
+        assertEquals(1, archive.getNumberOfUncoveredTargets());
+        assertTrue(archive.getCoveredTargets().contains(line1));
+        assertFalse(archive.getUncoveredTargets().contains(line1));
+        assertEquals(1, archive.getNumOfRemainingTargets(CLASS_NAME + "foo()V"));
+        assertNotSame(solution, archive.getRandomSolution());
+    }
+
+    @Test
+    public void testOnlyBetterSolutionsReplaceCurrent() {
+        TestFitnessFunction line = new LineCoverageTestFitness(CLASS_NAME, "foo()V", 1);
+        archive.addTarget(line);
+
+        TestChromosome shortTest = test(2);
+        archive.updateArchive(line, shortTest, 0.0);
+        archive.updateArchive(line, test(3), 0.0);
+        assertSame(shortTest, archive.getSolution(line));
+
+        TestChromosome shorterTest = test(1);
+        archive.updateArchive(line, shorterTest, 0.0);
+        assertSame(shorterTest, archive.getSolution(line));
+        assertEquals(1, archive.getNumberOfSolutions());
+    }
+
+    @Test
+    public void testConcurrentUpdatesKeepShortestSolution() throws InterruptedException {
+        List<TestFitnessFunction> lines = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            TestFitnessFunction line = new LineCoverageTestFitness(CLASS_NAME, "foo()V", i);
+            lines.add(line);
+            archive.addTarget(line);
+        }
+
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int size = 20; size >= 1; size--) {
+                    for (TestFitnessFunction line : lines) {
+                        archive.updateArchive(line, test(size + offset), 0.0);
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(lines.size(), archive.getNumberOfCoveredTargets());
+        assertEquals(0, archive.getNumberOfUncoveredTargets());
+        for (TestFitnessFunction line : lines) {
+            assertEquals(1, archive.getSolution(line).size());
+        }
+    }
+
+    @Test
+    public void testMergedSolutionKeepsArchiveEnabled() {
+        TestFitnessFunction line1 = new LineCoverageTestFitness(CLASS_NAME, "foo()V", 1);
+        TestFitnessFunction line2 = new LineCoverageTestFitness(CLASS_NAME, "foo()V", 2);
+        archive.addTarget(line1);
+        archive.addTarget(line2);
+        TestChromosome solution = test(1);
+        archive.updateArchive(line1, solution, 0.0);
+
+        List<Boolean> archiveEnabled = new ArrayList<>();
+        TestSuiteFitnessFunction fitness = new TestSuiteFitnessFunction() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public double getFitness(TestSuiteChromosome suite) {
+                archiveEnabled.add(Properties.TEST_ARCHIVE);
+                // updates made while re-evaluating the merged solution are ignored
+                archive.updateArchive(line2, test(1), 0.0);
+                return 0.0;
+            }
+        };
+        TestSuiteChromosome suite = new TestSuiteChromosome();
+        suite.setFitness(fitness, 1.0);
+
+        TestSuiteChromosome merged = archive.mergeArchiveAndSolution(suite);
+        assertEquals(1, merged.size());
+        assertSame(solution, merged.getTestChromosome(0));
+        assertEquals(1, archiveEnabled.size());
+        assertTrue(archiveEnabled.get(0));
+        assertFalse(archive.hasSolution(line2));
+
+        archive.updateArchive(line2, test(1), 0.0);
+        assertTrue(archive.hasSolution(line2));
+    }
+}
@@ -23,6 +23,8 @@ package org.evosuite.instrumentation.testability;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.EmptyStackException;
+
 import org.evosuite.instrumentation.testability.BooleanHelper;
 import org.junit.Before;
 import org.junit.Test;
@@ -222,4 +224,33 @@ public class BooleanHelperTest {
 		           distanceTrue1 < distanceTrue2);
 	}
 
+	@Test
+	public void testParameterStacks() {
+		BooleanHelper.pushParameter(true);
+		BooleanHelper.pushParameter(false);
+		BooleanHelper.pushParameter(-0.0f);
+		BooleanHelper.pushParameter(Double.NaN);
+		BooleanHelper.pushParameter(Long.MIN_VALUE);
+		BooleanHelper.pushParameter((char) 0xffff);
+		BooleanHelper.pushParameter((byte) -1);
+		for (int i = 0; i < 100; i++)
+			BooleanHelper.pushParameter(i - 50);
+
+		for (int i = 99; i >= 0; i--)
+			assertEquals(i - 50, BooleanHelper.popParameterInt());
+		assertEquals((byte) -1, BooleanHelper.popParameterByte());
+		assertEquals((char) 0xffff, BooleanHelper.popParameterChar());
+		assertEquals(Long.MIN_VALUE, BooleanHelper.popParameterLong());
+		assertTrue(Double.isNaN(BooleanHelper.popParameterDouble()));
+		assertEquals(Float.floatToRawIntBits(-0.0f),
+		             Float.floatToRawIntBits(BooleanHelper.popParameterFloat()));
+		assertEquals(-BooleanHelper.K, BooleanHelper.popParameterIntFromBoolean());
+		assertTrue(BooleanHelper.popParameterBoolean());
+	}
+
+	@Test(expected = EmptyStackException.class)
+	public void testPopEmptyParameterStack() {
+		BooleanHelper.popParameterShort();
+	}
+
 }
@@ -335,4 +335,37 @@ public class StringHelperTest {
 		assertTrue(result1 < result4);
 
 	}
+
+	@Test
+	public void testEditDistance() {
+		assertEquals(0, StringHelper.editDistance("kitten", "kitten"));
+		assertEquals(3, StringHelper.editDistance("kitten", "sitting"));
+		assertEquals(4, StringHelper.editDistance("", "abcd"));
+		assertEquals(2, StringHelper.editDistance("xabcx", "yabcy"));
+	}
+
+	@Test
+	public void testBoundedEditDistance() {
+		assertEquals(3, StringHelper.editDistance("kitten", "sitting", 4));
+		assertEquals(3, StringHelper.editDistance("kitten", "sitting", 3));
+		assertEquals(2, StringHelper.editDistance("kitten", "sitting", 2));
+		assertEquals(1, StringHelper.editDistance("a", "abcdef", 1));
+		assertEquals(0, StringHelper.editDistance("abc", "abc", 0));
+	}
+
+	@Test
+	public void testStartsWithAndEndsWith() {
+		assertEquals(BooleanHelper.K, StringHelper.StringStartsWith("foobar", "bar", 3));
+		assertTrue(StringHelper.StringStartsWith("foobar", "baz", 3) < 0);
+		assertEquals(BooleanHelper.K, StringHelper.StringEndsWith("foobar", "bar"));
+		assertTrue(StringHelper.StringEndsWith("foobar", "baz") < 0);
+		assertTrue(StringHelper.StringEndsWith("ar", "bar") < 0);
+	}
+
+	@Test
+	public void testRegionMatchesSameRegion() {
+		assertEquals(BooleanHelper.K, StringHelper.StringRegionMatches("foobar", 3, "xbarx", 1, 3));
+		assertTrue(StringHelper.StringRegionMatches("foobar", 3, "xbaz", 1, 3) < 0);
+		assertEquals(BooleanHelper.K, StringHelper.StringRegionMatches("fooBAR", true, 3, "xbarx", 1, 3));
+	}
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.lm;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LangModelTest {
+
+    @Test
+    public void testResourceIsLoadedOnce() throws Exception {
+        LangModel first = LangModel.forResource("ukwac_char_lm");
+        assertSame(first, LangModel.forResource("ukwac_char_lm"));
+    }
+
+    @Test
+    public void testEnglishScoresHigherThanNoise() throws Exception {
+        LangModel model = LangModel.forResource("ukwac_char_lm");
+        assertTrue(model.score("hello world") > model.score("qxz#~j@vk"));
+    }
+
+    @Test
+    public void testPredictedCharsAreOrderedByProbability() throws Exception {
+        LangModel model = LangModel.forResource("ukwac_char_lm");
+        double last = 1.0;
+        for (int i = 0; i < 10; i++) {
+            String c = model.predict_char("t", i);
+            assertNotNull(c);
+            double p = model.predict_char_prob("t", i);
+            assertTrue(p <= last);
+            last = p;
+        }
+        assertNull(model.predict_char("t", 10));
+        assertEquals(0.0, model.predict_char_prob("t", 10), 0.0);
+    }
+}
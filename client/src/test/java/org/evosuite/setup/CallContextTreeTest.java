@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.setup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.LinkedList;
+
+import org.evosuite.testcase.execution.MethodCall;
+import org.junit.Test;
+
+public class CallContextTreeTest {
+
+    @Test
+    public void testSameContextAsStack() {
+        LinkedList<MethodCall> stack = new LinkedList<>();
+        stack.push(new MethodCall("", "", 0, 0, 0));
+        stack.push(new MethodCall("com.example.Foo", "bar()V", 1, 0, 1));
+        stack.push(new MethodCall("com.example.Foo", "baz()V", 2, 0, 2));
+
+        CallContextTree tree = CallContextTree.getInstance();
+        int node = tree.append(CallContextTree.ROOT, "com.example.Foo", "bar()V");
+        node = tree.append(node, "com.example.Foo", "baz()V");
+
+        CallContext expected = new CallContext(stack);
+        assertEquals(expected, tree.getContext(node));
+        assertEquals(expected.hashCode(), tree.getContext(node).hashCode());
+    }
+
+    @Test
+    public void testContextsAreInterned() {
+        CallContextTree tree = CallContextTree.getInstance();
+        int first = tree.append(CallContextTree.ROOT, "com.example.Foo", "bar()V");
+        int second = tree.append(CallContextTree.ROOT, "com.example.Foo", "bar()V");
+        assertEquals(first, second);
+        assertSame(tree.getContext(first), tree.getContext(second));
+    }
+
+    @Test
+    public void testRecursionIsCollapsed() {
+        CallContextTree tree = CallContextTree.getInstance();
+        int node = tree.append(CallContextTree.ROOT, "com.example.Foo", "rec()V");
+        node = tree.append(node, "com.example.Foo", "rec()V");
+        int collapsed = tree.append(node, "com.example.Foo", "rec()V");
+        assertEquals(node, collapsed);
+        assertEquals(2, tree.getContext(collapsed).size());
+    }
+
+    @Test
+    public void testRootIsEmpty() {
+        assertTrue(CallContextTree.getInstance().getContext(CallContextTree.ROOT).isEmpty());
+    }
+
+    @Test
+    public void testResetDiscardsContexts() {
+        CallContextTree tree = CallContextTree.getInstance();
+        tree.append(CallContextTree.ROOT, "com.example.Foo", "bar()V");
+
+        CallContextTree.reset();
+        CallContextTree fresh = CallContextTree.getInstance();
+        assertNotSame(tree, fresh);
+        assertEquals(1, fresh.size());
+        assertTrue(fresh.getContext(CallContextTree.ROOT).isEmpty());
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.evosuite.symbolic.expr.Comparator;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.IntegerConstraint;
+import org.evosuite.symbolic.expr.Operator;
+import org.evosuite.symbolic.expr.bv.IntegerBinaryExpression;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.junit.Test;
+
+public class ConstraintSlicerTest {
+
+    private static IntegerVariable var(String name) {
+        return new IntegerVariable(name, 0, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    private static IntegerConstraint eq(IntegerVariable left, long value) {
+        return new IntegerConstraint(left, Comparator.EQ, new IntegerConstant(value));
+    }
+
+    private static IntegerConstraint eq(IntegerVariable left, IntegerVariable right) {
+        return new IntegerConstraint(left, Comparator.EQ, right);
+    }
+
+    @Test
+    public void testIndependentConstraintsAreDropped() {
+        IntegerVariable x = var("x");
+        IntegerVariable y = var("y");
+
+        ConstraintSlicer slicer = new ConstraintSlicer();
+        Constraint<?> c1 = eq(x, 1);
+        Constraint<?> c2 = eq(y, 2);
+        slicer.add(c1);
+        slicer.add(c2);
+
+        Constraint<?> target = eq(x, 3);
+        List<Constraint<?>> slice = slicer.slice(target);
+        assertEquals(2, slice.size());
+        assertEquals(c1, slice.get(0));
+        assertEquals(target, slice.get(1));
+        // the target is not added to the slicer
+        assertEquals(2, slicer.size());
+    }
+
+    @Test
+    public void testTransitiveDependencies() {
+        IntegerVariable x = var("x");
+        IntegerVariable y = var("y");
+        IntegerVariable z = var("z");
+        IntegerVariable w = var("w");
+
+        // z is only connected to x through y, and the constraint linking
+        // y to x comes after the one on z
+        ConstraintSlicer slicer = new ConstraintSlicer();
+        Constraint<?> c1 = eq(z, 1);
+        Constraint<?> c2 = eq(y, z);
+        Constraint<?> c3 = eq(w, 5);
+        Constraint<?> c4 = new IntegerConstraint(
+                new IntegerBinaryExpression(x, Operator.PLUS, y, 0L), Comparator.LT,
+                new IntegerConstant(10));
+        slicer.add(c1);
+        slicer.add(c2);
+        slicer.add(c3);
+        slicer.add(c4);
+
+        Constraint<?> target = eq(x, 7);
+        List<Constraint<?>> slice = slicer.slice(target);
+        assertEquals(4, slice.size());
+        assertEquals(c1, slice.get(0));
+        assertEquals(c2, slice.get(1));
+        assertEquals(c4, slice.get(2));
+        assertEquals(target, slice.get(3));
+    }
+
+    @Test
+    public void testTargetWithoutVariables() {
+        IntegerVariable x = var("x");
+        ConstraintSlicer slicer = new ConstraintSlicer();
+        slicer.add(eq(x, 1));
+
+        Constraint<?> target = new IntegerConstraint(new IntegerConstant(1), Comparator.EQ,
+                new IntegerConstant(2));
+        assertTrue(slicer.slice(target).isEmpty());
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.evosuite.symbolic.expr.Comparator;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.IntegerConstraint;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.evosuite.symbolic.solver.SolverResult;
+import org.junit.Test;
+
+public class DSESolverPipelineTest {
+
+    private static List<Constraint<?>> query(long value) {
+        IntegerVariable x = new IntegerVariable("x", 0, Long.MIN_VALUE, Long.MAX_VALUE);
+        List<Constraint<?>> query = new ArrayList<>();
+        query.add(new IntegerConstraint(x, Comparator.EQ, new IntegerConstant(value)));
+        return query;
+    }
+
+    private static boolean submit(DSESolverPipeline pipeline, List<Constraint<?>> query) {
+        return pipeline.submit(query, new HashSet<>(query), null);
+    }
+
+    /**
+     * Solves each query to a SAT result whose model maps "x" to the query itself
+     */
+    private static SolverResult solution(List<Constraint<?>> query) {
+        return SolverResult.newSAT(Collections.singletonMap("x", query));
+    }
+
+    @Test
+    public void testQueriesArePolledInSubmissionOrder() {
+        // later queries are solved faster than earlier ones
+        Function<List<Constraint<?>>, SolverResult> solving = q -> {
+            long value = ((IntegerConstant) ((IntegerConstraint) q.get(0)).getRightOperand()).getConcreteValue();
+            try {
+                Thread.sleep(10 * (5 - value));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return solution(q);
+        };
+
+        DSESolverPipeline pipeline = new DSESolverPipeline(4, solving);
+        try {
+            assertTrue(pipeline.isConcurrent());
+            List<List<Constraint<?>>> queries = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                queries.add(query(i));
+                assertTrue(submit(pipeline, queries.get(i)));
+            }
+            assertEquals(5, pipeline.size());
+
+            for (List<Constraint<?>> query : queries) {
+                DSESolverPipeline.PendingQuery pendingQuery = pipeline.poll();
+                assertSame(query, pendingQuery.getQuery());
+                assertSame(query, pipeline.getResult(pendingQuery).getModel().get("x"));
+            }
+            assertTrue(pipeline.isEmpty());
+            assertNull(pipeline.poll());
+        } finally {
+            pipeline.shutdown();
+        }
+    }
+
+    @Test
+    public void testIdenticalQueriesInFlightAreSubmittedOnce() {
+        AtomicInteger solved = new AtomicInteger(0);
+        DSESolverPipeline pipeline = new DSESolverPipeline(1, q -> {
+            solved.incrementAndGet();
+            return solution(q);
+        });
+
+        assertFalse(pipeline.isConcurrent());
+        assertTrue(submit(pipeline, query(1)));
+        assertFalse(submit(pipeline, query(1)));
+        assertTrue(submit(pipeline, query(2)));
+        assertEquals(2, pipeline.size());
+
+        DSESolverPipeline.PendingQuery pendingQuery = pipeline.poll();
+        pipeline.getResult(pendingQuery);
+        assertEquals(1, solved.get());
+
+        // once polled, the query is no longer in flight
+        assertTrue(submit(pipeline, query(1)));
+        assertEquals(2, pipeline.size());
+        pipeline.shutdown();
+    }
+
+    @Test
+    public void testDiscardedQueriesAreNotSolved() throws InterruptedException {
+        Set<Object> solved = ConcurrentHashMap.newKeySet();
+        CountDownLatch release = new CountDownLatch(1);
+        Function<List<Constraint<?>>, SolverResult> solving = q -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            solved.add(q);
+            return solution(q);
+        };
+
+        DSESolverPipeline pipeline = new DSESolverPipeline(2, solving);
+        try {
+            List<Constraint<?>> first = query(1);
+            List<Constraint<?>> second = query(2);
+            List<Constraint<?>> third = query(3);
+            submit(pipeline, first);
+            submit(pipeline, second);
+            submit(pipeline, third);
+
+            // both workers are blocked, the third query is still queued
+            DSESolverPipeline.PendingQuery p1 = pipeline.poll();
+            DSESolverPipeline.PendingQuery p2 = pipeline.poll();
+            DSESolverPipeline.PendingQuery p3 = pipeline.poll();
+            pipeline.discard(p3);
+            release.countDown();
+
+            assertSame(first, pipeline.getResult(p1).getModel().get("x"));
+            assertSame(second, pipeline.getResult(p2).getModel().get("x"));
+            assertFalse(solved.contains(third));
+        } finally {
+            pipeline.shutdown();
+        }
+    }
+
+    @Test
+    public void testDiscardedQueriesAreNotSolvedSequentially() {
+        AtomicInteger solved = new AtomicInteger(0);
+        DSESolverPipeline pipeline = new DSESolverPipeline(1, q -> {
+            solved.incrementAndGet();
+            return solution(q);
+        });
+
+        submit(pipeline, query(1));
+        pipeline.discard(pipeline.poll());
+        assertEquals(0, solved.get());
+        pipeline.shutdown();
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.vm;
+
+import org.evosuite.symbolic.expr.bv.IntegerValue;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class ExpressionFactoryTest {
+
+    @After
+    public void tearDown() {
+        ExpressionFactory.clearInternedExpressions();
+    }
+
+    @Test
+    public void testStructurallyEqualExpressionsAreShared() {
+        IntegerVariable x = new IntegerVariable("x", 3L, Long.MIN_VALUE, Long.MAX_VALUE);
+        IntegerValue first = ExpressionFactory.add(x, ExpressionFactory.buildNewIntegerConstant(10), 13L);
+        IntegerValue second = ExpressionFactory.add(x, ExpressionFactory.buildNewIntegerConstant(10), 13L);
+        assertSame(first, second);
+    }
+
+    @Test
+    public void testDifferentConcreteValuesAreNotShared() {
+        IntegerVariable x = new IntegerVariable("x", 3L, Long.MIN_VALUE, Long.MAX_VALUE);
+        IntegerValue first = ExpressionFactory.add(x, ExpressionFactory.buildNewIntegerConstant(10), 13L);
+        IntegerValue second = ExpressionFactory.add(x, ExpressionFactory.buildNewIntegerConstant(10), 15L);
+        assertNotSame(first, second);
+        assertEquals(13L, first.getConcreteValue().longValue());
+        assertEquals(15L, second.getConcreteValue().longValue());
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.vm;
+
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.junit.Test;
+
+import java.util.Iterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class OperandStackTest {
+
+    @Test
+    public void testPushAndPopBeyondInitialCapacity() {
+        OperandStack stack = new OperandStack();
+        for (int i = 0; i < 100; i++) {
+            stack.pushBv32(new IntegerConstant(i));
+        }
+        assertEquals(100, stack.size());
+        for (int i = 99; i >= 0; i--) {
+            assertEquals(i, stack.popBv32().getConcreteValue().intValue());
+        }
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test
+    public void testIteratorGoesFromTopToBottom() {
+        OperandStack stack = new OperandStack();
+        stack.pushBv32(new IntegerConstant(10));
+        stack.pushBv64(new IntegerConstant(20));
+        stack.pushBv32(new IntegerConstant(30));
+
+        Iterator<Operand> it = stack.iterator();
+        assertEquals(30L, ((Bv32Operand) it.next()).getIntegerExpression().getConcreteValue().longValue());
+        assertEquals(20L, ((Bv64Operand) it.next()).getIntegerExpression().getConcreteValue().longValue());
+        assertEquals(10L, ((Bv32Operand) it.next()).getIntegerExpression().getConcreteValue().longValue());
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    public void testSharedConstantsReuseOperands() {
+        OperandStack stack = new OperandStack();
+        stack.pushBv32(ExpressionFactory.ICONST_1);
+        stack.pushBv32(ExpressionFactory.ICONST_1);
+        Operand first = stack.popOperand();
+        Operand second = stack.popOperand();
+        assertSame(first, second);
+    }
+
+    @Test
+    public void testClearOperands() {
+        OperandStack stack = new OperandStack();
+        stack.pushBv32(ExpressionFactory.ICONST_0);
+        stack.pushBv32(ExpressionFactory.ICONST_2);
+        stack.clearOperands();
+        assertTrue(stack.isEmpty());
+        assertEquals(null, stack.peekOperand());
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ExecutionTraceProxyTest {
+
+    @Test
+    public void testClearSharedTraceKeepsOtherCopy() {
+        ExecutionTraceImpl impl = new ExecutionTraceImpl();
+        impl.trueDistances.put(1, 0.5);
+        ExecutionTraceProxy proxy = new ExecutionTraceProxy(impl);
+        ExecutionTrace copy = proxy.lazyClone();
+
+        proxy.clear();
+
+        assertTrue(proxy.getTrueDistances().isEmpty());
+        assertEquals(0.5, copy.getTrueDistances().get(1), 0.0);
+        assertEquals(1, impl.getProxyCount());
+    }
+
+    @Test
+    public void testClearResetsEverything() {
+        ExecutionTraceImpl impl = new ExecutionTraceImpl();
+        impl.trueDistances.put(1, 0.5);
+        impl.coveredFalse.put(2, 1);
+        impl.getTrueDistancesSum().put(1, 0.5);
+        impl.setExplicitException(new IllegalStateException());
+
+        impl.clear();
+
+        assertTrue(impl.getTrueDistances().isEmpty());
+        assertTrue(impl.coveredFalse.isEmpty());
+        assertTrue(impl.getTrueDistancesSum().isEmpty());
+        assertNull(impl.getExplicitException());
+        assertEquals(1, impl.stack.size());
+    }
+}
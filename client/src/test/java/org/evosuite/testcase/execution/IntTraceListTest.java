@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class IntTraceListTest {
+
+    @Test
+    public void testBehavesLikeArrayList() {
+        IntTraceList trace = new IntTraceList();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            trace.addInt(i * 3);
+            expected.add(i * 3);
+        }
+        assertEquals(expected, trace);
+        assertEquals(expected.remove(10), trace.remove(10));
+        assertEquals(expected, trace);
+        assertEquals(expected.hashCode(), trace.hashCode());
+    }
+
+    @Test
+    public void testRemoveIndices() {
+        IntTraceList trace = new IntTraceList();
+        DoubleTraceList distances = new DoubleTraceList();
+        for (int i = 0; i < 10; i++) {
+            trace.addInt(i);
+            distances.addDouble(i / 2.0);
+        }
+        List<Integer> removable = Arrays.asList(0, 3, 4, 9);
+        trace.removeIndices(removable);
+        distances.removeIndices(removable);
+
+        assertEquals(Arrays.asList(1, 2, 5, 6, 7, 8), trace);
+        assertEquals(Arrays.asList(0.5, 1.0, 2.5, 3.0, 3.5, 4.0), distances);
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        IntTraceList trace = new IntTraceList();
+        trace.addInt(1);
+        IntTraceList copy = new IntTraceList(trace);
+        copy.addInt(2);
+        trace.set(0, 5);
+
+        assertEquals(Arrays.asList(5), trace);
+        assertEquals(Arrays.asList(1, 2), copy);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetBeyondSize() {
+        IntTraceList trace = new IntTraceList();
+        trace.addInt(1);
+        trace.clear();
+        trace.getInt(0);
+    }
+}
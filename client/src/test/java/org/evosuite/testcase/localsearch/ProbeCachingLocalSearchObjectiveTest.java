@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.localsearch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.evosuite.ga.FitnessFunction;
+import org.evosuite.ga.localsearch.LocalSearchObjective;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ProbeCachingLocalSearchObjectiveTest {
+
+    /**
+     * Minimises the distance of the single int in the test to a target value,
+     * counting how often it is asked to evaluate a probe.
+     */
+    private static class DistanceObjective implements LocalSearchObjective<TestChromosome> {
+
+        private final int target;
+
+        private int best;
+
+        private int evaluations = 0;
+
+        DistanceObjective(int target, int initial) {
+            this.target = target;
+            this.best = Math.abs(target - initial);
+        }
+
+        @Override
+        public boolean isDone() {
+            return best == 0;
+        }
+
+        @Override
+        public boolean isMaximizationObjective() {
+            return false;
+        }
+
+        @Override
+        public boolean hasImproved(TestChromosome chromosome) {
+            return hasChanged(chromosome) < 0;
+        }
+
+        @Override
+        public boolean hasNotWorsened(TestChromosome chromosome) {
+            return hasChanged(chromosome) < 1;
+        }
+
+        @Override
+        public int hasChanged(TestChromosome chromosome) {
+            evaluations++;
+            IntPrimitiveStatement statement = (IntPrimitiveStatement) chromosome.getTestCase().getStatement(0);
+            int distance = Math.abs(target - statement.getValue());
+            if (distance < best) {
+                best = distance;
+                return -1;
+            }
+            return distance > best ? 1 : 0;
+        }
+
+        @Override
+        public void addFitnessFunction(FitnessFunction<TestChromosome> fitness) {
+        }
+
+        @Override
+        public List<FitnessFunction<TestChromosome>> getFitnessFunctions() {
+            return null;
+        }
+    }
+
+    private TestChromosome test;
+
+    private IntPrimitiveStatement statement;
+
+    @Before
+    public void setUp() {
+        DefaultTestCase tc = new DefaultTestCase();
+        statement = new IntPrimitiveStatement(tc, 0);
+        tc.addStatement(statement);
+        test = new TestChromosome();
+        test.setTestCase(tc);
+    }
+
+    @Test
+    public void testRevisitedProbeIsNotAnImprovement() {
+        DistanceObjective objective = new DistanceObjective(5, 0);
+        ProbeCachingLocalSearchObjective cache = new ProbeCachingLocalSearchObjective(objective);
+
+        statement.setValue(3);
+        assertTrue(cache.hasImproved(test));
+        statement.setValue(1);
+        assertFalse(cache.hasImproved(test));
+        assertEquals(2, objective.evaluations);
+
+        statement.setValue(3);
+        assertFalse(cache.hasImproved(test));
+        statement.setValue(1);
+        assertFalse(cache.hasImproved(test));
+        assertEquals(2, objective.evaluations);
+        assertEquals(2, cache.getCacheHits());
+    }
+
+    @Test
+    public void testOnlyWorseProbesAreAnsweredForHasChanged() {
+        DistanceObjective objective = new DistanceObjective(5, 4);
+        ProbeCachingLocalSearchObjective cache = new ProbeCachingLocalSearchObjective(objective);
+
+        statement.setValue(6);
+        assertEquals(0, cache.hasChanged(test));
+        statement.setValue(8);
+        assertEquals(1, cache.hasChanged(test));
+
+        statement.setValue(8);
+        assertEquals(1, cache.hasChanged(test));
+        assertFalse(cache.hasNotWorsened(test));
+        assertEquals(2, objective.evaluations);
+
+        // Equal probes may still be equal, so they are executed again
+        statement.setValue(6);
+        assertEquals(0, cache.hasChanged(test));
+        assertEquals(3, objective.evaluations);
+    }
+
+    @Test
+    public void testIntegerSearchReachesTargetWithFewerExecutions() {
+        DistanceObjective plain = new DistanceObjective(37, 0);
+        new IntegerLocalSearch<Integer>().doSearch(test, 0, plain);
+        assertEquals(37, (int) ((IntPrimitiveStatement) test.getTestCase().getStatement(0)).getValue());
+
+        setUp();
+        DistanceObjective cached = new DistanceObjective(37, 0);
+        new IntegerLocalSearch<Integer>().doSearch(test, 0, new ProbeCachingLocalSearchObjective(cached));
+        assertEquals(37, (int) ((IntPrimitiveStatement) test.getTestCase().getStatement(0)).getValue());
+
+        assertTrue(cached.evaluations < plain.evaluations);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testsuite;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.evosuite.testsuite.IncrementalSuiteAggregator.MinimumDistances;
+import org.junit.Test;
+
+public class IncrementalSuiteAggregatorTest {
+
+    private static class Contribution {
+        final Map<Integer, Integer> counts = new HashMap<>();
+        final Map<Integer, Double> distances = new HashMap<>();
+
+        Contribution(int goal, double distance) {
+            counts.put(goal, 1);
+            distances.put(goal, distance);
+        }
+    }
+
+    private static class Aggregator extends IncrementalSuiteAggregator<Contribution> {
+        final Map<Integer, Integer> counts = new HashMap<>();
+        final MinimumDistances<Integer> distances = new MinimumDistances<>();
+        int changes = 0;
+
+        @Override
+        protected void changeMultiplicity(Contribution contribution, int oldCount, int newCount) {
+            changes++;
+            addCounts(counts, contribution.counts, newCount - oldCount);
+            if (oldCount == 0) {
+                distances.add(contribution, contribution.distances);
+            } else if (newCount == 0) {
+                distances.remove(contribution, contribution.distances);
+            }
+        }
+
+        @Override
+        protected void clearAggregates() {
+            counts.clear();
+            distances.clear();
+        }
+    }
+
+    @Test
+    public void testOnlyChangedContributionsAreVisited() {
+        Contribution a = new Contribution(1, 0.5);
+        Contribution b = new Contribution(1, 0.2);
+        Contribution c = new Contribution(2, 1.0);
+
+        Aggregator aggregator = new Aggregator();
+        aggregator.update(Arrays.asList(a, b, c));
+        assertEquals(3, aggregator.changes);
+        assertEquals(0.2, aggregator.distances.get(1), 0.0);
+        assertEquals(2, (int) aggregator.counts.get(1));
+
+        Contribution d = new Contribution(2, 0.1);
+        aggregator.update(Arrays.asList(a, b, d));
+        assertEquals(5, aggregator.changes);
+        assertEquals(0.1, aggregator.distances.get(2), 0.0);
+        assertEquals(1, (int) aggregator.counts.get(2));
+    }
+
+    @Test
+    public void testRemovingBestContributionRecomputesMinimum() {
+        Contribution a = new Contribution(1, 0.5);
+        Contribution b = new Contribution(1, 0.2);
+
+        Aggregator aggregator = new Aggregator();
+        aggregator.update(Arrays.asList(a, b));
+        aggregator.update(Collections.singletonList(a));
+        assertEquals(0.5, aggregator.distances.get(1), 0.0);
+
+        aggregator.update(Collections.<Contribution>emptyList());
+        assertFalse(aggregator.distances.containsKey(1));
+        assertNull(aggregator.counts.get(1));
+        assertEquals(0, aggregator.size());
+    }
+
+    @Test
+    public void testDuplicatedContributionsAreCountedTwice() {
+        Contribution a = new Contribution(1, 0.5);
+
+        Aggregator aggregator = new Aggregator();
+        aggregator.update(Arrays.asList(a, a));
+        assertEquals(2, (int) aggregator.counts.get(1));
+
+        aggregator.update(Collections.singletonList(a));
+        assertEquals(1, (int) aggregator.counts.get(1));
+        assertEquals(0.5, aggregator.distances.get(1), 0.0);
+    }
+
+    @Test
+    public void testMinimumDistancesWithStaleGoal() {
+        MinimumDistances<Integer> distances = new MinimumDistances<>();
+        Object a = new Object();
+        Object b = new Object();
+        Object c = new Object();
+        distances.add(a, Collections.singletonMap(1, 0.1));
+        distances.add(b, Collections.singletonMap(1, 0.4));
+        distances.remove(a, Collections.singletonMap(1, 0.1));
+        distances.add(c, Collections.singletonMap(1, 0.3));
+        assertEquals(0.3, distances.get(1), 0.0);
+        assertEquals(1, distances.size());
+    }
+}
@@ -21,19 +21,38 @@ package org.evosuite.testsuite;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.evosuite.testcase.DefaultTestCase;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.statements.PrimitiveStatement;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class TestSerialization {
 
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static TestChromosome createTest(int statements) {
+		TestCase test = new DefaultTestCase();
+		for (int i = 0; i < statements; i++) {
+			test.addStatement(PrimitiveStatement.getPrimitiveStatement(test, int.class));
+		}
+		TestChromosome testChromosome = new TestChromosome();
+		testChromosome.setTestCase(test);
+		return testChromosome;
+	}
+
 	@Test
 	public void testSerializationNonEmptySuite() throws IOException, ClassNotFoundException {
 		ByteArrayOutputStream baos = new ByteArrayOutputStream();
@@ -66,4 +85,36 @@ public class TestSerialization {
 		
 		Assert.assertEquals(chromosome.getTestChromosome(0).getFitness(), copy.getTestChromosome(0).getFitness(), 0.0);
 	}
+
+	@Test
+	public void testSaveAndLoadTests() throws IOException {
+		TestSuiteChromosome suite = new TestSuiteChromosome();
+		for (int i = 1; i <= 3; i++) {
+			suite.addTest(createTest(i));
+		}
+		File target = new File(folder.getRoot(), "suite.ser");
+		Assert.assertTrue(TestSuiteSerialization.saveTests(suite, target));
+
+		List<TestChromosome> loaded = new ArrayList<>();
+		int count = TestSuiteSerialization.readTests(target, loaded::add);
+		Assert.assertEquals(3, count);
+		for (int i = 0; i < 3; i++) {
+			Assert.assertEquals(suite.getTestChromosome(i).getTestCase().toCode(),
+					loaded.get(i).getTestCase().toCode());
+		}
+		Assert.assertEquals(3, TestSuiteSerialization.loadTests(target).size());
+	}
+
+	@Test
+	public void testLoadTestsWithoutHeader() throws IOException {
+		TestChromosome test = createTest(2);
+		File target = new File(folder.getRoot(), "old.ser");
+		try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(target))) {
+			out.writeObject(test);
+		}
+
+		List<TestChromosome> loaded = TestSuiteSerialization.loadTests(target);
+		Assert.assertEquals(1, loaded.size());
+		Assert.assertEquals(test.getTestCase().toCode(), loaded.get(0).getTestCase().toCode());
+	}
 }
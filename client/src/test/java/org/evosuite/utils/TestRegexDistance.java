@@ -288,4 +288,31 @@ public class TestRegexDistance {
         	assertTrue(0 < RegexDistanceUtils.getStandardDistance(str, regex));
         }
 	}
+
+	@Test
+	public void testDistanceIndependentOfPreviousArguments() throws InterruptedException {
+		final String regex = "[a-z]+@[a-z]+\\.(com|org)";
+		final String[] args = { "abc", "abc@", "abc@x", "abc@xyz.com", "abc@xyz.co", "ab", "", "zz@yy.org" };
+
+		// each argument on a fresh thread, so that nothing can be reused
+		final double[] fresh = new double[args.length];
+		final int[] freshStandard = new int[args.length];
+		for (int i = 0; i < args.length; i++) {
+			final int index = i;
+			Thread thread = new Thread(() -> {
+				fresh[index] = RegexDistanceUtils.getDistanceTailoredForStringAVM(args[index], regex);
+				freshStandard[index] = RegexDistanceUtils.getStandardDistance(args[index], regex);
+			});
+			thread.start();
+			thread.join();
+		}
+
+		// all arguments in sequence on the same thread, sharing prefixes
+		for (int i = 0; i < args.length; i++) {
+			assertEquals(args[i], fresh[i], RegexDistanceUtils.getDistanceTailoredForStringAVM(args[i], regex), 0.0);
+			assertEquals(args[i], freshStandard[i], RegexDistanceUtils.getStandardDistance(args[i], regex));
+		}
+		assertEquals(0.0, fresh[3], 0.0);
+		assertEquals(1, freshStandard[4]);
+	}
 }
@@ -91,6 +91,30 @@ public class CoverageAnalysisSystemTest extends SystemTestBase {
 		assertEquals(9, (Integer) variables.get("Covered_Goals").getValue(), 0.0);
 	}
 
+	@Test
+	public void testBranchCoverageWithSeveralThreads() {
+		Properties.COVERAGE_ANALYSIS_THREADS = 4;
+		SearchStatistics statistics = this.aux(new Properties.Criterion[] {
+			Properties.Criterion.BRANCH
+		});
+
+		Map<String, OutputVariable<?>> variables = statistics.getOutputVariables();
+		assertEquals(9, (Integer) variables.get("Total_Goals").getValue(), 0.0);
+		assertEquals(9, (Integer) variables.get("Covered_Goals").getValue(), 0.0);
+	}
+
+	@Test
+	public void testLineCoverageWithSeveralThreads() {
+		Properties.COVERAGE_ANALYSIS_THREADS = 4;
+		SearchStatistics statistics = this.aux(new Properties.Criterion[] {
+			Properties.Criterion.LINE
+		});
+
+		Map<String, OutputVariable<?>> variables = statistics.getOutputVariables();
+		assertEquals(11, (Integer) variables.get("Total_Goals").getValue(), 0.0);
+		assertEquals(11, (Integer) variables.get("Covered_Goals").getValue(), 0.0);
+	}
+
 	@Test
 	public void testCBranchCoverage() {
 		SearchStatistics statistics = this.aux(new Properties.Criterion[] {
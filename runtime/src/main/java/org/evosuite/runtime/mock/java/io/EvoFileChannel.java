@@ -31,6 +31,8 @@ import java.nio.channels.NonReadableChannelException;
 import java.nio.channels.NonWritableChannelException;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.evosuite.runtime.mock.java.lang.MockIllegalArgumentException;
@@ -46,6 +48,12 @@ import org.evosuite.runtime.vfs.VirtualFileSystem;
  *
  */
 public class EvoFileChannel extends FileChannel{  //FIXME mock FileChannel
+
+	/**
+	 * Max number of bytes copied at once when the content of the file cannot
+	 * be moved directly to/from the array of a buffer
+	 */
+	private static final int TRANSFER_CHUNK = 8192;
 	
 	
 	/**
@@ -77,6 +85,30 @@ public class EvoFileChannel extends FileChannel{  //FIXME mock FileChannel
 
 	private final Object readWriteMonitor = new Object();
 
+	/**
+	 * A region of the file mapped in READ_WRITE mode. Writes through this
+	 * channel are copied into the buffer, and the bytes changed through the
+	 * buffer are written back to the file when the channel is forced or closed
+	 */
+	private static class MappedRegion {
+		private final int position;
+		private final ByteBuffer buffer;
+
+		/**
+		 * Content of the region as last seen in the file, to tell which bytes
+		 * of the buffer were changed since
+		 */
+		private final byte[] synced;
+
+		private MappedRegion(int position, ByteBuffer buffer, byte[] synced) {
+			this.position = position;
+			this.buffer = buffer;
+			this.synced = synced;
+		}
+	}
+
+	private final List<MappedRegion> mappedRegions = new CopyOnWriteArrayList<>();
+
 	/**
 	 * Main constructor
 	 * 
@@ -128,31 +160,25 @@ public class EvoFileChannel extends FileChannel{  //FIXME mock FileChannel
 			throw new NonReadableChannelException();
 		}
 
+		if( (offset < 0) || (offset > dsts.length) ||  (length < 0) || (length > dsts.length-offset) ){
+			throw new IndexOutOfBoundsException();
+		}
+
 		throwExceptionIfClosed();
 
 		int counter = 0;
 
 		synchronized(readWriteMonitor){
-			for(int j=offset; j<length; j++){
+			for(int j=offset; j<offset+length; j++){
 				ByteBuffer dst = dsts[j];
-				int r = dst.remaining();
-				for(int i=0; i<r; i++){
-					int b = NativeMockedIO.read(path, posToUpdate);
-					if(b < 0){ //end of stream
-						return -1;
-					}
-
-					if(closed){
-						throw new AsynchronousCloseException();
-					}
-
-					if(Thread.currentThread().isInterrupted()){
-						close();
-						throw new ClosedByInterruptException();
+				while(dst.hasRemaining()){
+					int n = readBlock(dst, posToUpdate);
+					if(n < 0){ //end of stream
+						return counter == 0 ? -1 : counter;
 					}
+					counter += n;
 
-					dst.put((byte)b);
-					counter++;
+					throwExceptionIfClosedOrInterrupted();
 				}
 			}
 		}
@@ -160,6 +186,29 @@ public class EvoFileChannel extends FileChannel{  //FIXME mock FileChannel
 		return counter;		
 	}
 
+	/**
+	 * Read as many bytes as possible (up to the remaining space of the buffer) in a single step
+	 * 
+	 * @return the number of bytes read, or -1 at the end of the file
+	 */
+	private int readBlock(ByteBuffer dst, AtomicInteger posToUpdate) throws IOException {
+		if(dst.hasArray()){
+			int n = NativeMockedIO.readBytes(path, posToUpdate, dst.array(), dst.arrayOffset() + dst.position(), dst.remaining());
+			if(n > 0){
+				dst.position(dst.position() + n);
+			}
+			return n;
+		}
+
+		//direct or read-only buffer
+		byte[] buffer = new byte[Math.min(dst.remaining(), TRANSFER_CHUNK)];
+		int n = NativeMockedIO.readBytes(path, posToUpdate, buffer, 0, buffer.length);
+		if(n > 0){
+			dst.put(buffer, 0, n);
+		}
+		return n;
+	}
+
 
 	// -------- write ----------
 
@@ -203,26 +252,13 @@ public class EvoFileChannel extends FileChannel{  //FIXME mock FileChannel
 
 		int counter = 0;
 
-		byte[] buffer = new byte[1];
-
 		synchronized(readWriteMonitor){
-			for(int j=offset; j<length; j++){
+			for(int j=offset; j<offset+length; j++){
 				ByteBuffer src = srcs[j];
-				int r = src.remaining();
-				for(int i=0; i<r; i++){
-					byte b = src.get();
-					buffer[0] = b;
-					NativeMockedIO.writeBytes(path, posToUpdate, buffer, 0, 1);
-					counter++;
-
-					if(closed){
-						throw new AsynchronousCloseException();
-					}
+				while(src.hasRemaining()){
+					counter += writeBlock(src, posToUpdate);
 
-					if(Thread.currentThread().isInterrupted()){
-						close();
-						throw new ClosedByInterruptException();
-					}
+					throwExceptionIfClosedOrInterrupted();
 				}
 			}
 		}
@@ -230,6 +266,29 @@ public class EvoFileChannel extends FileChannel{  //FIXME mock FileChannel
 		return counter;		
 	}
 
+	/**
+	 * Write as many bytes as possible of the remaining ones of the buffer in a single step
+	 * 
+	 * @return the number of bytes written
+	 */
+	private int writeBlock(ByteBuffer src, AtomicInteger posToUpdate) throws IOException {
+		int start = posToUpdate.get();
+		if(src.hasArray()){
+			int n = src.remaining();
+			NativeMockedIO.writeBytes(path, posToUpdate, src.array(), src.arrayOffset() + src.position(), n);
+			updateMappedRegions(start, src.array(), src.arrayOffset() + src.position(), n);
+			src.position(src.position() + n);
+			return n;
+		}
+
+		//direct or read-only buffer
+		byte[] buffer = new byte[Math.min(src.remaining(), TRANSFER_CHUNK)];
+		src.get(buffer);
+		NativeMockedIO.writeBytes(path, posToUpdate, buffer, 0, buffer.length);
+		updateMappedRegions(start, buffer, 0, buffer.length);
+		return buffer.length;
+	}
+
 	@Override
 	public FileChannel truncate(long size) throws IOException {
 		throwExceptionIfClosed();
@@ -244,7 +303,10 @@ public class EvoFileChannel extends FileChannel{  //FIXME mock FileChannel
 
 		long currentSize = size();
 		if(size < currentSize){
-			NativeMockedIO.setLength(path, position, size);	
+			synchronized(readWriteMonitor){
+				NativeMockedIO.setLength(path, position, size);
+				truncateMappedRegions((int) size);
+			}
 		}
 
 		return this;
@@ -288,29 +350,213 @@ public class EvoFileChannel extends FileChannel{  //FIXME mock FileChannel
 	public void force(boolean metaData) throws IOException {
 		throwExceptionIfClosed();
 		VirtualFileSystem.getInstance().throwSimuledIOExceptionIfNeeded(path);
-		//nothing to do
+		writeBackMappedRegions();
 	}
 
 	@Override
 	public long transferTo(long position, long count, WritableByteChannel target)
 			throws IOException {
-		// TODO 		
-		throw new MockIOException("transferTo is not supported yet");
+
+		if(position < 0 || count < 0){
+			throw new MockIllegalArgumentException();
+		}
+
+		if(!isOpenForRead){
+			throw new NonReadableChannelException();
+		}
+
+		throwExceptionIfClosed();
+
+		if(position > Integer.MAX_VALUE){
+			return 0;
+		}
+
+		//the position of this channel is not modified
+		AtomicInteger pos = new AtomicInteger((int)position);
+		byte[] buffer = new byte[(int) Math.min(count, TRANSFER_CHUNK)];
+		long transferred = 0;
+
+		while(transferred < count){
+			int n;
+			synchronized(readWriteMonitor){
+				n = NativeMockedIO.readBytes(path, pos, buffer, 0, (int) Math.min(buffer.length, count - transferred));
+			}
+			if(n <= 0){
+				break;
+			}
+
+			ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, n);
+			while(chunk.hasRemaining() && target.write(chunk) > 0){
+				//keep writing until the target is full
+			}
+			transferred += n - chunk.remaining();
+			if(chunk.hasRemaining()){
+				break;
+			}
+
+			throwExceptionIfClosedOrInterrupted();
+		}
+
+		return transferred;
 	}
 
 	@Override
 	public long transferFrom(ReadableByteChannel src, long position, long count)
 			throws IOException {
-		// TODO 
-		throw new MockIOException("transferFrom is not supported yet");
+
+		if(position < 0 || count < 0){
+			throw new MockIllegalArgumentException();
+		}
+
+		if(!isOpenForWrite){
+			throw new NonWritableChannelException();
+		}
+
+		throwExceptionIfClosed();
+
+		if(position > size()){
+			return 0;
+		}
+
+		//the position of this channel is not modified
+		AtomicInteger pos = new AtomicInteger((int)position);
+		ByteBuffer chunk = ByteBuffer.allocate((int) Math.min(count, TRANSFER_CHUNK));
+		long transferred = 0;
+
+		while(transferred < count){
+			chunk.clear();
+			chunk.limit((int) Math.min(chunk.capacity(), count - transferred));
+			int n = src.read(chunk);
+			if(n <= 0){
+				break;
+			}
+
+			synchronized(readWriteMonitor){
+				int start = pos.get();
+				NativeMockedIO.writeBytes(path, pos, chunk.array(), 0, n);
+				updateMappedRegions(start, chunk.array(), 0, n);
+			}
+			transferred += n;
+
+			throwExceptionIfClosedOrInterrupted();
+		}
+
+		return transferred;
 	}
 
 
+	/**
+	 * The file is not really mapped in memory: the region is copied into a direct
+	 * buffer (which is a {@link MappedByteBuffer} in the JDK). For READ_WRITE mappings,
+	 * writes and truncations through this channel are reflected in the buffer, and the
+	 * bytes changed through the buffer are written back to the file when this channel
+	 * is forced or closed. Changes made to the file by other streams or channels are
+	 * not visible in the buffer.
+	 * The {@code load}/{@code force} methods of the returned buffer do not access the file.
+	 */
 	@Override
 	public MappedByteBuffer map(MapMode mode, long position, long size)
 			throws IOException {
-		// TODO 
-		throw new MockIOException("MappedByteBuffer mocks are not supported yet");
+
+		throwExceptionIfClosed();
+
+		if(position < 0 || size < 0 || size > Integer.MAX_VALUE || position + size > Integer.MAX_VALUE){
+			throw new MockIllegalArgumentException("Invalid region: "+position+" "+size);
+		}
+
+		if(!isOpenForRead){
+			throw new NonReadableChannelException();
+		}
+
+		if(mode != MapMode.READ_ONLY && !isOpenForWrite){
+			throw new NonWritableChannelException();
+		}
+
+		VirtualFileSystem.getInstance().throwSimuledIOExceptionIfNeeded(path);
+
+		byte[] content = new byte[(int) size];
+		synchronized(readWriteMonitor){
+			if(mode == MapMode.READ_WRITE && position + size > size()){
+				//as for real mappings, the file grows to contain the region
+				NativeMockedIO.setLength(path, this.position, position + size);
+			}
+			AtomicInteger pos = new AtomicInteger((int)position);
+			int read = 0;
+			while(read < content.length){
+				int n = NativeMockedIO.readBytes(path, pos, content, read, content.length - read);
+				if(n <= 0){
+					break;
+				}
+				read += n;
+			}
+		}
+
+		MappedByteBuffer buffer = (MappedByteBuffer) ByteBuffer.allocateDirect(content.length);
+		buffer.put(content);
+		buffer.clear();
+
+		if(mode == MapMode.READ_ONLY){
+			return (MappedByteBuffer) buffer.asReadOnlyBuffer();
+		}
+		if(mode == MapMode.READ_WRITE && content.length > 0){
+			synchronized(readWriteMonitor){
+				mappedRegions.add(new MappedRegion((int) position, buffer, content));
+			}
+		}
+		return buffer;
+	}
+
+	/**
+	 * Copy bytes just written to the file at the given position into the
+	 * mapped regions overlapping them. Must hold the read/write monitor
+	 */
+	private void updateMappedRegions(int filePosition, byte[] data, int offset, int length) {
+		for(MappedRegion region : mappedRegions){
+			int from = Math.max(filePosition, region.position);
+			int to = Math.min(filePosition + length, region.position + region.synced.length);
+			for(int i = from; i < to; i++){
+				byte b = data[offset + i - filePosition];
+				region.buffer.put(i - region.position, b);
+				region.synced[i - region.position] = b;
+			}
+		}
+	}
+
+	/**
+	 * The bytes of the mapped regions beyond the new end of the file are
+	 * no longer written back, unless they are changed again through the
+	 * buffer. Must hold the read/write monitor
+	 */
+	private void truncateMappedRegions(int size) {
+		for(MappedRegion region : mappedRegions){
+			for(int i = Math.max(0, size - region.position); i < region.synced.length; i++){
+				region.synced[i] = region.buffer.get(i);
+			}
+		}
+	}
+
+	/**
+	 * Write to the file the bytes changed through the mapped buffers
+	 */
+	private void writeBackMappedRegions() throws IOException {
+		synchronized(readWriteMonitor){
+			for(MappedRegion region : mappedRegions){
+				int i = 0;
+				while(i < region.synced.length){
+					if(region.buffer.get(i) == region.synced[i]){
+						i++;
+						continue;
+					}
+					int start = i;
+					while(i < region.synced.length && region.buffer.get(i) != region.synced[i]){
+						region.synced[i] = region.buffer.get(i);
+						i++;
+					}
+					NativeMockedIO.writeBytes(path, new AtomicInteger(region.position + start),
+							region.synced, start, i - start);
+				}
+			}
+		}
 	}
 
 	@Override
@@ -329,7 +575,12 @@ public class EvoFileChannel extends FileChannel{  //FIXME mock FileChannel
 
 	@Override
 	protected void implCloseChannel() throws IOException {
-		closed = true;		
+		closed = true;
+		try{
+			writeBackMappedRegions();
+		} finally {
+			mappedRegions.clear();
+		}
 	}
 
 	private void throwExceptionIfClosed() throws ClosedChannelException{
@@ -337,4 +588,15 @@ public class EvoFileChannel extends FileChannel{  //FIXME mock FileChannel
 			throw new ClosedChannelException();
 		}
 	}
+
+	private void throwExceptionIfClosedOrInterrupted() throws IOException{
+		if(closed){
+			throw new AsynchronousCloseException();
+		}
+
+		if(Thread.currentThread().isInterrupted()){
+			close();
+			throw new ClosedByInterruptException();
+		}
+	}
 }
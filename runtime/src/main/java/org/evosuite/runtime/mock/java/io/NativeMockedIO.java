@@ -60,6 +60,27 @@ public class NativeMockedIO {
 		return b; 
 	}
 
+	/**
+	 * Read up to {@code len} bytes at the given position in a single block,
+	 * and advance the position by the number of bytes read
+	 * 
+	 * @return the number of bytes read, or -1 at the end of the file
+	 */
+	public static int readBytes(String path, AtomicInteger position, byte[] b, int off, int len) throws IOException{
+		VFile vf = NativeMockedIO.getFileForReading(path);
+		if(vf==null){
+			throw new MockIOException();
+		}
+		
+		VirtualFileSystem.getInstance().throwSimuledIOExceptionIfNeeded(path);
+		
+		int read = vf.read(position.get(), b, off, len);
+		if(read > 0){
+			position.addAndGet(read);
+		}
+		return read;
+	}
+
 	
 	public static VFile getFileForWriting(String path){
 		FSObject target = VirtualFileSystem.getInstance().findFSObject(path);
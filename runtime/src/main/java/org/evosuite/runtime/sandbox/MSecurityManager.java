@@ -41,6 +41,8 @@ import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.PropertyPermission;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.logging.FileHandler;
 import java.util.logging.LoggingPermission;
@@ -185,6 +187,21 @@ public class MSecurityManager extends SecurityManager {
 	 */
 	private final Set<Permission>  unrecognizedPermissions;
 
+	/**
+	 * Maximum number of decisions in {@link #runtimeDecisions}
+	 */
+	private static final int MAX_CACHED_DECISIONS = 4096;
+
+	/**
+	 * Cache of the decisions for the runtime permissions asked by non-privileged
+	 * threads. Those decisions only depend on the name of the permission
+	 * (see {@link #isCacheableRuntimePermission}), so there is no need to go
+	 * through all the checks each time the SUT asks for the same permission,
+	 * eg in a loop using reflection.
+	 * Note: RuntimePermission equality is based on its class and name
+	 */
+	private final ConcurrentMap<Permission, Boolean> runtimeDecisions;
+
 	/**
 	 * Create a custom security manager for the SUT. The thread that create this
 	 * instance is automatically added as "privileged"
@@ -196,6 +213,7 @@ public class MSecurityManager extends SecurityManager {
 		executingTestCase = false;
 		privilegedThreadToIgnore = null;
 		unrecognizedPermissions = new CopyOnWriteArraySet<>();
+		runtimeDecisions = new ConcurrentHashMap<>();
 
 		filesToDelete = new CopyOnWriteArraySet<>();
 	}
@@ -429,10 +447,11 @@ public class MSecurityManager extends SecurityManager {
 	public void checkPermission(Permission perm) throws SecurityException {
 		// check access
 		if (!allowPermission(perm)) {
-			String stack = "\n";
+			StringBuilder builder = new StringBuilder("\n");
 			for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
-				stack += e + "\n";
+				builder.append(e).append('\n');
 			}
+			String stack = builder.toString();
 			if (executingTestCase) {
 				/*
 				 * report statistics only during test case execution, although still log them. The reason is to avoid EvoSuite threads which might not
@@ -591,7 +610,18 @@ public class MSecurityManager extends SecurityManager {
 		}
 
 		if (perm instanceof RuntimePermission) {
-			return checkRuntimePermission((RuntimePermission) perm);
+			RuntimePermission runtimePermission = (RuntimePermission) perm;
+			if (!isCacheableRuntimePermission(runtimePermission)) {
+				return checkRuntimePermission(runtimePermission);
+			}
+			Boolean decision = runtimeDecisions.get(runtimePermission);
+			if (decision == null) {
+				decision = checkRuntimePermission(runtimePermission);
+				if (runtimeDecisions.size() < MAX_CACHED_DECISIONS) {
+					runtimeDecisions.put(runtimePermission, decision);
+				}
+			}
+			return decision;
 		}
 
 		if (perm instanceof AWTPermission) {
@@ -693,6 +723,18 @@ public class MSecurityManager extends SecurityManager {
 		}
 	}
 
+	/**
+	 * The decision for a runtime permission can be cached unless it depends
+	 * on the calling stack (AWT threads) or on the runtime settings, which
+	 * is the case for the shutdown hooks only
+	 * 
+	 * @param perm
+	 * @return
+	 */
+	private boolean isCacheableRuntimePermission(RuntimePermission perm) {
+		return !perm.getName().trim().equals("shutdownHooks");
+	}
+
 	/**
 	 * <p>This is tricky. Client publishes RMI objects that the Master
 	 * will try to access. The RMI objects will wait on a TCP socket.
@@ -720,34 +762,32 @@ public class MSecurityManager extends SecurityManager {
 			return false;
 		}
 
+		if(masterNodeRemoteMethodNames == null) {
+			return false;
+		}
+
 		final String pattern = "sun.rmi.";
 		boolean foundRMI = false;
+		boolean foundMasterNode = false;
 
-		//first check if there is any reference to RMI in the stack trace
+		/*
+		 * check in a single walk of the stack trace if there is any reference to RMI and
+		 * to a remote method of the master node. Looking at class and method names
+		 * avoids converting each frame to a string
+		 */
 		for(StackTraceElement element : Thread.currentThread().getStackTrace()) {
-			if(element.toString().startsWith(pattern)) {
+			if(!foundRMI && element.getClassName().startsWith(pattern)) {
 				foundRMI = true;
-				break;
 			}
-		}
-
-		if(!foundRMI) {
-			//found no reference to RMI
-			return false;
-		}
-
-		boolean foundMasterNode = false;
-
-		traceLoop: for(StackTraceElement element : Thread.currentThread().getStackTrace()) {
-			for(String masterNodeMethod : masterNodeRemoteMethodNames) {
-				if(element.toString().contains(masterNodeMethod)) {
-					foundMasterNode = true;
-					break traceLoop;
-				}
+			if(!foundMasterNode && masterNodeRemoteMethodNames.contains(element.getMethodName())) {
+				foundMasterNode = true;
+			}
+			if(foundRMI && foundMasterNode) {
+				break;
 			}
 		}
 
-		if(!foundMasterNode) {
+		if(!foundRMI || !foundMasterNode) {
 			//found no reference to RMI
 			return false;
 		}
@@ -23,11 +23,11 @@ package org.evosuite.runtime.sandbox;
 import java.io.FilePermission;
 import java.security.Permission;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.slf4j.Logger;
 
@@ -52,15 +52,20 @@ public class PermissionStatistics {
 
 	private static PermissionStatistics instance = new PermissionStatistics();
 
-	private final Map<String, Map<String, Integer>> allowedCount;
+	/*
+	 * Counters are LongAdders, as permissions are checked concurrently by
+	 * the SUT threads on every access to a protected resource
+	 */
+
+	private final Map<String, Map<String, LongAdder>> allowedCount;
 
 	/**
 	 * Keep track of the denied exceptions. Key -> name of the permission class
 	 * Value -> a map from type (name+action) to counter of times it was thrown
 	 */
-	private final Map<String, Map<String, Integer>> deniedCount;
+	private final Map<String, Map<String, LongAdder>> deniedCount;
 
-	private final Map<Class<?>, Integer> deniedClassCount;
+	private final Map<Class<?>, LongAdder> deniedClassCount;
 	private final Set<String> recentAccess;
 	private int maxThreads;
 
@@ -132,41 +137,55 @@ public class PermissionStatistics {
 	 */
 	public void permissionAllowed(Permission permission) {
 		rememberRecentReadFilePermissions(permission);
-		String name = permission.getClass().getName();
-		String type = getPermissionType(permission);
-		if (!allowedCount.containsKey(name)) {
-			allowedCount.put(name, new HashMap<>());
+		increment(allowedCount, permission.getClass().getName(), getPermissionType(permission));
+	}
+
+	/*
+	 * Note: no lambdas (eg computeIfAbsent) here, as their bootstrap during a
+	 * permission check would ask for further permissions
+	 */
+
+	private static <K> LongAdder getOrCreateCounter(Map<K, LongAdder> counters, K key) {
+		LongAdder counter = counters.get(key);
+		if (counter == null) {
+			LongAdder newCounter = new LongAdder();
+			counter = counters.putIfAbsent(key, newCounter);
+			if (counter == null) {
+				counter = newCounter;
+			}
 		}
+		return counter;
+	}
 
-		if (allowedCount.get(name).containsKey(type)) {
-			allowedCount.get(name).put(type, allowedCount.get(name).get(type) + 1);
-		} else {
-			allowedCount.get(name).put(type, 1);
+	private static void increment(Map<String, Map<String, LongAdder>> counters, String name, String type) {
+		Map<String, LongAdder> countersByType = counters.get(name);
+		if (countersByType == null) {
+			Map<String, LongAdder> newCounters = new ConcurrentHashMap<>();
+			countersByType = counters.putIfAbsent(name, newCounters);
+			if (countersByType == null) {
+				countersByType = newCounters;
+			}
 		}
+		getOrCreateCounter(countersByType, type).increment();
 	}
 
 	private int getCurrentCount(Class<?> permissionClass) {
-		if (!deniedClassCount.containsKey(permissionClass))
-			deniedClassCount.put(permissionClass, 0);
-
-		return deniedClassCount.get(permissionClass);
+		LongAdder counter = deniedClassCount.get(permissionClass);
+		return counter == null ? 0 : counter.intValue();
 	}
 
 	private void incCurrentCount(Class<?> permissionClass) {
-		deniedClassCount.put(permissionClass, getCurrentCount(permissionClass) + 1);
+		getOrCreateCounter(deniedClassCount, permissionClass).increment();
 	}
 
 	private String getPermissionType(Permission permission) {
 		String name = permission.getName();
 		String actions = permission.getActions();
-		String type = "";
+		boolean hasName = name != null && !name.isEmpty();
 		if (actions != null && !actions.isEmpty()) {
-			type += actions + " ";
+			return hasName ? actions + " " + name : actions + " ";
 		}
-		if (name != null && !name.isEmpty()) {
-			type += name;
-		}
-		return type;
+		return hasName ? name : "";
 	}
 
 	/**
@@ -181,19 +200,7 @@ public class PermissionStatistics {
 		incCurrentCount(permission.getClass());
 		rememberRecentReadFilePermissions(permission);
 
-		String permissionClassName = permission.getClass().getName();
-		String type = getPermissionType(permission);
-
-		if (!deniedCount.containsKey(permissionClassName)) {
-			deniedCount.put(permissionClassName, new HashMap<>());
-		}
-
-		if (deniedCount.get(permissionClassName).containsKey(type)) {
-			deniedCount.get(permissionClassName).put(type,
-			                                         deniedCount.get(permissionClassName).get(type) + 1);
-		} else {
-			deniedCount.get(permissionClassName).put(type, 1);
-		}
+		increment(deniedCount, permission.getClass().getName(), getPermissionType(permission));
 		hasNewExceptions = true;
 	}
 
@@ -205,11 +212,11 @@ public class PermissionStatistics {
 	 * @return a int.
 	 */
 	public int getPermissionDeniedCount(Permission permission) {
-		String name = permission.getClass().getName();
-		String type = getPermissionType(permission);
-		if (deniedCount.containsKey(name)) {
-			if (deniedCount.get(name).containsKey(type)) {
-				return deniedCount.get(name).get(type);
+		Map<String, LongAdder> countersByType = deniedCount.get(permission.getClass().getName());
+		if (countersByType != null) {
+			LongAdder counter = countersByType.get(getPermissionType(permission));
+			if (counter != null) {
+				return counter.intValue();
 			}
 		}
 		return 0;
@@ -412,8 +419,8 @@ public class PermissionStatistics {
 		        + getNumAuthPermission() + getNumAudioPermission();
 
 		int total = 0;
-		for (int i : deniedClassCount.values())
-			total += i;
+		for (LongAdder counter : deniedClassCount.values())
+			total += counter.intValue();
 
 		return total - sum;
 	}
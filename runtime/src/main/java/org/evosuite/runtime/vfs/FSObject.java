@@ -91,7 +91,9 @@ public abstract class FSObject {
 			return false;
 		}
 
+		String oldName = getName();
 		path = newPath;
+		parent.childRenamed(oldName, getName());
 
 		return true; 
 	}
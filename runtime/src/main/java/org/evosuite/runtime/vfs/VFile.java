@@ -19,8 +19,7 @@
  */
 package org.evosuite.runtime.vfs;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * Representation of a virtual file
@@ -31,44 +30,53 @@ import java.util.List;
 public class VFile extends FSObject{
 
 	/**
-	 * the actual data contained in file as a list of bytes
+	 * Files cannot grow larger than this, as their content is kept in a
+	 * single array
 	 */
-	private final List<Byte> data;
+	private static final int MAX_SIZE = Integer.MAX_VALUE - 8;
+
+	/**
+	 * the actual data contained in file. Only the first {@code size} bytes
+	 * are part of the file, the others are always 0
+	 */
+	private byte[] data;
+
+	private int size;
 
 	public VFile(String path, VFolder parent) {
 		super(path, parent);
 
-		//TODO might need a better type of data structure supporting multi-threading
-		data = new ArrayList<>(1024);
+		data = new byte[1024];
+		size = 0;
 	}
 
-	public void eraseData(){
-		data.clear();
+	public synchronized void eraseData(){
+		Arrays.fill(data, 0, size, (byte) 0);
+		size = 0;
 	}
 
 	public synchronized int getDataSize(){
-		return data.size();
+		return size;
 	}
 
 
 	public synchronized void setLength(int newLength){
-
-		/*
-		 * Note: this implementation is not particularly efficient...
-		 * but setLength is rarely called
-		 */
-
-		while(newLength > data.size()){
-			data.add((byte)0);
+		if(newLength > size){
+			ensureCapacity(newLength);
+		} else {
+			//keep the invariant that bytes after the end of the file are 0
+			Arrays.fill(data, newLength, size, (byte) 0);
 		}
+		size = newLength;
+	}
 
-		if(newLength==0){
-			data.clear();
-			return;
+	private void ensureCapacity(int minCapacity){
+		if(minCapacity < 0 || minCapacity > MAX_SIZE){
+			throw new IllegalArgumentException("Virtual file cannot be larger than " + MAX_SIZE + " bytes");
 		}
-		
-		while(data.size() > newLength){
-			data.remove(data.size()-1);
+		if(minCapacity > data.length){
+			int capacity = (int) Math.min(MAX_SIZE, Math.max((long) data.length * 2, minCapacity));
+			data = Arrays.copyOf(data, capacity);
 		}
 	}
 
@@ -82,15 +90,37 @@ public class VFile extends FSObject{
 			throw new IllegalArgumentException("Position in the file cannot be negative");
 		}
 
-		if(position >= data.size()){
+		if(position >= size){
 			return -1; //this represent the end of the stream
 		}
 
-		return data.get(position) & 0xFF;
+		return data[position] & 0xFF;
+	}
+
+	/**
+	 * Copy up to {@code len} bytes starting from {@code position} into {@code b}
+	 * 
+	 * @return the number of bytes copied, or -1 if {@code position} is at or after the end of the file
+	 */
+	public synchronized int read(int position, byte[] b, int off, int len) throws IllegalArgumentException{
+		if(position<0){
+			throw new IllegalArgumentException("Position in the file cannot be negative");
+		}
+		if(off < 0 || len < 0 || len > b.length - off){
+			throw new IndexOutOfBoundsException();
+		}
+
+		if(position >= size){
+			return -1;
+		}
+
+		int n = Math.min(len, size - position);
+		System.arraycopy(data, position, b, off, n);
+		return n;
 	}
 
 	public synchronized int writeBytes(byte[] b, int off, int len){
-		return writeBytes(data.size(),b,off,len);
+		return writeBytes(size,b,off,len);
 	}
 
 	
@@ -104,20 +134,14 @@ public class VFile extends FSObject{
 			return 0;
 		}
 
-		if(position >= data.size()){
+		if(position >= size){
 			setLength(position);
 		}
 
-		int written = 0;
-		for(int i=off; i<b.length & (i-off)<len; i++){
-			if(position < data.size()){
-				data.set(position,(b[i]));
-			} else {
-				data.add(b[i]);
-			}
-			position++;
-			written++;
-		}
+		int written = Math.max(0, Math.min(len, b.length - off));
+		ensureCapacity(position + written);
+		System.arraycopy(b, off, data, position, written);
+		size = Math.max(size, position + written);
 
 		setLastModified(getCurrentTimeMillis());
 
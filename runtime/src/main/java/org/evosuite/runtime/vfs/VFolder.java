@@ -20,8 +20,9 @@
 package org.evosuite.runtime.vfs;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
@@ -33,11 +34,18 @@ import java.util.concurrent.CopyOnWriteArrayList;
 public class VFolder extends FSObject{
 
 	private final List<FSObject> children;
+
+	/**
+	 * Index of the children by name, pointing to the first child with that
+	 * name in {@code children} (which keeps the creation order)
+	 */
+	private final Map<String, FSObject> childrenByName;
 		
 	public VFolder(String path, VFolder parent) {
 		super(path, parent);
 		
 		children = new CopyOnWriteArrayList<>();
+		childrenByName = new ConcurrentHashMap<>();
 	}
 	
 	@Override
@@ -53,23 +61,51 @@ public class VFolder extends FSObject{
 		return parent == null && path==null;
 	}
 	
-	public void addChild(FSObject child){
+	public synchronized void addChild(FSObject child){
 		children.add(child);
+		String name = child.getName();
+		if(name != null){
+			childrenByName.putIfAbsent(name, child);
+		}
 	}
 	
-	public boolean removeChild(String name) throws IllegalArgumentException{
+	public synchronized boolean removeChild(String name) throws IllegalArgumentException{
 		
 		if(name==null || name.isEmpty()){
 			throw new IllegalArgumentException("Empty name");
 		}
 		
-		for(FSObject element : children){
-			if(name.equals(element.getName())){
-				return children.remove(element);				 
+		FSObject element = childrenByName.get(name);
+		if(element == null){
+			return false;
+		}
+		boolean removed = children.remove(element);
+		reindex(name);
+		return removed;
+	}
+
+	/**
+	 * Update the index of the children after one of them changed name
+	 * 
+	 * @param oldName
+	 * @param newName
+	 */
+	synchronized void childRenamed(String oldName, String newName){
+		reindex(oldName);
+		reindex(newName);
+	}
+
+	private void reindex(String name){
+		if(name == null){
+			return;
+		}
+		for (final FSObject current : children) {
+			if (name.equals(current.getName())) {
+				childrenByName.put(name, current);
+				return;
 			}
 		}
-		
-		return false;
+		childrenByName.remove(name);
 	}
 	
 	public boolean hasChild(String name){
@@ -89,12 +125,6 @@ public class VFolder extends FSObject{
 			throw new IllegalArgumentException("Empty name");
 		}
 
-		for (final FSObject current : children) {
-			if (name.equals(current.getName())) {
-				return current;
-			}
-		}
-		
-		return null;
+		return childrenByName.get(name);
 	}
 }
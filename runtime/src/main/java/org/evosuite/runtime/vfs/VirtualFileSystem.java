@@ -24,7 +24,9 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -100,6 +102,21 @@ public final class VirtualFileSystem {
 	 * 
 	 */
 	private final Set<LeakingResource> leakingResources;
+
+	/**
+	 * Objects already found in the VFS, by absolute path. This is only a
+	 * shortcut for walking the folders from the root: an entry is ignored if
+	 * its object has been deleted, and the whole index is dropped on rename,
+	 * as renaming a folder changes the paths of everything below it.
+	 */
+	private final Map<String, FSObject> pathIndex;
+
+	/**
+	 * Tokens of the absolute paths handled since the last reset
+	 */
+	private final Map<String, String[]> tokenCache;
+
+	private static final int MAX_CACHED_TOKENIZATIONS = 4096;
 	
 	//--------------------------------------------------------------------------
 
@@ -111,6 +128,8 @@ public final class VirtualFileSystem {
 		accessedFiles = new CopyOnWriteArraySet<>(); //we only add during test execution, and read after
 		leakingResources =  new CopyOnWriteArraySet<>();
 		classesThatShouldThrowIOException = new CopyOnWriteArraySet<>(); //should only contain very few values
+		pathIndex = new ConcurrentHashMap<>();
+		tokenCache = new ConcurrentHashMap<>();
 	}
 
 	/**
@@ -127,6 +146,8 @@ public final class VirtualFileSystem {
 	 */
 	public void resetSingleton() {
 		root = null;
+		pathIndex.clear();
+		tokenCache.clear();
 		tmpFileCounter.set(0);
 		accessedFiles.clear();
 		shouldAllThrowIOException = false;
@@ -208,6 +229,7 @@ public final class VirtualFileSystem {
 	public void init() {
 
 		root = new VFolder(null, null);
+		pathIndex.clear();
 
 		String workingDir = getWorkingDirPath();
 		createFolder(workingDir);
@@ -299,10 +321,15 @@ public final class VirtualFileSystem {
 	 */
 	public FSObject findFSObject(String rawPath) {
 		String path = new File(rawPath).getAbsolutePath();
-		String[] tokens = tokenize(path);
 
 		markAccessedFile(path);
 
+		FSObject indexed = pathIndex.get(path);
+		if (indexed != null && !indexed.isDeleted()) {
+			return indexed;
+		}
+
+		String[] tokens = tokenize(path);
 		VFolder parent = root;
 		for (int i = 0; i < tokens.length; i++) {
 			String name = tokens[i];
@@ -318,6 +345,7 @@ public final class VirtualFileSystem {
 				return null;
 			} else {
 				if (i == (tokens.length - 1)) {
+					pathIndex.put(path, child);
 					return child;
 				}
 			}
@@ -333,7 +361,11 @@ public final class VirtualFileSystem {
 		if (obj == null || !obj.isWritePermission()) {
 			return false;
 		}
-		return obj.delete();
+		boolean deleted = obj.delete();
+		if (deleted) {
+			pathIndex.remove(new File(rawPath).getAbsolutePath());
+		}
+		return deleted;
 	}
 
 	public boolean createFile(String rawPath) {
@@ -381,7 +413,11 @@ public final class VirtualFileSystem {
 			return false;
 		}
 
-		return src.rename(destination);
+		boolean renamed = src.rename(destination);
+		if (renamed) {
+			pathIndex.clear();
+		}
+		return renamed;
 	}
 
 	public boolean createFolder(String rawPath) {
@@ -424,15 +460,26 @@ public final class VirtualFileSystem {
 	}
 
 	private String[] tokenize(String path){
-		return tokenize(path,File.separatorChar);
+		String[] tokens = tokenCache.get(path);
+		if (tokens == null) {
+			tokens = tokenize(path, File.separatorChar);
+			if (tokenCache.size() >= MAX_CACHED_TOKENIZATIONS) {
+				tokenCache.clear();
+			}
+			tokenCache.put(path, tokens);
+		}
+		return tokens;
 	}
 	
 	protected static String[] tokenize(String path, char separator) {
-		String[] tokens = path.split(separator == '\\' ? "\\\\" : File.separator);
-		List<String> list = new ArrayList<>(tokens.length);
-		for (String token : tokens) {
-			if (!token.isEmpty()) {
-				list.add(token);
+		List<String> list = new ArrayList<>();
+		int start = 0;
+		for (int i = 0; i <= path.length(); i++) {
+			if (i == path.length() || path.charAt(i) == separator) {
+				if (i > start) {
+					list.add(path.substring(start, i));
+				}
+				start = i + 1;
 			}
 		}
 		return list.toArray(new String[0]);
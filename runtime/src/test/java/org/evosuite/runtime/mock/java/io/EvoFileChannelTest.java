@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime.mock.java.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.evosuite.runtime.mock.MockFramework;
+import org.evosuite.runtime.vfs.VirtualFileSystem;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EvoFileChannelTest {
+
+	private static final String FILE_NAME = "foo_channel.bin";
+
+	@Before
+	public void init(){
+		MockFramework.enable();
+		VirtualFileSystem.getInstance().resetSingleton();
+		VirtualFileSystem.getInstance().init();
+	}
+
+	@After
+	public void tearDown(){
+		VirtualFileSystem.getInstance().resetSingleton();
+	}
+
+	private static FileChannel openChannel(){
+		String path = new MockFile(FILE_NAME).getAbsolutePath();
+		Assert.assertTrue(VirtualFileSystem.getInstance().createFile(path));
+		return new EvoFileChannel(new AtomicInteger(0), path, true, true);
+	}
+
+	private static byte[] sequence(int length){
+		byte[] data = new byte[length];
+		for(int i=0; i<length; i++){
+			data[i] = (byte) i;
+		}
+		return data;
+	}
+
+	@Test
+	public void testReadWriteHeapAndDirectBuffers() throws IOException{
+		byte[] data = sequence(20_000);
+		try(FileChannel channel = openChannel()){
+			ByteBuffer direct = ByteBuffer.allocateDirect(data.length - 100);
+			direct.put(data, 100, data.length - 100).flip();
+			Assert.assertEquals(100, channel.write(ByteBuffer.wrap(data, 0, 100)));
+			Assert.assertEquals(data.length - 100, channel.write(direct));
+			Assert.assertEquals(data.length, channel.size());
+			Assert.assertEquals(data.length, channel.position());
+
+			channel.position(0);
+			ByteBuffer heap = ByteBuffer.allocate(50);
+			ByteBuffer rest = ByteBuffer.allocateDirect(data.length);
+			long read = channel.read(new ByteBuffer[]{heap, rest}, 0, 2);
+			Assert.assertEquals(data.length, read);
+			Assert.assertEquals(data.length, channel.position());
+			Assert.assertEquals(data[49], heap.get(49));
+			Assert.assertEquals(data[data.length - 1], rest.get(data.length - 51));
+
+			Assert.assertEquals(-1, channel.read(ByteBuffer.allocate(1)));
+		}
+	}
+
+	@Test
+	public void testTransfer() throws IOException{
+		byte[] data = sequence(10_000);
+		try(FileChannel channel = openChannel()){
+			long written = channel.transferFrom(Channels.newChannel(new ByteArrayInputStream(data)), 0, data.length);
+			Assert.assertEquals(data.length, written);
+			Assert.assertEquals(data.length, channel.size());
+			Assert.assertEquals(0, channel.position());
+
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			long transferred = channel.transferTo(10, data.length, Channels.newChannel(out));
+			Assert.assertEquals(data.length - 10, transferred);
+			Assert.assertEquals(data[10], out.toByteArray()[0]);
+			Assert.assertEquals(0, channel.position());
+		}
+	}
+
+	@Test
+	public void testMap() throws IOException{
+		try(FileChannel channel = openChannel()){
+			channel.write(ByteBuffer.wrap(sequence(10)));
+
+			MappedByteBuffer readOnly = channel.map(FileChannel.MapMode.READ_ONLY, 2, 4);
+			Assert.assertTrue(readOnly.isReadOnly());
+			Assert.assertEquals(2, readOnly.get(0));
+
+			MappedByteBuffer readWrite = channel.map(FileChannel.MapMode.READ_WRITE, 8, 4);
+			Assert.assertEquals(12, channel.size());
+			readWrite.put(3, (byte) 42);
+			channel.force(false);
+
+			ByteBuffer last = ByteBuffer.allocate(1);
+			channel.read(last, 11);
+			Assert.assertEquals(42, last.get(0));
+		}
+	}
+
+	@Test
+	public void testMapDoesNotOverwriteLaterWrites() throws IOException{
+		String path = new MockFile(FILE_NAME).getAbsolutePath();
+		try(FileChannel channel = openChannel()){
+			MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, 100);
+			channel.write(ByteBuffer.wrap("hello".getBytes()), 0);
+			Assert.assertEquals('h', mapped.get(0));
+			mapped.put(50, (byte) 7);
+		}
+
+		try(FileChannel channel = new EvoFileChannel(new AtomicInteger(0), path, true, false)){
+			ByteBuffer content = ByteBuffer.allocate(100);
+			channel.read(content, 0);
+			Assert.assertEquals("hello", new String(content.array(), 0, 5));
+			Assert.assertEquals(7, content.get(50));
+		}
+	}
+}
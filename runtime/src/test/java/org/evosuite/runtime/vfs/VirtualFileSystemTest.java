@@ -253,4 +253,26 @@ public class VirtualFileSystemTest {
 		Assert.assertFalse(folder.exists());		
 	}
 
+	@Test
+	public void testLookupAfterFolderRenameAndRecreation(){
+		VirtualFileSystem vfs = VirtualFileSystem.getInstance();
+		String base = VirtualFileSystem.getWorkingDirPath() + File.separator;
+
+		Assert.assertTrue(vfs.createFile(base + "old" + File.separator + "data.txt"));
+		FSObject data = vfs.findFSObject(base + "old" + File.separator + "data.txt");
+		Assert.assertNotNull(data);
+
+		Assert.assertTrue(vfs.rename(base + "old", base + "new"));
+		Assert.assertNull(vfs.findFSObject(base + "old" + File.separator + "data.txt"));
+		Assert.assertSame(data, vfs.findFSObject(base + "new" + File.separator + "data.txt"));
+
+		Assert.assertTrue(vfs.deleteFSObject(base + "new" + File.separator + "data.txt"));
+		Assert.assertFalse(vfs.exists(base + "new" + File.separator + "data.txt"));
+
+		Assert.assertTrue(vfs.createFile(base + "new" + File.separator + "data.txt"));
+		FSObject recreated = vfs.findFSObject(base + "new" + File.separator + "data.txt");
+		Assert.assertNotNull(recreated);
+		Assert.assertNotSame(data, recreated);
+	}
+
 }